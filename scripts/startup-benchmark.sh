@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+#
+# Benchmark de tiempo de arranque.
+#
+# Arranca la aplicación varias veces en cada modo y registra la mediana del tiempo que
+# informa Spring ("Started TaskmanagerApplication in X seconds") en
+# benchmarks/startup-history.csv, una línea por modo y build, para comparar build a build.
+#
+# Requisitos:
+#   - Haber construido con el perfil de producción:  ./mvnw -Pprod package -DskipTests
+#   - Una base de datos PostgreSQL accesible con la configuración del perfil "prod".
+#
+# Uso:  scripts/startup-benchmark.sh [repeticiones] [argumentos extra de Spring...]
+#
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS="${1:-5}"
+shift || true
+EXTRA_ARGS=("$@")
+
+JAR="$(ls "$ROOT"/target/Taskmanager-*.jar | grep -v original | head -n 1)"
+EXTRACTED="$ROOT/target/application/$(basename "$JAR")"
+CDS_ARCHIVE="$ROOT/target/application/application.jsa"
+HISTORY="$ROOT/benchmarks/startup-history.csv"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+if [[ ! -f "$EXTRACTED" || ! -f "$CDS_ARCHIVE" ]]; then
+    echo "Falta target/application; ejecuta antes: ./mvnw -Pprod package -DskipTests" >&2
+    exit 1
+fi
+
+# Arranca una vez y devuelve los segundos que informa Spring
+measure() {
+    local log
+    log="$(mktemp)"
+    "$JAVA" "$@" --spring.profiles.active=prod "${EXTRA_ARGS[@]}" > "$log" 2>&1 &
+    local pid=$!
+    local seconds=""
+    for _ in $(seq 1 600); do
+        seconds="$(sed -n 's/.*Started TaskmanagerApplication in \([0-9.]*\) seconds.*/\1/p' "$log")"
+        [[ -n "$seconds" ]] && break
+        if ! kill -0 "$pid" 2>/dev/null; then
+            cat "$log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+    echo "$seconds"
+}
+
+# Ejecuta N arranques de un modo y añade la mediana al histórico
+bench() {
+    local mode="$1"
+    shift
+    local samples=()
+    for _ in $(seq 1 "$RUNS"); do
+        samples+=("$(measure "$@")")
+    done
+    local sorted
+    sorted="$(printf '%s\n' "${samples[@]}" | sort -n)"
+    local median min
+    median="$(echo "$sorted" | awk '{ a[NR] = $1 } END { print (NR % 2) ? a[(NR + 1) / 2] : (a[NR / 2] + a[NR / 2 + 1]) / 2 }')"
+    min="$(echo "$sorted" | head -n 1)"
+    echo "$mode: mediana ${median}s, mínimo ${min}s (${RUNS} arranques)"
+    echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),$(git -C "$ROOT" rev-parse --short HEAD 2>/dev/null || echo unknown),$mode,$RUNS,$median,$min" >> "$HISTORY"
+}
+
+[[ -f "$HISTORY" ]] || echo "timestamp,commit,mode,runs,median_seconds,min_seconds" > "$HISTORY"
+
+bench "fat-jar" -jar "$JAR"
+bench "aot+cds" -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true -jar "$EXTRACTED"
@@ -0,0 +1,89 @@
+package com.tfg.taskmanager.audit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evento de auditoría: quién creó o modificó qué entidad, cuándo y con qué cambios.
+ *
+ * Los servicios lo publican dentro de la transacción del cambio; el registro de auditoría
+ * sólo lo recoge si la transacción se confirma (ver {@link com.tfg.taskmanager.audit.service.AuditTrail}).
+ */
+@Getter
+@AllArgsConstructor
+public class AuditEvent {
+
+    /** Identificador único (sirve para descartar duplicados al reenviar) */
+    private final UUID eventId;
+
+    private final LocalDateTime occurredAt;
+
+    /** Usuario que hizo el cambio */
+    private final String actor;
+
+    private final EntityType entityType;
+
+    private final Long entityId;
+
+    private final Action action;
+
+    /** Campo -> valor anterior y nuevo (en altas, sólo el nuevo) */
+    private final Map<String, FieldChange> changes;
+
+    /**
+     * Alta de una entidad con sus valores iniciales (los nulos se omiten).
+     */
+    public static AuditEvent created(EntityType entityType, Long entityId, String actor, Map<String, Object> values) {
+        Map<String, FieldChange> changes = new LinkedHashMap<>();
+        values.forEach((field, value) -> {
+            if (value != null) {
+                changes.put(field, new FieldChange(null, value));
+            }
+        });
+        return new AuditEvent(UUID.randomUUID(), LocalDateTime.now(), actor, entityType, entityId,
+                Action.CREATE, changes);
+    }
+
+    /**
+     * Modificación de una entidad: sólo los campos indicados cuyo valor ha cambiado.
+     *
+     * @param before Valores anteriores.
+     * @param after Valores nuevos.
+     */
+    public static AuditEvent updated(EntityType entityType, Long entityId, String actor, Set<String> fields,
+                                     Map<String, Object> before, Map<String, Object> after) {
+        Map<String, FieldChange> changes = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object from = before.get(field);
+            Object to = after.get(field);
+            if (!Objects.equals(from, to)) {
+                changes.put(field, new FieldChange(from, to));
+            }
+        }
+        return new AuditEvent(UUID.randomUUID(), LocalDateTime.now(), actor, entityType, entityId,
+                Action.UPDATE, changes);
+    }
+
+    public enum EntityType {
+        TASK,
+        PROJECT
+    }
+
+    public enum Action {
+        CREATE,
+        UPDATE
+    }
+
+    /**
+     * Valor anterior y nuevo de un campo.
+     */
+    public record FieldChange(Object from, Object to) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.tfg.taskmanager.audit.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fila del registro de auditoría tal como se inserta en `audit_log` y se guarda en el
+ * fichero de desbordamiento (una línea JSON por registro).
+ *
+ * @param changes Cambios ya convertidos a JSON: `{"campo": {"from": ..., "to": ...}}`.
+ */
+public record AuditRecord(UUID eventId, LocalDateTime occurredAt, String actor, String entityType,
+                          long entityId, String action, JsonNode changes) {
+}
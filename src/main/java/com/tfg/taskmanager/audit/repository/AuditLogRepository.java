@@ -0,0 +1,59 @@
+package com.tfg.taskmanager.audit.repository;
+
+import com.tfg.taskmanager.audit.model.AuditRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Escritura por lotes en `audit_log`.
+ *
+ * Usa JDBC directamente (un `INSERT` por fila enviado en un único lote y en una sola
+ * transacción) y un tiempo máximo por sentencia: si la base de datos va lenta, el lote
+ * falla y el escritor lo desvía al fichero de desbordamiento en lugar de esperar.
+ * Los eventos ya registrados se ignoran, así que reenviar un lote no duplica filas.
+ */
+@Repository
+public class AuditLogRepository {
+
+    private static final String INSERT = """
+            INSERT INTO audit_log (event_id, occurred_at, actor, entity_type, entity_id, action, changes)
+            VALUES (?, ?, ?, ?, ?, ?, CAST(? AS jsonb))
+            ON CONFLICT (event_id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public AuditLogRepository(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${audit.insert-timeout:PT5S}") Duration insertTimeout) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, insertTimeout.toSeconds()));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Inserta un lote de registros en una sola transacción.
+     */
+    public void insertBatch(List<AuditRecord> records) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT, records, records.size(),
+                (statement, record) -> {
+                    statement.setObject(1, record.eventId());
+                    statement.setTimestamp(2, Timestamp.valueOf(record.occurredAt()));
+                    statement.setString(3, record.actor());
+                    statement.setString(4, record.entityType());
+                    statement.setLong(5, record.entityId());
+                    statement.setString(6, record.action());
+                    statement.setString(7, record.changes().toString());
+                }));
+    }
+}
@@ -0,0 +1,158 @@
+package com.tfg.taskmanager.audit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tfg.taskmanager.audit.model.AuditRecord;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Fichero local de desbordamiento del registro de auditoría (una línea JSON por registro).
+ *
+ * Recibe los registros que no caben en el búfer o que no se pudieron insertar. Para
+ * reenviarlos, el fichero activo se renombra a `replay-*.jsonl` (las escrituras nuevas van
+ * a un fichero activo nuevo) y cada fichero de reenvío se borra sólo cuando todos sus
+ * registros están insertados. Un fallo a mitad hace que se reenvíe entero más tarde: la
+ * tabla descarta los duplicados.
+ *
+ * Los ficheros que queden de una ejecución anterior se reenvían al arrancar. Cada réplica
+ * debe tener su propio directorio.
+ */
+@Slf4j
+class AuditSpillFile {
+
+    private static final String ACTIVE = "spill.jsonl";
+    private static final String REPLAY_PREFIX = "replay-";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    /** Fichero activo abierto para añadir; se cierra al rotarlo */
+    private BufferedWriter writer;
+
+    /** true si puede haber registros pendientes de reenviar */
+    private volatile boolean pending;
+
+    AuditSpillFile(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                pending = files.anyMatch(AuditSpillFile::isSpillFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se puede usar el directorio de desbordamiento " + directory, e);
+        }
+    }
+
+    /**
+     * Añade registros al fichero activo (vaciando el búfer de escritura al sistema operativo).
+     */
+    synchronized void append(List<AuditRecord> records) throws IOException {
+        if (writer == null) {
+            writer = Files.newBufferedWriter(directory.resolve(ACTIVE), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        for (AuditRecord record : records) {
+            writer.write(objectMapper.writeValueAsString(record));
+            writer.newLine();
+        }
+        writer.flush();
+        pending = true;
+    }
+
+    boolean hasPending() {
+        return pending;
+    }
+
+    /**
+     * Cierra el fichero activo, lo pasa a reenvío y devuelve todos los ficheros a reenviar
+     * en orden de creación.
+     */
+    synchronized List<Path> takePending() throws IOException {
+        pending = false;
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        Path active = directory.resolve(ACTIVE);
+        if (Files.exists(active)) {
+            Files.move(active, directory.resolve(REPLAY_PREFIX + System.currentTimeMillis() + "-" + System.nanoTime() + ".jsonl"));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(REPLAY_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Marca que quedan registros por reenviar (tras un reenvío fallido).
+     */
+    void markPending() {
+        pending = true;
+    }
+
+    /**
+     * Recorre un fichero de reenvío en lotes, sin cargarlo entero. Las líneas ilegibles
+     * (p. ej. una última línea a medio escribir por una caída) se descartan.
+     *
+     * @return Número de registros leídos.
+     */
+    long forEachBatch(Path file, int batchSize, Consumer<List<AuditRecord>> consumer) throws IOException {
+        long count = 0;
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, AuditRecord.class));
+                } catch (IOException e) {
+                    log.warn("Línea ilegible en {} descartada", file.getFileName());
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    consumer.accept(batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+            count += batch.size();
+        }
+        return count;
+    }
+
+    void delete(Path file) throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private static boolean isSpillFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.equals(ACTIVE) || name.startsWith(REPLAY_PREFIX);
+    }
+}
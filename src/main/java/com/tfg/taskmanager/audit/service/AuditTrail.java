@@ -0,0 +1,199 @@
+package com.tfg.taskmanager.audit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tfg.taskmanager.audit.event.AuditEvent;
+import com.tfg.taskmanager.audit.model.AuditRecord;
+import com.tfg.taskmanager.audit.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de auditoría asíncrono de altas y modificaciones.
+ *
+ * Los {@link AuditEvent} confirmados entran en un {@link RingBuffer} acotado sin bloquear la
+ * petición; un único hilo escritor los extrae en lotes (tantos como haya, hasta
+ * `audit.batch-size`) y los inserta en `audit_log` con un lote JDBC por transacción.
+ *
+ * Entrega "al menos una vez": si el búfer está lleno, el evento se escribe en el fichero
+ * de desbordamiento desde la propia petición; si un lote no se puede insertar (base de
+ * datos caída o más lenta que `audit.insert-timeout`), el escritor lo desvía al fichero y
+ * lo reenvía cada `audit.retry-interval`. Los reenvíos no duplican filas (`event_id`).
+ * Al parar la aplicación se vacía el búfer; una caída del proceso sí puede perder los
+ * eventos que aún estaban en memoria (como mucho un intervalo de escritura).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "audit.enabled", havingValue = "true", matchIfMissing = true)
+public class AuditTrail {
+
+    private final AuditLogRepository repository;
+    private final ObjectMapper objectMapper;
+    private final RingBuffer<AuditEvent> buffer;
+    private final AuditSpillFile spillFile;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration retryInterval;
+
+    private final Counter written;
+    private final Counter spilled;
+    private final Counter failedBatches;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    /** Instante (nanoTime) a partir del cual se puede intentar reenviar el fichero */
+    private long nextReplayAt;
+
+    public AuditTrail(
+            AuditLogRepository repository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${audit.buffer-capacity:65536}") int bufferCapacity,
+            @Value("${audit.batch-size:500}") int batchSize,
+            @Value("${audit.flush-interval:PT0.2S}") Duration flushInterval,
+            @Value("${audit.retry-interval:PT5S}") Duration retryInterval,
+            @Value("${audit.spill-dir}") Path spillDir) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.spillFile = new AuditSpillFile(spillDir, objectMapper);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.retryInterval = retryInterval;
+
+        Gauge.builder("audit.buffer.size", buffer, RingBuffer::size).register(meterRegistry);
+        this.written = meterRegistry.counter("audit.written");
+        this.spilled = meterRegistry.counter("audit.spilled");
+        this.failedBatches = meterRegistry.counter("audit.failed.batches");
+    }
+
+    /**
+     * Recoge un evento una vez confirmada la transacción que lo publicó.
+     * No hace E/S salvo que el búfer esté lleno.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAudit(AuditEvent event) {
+        if (!buffer.offer(event)) {
+            spill(List.of(toRecord(event)));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Para el escritor después de vaciar el búfer (lo que no se pueda insertar va al fichero).
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        spillFile.close();
+    }
+
+    /**
+     * Eventos en memoria pendientes de escribir.
+     */
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    private void run() {
+        List<AuditEvent> events = new ArrayList<>(batchSize);
+        while (true) {
+            events.clear();
+            try {
+                buffer.drainTo(events, batchSize, flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (events.isEmpty() && !running) {
+                return;
+            }
+            if (spillFile.hasPending() && System.nanoTime() - nextReplayAt >= 0) {
+                replay();
+            }
+            if (!events.isEmpty()) {
+                List<AuditRecord> records = events.stream().map(this::toRecord).toList();
+                if (running && spillFile.hasPending()) {
+                    // La base de datos sigue sin responder: no se espera por cada lote
+                    spill(records);
+                } else {
+                    write(records);
+                }
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> records) {
+        try {
+            repository.insertBatch(records);
+            written.increment(records.size());
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("No se pudo escribir un lote de auditoría ({} eventos); se guarda en el fichero de desbordamiento: {}",
+                    records.size(), e.getMessage());
+            nextReplayAt = System.nanoTime() + retryInterval.toNanos();
+            spill(records);
+        }
+    }
+
+    /**
+     * Reenvía los ficheros de desbordamiento. Si un lote falla, se deja el resto para el siguiente intento.
+     */
+    private void replay() {
+        try {
+            for (Path file : spillFile.takePending()) {
+                long count = spillFile.forEachBatch(file, batchSize, repository::insertBatch);
+                spillFile.delete(file);
+                written.increment(count);
+                log.info("Reenviados {} eventos de auditoría desde {}", count, file.getFileName());
+            }
+        } catch (IOException | RuntimeException e) {
+            failedBatches.increment();
+            spillFile.markPending();
+            nextReplayAt = System.nanoTime() + retryInterval.toNanos();
+            log.warn("Reenvío de auditoría pendiente: {}", e.getMessage());
+        }
+    }
+
+    private void spill(List<AuditRecord> records) {
+        try {
+            spillFile.append(records);
+            spilled.increment(records.size());
+        } catch (IOException e) {
+            log.error("Perdidos {} eventos de auditoría: no se pudieron guardar en el fichero de desbordamiento",
+                    records.size(), e);
+        }
+    }
+
+    private AuditRecord toRecord(AuditEvent event) {
+        return new AuditRecord(event.getEventId(), event.getOccurredAt(), event.getActor(),
+                event.getEntityType().name(), event.getEntityId(), event.getAction().name(),
+                objectMapper.valueToTree(event.getChanges()));
+    }
+}
@@ -0,0 +1,114 @@
+package com.tfg.taskmanager.audit.service;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Búfer circular acotado para varios productores y un consumidor.
+ *
+ * Los productores nunca se bloquean esperando hueco: si el búfer está lleno, {@link #offer}
+ * devuelve false y deciden qué hacer con el elemento. El consumidor extrae lotes con
+ * {@link #drainTo}, esperando como mucho un tiempo dado si está vacío. El array se reserva
+ * una sola vez (capacidad redondeada a potencia de dos) y las posiciones se calculan con
+ * una máscara sobre contadores que sólo crecen.
+ *
+ * @param <T> Tipo de los elementos.
+ */
+public class RingBuffer<T> {
+
+    private final Object[] slots;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    /** Siguiente posición a leer */
+    private long head;
+
+    /** Siguiente posición a escribir */
+    private long tail;
+
+    /**
+     * @param capacity Capacidad mínima; se redondea a la siguiente potencia de dos.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidad de búfer inválida: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Object[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Añade un elemento si hay hueco.
+     *
+     * @return false si el búfer está lleno.
+     */
+    public boolean offer(T item) {
+        lock.lock();
+        try {
+            if (tail - head == slots.length) {
+                return false;
+            }
+            slots[(int) (tail & mask)] = item;
+            tail++;
+            if (tail - head == 1) {
+                notEmpty.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Extrae hasta `max` elementos en orden de llegada. Si el búfer está vacío, espera a
+     * que llegue alguno como mucho `timeout`.
+     *
+     * @return Número de elementos extraídos (0 si se agotó la espera).
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> out, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (tail == head) {
+                if (nanos <= 0) {
+                    return 0;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            int count = (int) Math.min(max, tail - head);
+            for (int i = 0; i < count; i++) {
+                int index = (int) (head & mask);
+                out.add((T) slots[index]);
+                slots[index] = null;
+                head++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Elementos pendientes de extraer.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
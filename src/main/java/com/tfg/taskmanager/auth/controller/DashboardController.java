@@ -1,15 +1,15 @@
 package com.tfg.taskmanager.auth.controller;
 
-import com.tfg.taskmanager.project.model.dto.ProjectDTO;
-import com.tfg.taskmanager.project.service.ProjectService;
+import com.tfg.taskmanager.auth.service.DashboardCacheService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controlador responsable de mostrar la vista principal (dashboard) del usuario autenticado.
@@ -18,6 +18,7 @@ import java.util.List;
  * - Verificar que el usuario haya iniciado sesión mediante una cookie de autenticación.
  * - Extraer el nombre de usuario desde la cookie y enviarlo a la vista.
  * - Redirigir al login si el usuario no está autenticado.
+ * - Responder `304 Not Modified` si los proyectos del usuario no han cambiado (ETag).
  * 
  *   Seguridad:
  * - Se basa en el uso de cookies HTTP, lo que implica que el JWT debe haber sido almacenado previamente.
@@ -27,17 +28,24 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DashboardController {
 
-    private final ProjectService projectService; // Servicio para recuperar los proyectos del usuario
+    private final DashboardCacheService dashboardCache; // Caché del fragmento de proyectos del usuario
 
     /**
      * Muestra la vista principal (dashboard) del usuario autenticado.
      * 
      * @param request Objeto HTTP para obtener las cookies del usuario.
+     * @param response Respuesta HTTP (cabeceras de caché y contexto de la plantilla).
+     * @param webRequest Petición usada para evaluar el ETag enviado por el navegador.
      * @param model Modelo utilizado para pasar atributos a la vista.
-     * @return Nombre de la vista del dashboard o redirección al login si no hay sesión.
+     * @return Nombre de la vista del dashboard, redirección al login si no hay sesión,
+     *         o `null` si el navegador ya tiene la versión vigente (304).
      */
     @GetMapping("/dashboard")
-    public String showDashboard(HttpServletRequest request, Model model) {
+    public String showDashboard(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            WebRequest webRequest,
+            Model model) {
         // Obtiene el nombre de usuario desde la cookie USERNAME
         String username = getCookieValue(request, "USERNAME");
 
@@ -46,12 +54,19 @@ public class DashboardController {
             return "redirect:/login";
         }
 
+        // La página es privada del usuario: el navegador puede guardarla pero debe revalidarla siempre
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        // Si los proyectos no han cambiado desde la última visita, se responde 304 sin cuerpo
+        if (webRequest.checkNotModified(dashboardCache.etag(username))) {
+            return null;
+        }
+
         // Se añade el nombre de usuario al modelo para mostrarlo en la vista
         model.addAttribute("username", username);
 
-        // Recupera todos los proyectos asociados al usuario autenticado
-        List<ProjectDTO> projects = projectService.getAllByOwner(username);
-        model.addAttribute("projects", projects); // Se pasan a la vista para ser renderizados
+        // Fragmento con las tarjetas de proyectos, servido desde caché mientras no haya cambios
+        model.addAttribute("projectCards", dashboardCache.projectCards(username, request, response));
 
         return "dashboard"; // Retorna la vista del dashboard
     }
@@ -12,17 +12,25 @@ import org.springframework.web.client.RestTemplate;
 import com.tfg.taskmanager.auth.dto.LoginRequest;
 import com.tfg.taskmanager.auth.dto.LoginResponse;
 import com.tfg.taskmanager.auth.dto.RegisterRequest;
+import com.tfg.taskmanager.common.concurrency.Bulkhead;
+import com.tfg.taskmanager.common.concurrency.BulkheadFullException;
+import com.tfg.taskmanager.common.concurrency.Bulkheads;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthClientService {
 
+    /** Compartimento de las llamadas al auth-service (`bulkhead.classes.auth-service`) */
+    private static final String BULKHEAD = "auth-service";
+
     @Value("${auth.service.url}")
     private String authServiceUrl;
 
     private final RestTemplate restTemplate;
 
+    private final Bulkheads bulkheads;
+
     /**
      * Realiza login contra el auth-service.
      * @param request DTO con email y contraseña
@@ -35,15 +43,20 @@ public class AuthClientService {
 
             HttpEntity<LoginRequest> entity = new HttpEntity<>(request, headers);
 
-            ResponseEntity<LoginResponse> response = restTemplate.exchange(
+            // Como mucho `max-concurrent` logins a la vez esperan al auth-service; el resto se rechaza al momento
+            ResponseEntity<LoginResponse> response = bulkhead().call(() -> restTemplate.exchange(
                     authServiceUrl, // Url del auth-service descrita en porperties
                     HttpMethod.POST,
                     entity,
                     LoginResponse.class
-            );
+            ));
 
             return response.getBody();
 
+        } catch (BulkheadFullException e) {
+            log.warn("Llamada al auth-service rechazada: demasiados logins en curso");
+            throw new RuntimeException("Servicio de autenticación saturado, inténtalo de nuevo en unos segundos");
+
         } catch (HttpClientErrorException e) {
             // 4xx: credenciales inválidas u otro error del cliente
             log.warn("Error de autenticación desde auth-service: {}", e.getMessage());
@@ -68,10 +81,16 @@ public class AuthClientService {
     public void register(RegisterRequest request) {
         try {
             String url = authServiceUrl  + "/auth/register"; // Ajusta si la URL cambia
-            restTemplate.postForEntity(url, request, Void.class);
+            bulkhead().call(() -> restTemplate.postForEntity(url, request, Void.class));
+        } catch (BulkheadFullException e) {
+            throw new RuntimeException("Servicio de autenticación saturado, inténtalo de nuevo en unos segundos");
         } catch (Exception e) {
             throw new RuntimeException("Error al registrar el usuario: " + e.getMessage());
         }
     }
 
+    private Bulkhead bulkhead() {
+        return bulkheads.get(BULKHEAD);
+    }
+
 }
@@ -0,0 +1,156 @@
+package com.tfg.taskmanager.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.project.event.ProjectChangedEvent;
+import com.tfg.taskmanager.project.model.dto.ProjectDTO;
+import com.tfg.taskmanager.project.service.ProjectService;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché del fragmento HTML con las tarjetas de proyectos del dashboard.
+ *
+ * Cada propietario tiene una "versión de datos" que cambia cada vez que se crea o modifica
+ * uno de sus proyectos. El fragmento renderizado se guarda junto a la versión con la que se
+ * generó, de modo que mientras la versión no cambie no se vuelve a consultar la base de datos
+ * ni a procesar la plantilla. La misma versión sirve como ETag de la página.
+ *
+ * Las versiones se toman de un contador global inicializado con la hora de arranque, así que
+ * nunca se repiten entre usuarios ni entre reinicios y pueden expulsarse de la caché sin riesgo.
+ */
+@Slf4j
+@Service
+public class DashboardCacheService {
+
+    /** Plantilla que contiene el fragmento cacheado */
+    private static final String CARDS_TEMPLATE = "fragments/project-cards";
+
+    /** Selector del fragmento dentro de la plantilla */
+    private static final Set<String> CARDS_SELECTOR = Set.of("projectCards");
+
+    private final ProjectService projectService;
+    private final ITemplateEngine templateEngine;
+    private final JakartaServletWebApplication webApplication;
+
+    /** Generador de versiones únicas */
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    /** Versión de datos vigente por propietario */
+    private final Cache<String, Long> versions;
+
+    /** Fragmento renderizado por propietario, junto a la versión con que se generó */
+    private final Cache<String, RenderedFragment> fragments;
+
+    public DashboardCacheService(
+            ProjectService projectService,
+            ITemplateEngine templateEngine,
+            ServletContext servletContext,
+            @Value("${dashboard.cache.max-users:10000}") long maxUsers,
+            @Value("${dashboard.cache.expire-after-access:PT30M}") Duration expireAfterAccess) {
+        this.projectService = projectService;
+        this.templateEngine = templateEngine;
+        this.webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * Devuelve la versión de datos actual del propietario, asignando una nueva si no tenía.
+     */
+    public long currentVersion(String ownerUsername) {
+        return versions.get(ownerUsername, owner -> versionSequence.incrementAndGet());
+    }
+
+    /**
+     * Construye el ETag de la página del dashboard a partir de la versión de datos.
+     */
+    public String etag(String ownerUsername) {
+        return "\"d" + Long.toHexString(currentVersion(ownerUsername)) + "\"";
+    }
+
+    /**
+     * Devuelve el fragmento con las tarjetas de proyectos del usuario, renderizándolo
+     * sólo si no hay una copia generada con la versión de datos vigente.
+     *
+     * @param ownerUsername Usuario propietario de los proyectos.
+     * @param request Petición actual (necesaria para resolver los enlaces de la plantilla).
+     * @param response Respuesta actual.
+     * @return HTML del fragmento.
+     */
+    public String projectCards(String ownerUsername, HttpServletRequest request, HttpServletResponse response) {
+        long version = currentVersion(ownerUsername);
+
+        RenderedFragment cached = fragments.getIfPresent(ownerUsername);
+        if (cached != null && cached.version() == version) {
+            return cached.html();
+        }
+
+        List<ProjectDTO> projects = projectService.getAllByOwner(ownerUsername);
+        WebContext context = new WebContext(webApplication.buildExchange(request, response), request.getLocale());
+        context.setVariable("projects", projects);
+        String html = templateEngine.process(CARDS_TEMPLATE, CARDS_SELECTOR, context);
+
+        fragments.put(ownerUsername, new RenderedFragment(version, html));
+        return html;
+    }
+
+    /**
+     * Invalida los datos cacheados de un propietario asignándole una nueva versión.
+     */
+    public void invalidate(String ownerUsername) {
+        versions.put(ownerUsername, versionSequence.incrementAndGet());
+        fragments.invalidate(ownerUsername);
+    }
+
+    /**
+     * Cambia la versión del propietario una vez confirmado el cambio en base de datos,
+     * para que ninguna petición concurrente cachee datos antiguos con la versión nueva.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.getOwnerUsername() != null) {
+            invalidate(event.getOwnerUsername());
+        }
+    }
+
+    /**
+     * Aplica los cambios de proyectos confirmados en otros nodos.
+     */
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (event.isAll()) {
+            versions.invalidateAll();
+            fragments.invalidateAll();
+            return;
+        }
+        event.getOwners().forEach(this::invalidate);
+    }
+
+    /**
+     * Fragmento renderizado y versión de datos con la que se generó.
+     */
+    private record RenderedFragment(long version, String html) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.tfg.taskmanager.cluster.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evento local publicado cuando otro nodo ha confirmado cambios en tareas o proyectos.
+ *
+ * Lo escuchan los componentes con cachés en memoria para expulsar o recargar lo afectado.
+ * No sustituye a `TaskChangedEvent`/`ProjectChangedEvent`: esos sólo se publican en el nodo
+ * que hace el cambio y además escriben datos (registro de cambios, bandejas), que aquí ya
+ * están escritos.
+ */
+@Getter
+@AllArgsConstructor
+public class ClusterInvalidationEvent {
+
+    /**
+     * true si no se sabe qué cambió (p. ej. se han perdido avisos y el registro ya está
+     * compactado): hay que vaciar todas las cachés. El resto de campos vienen vacíos.
+     */
+    private final boolean all;
+
+    /** Proyectos con tareas creadas, modificadas o archivadas */
+    private final Set<Long> taskProjectIds;
+
+    /** Tareas creadas o modificadas */
+    private final List<Long> upsertedTaskIds;
+
+    /** Tareas que han salido de la tabla activa */
+    private final List<Long> deletedTaskIds;
+
+    /** Proyectos creados o modificados */
+    private final Set<Long> projectIds;
+
+    /** Propietarios de los proyectos creados o modificados */
+    private final Set<String> owners;
+
+    /**
+     * Evento de vaciado completo.
+     */
+    public static ClusterInvalidationEvent everything() {
+        return new ClusterInvalidationEvent(true, Set.of(), List.of(), List.of(), Set.of(), Set.of());
+    }
+}
@@ -0,0 +1,120 @@
+package com.tfg.taskmanager.cluster.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mensaje de invalidación entre nodos, enviado como carga de `NOTIFY`.
+ *
+ * Describe un tramo contiguo del registro de cambios, `(fromSeq, toSeq]`, escrito por una
+ * transacción, y qué contiene: tipo de cambio, proyectos, IDs de las entidades y propietario
+ * (cambios de proyecto). Formato de texto compacto:
+ *
+ *     v1;<nodo>;<fromSeq>;<toSeq>;<tipo>;<proyectos>;<ids>;<propietario>
+ *
+ * con listas separadas por comas. Si los IDs no caben en el límite de `NOTIFY`, se envía `*`
+ * y los receptores leen el tramo del registro de cambios.
+ *
+ * Los cambios de permisos ({@link Type#MEMBERSHIP}) no pasan por el registro de cambios: no
+ * tienen tramo (secuencias a 0) y llevan el usuario afectado en el campo del propietario.
+ *
+ * @param node Nodo que hizo el cambio (sus propias cachés ya están al día).
+ * @param fromSeq Última secuencia del registro antes del cambio.
+ * @param toSeq Última secuencia del registro tras el cambio.
+ * @param type Tipo de cambio.
+ * @param projectIds Proyectos afectados.
+ * @param ids IDs de tareas (o del proyecto); null si no cabían en el mensaje.
+ * @param owner Propietario (cambios de proyecto; puede ser null) o usuario cuyos permisos
+ *              cambiaron (MEMBERSHIP; null = todos).
+ */
+public record InvalidationMessage(String node, long fromSeq, long toSeq, Type type,
+                                  Set<Long> projectIds, List<Long> ids, String owner) {
+
+    private static final String VERSION = "v1";
+
+    /** Límite de `NOTIFY` (8000 bytes) con margen */
+    public static final int MAX_PAYLOAD_BYTES = 7900;
+
+    public enum Type {
+        /** Tareas creadas o modificadas */
+        TASK_UPSERT,
+        /** Tareas que salen de la tabla activa */
+        TASK_DELETE,
+        /** Proyecto creado o modificado */
+        PROJECT_UPSERT,
+        /** Altas o bajas en equipos o proyectos: cambian los proyectos accesibles de un usuario */
+        MEMBERSHIP
+    }
+
+    /**
+     * Codifica el mensaje. Si no cabe con los IDs, los sustituye por `*`.
+     */
+    public String encode() {
+        String head = VERSION + ";" + node + ";" + fromSeq + ";" + toSeq + ";" + type.name() + ";"
+                + join(projectIds) + ";";
+        String tail = ";" + (owner != null ? owner.replace(";", "") : "");
+        String full = head + (ids != null ? join(ids) : "*") + tail;
+        if (full.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            return full;
+        }
+        String withoutIds = head + "*" + tail;
+        if (withoutIds.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+            return withoutIds;
+        }
+        // Demasiados proyectos: sólo el tramo; el receptor lo lee entero del registro
+        return VERSION + ";" + node + ";" + fromSeq + ";" + toSeq + ";" + type.name() + ";*;*;";
+    }
+
+    /**
+     * Decodifica un mensaje.
+     *
+     * @return El mensaje, o null si no tiene un formato reconocible.
+     */
+    public static InvalidationMessage decode(String payload) {
+        String[] parts = payload.split(";", -1);
+        if (parts.length != 8 || !VERSION.equals(parts[0])) {
+            return null;
+        }
+        try {
+            Set<Long> projects = "*".equals(parts[5]) ? null : new LinkedHashSet<>(split(parts[5]));
+            List<Long> ids = "*".equals(parts[6]) ? null : split(parts[6]);
+            return new InvalidationMessage(parts[1], Long.parseLong(parts[2]), Long.parseLong(parts[3]),
+                    Type.valueOf(parts[4]), projects, projects == null ? null : ids,
+                    parts[7].isEmpty() ? null : parts[7]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * true si el mensaje no trae el detalle y hay que leer el tramo del registro de cambios.
+     */
+    public boolean truncated() {
+        return projectIds == null || ids == null;
+    }
+
+    private static String join(Collection<Long> values) {
+        StringBuilder out = new StringBuilder();
+        for (Long value : values) {
+            if (!out.isEmpty()) {
+                out.append(',');
+            }
+            out.append(value);
+        }
+        return out.toString();
+    }
+
+    private static List<Long> split(String csv) {
+        List<Long> values = new ArrayList<>();
+        if (!csv.isEmpty()) {
+            for (String value : csv.split(",")) {
+                values.add(Long.parseLong(value));
+            }
+        }
+        return values;
+    }
+}
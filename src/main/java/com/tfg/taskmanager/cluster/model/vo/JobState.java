@@ -0,0 +1,58 @@
+package com.tfg.taskmanager.cluster.model.vo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado compartido de un job de mantenimiento: concesión (lease) del nodo que lo ejecuta,
+ * punto de control de la ejecución en curso y resumen de la última ejecución terminada.
+ *
+ * Sólo se modifica con las sentencias de {@link com.tfg.taskmanager.cluster.repository.JobStateRepository},
+ * que comprueban la concesión en la propia base de datos.
+ */
+@Entity
+@Table(name = "job_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobState {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    /** Nodo que tiene la concesión, o null si nadie lo está ejecutando */
+    @Column(length = 64)
+    private String ownerNode;
+
+    /** Fin de la concesión; pasado este instante otro nodo puede reclamar el job */
+    private LocalDateTime leaseUntil;
+
+    /** Punto de control del trabajo en curso (formato propio de cada job); null si no hay ninguno a medias */
+    private String checkpoint;
+
+    /** Inicio de la ejecución en curso (se conserva al reanudarla en otro nodo) */
+    private LocalDateTime runStartedAt;
+
+    /** Elementos procesados en la ejecución en curso */
+    private long runItems;
+
+    private LocalDateTime lastFinishedAt;
+
+    /** Duración de la última ejecución terminada, desde su inicio hasta el último lote */
+    private Long lastDurationMs;
+
+    private Long lastItems;
+
+    private String lastError;
+
+    /** Trabajo pendiente estimado al terminar la última ejecución */
+    private Long backlog;
+}
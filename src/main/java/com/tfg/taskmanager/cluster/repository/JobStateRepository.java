@@ -0,0 +1,111 @@
+package com.tfg.taskmanager.cluster.repository;
+
+import com.tfg.taskmanager.cluster.model.vo.JobState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Concesiones y puntos de control de los jobs de mantenimiento.
+ *
+ * Todas las comprobaciones de la concesión se hacen en la sentencia con el reloj de la
+ * base de datos, así que no dependen de que los relojes de los nodos estén sincronizados.
+ * Las que llevan `:node` sólo tienen efecto si el nodo sigue teniendo la concesión.
+ */
+@Repository
+public interface JobStateRepository extends JpaRepository<JobState, String> {
+
+    /**
+     * Reclama la concesión de un job si está libre, ha caducado o ya era de este nodo.
+     * Si había una ejecución a medias, conserva su punto de control e inicio. Si no, sólo
+     * la reclama si la última ejecución terminó hace más de `minIntervalSeconds` (otro nodo
+     * ya atendió este mismo disparo).
+     *
+     * @return El estado tras reclamarlo, o vacío si otro nodo tiene la concesión o acaba de ejecutarlo.
+     */
+    @Query(value = """
+            INSERT INTO job_state (name, owner_node, lease_until, run_started_at, run_items)
+            VALUES (:name, :node, LOCALTIMESTAMP + make_interval(secs => :leaseSeconds), LOCALTIMESTAMP, 0)
+            ON CONFLICT (name) DO UPDATE
+               SET owner_node = EXCLUDED.owner_node,
+                   lease_until = EXCLUDED.lease_until,
+                   run_started_at = COALESCE(job_state.run_started_at, EXCLUDED.run_started_at)
+             WHERE (job_state.owner_node IS NULL
+                    OR job_state.owner_node = EXCLUDED.owner_node
+                    OR job_state.lease_until < LOCALTIMESTAMP)
+               AND (job_state.checkpoint IS NOT NULL
+                    OR job_state.last_finished_at IS NULL
+                    OR job_state.last_finished_at < LOCALTIMESTAMP - make_interval(secs => :minIntervalSeconds))
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<JobState> claim(@Param("name") String name, @Param("node") String node,
+                             @Param("leaseSeconds") long leaseSeconds,
+                             @Param("minIntervalSeconds") long minIntervalSeconds);
+
+    /**
+     * Prolonga la concesión. Bloquea la fila hasta el final de la transacción, así que
+     * ningún otro nodo puede reclamarla mientras se procesa el lote.
+     *
+     * @return 0 si el nodo ha perdido la concesión.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE job_state SET lease_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds)
+            WHERE name = :name AND owner_node = :node
+            """, nativeQuery = true)
+    int renew(@Param("name") String name, @Param("node") String node, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Guarda el punto de control tras un lote (en la misma transacción que el lote).
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE job_state SET checkpoint = :checkpoint, run_items = run_items + :items
+            WHERE name = :name AND owner_node = :node
+            """, nativeQuery = true)
+    int saveCheckpoint(@Param("name") String name, @Param("node") String node,
+                       @Param("checkpoint") String checkpoint, @Param("items") long items);
+
+    /**
+     * Cierra una ejecución completa: guarda el resumen y libera la concesión.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE job_state
+               SET owner_node = NULL, lease_until = NULL, checkpoint = NULL,
+                   last_finished_at = LOCALTIMESTAMP,
+                   last_duration_ms = CAST(EXTRACT(EPOCH FROM (LOCALTIMESTAMP - run_started_at)) * 1000 AS BIGINT),
+                   last_items = run_items, last_error = NULL, backlog = :backlog,
+                   run_started_at = NULL, run_items = 0
+            WHERE name = :name AND owner_node = :node
+            """, nativeQuery = true)
+    int finish(@Param("name") String name, @Param("node") String node, @Param("backlog") long backlog);
+
+    /**
+     * Libera la concesión sin cerrar la ejecución: el punto de control se conserva para
+     * que la siguiente ejecución (en este u otro nodo) continúe desde él.
+     *
+     * @param error Motivo, si la ejecución se interrumpió por un error.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE job_state SET owner_node = NULL, lease_until = NULL, last_error = :error
+            WHERE name = :name AND owner_node = :node
+            """, nativeQuery = true)
+    int release(@Param("name") String name, @Param("node") String node, @Param("error") String error);
+
+    /**
+     * Jobs con una ejecución a medias cuya concesión ha caducado sin liberarse: el nodo que
+     * los ejecutaba ha caído. Los pausados (concesión liberada) esperan a su siguiente ejecución.
+     */
+    @Query(value = """
+            SELECT name FROM job_state
+            WHERE checkpoint IS NOT NULL AND owner_node IS NOT NULL AND lease_until < LOCALTIMESTAMP
+            """, nativeQuery = true)
+    List<String> findInterrupted();
+}
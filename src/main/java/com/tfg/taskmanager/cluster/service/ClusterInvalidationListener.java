@@ -0,0 +1,261 @@
+package com.tfg.taskmanager.cluster.service;
+
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.cluster.model.InvalidationMessage;
+import com.tfg.taskmanager.project.repository.ProjectRepository;
+import com.tfg.taskmanager.sync.model.vo.ChangeLogEntry;
+import com.tfg.taskmanager.sync.repository.ChangeLogRepository;
+import com.tfg.taskmanager.team.event.MembershipChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recibe los avisos de invalidación de otros nodos (`LISTEN`) y los traduce a
+ * {@link ClusterInvalidationEvent} locales para que cada caché expulse lo afectado.
+ *
+ * Escucha en un hilo propio con una conexión dedicada (fuera del pool, porque se queda
+ * abierta indefinidamente). Como los avisos describen tramos contiguos del registro de
+ * cambios, el nodo sabe hasta qué secuencia está al día: si un aviso no empieza donde
+ * terminó el anterior (avisos perdidos por una reconexión, o demasiado grandes y
+ * recortados), lee el hueco del propio registro de cambios. Además, cada
+ * `cluster.invalidation.poll-interval` sin avisos y tras cada reconexión compara su
+ * secuencia con la última del registro. Si el hueco ya no está en el registro (compactado)
+ * o es demasiado grande, vacía todas las cachés.
+ *
+ * Los avisos de permisos (MEMBERSHIP) no tienen tramo: se aplican al recibirlos y, como un
+ * aviso perdido no se puede detectar, tras cada reconexión se olvidan los permisos de todos.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "cluster.invalidation.enabled", havingValue = "true")
+public class ClusterInvalidationListener {
+
+    /** Espera máxima entre reintentos de conexión */
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final ClusterInvalidationPublisher publisher;
+    private final ChangeLogRepository changeLogRepository;
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataSourceProperties dataSourceProperties;
+    private final Duration pollInterval;
+    private final int maxCatchUp;
+
+    /** Última secuencia del registro de cambios ya aplicada por este nodo */
+    private volatile long appliedSeq;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ClusterInvalidationListener(
+            ClusterInvalidationPublisher publisher,
+            ChangeLogRepository changeLogRepository,
+            ProjectRepository projectRepository,
+            ApplicationEventPublisher eventPublisher,
+            DataSourceProperties dataSourceProperties,
+            @Value("${cluster.invalidation.poll-interval:PT10S}") Duration pollInterval,
+            @Value("${cluster.invalidation.max-catch-up:50000}") int maxCatchUp) {
+        this.publisher = publisher;
+        this.changeLogRepository = changeLogRepository;
+        this.projectRepository = projectRepository;
+        this.eventPublisher = eventPublisher;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollInterval = pollInterval;
+        this.maxCatchUp = maxCatchUp;
+    }
+
+    /**
+     * Arranca la escucha. Las cachés están vacías al arrancar, así que el nodo está al día
+     * con todo lo registrado hasta ahora.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        appliedSeq = changeLogRepository.findMaxSeq();
+        running = true;
+        thread = new Thread(this::run, "cluster-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Invalidación entre nodos activa (nodo {}, canal {}, secuencia {})",
+                publisher.getNodeId(), publisher.getChannel(), appliedSeq);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Última secuencia del registro de cambios aplicada por este nodo.
+     */
+    public long appliedSeq() {
+        return appliedSeq;
+    }
+
+    private void run() {
+        long backoff = 500;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + quoteIdentifier(publisher.getChannel()));
+                }
+                backoff = 500;
+                // Lo confirmado mientras no se escuchaba no ha llegado como aviso
+                catchUp(changeLogRepository.findMaxSeq());
+                eventPublisher.publishEvent(MembershipChangedEvent.everyone());
+                listen(connection.unwrap(PGConnection.class));
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Conexión de invalidación entre nodos perdida; reintento en {} ms", backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void listen(PGConnection connection) throws SQLException {
+        int timeout = (int) Math.max(1, pollInterval.toMillis());
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(timeout);
+            if (notifications == null || notifications.length == 0) {
+                // Sin avisos: comprobación de versión por si alguno se ha perdido
+                catchUp(changeLogRepository.findMaxSeq());
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                InvalidationMessage message = InvalidationMessage.decode(notification.getParameter());
+                if (message == null) {
+                    log.warn("Aviso de invalidación con formato desconocido: {}", notification.getParameter());
+                    continue;
+                }
+                apply(message);
+            }
+        }
+    }
+
+    /**
+     * Aplica un aviso: si es el siguiente tramo esperado y trae el detalle, directamente;
+     * si no, leyendo del registro de cambios lo que falta.
+     */
+    void apply(InvalidationMessage message) {
+        if (message.type() == InvalidationMessage.Type.MEMBERSHIP) {
+            if (!publisher.getNodeId().equals(message.node())) {
+                eventPublisher.publishEvent(message.owner() != null
+                        ? MembershipChangedEvent.of(Set.of(message.owner()))
+                        : MembershipChangedEvent.everyone());
+            }
+            return;
+        }
+        if (message.toSeq() <= appliedSeq) {
+            return;
+        }
+        if (message.fromSeq() != appliedSeq || message.truncated()) {
+            catchUp(message.toSeq());
+            return;
+        }
+        if (!publisher.getNodeId().equals(message.node())) {
+            eventPublisher.publishEvent(toEvent(message));
+        }
+        appliedSeq = message.toSeq();
+    }
+
+    /**
+     * Aplica los cambios del registro entre la secuencia aplicada y `upTo`.
+     * Aquí no se distinguen los cambios propios; expulsarlos de nuevo sólo cuesta una recarga.
+     */
+    private void catchUp(long upTo) {
+        long from = appliedSeq;
+        if (upTo <= from) {
+            return;
+        }
+        List<ChangeLogEntry> entries = from < changeLogRepository.findMinSince()
+                ? null
+                : changeLogRepository.findRange(from, upTo, maxCatchUp + 1);
+        if (entries == null || entries.size() > maxCatchUp) {
+            log.warn("Hueco de invalidación ({}, {}] no recuperable del registro de cambios; se vacían las cachés",
+                    from, upTo);
+            eventPublisher.publishEvent(ClusterInvalidationEvent.everything());
+        } else if (!entries.isEmpty()) {
+            log.debug("Recuperando {} cambios del tramo ({}, {}]", entries.size(), from, upTo);
+            eventPublisher.publishEvent(toEvent(entries));
+        }
+        appliedSeq = upTo;
+    }
+
+    private ClusterInvalidationEvent toEvent(InvalidationMessage message) {
+        return switch (message.type()) {
+            case TASK_UPSERT -> new ClusterInvalidationEvent(false, message.projectIds(), message.ids(),
+                    List.of(), Set.of(), Set.of());
+            case TASK_DELETE -> new ClusterInvalidationEvent(false, message.projectIds(), List.of(),
+                    message.ids(), Set.of(), Set.of());
+            case MEMBERSHIP -> throw new IllegalArgumentException("Los avisos de permisos no tienen tramo");
+            case PROJECT_UPSERT -> new ClusterInvalidationEvent(false, Set.of(), List.of(), List.of(),
+                    message.projectIds(), message.owner() != null
+                            ? Set.of(message.owner())
+                            : new HashSet<>(projectRepository.findOwnersByIds(message.projectIds())));
+        };
+    }
+
+    private ClusterInvalidationEvent toEvent(List<ChangeLogEntry> entries) {
+        Set<Long> taskProjects = new LinkedHashSet<>();
+        Set<Long> upserted = new LinkedHashSet<>();
+        Set<Long> deleted = new LinkedHashSet<>();
+        Set<Long> projects = new LinkedHashSet<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityType() == ChangeLogEntry.EntityType.PROJECT) {
+                projects.add(entry.getEntityId());
+                continue;
+            }
+            if (entry.getProjectId() != null) {
+                taskProjects.add(entry.getProjectId());
+            }
+            if (entry.getOp() == ChangeLogEntry.Operation.DELETE) {
+                upserted.remove(entry.getEntityId());
+                deleted.add(entry.getEntityId());
+            } else {
+                deleted.remove(entry.getEntityId());
+                upserted.add(entry.getEntityId());
+            }
+        }
+        Set<String> owners = projects.isEmpty() ? Set.of() : new HashSet<>(projectRepository.findOwnersByIds(projects));
+        return new ClusterInvalidationEvent(false, taskProjects, new ArrayList<>(upserted), new ArrayList<>(deleted),
+                projects, owners);
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,84 @@
+package com.tfg.taskmanager.cluster.service;
+
+import com.tfg.taskmanager.cluster.model.InvalidationMessage;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Envía los avisos de invalidación al resto de nodos con `pg_notify`.
+ *
+ * Se llama dentro de la transacción que hace el cambio: PostgreSQL sólo entrega la
+ * notificación si la transacción se confirma, y lo hace después del commit y en el mismo
+ * orden en que se confirmaron las transacciones, así que ningún nodo recibe un aviso de
+ * datos que todavía no puede leer.
+ */
+@Component
+public class ClusterInvalidationPublisher {
+
+    private final ClusterNode node;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Getter
+    private final boolean enabled;
+
+    @Getter
+    private final String channel;
+
+    public ClusterInvalidationPublisher(
+            ClusterNode node,
+            JdbcTemplate jdbcTemplate,
+            @Value("${cluster.invalidation.enabled:false}") boolean enabled,
+            @Value("${cluster.invalidation.channel:taskmanager_invalidation}") String channel) {
+        this.node = node;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    /**
+     * Identificador de este nodo; los avisos propios se ignoran al recibirlos.
+     */
+    public String getNodeId() {
+        return node.getId();
+    }
+
+    /**
+     * Avisa de un tramo del registro de cambios escrito por la transacción en curso.
+     *
+     * @param fromSeq Última secuencia del registro antes de escribir.
+     * @param toSeq Última secuencia del registro tras escribir.
+     */
+    public void publish(long fromSeq, long toSeq, InvalidationMessage.Type type,
+                        Set<Long> projectIds, Collection<Long> ids, String owner) {
+        if (!enabled || toSeq <= fromSeq) {
+            return;
+        }
+        String payload = new InvalidationMessage(getNodeId(), fromSeq, toSeq, type, projectIds,
+                List.copyOf(ids), owner).encode();
+        notify(payload);
+    }
+
+    /**
+     * Avisa de que han cambiado los proyectos accesibles de un usuario (o de todos).
+     * Como los avisos de tramo, sólo se entrega si la transacción en curso se confirma.
+     *
+     * @param username Usuario afectado; null si pueden ser varios.
+     */
+    public void publishMembership(String username) {
+        if (!enabled) {
+            return;
+        }
+        notify(new InvalidationMessage(getNodeId(), 0, 0, InvalidationMessage.Type.MEMBERSHIP, Set.of(),
+                List.of(), username).encode());
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)::text", String.class, channel, payload);
+    }
+}
@@ -0,0 +1,55 @@
+package com.tfg.taskmanager.cluster.service;
+
+/**
+ * Job de mantenimiento que debe ejecutarse en un solo nodo del clúster a la vez.
+ *
+ * El trabajo se divide en lotes reanudables: cada lote recibe el punto de control en que
+ * terminó el anterior y devuelve el nuevo, y {@link ClusterJobRunner} guarda ese punto de
+ * control en la misma transacción que el lote. Si el nodo cae, otro continúa desde el
+ * último lote confirmado.
+ */
+public interface ClusterJob {
+
+    /**
+     * Nombre único del job (clave de su concesión y etiqueta de sus métricas).
+     */
+    String name();
+
+    /**
+     * Procesa un lote. Se ejecuta dentro de una transacción.
+     *
+     * @param checkpoint Punto de control del lote anterior, o null al empezar una ejecución.
+     */
+    Chunk processChunk(String checkpoint);
+
+    /**
+     * Estimación del trabajo pendiente (en los elementos que procese el job), para las métricas.
+     */
+    long backlog();
+
+    /**
+     * Límite de lotes por ejecución, para acotar su duración; lo que quede se continúa
+     * en la siguiente.
+     */
+    default int maxChunksPerRun() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Resultado de un lote.
+     *
+     * @param items Elementos procesados.
+     * @param checkpoint Punto de control desde el que continuar.
+     * @param done true si la ejecución ha terminado.
+     */
+    record Chunk(long items, String checkpoint, boolean done) {
+
+        public static Chunk next(long items, String checkpoint) {
+            return new Chunk(items, checkpoint, false);
+        }
+
+        public static Chunk finished(long items) {
+            return new Chunk(items, null, true);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.tfg.taskmanager.cluster.service;
+
+import com.tfg.taskmanager.cluster.model.vo.JobState;
+import com.tfg.taskmanager.cluster.repository.JobStateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ejecuta {@link ClusterJob}s garantizando que sólo un nodo trabaja en cada uno.
+ *
+ * Antes de empezar, el nodo reclama una concesión (lease) en `job_state`; si otro nodo la
+ * tiene, o terminó el job hace menos de `jobs.min-interval` (todos los nodos se disparan a
+ * la vez), no hace nada. Cada lote se ejecuta en su propia transacción, que empieza
+ * prolongando la concesión (y bloqueando la fila) y termina guardando el punto de control.
+ * Si el nodo cae, la concesión caduca y cualquier otro reanuda el job desde el último
+ * punto de control, bien en su siguiente ejecución programada o bien en la revisión
+ * periódica de jobs interrumpidos.
+ *
+ * Métricas (etiqueta `job`):
+ * - `jobs.run`: duración de cada ejecución en este nodo (etiqueta `outcome`: completed, paused, failed).
+ * - `jobs.items`: elementos procesados.
+ * - `jobs.skipped`: ejecuciones omitidas porque otro nodo tenía la concesión o acababa de ejecutarlo.
+ * - `jobs.backlog`: trabajo pendiente estimado tras la última ejecución en el clúster.
+ * - `jobs.last.duration`: duración (segundos) de la última ejecución completa en el clúster.
+ */
+@Slf4j
+@Service
+public class ClusterJobRunner {
+
+    private final JobStateRepository repository;
+    private final ClusterNode node;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<ClusterJob> jobs;
+    private final long leaseSeconds;
+    private final long minIntervalSeconds;
+
+    /** Vista local del estado compartido de cada job, para los gauges */
+    private final Map<String, JobGauges> gauges = new ConcurrentHashMap<>();
+
+    public ClusterJobRunner(
+            JobStateRepository repository,
+            ClusterNode node,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            ObjectProvider<ClusterJob> jobs,
+            @Value("${jobs.lease:PT5M}") Duration lease,
+            @Value("${jobs.min-interval:PT1M}") Duration minInterval) {
+        this.repository = repository;
+        this.node = node;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.jobs = jobs;
+        this.leaseSeconds = Math.max(1, lease.toSeconds());
+        this.minIntervalSeconds = Math.max(0, minInterval.toSeconds());
+    }
+
+    /**
+     * Ejecuta (o reanuda) un job si ningún otro nodo lo está ejecutando.
+     *
+     * @return true si este nodo lo ha terminado; false si lo tenía otro nodo, se alcanzó el
+     *         límite de lotes o falló (en esos dos casos queda a medias para la siguiente ejecución).
+     */
+    public boolean run(ClusterJob job) {
+        String name = job.name();
+        Optional<JobState> claimed = transactionTemplate.execute(status -> repository.claim(name, node.getId(), leaseSeconds, minIntervalSeconds));
+        if (claimed == null || claimed.isEmpty()) {
+            meterRegistry.counter("jobs.skipped", "job", name).increment();
+            repository.findById(name).ifPresent(this::observe);
+            log.debug("Job {} omitido: lo está ejecutando otro nodo o acaba de terminar", name);
+            return false;
+        }
+
+        String checkpoint = claimed.get().getCheckpoint();
+        if (checkpoint != null) {
+            log.info("Reanudando el job {} desde el punto de control {}", name, checkpoint);
+        }
+        Counter items = meterRegistry.counter("jobs.items", "job", name);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "paused";
+        long processed = 0;
+        try {
+            for (int chunk = 0; chunk < job.maxChunksPerRun(); chunk++) {
+                String from = checkpoint;
+                ClusterJob.Chunk result = transactionTemplate.execute(status -> runChunk(job, from));
+                items.increment(result.items());
+                processed += result.items();
+                if (result.done()) {
+                    outcome = "completed";
+                    break;
+                }
+                checkpoint = result.checkpoint();
+            }
+            if ("completed".equals(outcome)) {
+                long backlog = job.backlog();
+                transactionTemplate.executeWithoutResult(status -> repository.finish(name, node.getId(), backlog));
+                log.info("Job {} terminado: {} elementos procesados en este nodo, {} pendientes", name, processed, backlog);
+            } else {
+                transactionTemplate.executeWithoutResult(status -> repository.release(name, node.getId(), null));
+                log.info("Job {} pausado en el punto de control {}: continuará en la siguiente ejecución", name, checkpoint);
+            }
+            return "completed".equals(outcome);
+        } catch (LeaseLostException e) {
+            log.warn("Job {} interrumpido: la concesión ha pasado a otro nodo", name);
+            return false;
+        } catch (RuntimeException e) {
+            outcome = "failed";
+            log.error("Error en el job {}; se reanudará desde el último punto de control", name, e);
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            transactionTemplate.executeWithoutResult(status -> repository.release(name, node.getId(), error));
+            return false;
+        } finally {
+            sample.stop(meterRegistry.timer("jobs.run", "job", name, "outcome", outcome));
+            repository.findById(name).ifPresent(this::observe);
+        }
+    }
+
+    /**
+     * Reanuda los jobs cuyo nodo cayó a medias (concesión caducada sin liberar), sin esperar
+     * a su siguiente ejecución programada.
+     */
+    @Scheduled(fixedDelayString = "${jobs.recovery-interval:PT1M}", initialDelayString = "${jobs.recovery-interval:PT1M}")
+    public void resumeInterrupted() {
+        var interrupted = repository.findInterrupted();
+        if (interrupted.isEmpty()) {
+            return;
+        }
+        jobs.orderedStream()
+                .filter(job -> interrupted.contains(job.name()))
+                .forEach(this::run);
+    }
+
+    /**
+     * Un lote: prolonga la concesión, procesa y guarda el punto de control.
+     * Debe ejecutarse dentro de una transacción.
+     */
+    private ClusterJob.Chunk runChunk(ClusterJob job, String checkpoint) {
+        if (repository.renew(job.name(), node.getId(), leaseSeconds) == 0) {
+            throw new LeaseLostException();
+        }
+        ClusterJob.Chunk result = job.processChunk(checkpoint);
+        if (!result.done()) {
+            repository.saveCheckpoint(job.name(), node.getId(), result.checkpoint(), result.items());
+        } else if (result.items() > 0) {
+            repository.saveCheckpoint(job.name(), node.getId(), checkpoint, result.items());
+        }
+        return result;
+    }
+
+    /**
+     * Actualiza los gauges del job con su estado compartido.
+     */
+    private void observe(JobState state) {
+        JobGauges jobGauges = gauges.computeIfAbsent(state.getName(), this::registerGauges);
+        if (state.getBacklog() != null) {
+            jobGauges.backlog.set(state.getBacklog());
+        }
+        if (state.getLastDurationMs() != null) {
+            jobGauges.lastDurationMs.set(state.getLastDurationMs());
+        }
+    }
+
+    private JobGauges registerGauges(String name) {
+        JobGauges jobGauges = new JobGauges(new AtomicLong(), new AtomicLong());
+        Gauge.builder("jobs.backlog", jobGauges.backlog, AtomicLong::get)
+                .tag("job", name)
+                .register(meterRegistry);
+        Gauge.builder("jobs.last.duration", jobGauges.lastDurationMs, value -> value.get() / 1000.0)
+                .tag("job", name)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        return jobGauges;
+    }
+
+    private record JobGauges(AtomicLong backlog, AtomicLong lastDurationMs) {
+    }
+
+    /**
+     * El nodo ha perdido la concesión (caducó y otro nodo la reclamó): el lote se deshace.
+     */
+    private static final class LeaseLostException extends RuntimeException {
+    }
+}
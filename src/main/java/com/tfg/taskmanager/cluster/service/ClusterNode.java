@@ -0,0 +1,28 @@
+package com.tfg.taskmanager.cluster.service;
+
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * Identidad de este proceso dentro del clúster: nombre de la máquina y un sufijo aleatorio,
+ * distinto en cada arranque (dos réplicas en la misma máquina no se confunden).
+ */
+@Getter
+@Component
+public class ClusterNode {
+
+    private final String id = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private static String hostName() {
+        try {
+            String name = InetAddress.getLocalHost().getHostName();
+            return name.replaceAll("[^A-Za-z0-9.-]", "");
+        } catch (UnknownHostException e) {
+            return "node";
+        }
+    }
+}
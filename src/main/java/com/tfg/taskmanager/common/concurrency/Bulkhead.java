@@ -0,0 +1,141 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Compartimento estanco (bulkhead) para una clase de tráfico: limita cuántas operaciones de
+ * esa clase se ejecutan a la vez, cuántas pueden esperar turno y cuánto esperan.
+ *
+ * Si hay hueco se entra al momento; si no, la operación espera como mucho `maxWait` en una
+ * cola de `maxQueue` plazas (por orden de llegada). Con la cola llena, o agotada la espera,
+ * se rechaza enseguida en lugar de acumular hilos bloqueados, así que una clase saturada no
+ * consume los hilos que necesitan las demás.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    /** Plazas de ejecución; justo para que la cola se atienda por orden de llegada */
+    private final Semaphore permits;
+
+    /** Operaciones esperando turno */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name Nombre de la clase de tráfico (etiqueta de las métricas).
+     * @param maxConcurrent Operaciones simultáneas (al menos 1).
+     * @param maxQueue Operaciones que pueden esperar turno (0 = rechazar si no hay hueco).
+     * @param maxWait Espera máxima en la cola.
+     */
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, Duration maxWait) {
+        if (maxConcurrent < 1 || maxQueue < 0 || maxWait.isNegative()) {
+            throw new IllegalArgumentException("Configuración de bulkhead inválida: " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Intenta entrar, esperando turno si hay plaza en la cola. Si devuelve true hay que llamar
+     * a {@link #release()} al terminar.
+     *
+     * @return false si se rechaza (cola llena, espera agotada o hilo interrumpido).
+     */
+    public boolean tryAcquire() {
+        try {
+            // Sin espera pero respetando a los que ya están en la cola
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            if (maxQueue == 0 || maxWaitNanos == 0) {
+                rejected.increment();
+                return false;
+            }
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                rejected.increment();
+                return false;
+            }
+            try {
+                if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                    return true;
+                }
+            } finally {
+                queued.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Libera la plaza tomada con {@link #tryAcquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Ejecuta una operación dentro del compartimento.
+     *
+     * @throws BulkheadFullException si no hay plaza.
+     */
+    public <T> T call(Supplier<T> operation) {
+        if (!tryAcquire()) {
+            throw new BulkheadFullException(name);
+        }
+        try {
+            return operation.get();
+        } finally {
+            release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    /**
+     * Operaciones en ejecución.
+     */
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * Operaciones esperando turno.
+     */
+    public int queued() {
+        return queued.get();
+    }
+
+    /**
+     * Total de operaciones rechazadas desde el arranque.
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,77 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Filtro que reparte las peticiones entrantes en compartimentos por clase de tráfico
+ * (páginas Thymeleaf, API REST...) según `bulkhead.classes`.
+ *
+ * Va antes de la cadena de seguridad, de modo que una petición rechazada no llega a validar
+ * el JWT ni a tocar la base de datos: responde 503 con `Retry-After` al momento, en JSON para
+ * la API y en texto para las páginas. La plaza se libera al volver de la cadena.
+ *
+ * No es un bean: se registra en `BulkheadConfig` con su orden.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Bulkheads bulkheads;
+
+    public BulkheadFilter(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !bulkheads.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Bulkhead bulkhead = bulkheads.forPath(path);
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            reject(path, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private static void reject(String path, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (path.startsWith("/api/")) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"timestamp\":\"" + Instant.now() + "\",\"status\":503,"
+                    + "\"error\":\"Service Unavailable\",\"path\":\"" + path.replace("\"", "%22") + "\"}");
+        } else {
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Servicio saturado; vuelve a intentarlo en unos segundos.");
+        }
+    }
+}
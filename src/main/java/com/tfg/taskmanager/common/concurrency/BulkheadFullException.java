@@ -0,0 +1,14 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Rechazo de un {@link Bulkhead} sin plaza: la clase de tráfico está saturada (503).
+ */
+public class BulkheadFullException extends ResponseStatusException {
+
+    public BulkheadFullException(String bulkhead) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Servicio saturado (" + bulkhead + "); vuelve a intentarlo en unos segundos");
+    }
+}
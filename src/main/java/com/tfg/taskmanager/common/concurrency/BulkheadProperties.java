@@ -0,0 +1,46 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración de los compartimentos por clase de tráfico (`bulkhead.*`).
+ *
+ * Las clases con patrones limitan peticiones entrantes (la ruta se asigna a la clase con el
+ * patrón más específico; las que no encajan en ninguna no se limitan). Las clases sin patrones
+ * sirven para llamadas salientes y se usan por nombre (p. ej. `auth-service`).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+
+    /** Activa los compartimentos de peticiones entrantes */
+    private boolean enabled = true;
+
+    /** Clases de tráfico por nombre */
+    private Map<String, TrafficClass> classes = new LinkedHashMap<>();
+
+    @Data
+    public static class TrafficClass {
+
+        /** Patrones de ruta de la clase (sintaxis de `PathPattern`); vacío = tráfico saliente */
+        private List<String> patterns = new ArrayList<>();
+
+        /** Operaciones simultáneas */
+        private int maxConcurrent = 20;
+
+        /** Operaciones que pueden esperar turno */
+        private int maxQueue = 10;
+
+        /** Espera máxima en la cola antes de rechazar */
+        private Duration maxWait = Duration.ofMillis(500);
+    }
+}
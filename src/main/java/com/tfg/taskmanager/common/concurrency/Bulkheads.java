@@ -0,0 +1,127 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compartimentos por clase de tráfico (páginas, API, llamadas a servicios externos).
+ *
+ * Se crean al arrancar a partir de `bulkhead.classes` y publican en Micrometer, con la
+ * etiqueta `class`: `bulkhead.active` (en ejecución), `bulkhead.queue` (esperando turno),
+ * `bulkhead.limit` (máximo simultáneo) y `bulkhead.rejected` (rechazos acumulados).
+ *
+ * En peticiones entrantes, la espera también ocupa un hilo de Tomcat: si la suma de
+ * `max-concurrent + max-queue` de las clases entrantes supera `server.tomcat.threads.max`,
+ * una clase saturada aún puede dejar sin hilos a las demás, y se avisa al arrancar.
+ */
+@Slf4j
+@Component
+public class Bulkheads {
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+
+    /** Compartimentos por nombre de clase */
+    private final Map<String, Bulkhead> byName = new ConcurrentHashMap<>();
+
+    /** Patrones de las clases entrantes, del más específico al más general */
+    private final List<Route> routes = new ArrayList<>();
+
+    public Bulkheads(
+            BulkheadProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${server.tomcat.threads.max:200}") int workerThreads) {
+        this.enabled = properties.isEnabled();
+        this.meterRegistry = meterRegistry;
+
+        int inboundThreads = 0;
+        for (Map.Entry<String, BulkheadProperties.TrafficClass> entry : properties.getClasses().entrySet()) {
+            BulkheadProperties.TrafficClass config = entry.getValue();
+            Bulkhead bulkhead = register(new Bulkhead(entry.getKey(), config.getMaxConcurrent(),
+                    config.getMaxQueue(), config.getMaxWait()));
+            for (String pattern : config.getPatterns()) {
+                routes.add(new Route(PathPatternParser.defaultInstance.parse(pattern), bulkhead));
+            }
+            if (!config.getPatterns().isEmpty()) {
+                inboundThreads += config.getMaxConcurrent() + config.getMaxQueue();
+            }
+        }
+        routes.sort((a, b) -> PathPattern.SPECIFICITY_COMPARATOR.compare(a.pattern, b.pattern));
+
+        if (enabled && inboundThreads > workerThreads) {
+            log.warn("Los compartimentos de peticiones entrantes admiten {} hilos y Tomcat tiene {}: "
+                    + "una clase saturada puede bloquear a las demás", inboundThreads, workerThreads);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Compartimento de una clase de tráfico. Si no está configurada se crea con los valores
+     * por defecto de {@link BulkheadProperties.TrafficClass}.
+     */
+    public Bulkhead get(String name) {
+        Bulkhead bulkhead = byName.get(name);
+        if (bulkhead != null) {
+            return bulkhead;
+        }
+        return byName.computeIfAbsent(name, key -> {
+            BulkheadProperties.TrafficClass defaults = new BulkheadProperties.TrafficClass();
+            log.info("Compartimento '{}' sin configurar: se usan los valores por defecto", key);
+            return withMetrics(new Bulkhead(key, defaults.getMaxConcurrent(), defaults.getMaxQueue(),
+                    defaults.getMaxWait()));
+        });
+    }
+
+    /**
+     * Compartimento de las peticiones entrantes a una ruta.
+     *
+     * @param path Ruta de la petición, sin contexto.
+     * @return El de la clase con el patrón más específico que encaja, o null si no se limita.
+     */
+    public Bulkhead forPath(String path) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : routes) {
+            if (route.pattern.matches(container)) {
+                return route.bulkhead;
+            }
+        }
+        return null;
+    }
+
+    private Bulkhead register(Bulkhead bulkhead) {
+        byName.put(bulkhead.getName(), withMetrics(bulkhead));
+        return bulkhead;
+    }
+
+    private Bulkhead withMetrics(Bulkhead bulkhead) {
+        String name = bulkhead.getName();
+        Gauge.builder("bulkhead.active", bulkhead, Bulkhead::active).tag("class", name).register(meterRegistry);
+        Gauge.builder("bulkhead.queue", bulkhead, Bulkhead::queued).tag("class", name).register(meterRegistry);
+        Gauge.builder("bulkhead.limit", bulkhead, Bulkhead::getMaxConcurrent).tag("class", name).register(meterRegistry);
+        FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::rejectedCount)
+                .tag("class", name)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    private record Route(PathPattern pattern, Bulkhead bulkhead) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Utilidades sobre el mapa `fieldVersions` de las entidades versionadas
+ * (campo -> versión en la que cambió por última vez).
+ */
+public final class FieldVersions {
+
+    private FieldVersions() {
+    }
+
+    /**
+     * Campos pedidos cuyo valor difiere del actual.
+     *
+     * @param requested Campo -> valor pedido.
+     * @param current Campo -> valor actual.
+     */
+    public static Set<String> changed(Map<String, Object> requested, Map<String, Object> current) {
+        Set<String> changed = new LinkedHashSet<>();
+        requested.forEach((field, value) -> {
+            if (!Objects.equals(value, current.get(field))) {
+                changed.add(field);
+            }
+        });
+        return changed;
+    }
+
+    /**
+     * Anota los campos cambiados con la versión que tendrá la entidad al guardarse.
+     *
+     * @param fieldVersions Mapa de la entidad (se modifica).
+     * @param changed Campos cambiados.
+     * @param currentVersion Versión actual; al guardar pasará a `currentVersion + 1`.
+     */
+    public static void record(Map<String, Long> fieldVersions, Set<String> changed, long currentVersion) {
+        changed.forEach(field -> fieldVersions.put(field, currentVersion + 1));
+    }
+}
@@ -0,0 +1,83 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ejecuta una modificación en su propia transacción y la repite si otra transacción ha
+ * guardado la misma entidad entre la lectura y la escritura (`@Version`).
+ *
+ * Cada intento vuelve a leer la entidad, así que la comprobación de campos en conflicto y la
+ * fusión se hacen siempre sobre la versión más reciente. El primer intento no bloquea nada;
+ * los reintentos leen la fila con `SELECT ... FOR UPDATE` tras una espera aleatoria corta,
+ * de modo que con muchos escritores sobre la misma fila cada reintento avanza en orden en
+ * lugar de volver a chocar.
+ */
+@Slf4j
+@Component
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public OptimisticRetry(
+            PlatformTransactionManager transactionManager,
+            @Value("${concurrency.optimistic.max-attempts:3}") int maxAttempts,
+            @Value("${concurrency.optimistic.backoff:PT0.01S}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = Math.max(1, backoff.toMillis());
+    }
+
+    /**
+     * @param attempt Lectura, comprobación y escritura; se ejecuta en una transacción nueva en cada intento.
+     * @return Resultado del intento que se confirma.
+     * @throws ResponseStatusException 409 si se agotan los intentos.
+     */
+    public <T> T execute(Attempt<T> attempt) {
+        for (int number = 1; ; number++) {
+            boolean lockRow = number > 1;
+            try {
+                return transactionTemplate.execute(status -> attempt.run(lockRow));
+            } catch (OptimisticLockingFailureException e) {
+                if (number >= maxAttempts) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Modificación concurrente; vuelve a intentarlo", e);
+                }
+                log.debug("Conflicto de versión (intento {} de {}), se reintenta", number, maxAttempts);
+                pause();
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(1 + ThreadLocalRandom.current().nextLong(backoffMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Modificación concurrente; vuelve a intentarlo", e);
+        }
+    }
+
+    /**
+     * Un intento de la modificación.
+     */
+    @FunctionalInterface
+    public interface Attempt<T> {
+
+        /**
+         * @param lockRow true en los reintentos: la entidad debe leerse bloqueando su fila.
+         */
+        T run(boolean lockRow);
+    }
+}
@@ -0,0 +1,81 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Versión sobre la que el cliente hizo una edición: la de la cabecera `If-Match`
+ * (`"5"` o `W/"5"`) o, si no la envía, el campo `version` del cuerpo.
+ *
+ * Si la entidad ha cambiado desde esa versión, la edición sólo se rechaza cuando pide cambiar
+ * un campo que otro cambio posterior ya modificó a un valor distinto; si no, se fusiona con la
+ * versión actual (p. ej. uno mueve la tarea de posición y otro cambia su estado). Un conflicto
+ * responde 412 si la versión llegó en `If-Match` (precondición HTTP) y 409 si llegó en el cuerpo.
+ *
+ * @param expectedVersion Versión que el cliente tenía al editar.
+ * @param fromHeader true si llegó en `If-Match`.
+ */
+public record VersionPrecondition(long expectedVersion, boolean fromHeader) {
+
+    /**
+     * Interpreta la versión esperada de una petición.
+     *
+     * @param ifMatch Cabecera `If-Match` (puede ser null). `*` equivale a no enviarla.
+     * @param bodyVersion Campo `version` del cuerpo (puede ser null).
+     * @return La precondición, o null si el cliente no indica versión (se aplica sin comprobar).
+     * @throws ResponseStatusException 400 si la cabecera no es una versión válida.
+     */
+    public static VersionPrecondition of(String ifMatch, Long bodyVersion) {
+        if (ifMatch != null && !ifMatch.isBlank() && !"*".equals(ifMatch.trim())) {
+            String value = ifMatch.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            try {
+                return new VersionPrecondition(Long.parseLong(value), true);
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match no válido: " + ifMatch);
+            }
+        }
+        return bodyVersion != null ? new VersionPrecondition(bodyVersion, false) : null;
+    }
+
+    /**
+     * Comprueba que la edición se puede aplicar sobre el estado actual.
+     *
+     * @param currentVersion Versión actual de la entidad.
+     * @param fieldVersions Versión en la que cambió por última vez cada campo.
+     * @param requested Campo -> valor pedido (sólo los informados).
+     * @param current Campo -> valor actual.
+     * @throws ResponseStatusException 412/409 si hay campos en conflicto o la versión no existe.
+     */
+    public void check(long currentVersion, Map<String, Long> fieldVersions,
+                      Map<String, Object> requested, Map<String, Object> current) {
+        if (expectedVersion == currentVersion) {
+            return;
+        }
+        if (expectedVersion > currentVersion) {
+            throw conflict("La versión " + expectedVersion + " no existe (versión actual: " + currentVersion + ")");
+        }
+        List<String> conflicting = requested.keySet().stream()
+                .filter(field -> fieldVersions.getOrDefault(field, 0L) > expectedVersion)
+                .filter(field -> !Objects.equals(requested.get(field), current.get(field)))
+                .sorted()
+                .toList();
+        if (!conflicting.isEmpty()) {
+            throw conflict("Campos modificados por otro usuario desde la versión " + expectedVersion
+                    + " (versión actual: " + currentVersion + "): " + String.join(", ", conflicting));
+        }
+    }
+
+    private ResponseStatusException conflict(String message) {
+        return new ResponseStatusException(fromHeader ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT, message);
+    }
+}
@@ -0,0 +1,76 @@
+package com.tfg.taskmanager.common.fields;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+
+/**
+ * Subconjunto de campos de un DTO pedido por el cliente (`?fields=id,title,status`).
+ *
+ * Los campos se validan contra la lista de campos seleccionables del DTO y se guardan en el
+ * orden de esa lista, así que la respuesta tiene siempre el mismo orden de claves.
+ */
+public final class FieldSelection {
+
+    private final List<String> fields;
+
+    private FieldSelection(List<String> fields) {
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * Interpreta el parámetro `fields`.
+     *
+     * @param raw Campos separados por comas.
+     * @param selectable Campos seleccionables, en el orden del DTO.
+     * @return La selección, o null si no se ha pedido ninguna (respuesta completa).
+     * @throws ResponseStatusException 400 si algún campo no es seleccionable o la lista está vacía.
+     */
+    public static FieldSelection parse(String raw, List<String> selectable) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new HashSet<>();
+        for (String field : raw.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!selectable.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Campo no soportado en 'fields': " + name + ". Disponibles: " + String.join(",", selectable));
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El parámetro 'fields' no indica ningún campo");
+        }
+        return new FieldSelection(selectable.stream().filter(requested::contains).toList());
+    }
+
+    /**
+     * Campos seleccionados, en el orden del DTO.
+     */
+    public List<String> fields() {
+        return fields;
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * Selección ampliada con campos que necesita el servidor (p. ej. para el cursor de paginación).
+     * Los campos añadidos van al final.
+     */
+    public FieldSelection with(String... extra) {
+        List<String> all = new ArrayList<>(fields);
+        for (String field : extra) {
+            if (!all.contains(field)) {
+                all.add(field);
+            }
+        }
+        return new FieldSelection(all);
+    }
+}
@@ -0,0 +1,152 @@
+package com.tfg.taskmanager.common.fields;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Consultas que leen sólo los campos pedidos en un {@link FieldSelection}.
+ *
+ * Los atributos simples se proyectan en una consulta de tuplas (`SELECT t.id, t.title ...`),
+ * sin instanciar la entidad, y cada colección (`@ElementCollection`) pedida se lee aparte
+ * con una consulta por lotes de IDs. Lo que no se pide no se lee de la base de datos.
+ *
+ * Los nombres de campo del DTO deben coincidir con los atributos de la entidad.
+ */
+@Component
+@RequiredArgsConstructor
+public class SparseFieldQuery {
+
+    /** IDs por consulta al leer colecciones */
+    private static final int COLLECTION_BATCH = 1000;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Ejecuta la consulta y devuelve una fila por entidad con los campos pedidos.
+     *
+     * @param type Entidad consultada.
+     * @param selection Campos a devolver.
+     * @param spec Filtro (puede ser null).
+     * @param sort Orden (puede ser `Sort.unsorted()`).
+     * @param limit Máximo de filas, o 0 para no limitar.
+     * @return Filas con las claves en el orden de la selección; las colecciones sin elementos como lista vacía.
+     */
+    public <E> List<Map<String, Object>> find(Class<E> type, FieldSelection selection,
+                                              Specification<E> spec, Sort sort, int limit) {
+        EntityType<E> model = entityManager.getMetamodel().entity(type);
+        String idAttribute = model.getId(model.getIdType().getJavaType()).getName();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(type);
+
+        // El ID se lee siempre: hace falta para enlazar las colecciones
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(root.get(idAttribute).alias(idAttribute));
+        List<String> collections = new ArrayList<>();
+        for (String field : selection.fields()) {
+            Attribute<? super E, ?> attribute = model.getAttribute(field);
+            if (attribute.isCollection()) {
+                collections.add(field);
+            } else if (!field.equals(idAttribute)) {
+                columns.add(root.get(field).alias(field));
+            }
+        }
+        query.multiselect(columns);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+
+        Map<Object, Map<String, Object>> rows = new LinkedHashMap<>();
+        for (Tuple tuple : typed.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : selection.fields()) {
+                row.put(field, collections.contains(field) ? new ArrayList<>() : tuple.get(field));
+            }
+            rows.put(tuple.get(idAttribute), row);
+        }
+
+        for (String collection : collections) {
+            if (limit > 0) {
+                loadCollection(type, idAttribute, collection, rows);
+            } else {
+                loadCollection(type, idAttribute, collection, spec, rows);
+            }
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    /**
+     * Rellena una colección de todas las filas del filtro con una sola consulta
+     * (mismo filtro + JOIN a la colección), sin listas de IDs.
+     */
+    @SuppressWarnings("unchecked")
+    private <E> void loadCollection(Class<E> type, String idAttribute, String collection,
+                                    Specification<E> spec, Map<Object, Map<String, Object>> rows) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(type);
+        Join<E, ?> element = root.join(collection);
+        query.multiselect(root.get(idAttribute), element);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> row = rows.get(tuple.get(0));
+            if (row != null) {
+                ((List<Object>) row.get(collection)).add(tuple.get(1));
+            }
+        }
+    }
+
+    /**
+     * Rellena una colección de las filas leídas (una página), por lotes de IDs.
+     */
+    @SuppressWarnings("unchecked")
+    private <E> void loadCollection(Class<E> type, String idAttribute, String collection,
+                                    Map<Object, Map<String, Object>> rows) {
+        List<Object> ids = new ArrayList<>(rows.keySet());
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        for (int from = 0; from < ids.size(); from += COLLECTION_BATCH) {
+            List<Object> batch = ids.subList(from, Math.min(from + COLLECTION_BATCH, ids.size()));
+
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<E> root = query.from(type);
+            Join<E, ?> element = root.join(collection);
+            query.multiselect(root.get(idAttribute), element);
+            query.where(root.get(idAttribute).in(batch));
+
+            for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+                ((List<Object>) rows.get(tuple.get(0)).get(collection)).add(tuple.get(1));
+            }
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.tfg.taskmanager.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * 🔧 Configuración global de la aplicación.
  * 
@@ -20,13 +24,23 @@ public class AppConfig {
      * Este objeto se utiliza para hacer peticiones HTTP REST a otros servicios.
      * 
      *  Consideraciones:
-     * - Si en el futuro se requiere gestión avanzada de conexiones, usar `RestTemplateBuilder`.
+     * - Lleva tiempos máximos de conexión y de lectura: sin ellos, un servicio externo colgado
+     *   retendría indefinidamente las plazas de su compartimento (`bulkhead.classes.auth-service`).
      * - Para aplicaciones reactivas, considerar `WebClient` (más flexible y compatible con programación reactiva).
      * 
+     * @param builder Constructor proporcionado por Spring Boot.
+     * @param connectTimeout Tiempo máximo para establecer la conexión.
+     * @param readTimeout Tiempo máximo de espera de la respuesta.
      * @return instancia de `RestTemplate` lista para ser usada.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            @Value("${auth.service.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${auth.service.read-timeout:PT5S}") Duration readTimeout) {
+        return builder
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
     }
 }
@@ -0,0 +1,24 @@
+package com.tfg.taskmanager.config;
+
+import com.tfg.taskmanager.common.concurrency.BulkheadFilter;
+import com.tfg.taskmanager.common.concurrency.Bulkheads;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra el filtro de compartimentos por clase de tráfico delante de la cadena de
+ * Spring Security, para que el rechazo por saturación sea lo primero que se evalúa.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(Bulkheads bulkheads) {
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(new BulkheadFilter(bulkheads));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tfg.taskmanager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las migraciones de esquema con Flyway.
+ *
+ * Las migraciones se ejecutan al arrancar salvo en el arranque de entrenamiento de AppCDS
+ * (`startup.cds-training=true`), que se hace durante el build sin base de datos disponible.
+ * La decisión se toma en tiempo de ejecución porque, con AOT, las condiciones sobre
+ * propiedades ya quedaron fijadas al compilar.
+ */
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${startup.cds-training:false}") boolean cdsTraining) {
+        return flyway -> {
+            if (cdsTraining) {
+                log.info("Arranque de entrenamiento AppCDS: se omiten las migraciones de Flyway");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.tfg.taskmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita la ejecución de tareas programadas (`@Scheduled`) en la aplicación.
+ * Se usa para los jobs de mantenimiento en segundo plano, como el archivado de tareas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,53 @@
+package com.tfg.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binarios de la API junto a JSON, elegidos por negociación de contenido (`Accept`).
+ *
+ * - `application/x-jackson-smile`: JSON binario; además de los nombres de campo, reutiliza
+ *   los valores de texto repetidos (estados, prioridades, fechas, responsables).
+ * - `application/cbor`: formato binario estándar (RFC 8949).
+ *
+ * Ambos parten del mismo `Jackson2ObjectMapperBuilder` de Spring Boot que JSON, así que los
+ * DTOs se serializan con los mismos nombres y formatos de fecha. Sin cabecera `Accept`
+ * (o con `application/json`) la respuesta sigue siendo JSON.
+ */
+@Configuration
+public class SerializationConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    /**
+     * `ObjectMapper` Smile con referencias a valores de texto repetidos.
+     */
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return builder.createXmlMapper(false).factory(factory).build();
+    }
+
+    /**
+     * `ObjectMapper` CBOR.
+     */
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.createXmlMapper(false).factory(new CBORFactory()).build();
+    }
+}
@@ -1,13 +1,19 @@
 package com.tfg.taskmanager.project.controller;
 
+import com.tfg.taskmanager.common.concurrency.VersionPrecondition;
+import com.tfg.taskmanager.project.model.dto.ProjectCloneDTO;
 import com.tfg.taskmanager.project.model.dto.ProjectCreateDTO;
 import com.tfg.taskmanager.project.model.dto.ProjectDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectUpdateDTO;
 import com.tfg.taskmanager.project.service.ProjectService;
+import com.tfg.taskmanager.team.model.dto.MemberDTO;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -40,25 +46,121 @@ public class ProjectController {
     }
 
     /**
-     * Lista todos los proyectos pertenecientes al usuario autenticado.
+     * Lista todos los proyectos accesibles para el usuario autenticado (propios, de los que es
+     * miembro y de sus equipos).
+     * @param fields campos a devolver separados por comas (opcional; p. ej. `id,name,status`)
      * @param auth contexto con datos del usuario
      * @return lista de proyectos
      */
     @GetMapping
-    public ResponseEntity<List<ProjectDTO>> getAllProjects(Authentication auth) {
+    public ResponseEntity<List<?>> getAllProjects(
+            @RequestParam(required = false) String fields,
+            Authentication auth) {
         String username = auth.getName();
-        List<ProjectDTO> projects = service.getAllByOwner(username);
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(service.getAllAccessible(username, fields));
+        }
+        List<ProjectDTO> projects = service.getAllAccessible(username);
         return ResponseEntity.ok(projects);
     }
 
     /**
-     * Recupera un proyecto específico por ID.
+     * Recupera un proyecto específico por ID, si el usuario tiene acceso a él
+     * (propietario, miembro o miembro de su equipo).
      * @param id identificador del proyecto
+     * @param fields campos a devolver separados por comas (opcional)
+     * @param auth contexto con datos del usuario
      * @return el proyecto encontrado
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id) {
-        ProjectDTO project = service.getProject(id);
-        return ResponseEntity.ok(project);
+    public ResponseEntity<?> getProjectById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            Authentication auth) {
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(service.getProject(id, fields, auth.getName()));
+        }
+        ProjectDTO project = service.getProject(id, auth.getName());
+        return ResponseEntity.ok().eTag(String.valueOf(project.getVersion())).body(project);
+    }
+
+    /**
+     * Modifica parcialmente un proyecto propio.
+     * La versión esperada se indica con `If-Match` o con el campo `version`; los cambios
+     * concurrentes sobre campos distintos se fusionan y los solapados responden 412 o 409.
+     * @param id identificador del proyecto
+     * @param ifMatch versión esperada (opcional)
+     * @param dto campos a modificar; los ausentes no cambian
+     * @param auth contexto con datos del usuario
+     * @return el proyecto modificado, con su nueva versión como ETag
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<ProjectDTO> updateProject(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ProjectUpdateDTO dto,
+            Authentication auth) {
+
+        ProjectDTO updated = service.updateProject(id, dto, auth.getName(),
+                VersionPrecondition.of(ifMatch, dto.getVersion()));
+        return ResponseEntity.ok().eTag(String.valueOf(updated.getVersion())).body(updated);
+    }
+
+    /**
+     * Lista los miembros directos de un proyecto (sin contar propietario ni equipo).
+     * @param id identificador del proyecto
+     * @param auth contexto con datos del usuario
+     * @return nombres de usuario
+     */
+    @GetMapping("/{id}/members")
+    public ResponseEntity<List<String>> getMembers(@PathVariable Long id, Authentication auth) {
+        return ResponseEntity.ok(service.getMembers(id, auth.getName()));
+    }
+
+    /**
+     * Da acceso a un usuario a un proyecto propio.
+     * @param id identificador del proyecto
+     * @param member usuario a añadir
+     * @param auth contexto con datos del usuario
+     * @return miembros tras el cambio
+     */
+    @PostMapping("/{id}/members")
+    public ResponseEntity<List<String>> addMember(
+            @PathVariable Long id,
+            @Valid @RequestBody MemberDTO member,
+            Authentication auth) {
+        return ResponseEntity.ok(service.addMember(id, member.getUsername(), auth.getName()));
+    }
+
+    /**
+     * Retira el acceso directo de un usuario (el propietario, o el propio miembro).
+     * @param id identificador del proyecto
+     * @param username usuario a quitar
+     * @param auth contexto con datos del usuario
+     * @return miembros tras el cambio
+     */
+    @DeleteMapping("/{id}/members/{username}")
+    public ResponseEntity<List<String>> removeMember(
+            @PathVariable Long id,
+            @PathVariable String username,
+            Authentication auth) {
+        return ResponseEntity.ok(service.removeMember(id, username, auth.getName()));
+    }
+
+    /**
+     * Clona un proyecto propio con sus tareas (p. ej. para instanciar una plantilla).
+     * @param id identificador del proyecto original
+     * @param options nombre, nueva fecha de inicio y si se reinicia el progreso (opcional)
+     * @param auth contexto con datos del usuario
+     * @return el proyecto creado
+     */
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<ProjectDTO> cloneProject(
+            @PathVariable Long id,
+            @Valid @RequestBody(required = false) ProjectCloneDTO options,
+            Authentication auth) {
+
+        ProjectDTO created = service.cloneProject(id, options, auth.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 }
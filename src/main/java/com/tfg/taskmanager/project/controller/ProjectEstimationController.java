@@ -0,0 +1,39 @@
+package com.tfg.taskmanager.project.controller;
+
+import com.tfg.taskmanager.project.model.dto.ProjectCreateDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectEstimateDTO;
+import com.tfg.taskmanager.project.service.ProjectEstimationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST de estimación de proyectos a partir del histórico de proyectos terminados.
+ */
+@RestController
+@RequestMapping("/api/projects/estimate")
+@RequiredArgsConstructor
+public class ProjectEstimationController {
+
+    /** Servicio de estimación */
+    private final ProjectEstimationService estimationService;
+
+    /**
+     * Estima el esfuerzo real y la fecha de fin de un proyecto antes de crearlo.
+     *
+     * @param dto Datos del proyecto, con el mismo formato que al crearlo (no se guarda nada).
+     * @param k Número de proyectos terminados parecidos en los que basarse (opcional).
+     * @param auth Información del usuario autenticado.
+     * @return Predicción y proyectos parecidos usados.
+     */
+    @PostMapping
+    public ResponseEntity<ProjectEstimateDTO> estimate(
+            @Valid @RequestBody ProjectCreateDTO dto,
+            @RequestParam(required = false) Integer k,
+            Authentication auth) {
+
+        return ResponseEntity.ok(estimationService.estimate(dto, k, auth.getName()));
+    }
+}
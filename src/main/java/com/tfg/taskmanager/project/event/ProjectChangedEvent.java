@@ -0,0 +1,29 @@
+package com.tfg.taskmanager.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento de dominio publicado cuando se crea o modifica un proyecto.
+ *
+ * Permite que los componentes que mantienen datos derivados (cachés, vistas precalculadas...)
+ * reaccionen a los cambios sin que `ProjectServiceImp` tenga que conocerlos.
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectChangedEvent {
+
+    /** ID del proyecto afectado */
+    private final Long projectId;
+
+    /** Usuario propietario del proyecto */
+    private final String ownerUsername;
+
+    /** Tipo de cambio realizado */
+    private final ChangeType type;
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED
+    }
+}
@@ -2,6 +2,7 @@ package com.tfg.taskmanager.project.mapper;
 
 import com.tfg.taskmanager.project.model.dto.ProjectCreateDTO;
 import com.tfg.taskmanager.project.model.dto.ProjectDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectUpdateDTO;
 import com.tfg.taskmanager.project.model.vo.Project;
 import org.mapstruct.*;
 
@@ -26,10 +27,25 @@ public interface ProjectMapper {
     @Mapping(target = "status", constant = "PLANNED")
     @Mapping(target = "ownerUsername", ignore = true)
     @Mapping(target = "viabilitySummary", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "fieldVersions", ignore = true)
     // Campos para la viabilidad con IA (no implementado)
 //    @Mapping(target = "riskScore", ignore = true)
 //    @Mapping(target = "viabilityCategory", ignore = true)
 //    @Mapping(target = "isViable", ignore = true)
 
     Project toEntity(ProjectCreateDTO dto);
+
+    /**
+     * Aplica una modificación parcial sobre un proyecto existente.
+     * Los campos nulos del DTO no modifican la entidad; propietario y fechas de sistema no se tocan.
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "ownerUsername", ignore = true)
+    @Mapping(target = "viabilitySummary", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "fieldVersions", ignore = true)
+    void updateEntity(ProjectUpdateDTO dto, @MappingTarget Project project);
 }
@@ -0,0 +1,34 @@
+package com.tfg.taskmanager.project.model.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Opciones para clonar un proyecto (p. ej. instanciar una plantilla).
+ * Todos los campos son opcionales.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProjectCloneDTO {
+
+    /** Nombre del nuevo proyecto. Por defecto, el del original con el sufijo " (copia)". */
+    @Size(max = 100, message = "El nombre no puede superar los 100 caracteres.")
+    private String name;
+
+    /**
+     * Nueva fecha de inicio. Las fechas del proyecto y las fechas límite de las tareas
+     * se desplazan los mismos días que la fecha de inicio. Sin ella se copian tal cual.
+     */
+    private LocalDate startDate;
+
+    /** Si es true (por defecto), las tareas copiadas empiezan en TODO y sin fecha de finalización. */
+    @Builder.Default
+    private boolean resetProgress = true;
+}
@@ -41,5 +41,8 @@ public class ProjectDTO {
 
     private Long teamId;
     private List<String> tags;
+
+    /** Versión actual (se devuelve también como ETag) */
+    private Long version;
 }
 
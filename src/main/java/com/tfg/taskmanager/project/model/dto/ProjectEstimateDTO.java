@@ -0,0 +1,35 @@
+package com.tfg.taskmanager.project.model.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de salida de una estimación de esfuerzo y fecha de fin a partir de proyectos terminados parecidos.
+ *
+ * Las predicciones aplican a la estimación recibida la desviación (real / estimado) de los
+ * proyectos parecidos, ponderada por cercanía. Son null si no hay histórico con el que comparar.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectEstimateDTO {
+
+    private Integer predictedEffortHours;
+    private LocalDate predictedEndDate;
+
+    /** Esfuerzo real / estimado de los proyectos parecidos (media geométrica ponderada) */
+    private Double effortRatio;
+
+    /** Duración real / planificada de los proyectos parecidos (media geométrica ponderada) */
+    private Double durationRatio;
+
+    /** Proyectos terminados en el histórico */
+    private int historySize;
+
+    /** Proyectos parecidos usados, del más cercano al más lejano */
+    private List<ProjectNeighborDTO> neighbors;
+}
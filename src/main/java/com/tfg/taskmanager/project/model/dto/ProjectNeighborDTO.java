@@ -0,0 +1,35 @@
+package com.tfg.taskmanager.project.model.dto;
+
+import lombok.*;
+
+/**
+ * DTO de salida de un proyecto terminado parecido al que se estima.
+ *
+ * El ID sólo se informa si el usuario tiene acceso a ese proyecto; de los demás se muestran
+ * únicamente las cifras.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectNeighborDTO {
+
+    private Long projectId;
+
+    /** Distancia al proyecto estimado (0 = idéntico) */
+    private double distance;
+
+    /** Parecido de las etiquetas (Jaccard, de 0 a 1) */
+    private double tagSimilarity;
+
+    private int estimatedEffortHours;
+    private int actualEffortHours;
+    private int participantsCount;
+
+    /** Días entre el inicio y la fecha estimada de fin */
+    private int plannedDays;
+
+    /** Días entre el inicio y la fecha real de fin */
+    private int actualDays;
+}
@@ -0,0 +1,53 @@
+package com.tfg.taskmanager.project.model.dto;
+
+import com.tfg.taskmanager.project.model.vo.ProjectStatus;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de modificación parcial de un proyecto.
+ * Los campos a null se dejan como están; el propietario no se puede cambiar.
+ * `version` (opcional, alternativa a la cabecera If-Match) es la versión sobre la que se hizo la edición.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProjectUpdateDTO {
+
+    @Size(min = 1, max = 100, message = "El nombre debe tener entre 1 y 100 caracteres.")
+    private String name;
+
+    @Size(max = 2000, message = "La descripción no puede superar los 2000 caracteres.")
+    private String description;
+
+    private LocalDate startDate;
+
+    private LocalDate estimatedEndDate;
+
+    private LocalDate realEndDate;
+
+    @Min(value = 1, message = "El esfuerzo debe ser al menos 1 hora.")
+    private Integer estimatedEffortHours;
+
+    @Min(value = 0, message = "El esfuerzo real no puede ser negativo.")
+    private Integer actualEffortHours;
+
+    @Min(value = 1, message = "Debe haber al menos 1 participante.")
+    private Integer participantsCount;
+
+    private ProjectStatus status;
+
+    private Long teamId;
+
+    private List<@Size(max = 20, message = "Cada etiqueta debe tener como máximo 20 caracteres.") String> tags;
+
+    private Long version;
+}
@@ -5,10 +5,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -91,7 +95,7 @@ public class Project {
     private String viabilitySummary;
 
     /**
-     * ID del equipo asignado. Relación @ManyToOne con Team futura !!!!!!!!!.
+     * ID del equipo asignado (`teams`). Sus miembros tienen acceso al proyecto.
      */
     private Long teamId;
 
@@ -102,6 +106,21 @@ public class Project {
     @ElementCollection
     private List<String> tags;
 
+    /**
+     * Versión para el control de concurrencia optimista; se incrementa en cada modificación.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Versión en la que cambió por última vez cada campo editable (p. ej. "status" -> 4).
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, Long> fieldVersions = new HashMap<>();
+
     // Inicializa automáticamente la fecha de creación
     @PrePersist
     public void onCreate() {
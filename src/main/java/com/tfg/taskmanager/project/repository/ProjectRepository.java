@@ -1,10 +1,19 @@
 package com.tfg.taskmanager.project.repository;
 
 import com.tfg.taskmanager.project.model.vo.Project;
+import com.tfg.taskmanager.project.model.vo.ProjectStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio de acceso a datos para la entidad Project.
@@ -13,6 +22,21 @@ import java.util.List;
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    /**
+     * Datos de esfuerzo y plazos de un proyecto, para el histórico de estimaciones.
+     * Es un record (constructor en la consulta): el histórico completo puede ser de millones de filas.
+     */
+    record ProjectEffortRow(Long id, ProjectStatus status, LocalDate startDate, LocalDate estimatedEndDate,
+                            LocalDate realEndDate, Integer estimatedEffortHours, Integer actualEffortHours,
+                            Integer participantsCount) {
+    }
+
+    /**
+     * Pareja (proyecto, etiqueta).
+     */
+    record ProjectTagPair(Long projectId, String tag) {
+    }
+
     /**
      * Recupera todos los proyectos creados por un usuario específico.
      * Ideal para mostrar solo los proyectos del propietario.
@@ -23,4 +47,132 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      * Consulta opcional: obtener proyectos por estado.
      */
     List<Project> findByStatus(com.tfg.taskmanager.project.model.vo.ProjectStatus status);
+
+    /**
+     * Proyectos asignados a un equipo.
+     */
+    List<Project> findByTeamId(Long teamId);
+
+    /**
+     * Lee un proyecto bloqueando su fila hasta el final de la transacción (`SELECT ... FOR UPDATE`).
+     * Se usa al reintentar una modificación que chocó con otra escritura concurrente.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Project p WHERE p.id = :id")
+    Optional<Project> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Etiquetas de un proyecto, sin cargar la entidad.
+     */
+    @Query(value = "SELECT tags FROM project_tags WHERE project_id = :projectId", nativeQuery = true)
+    List<String> findTagsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * IDs de los proyectos a los que puede acceder un usuario: los suyos, aquellos de los que es
+     * miembro y los de sus equipos.
+     */
+    @Query(value = """
+            SELECT id FROM projects WHERE owner_username = :username
+            UNION
+            SELECT project_id FROM project_members WHERE username = :username
+            UNION
+            SELECT p.id FROM projects p JOIN team_members m ON m.team_id = p.team_id
+            WHERE m.username = :username""", nativeQuery = true)
+    List<Long> findAccessibleIds(@Param("username") String username);
+
+    /**
+     * Miembros directos de un proyecto, en orden alfabético.
+     */
+    @Query(value = "SELECT username FROM project_members WHERE project_id = :projectId ORDER BY username",
+            nativeQuery = true)
+    List<String> findMembers(@Param("projectId") Long projectId);
+
+    /**
+     * Añade un miembro directo.
+     *
+     * @return 1 si se añadió, 0 si ya lo era.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO project_members (project_id, username) VALUES (:projectId, :username)
+            ON CONFLICT DO NOTHING""", nativeQuery = true)
+    int addMember(@Param("projectId") Long projectId, @Param("username") String username);
+
+    /**
+     * Quita un miembro directo.
+     *
+     * @return 1 si se quitó, 0 si no lo era.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM project_members WHERE project_id = :projectId AND username = :username",
+            nativeQuery = true)
+    int removeMember(@Param("projectId") Long projectId, @Param("username") String username);
+
+    /**
+     * Propietarios distintos de los proyectos indicados.
+     */
+    @Query(value = "SELECT DISTINCT owner_username FROM projects WHERE id IN (:ids)", nativeQuery = true)
+    List<String> findOwnersByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Copia un proyecto y sus etiquetas con una sola sentencia (INSERT ... SELECT).
+     * El nuevo proyecto empieza en PLANNED y sin datos de cierre.
+     *
+     * @param dayShift Días que se desplazan las fechas de inicio y fin estimada.
+     * @return ID del nuevo proyecto.
+     */
+    @Query(value = """
+            WITH copied AS (
+                INSERT INTO projects (name, description, created_at, start_date, estimated_end_date,
+                                      estimated_effort_hours, participants_count, status, owner_username,
+                                      viability_summary, team_id)
+                SELECT :name, description, now(), start_date + :dayShift, estimated_end_date + :dayShift,
+                       estimated_effort_hours, participants_count, 'PLANNED', :owner,
+                       viability_summary, team_id
+                FROM projects WHERE id = :sourceId
+                RETURNING id
+            ), copied_tags AS (
+                INSERT INTO project_tags (project_id, tags)
+                SELECT copied.id, pt.tags FROM project_tags pt, copied WHERE pt.project_id = :sourceId
+            )
+            SELECT id FROM copied
+            """, nativeQuery = true)
+    Long cloneProject(@Param("sourceId") Long sourceId, @Param("name") String name,
+                      @Param("owner") String owner, @Param("dayShift") int dayShift);
+
+    /**
+     * Bloque de proyectos terminados con ID mayor que `afterId`, por orden de ID (carga del histórico por páginas).
+     */
+    @Query("""
+            SELECT new com.tfg.taskmanager.project.repository.ProjectRepository$ProjectEffortRow(
+                   p.id, p.status, p.startDate, p.estimatedEndDate, p.realEndDate, p.estimatedEffortHours,
+                   p.actualEffortHours, p.participantsCount)
+            FROM Project p
+            WHERE p.status = com.tfg.taskmanager.project.model.vo.ProjectStatus.COMPLETED AND p.id > :afterId
+            ORDER BY p.id
+            LIMIT :limit
+            """)
+    List<ProjectEffortRow> findCompletedEffortRowsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Datos de esfuerzo de los proyectos indicados, sea cual sea su estado.
+     */
+    @Query("""
+            SELECT new com.tfg.taskmanager.project.repository.ProjectRepository$ProjectEffortRow(
+                   p.id, p.status, p.startDate, p.estimatedEndDate, p.realEndDate, p.estimatedEffortHours,
+                   p.actualEffortHours, p.participantsCount)
+            FROM Project p
+            WHERE p.id IN :ids
+            """)
+    List<ProjectEffortRow> findEffortRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Etiquetas de los proyectos indicados.
+     */
+    @Query("""
+            SELECT new com.tfg.taskmanager.project.repository.ProjectRepository$ProjectTagPair(p.id, tag)
+            FROM Project p JOIN p.tags tag
+            WHERE p.id IN :ids
+            """)
+    List<ProjectTagPair> findTagPairsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,124 @@
+package com.tfg.taskmanager.project.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.project.event.ProjectChangedEvent;
+import com.tfg.taskmanager.project.repository.ProjectRepository;
+import com.tfg.taskmanager.team.event.MembershipChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Control de acceso a proyectos y tareas.
+ *
+ * Un usuario accede a un proyecto si es su propietario, miembro directo o miembro de su
+ * equipo; a una tarea, si accede a su proyecto o es su responsable. Los proyectos accesibles
+ * de cada usuario se calculan con una sola consulta y se guardan en memoria, así que la
+ * comprobación en cada petición es una búsqueda en un conjunto.
+ *
+ * El conjunto de un usuario se olvida tras el commit de cualquier cambio que pueda alterarlo
+ * (proyecto nuevo, altas y bajas, cambio de equipo), aquí o en otro nodo. Como red de seguridad
+ * ante avisos perdidos, además caduca a los `projects.access.expire-after-write`.
+ *
+ * Un proyecto inaccesible se trata como inexistente (404), igual que los de otro propietario.
+ */
+@Service
+public class ProjectAccessService {
+
+    private final ProjectRepository projectRepository;
+
+    /** Proyectos accesibles por usuario */
+    private final Cache<String, Set<Long>> accessible;
+
+    public ProjectAccessService(
+            ProjectRepository projectRepository,
+            @Value("${projects.access.max-users:100000}") long maxUsers,
+            @Value("${projects.access.expire-after-write:PT15M}") Duration expireAfterWrite) {
+        this.projectRepository = projectRepository;
+        this.accessible = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * IDs de los proyectos a los que puede acceder el usuario.
+     */
+    public Set<Long> accessibleProjects(String username) {
+        return accessible.get(username, user -> Set.copyOf(projectRepository.findAccessibleIds(user)));
+    }
+
+    /**
+     * Indica si el usuario puede acceder al proyecto.
+     */
+    public boolean canAccessProject(String username, Long projectId) {
+        return projectId != null && accessibleProjects(username).contains(projectId);
+    }
+
+    /**
+     * Indica si el usuario puede acceder a una tarea del proyecto indicado con ese responsable.
+     */
+    public boolean canAccessTask(String username, Long projectId, String assignedTo) {
+        return username.equals(assignedTo) || canAccessProject(username, projectId);
+    }
+
+    /**
+     * @throws ResponseStatusException 404 si el usuario no puede acceder al proyecto.
+     */
+    public void checkProject(String username, Long projectId) {
+        if (!canAccessProject(username, projectId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Proyecto no encontrado");
+        }
+    }
+
+    /**
+     * @throws ResponseStatusException 404 si el usuario no puede acceder a la tarea.
+     */
+    public void checkTask(String username, Long projectId, String assignedTo) {
+        if (!canAccessTask(username, projectId, assignedTo)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarea no encontrada");
+        }
+    }
+
+    /**
+     * Un proyecto nuevo da acceso a su propietario.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.getType() == ProjectChangedEvent.ChangeType.CREATED) {
+            accessible.invalidate(event.getOwnerUsername());
+        }
+    }
+
+    /**
+     * Altas, bajas y cambios de equipo, de este nodo o de otro.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        if (event.isEveryone()) {
+            accessible.invalidateAll();
+        } else {
+            accessible.invalidateAll(event.getUsernames());
+        }
+    }
+
+    /**
+     * Proyectos creados en otros nodos (el aviso trae sus propietarios).
+     */
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (event.isAll()) {
+            accessible.invalidateAll();
+        } else if (!event.getOwners().isEmpty()) {
+            accessible.invalidateAll(event.getOwners());
+        }
+    }
+}
@@ -0,0 +1,579 @@
+package com.tfg.taskmanager.project.service;
+
+import com.tfg.taskmanager.tag.service.TagDictionary;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.*;
+
+/**
+ * Índice en memoria de proyectos terminados para encontrar los k más parecidos a uno nuevo.
+ *
+ * Cada proyecto es un punto con tres rasgos numéricos en escala logarítmica (esfuerzo estimado,
+ * participantes y días planificados), normalizados por su desviación típica, y una firma de
+ * 256 bits con sus etiquetas. La distancia es la euclídea entre los rasgos más
+ * `tagWeight * (1 - Jaccard)` entre las firmas, como una dimensión más.
+ *
+ * Los proyectos se guardan en un segmento principal inmutable (arrays primitivos ordenados por
+ * esfuerzo, con una lista de posiciones por bit de etiqueta) más un segmento de cambios pequeño.
+ * Una búsqueda recorre el de cambios entero y el principal en dos fases, siempre desde la
+ * posición del esfuerzo consultado hacia ambos lados y parando cuando la diferencia de esfuerzo
+ * ya no puede mejorar el k-ésimo mejor:
+ * 1. Los proyectos que comparten alguna etiqueta con la consulta (o, si no tiene, los que no
+ *    tienen ninguna), mediante sus listas por bit.
+ * 2. El resto, que tiene similitud de etiquetas 0 y por tanto una distancia mínima de
+ *    `tagWeight`: en cuanto la fase 1 encuentra k proyectos más cercanos que eso, no se visita ninguno.
+ * El resultado es exacto y sólo se visitan proyectos de esfuerzo parecido.
+ *
+ * Las altas y bajas van al segmento de cambios (las bajas del principal se marcan como borradas);
+ * al superar `mergeThreshold` se reconstruye el principal. Las lecturas no usan bloqueos: ven un
+ * estado inmutable que las escrituras sustituyen.
+ */
+public class ProjectEffortIndex {
+
+    /** Bits de la firma de etiquetas */
+    static final int TAG_BITS = 256;
+
+    private static final int TAG_WORDS = TAG_BITS / 64;
+
+    private final double tagWeight;
+    private final int mergeThreshold;
+
+    private volatile State state = new State(new Builder().segment(), new Roaring64Bitmap(), Map.of());
+
+    /**
+     * @param tagWeight Peso de la diferencia de etiquetas (0 = ignorarlas).
+     * @param mergeThreshold Cambios acumulados a partir de los que se reconstruye el segmento principal.
+     */
+    public ProjectEffortIndex(double tagWeight, int mergeThreshold) {
+        this.tagWeight = tagWeight;
+        this.mergeThreshold = mergeThreshold;
+    }
+
+    /**
+     * Proyecto terminado.
+     *
+     * @param plannedDays Días entre el inicio y la fecha estimada de fin.
+     * @param actualDays Días entre el inicio y la fecha real de fin.
+     */
+    public record Sample(long projectId, int estimatedEffortHours, int actualEffortHours, int participants,
+                         int plannedDays, int actualDays, Collection<String> tags) {
+    }
+
+    /**
+     * Proyecto nuevo que se quiere comparar.
+     */
+    public record Query(int estimatedEffortHours, int participants, int plannedDays, Collection<String> tags) {
+    }
+
+    /**
+     * Proyecto parecido encontrado, con su distancia y la similitud (Jaccard) de sus etiquetas.
+     */
+    public record Neighbor(long projectId, double distance, double tagSimilarity, int estimatedEffortHours,
+                           int actualEffortHours, int participants, int plannedDays, int actualDays) {
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Sustituye todo el contenido por el del constructor.
+     */
+    public synchronized void replaceAll(Builder builder) {
+        state = new State(builder.segment(), new Roaring64Bitmap(), Map.of());
+    }
+
+    /**
+     * Añade o sustituye proyectos.
+     */
+    public synchronized void upsertAll(Collection<Sample> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        State current = state;
+        Roaring64Bitmap removed = current.removed.clone();
+        Map<Long, Entry> delta = new HashMap<>(current.delta);
+        for (Sample sample : samples) {
+            if (current.main.ids.contains(sample.projectId())) {
+                removed.addLong(sample.projectId());
+            }
+            delta.put(sample.projectId(), Entry.of(sample));
+        }
+        publish(current.main, removed, delta);
+    }
+
+    /**
+     * Quita proyectos (los que no estén se ignoran).
+     */
+    public synchronized void removeAll(Collection<Long> projectIds) {
+        if (projectIds.isEmpty()) {
+            return;
+        }
+        State current = state;
+        Roaring64Bitmap removed = current.removed.clone();
+        Map<Long, Entry> delta = new HashMap<>(current.delta);
+        for (Long projectId : projectIds) {
+            if (current.main.ids.contains(projectId)) {
+                removed.addLong(projectId);
+            }
+            delta.remove(projectId);
+        }
+        publish(current.main, removed, delta);
+    }
+
+    /**
+     * Número de proyectos indexados.
+     */
+    public int size() {
+        State current = state;
+        return current.main.size - current.removed.getIntCardinality() + current.delta.size();
+    }
+
+    /**
+     * Los `k` proyectos más parecidos, del más cercano al más lejano.
+     */
+    public List<Neighbor> nearest(Query query, int k) {
+        if (k < 1) {
+            return List.of();
+        }
+        State current = state;
+        Segment main = current.main;
+        float q0 = feature(query.estimatedEffortHours());
+        float q1 = feature(query.participants());
+        float q2 = feature(query.plannedDays());
+        long[] tags = signature(query.tags());
+        TopK top = new TopK(k);
+
+        for (Entry entry : current.delta.values()) {
+            double numeric = square((q0 - entry.f0) * main.w0) + square((q1 - entry.f1) * main.w1)
+                    + square((q2 - entry.f2) * main.w2);
+            double similarity = jaccard(tags, entry.tags, 0);
+            double distance = numeric + square(tagWeight * (1 - similarity));
+            if (top.accepts(distance)) {
+                top.add(new Candidate(distance, similarity, entry, -1));
+            }
+        }
+
+        // Fase 1: proyectos con etiquetas en común (o sin etiquetas, si la consulta no tiene)
+        boolean queryHasTags = !isEmpty(tags, 0);
+        if (queryHasTags) {
+            long[] visited = new long[TAG_WORDS];
+            for (int w = 0; w < TAG_WORDS; w++) {
+                for (long bits = tags[w]; bits != 0; bits &= bits - 1) {
+                    int bit = w * 64 + Long.numberOfTrailingZeros(bits);
+                    scanPostings(current, main.postings[bit], visited, q0, q1, q2, tags, top);
+                    visited[w] |= 1L << bit;
+                }
+            }
+        } else {
+            scanPostings(current, main.postings[TAG_BITS], null, q0, q1, q2, tags, top);
+        }
+
+        // Fase 2: el resto, todos con similitud 0
+        double tagPenalty = square(tagWeight);
+        boolean hasRemoved = !current.removed.isEmpty();
+        int right = lowerBound(main.f0, main.size, q0);
+        int left = right - 1;
+        while (left >= 0 || right < main.size) {
+            double leftGap = left >= 0 ? (q0 - main.f0[left]) * main.w0 : Double.POSITIVE_INFINITY;
+            double rightGap = right < main.size ? (main.f0[right] - q0) * main.w0 : Double.POSITIVE_INFINITY;
+            boolean goLeft = leftGap <= rightGap;
+            double gap = square(goLeft ? leftGap : rightGap) + tagPenalty;
+            // El resto de la franja está aún más lejos en esfuerzo: no puede mejorar el k-ésimo
+            if (!top.accepts(gap)) {
+                break;
+            }
+            int i = goLeft ? left-- : right++;
+            int offset = i * TAG_WORDS;
+            if (queryHasTags ? shares(main.tags, offset, tags) : isEmpty(main.tags, offset)) {
+                continue;
+            }
+            double distance = gap + square((q1 - main.f1[i]) * main.w1) + square((q2 - main.f2[i]) * main.w2);
+            if (!top.accepts(distance) || (hasRemoved && current.removed.contains(main.projectIds[i]))) {
+                continue;
+            }
+            top.add(new Candidate(distance, 0, null, i));
+        }
+
+        return top.sorted().stream()
+                .map(candidate -> candidate.entry != null
+                        ? candidate.entry.neighbor(candidate.distance, candidate.similarity)
+                        : main.neighbor(candidate.index, candidate.distance, candidate.similarity))
+                .toList();
+    }
+
+    /**
+     * Recorre una lista de posiciones (ordenadas por esfuerzo) desde el esfuerzo consultado hacia
+     * ambos lados. Se saltan los proyectos con algún bit de `visited`, ya vistos en otra lista.
+     */
+    private void scanPostings(State current, int[] postings, long[] visited, float q0, float q1, float q2,
+                              long[] tags, TopK top) {
+        Segment main = current.main;
+        boolean hasRemoved = !current.removed.isEmpty();
+        int low = 0;
+        int high = postings.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (main.f0[postings[mid]] < q0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int right = low;
+        int left = right - 1;
+        while (left >= 0 || right < postings.length) {
+            double leftGap = left >= 0 ? (q0 - main.f0[postings[left]]) * main.w0 : Double.POSITIVE_INFINITY;
+            double rightGap = right < postings.length ? (main.f0[postings[right]] - q0) * main.w0 : Double.POSITIVE_INFINITY;
+            boolean goLeft = leftGap <= rightGap;
+            double gap = square(goLeft ? leftGap : rightGap);
+            if (!top.accepts(gap)) {
+                break;
+            }
+            int i = postings[goLeft ? left-- : right++];
+            int offset = i * TAG_WORDS;
+            if (visited != null && shares(main.tags, offset, visited)) {
+                continue;
+            }
+            double distance = gap + square((q1 - main.f1[i]) * main.w1) + square((q2 - main.f2[i]) * main.w2);
+            if (!top.accepts(distance)) {
+                continue;
+            }
+            double similarity = jaccard(tags, main.tags, offset);
+            distance += square(tagWeight * (1 - similarity));
+            if (!top.accepts(distance) || (hasRemoved && current.removed.contains(main.projectIds[i]))) {
+                continue;
+            }
+            top.add(new Candidate(distance, similarity, null, i));
+        }
+    }
+
+    private static boolean shares(long[] stored, int offset, long[] bits) {
+        for (int w = 0; w < TAG_WORDS; w++) {
+            if ((stored[offset + w] & bits[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmpty(long[] stored, int offset) {
+        for (int w = 0; w < TAG_WORDS; w++) {
+            if (stored[offset + w] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Firma de un conjunto de etiquetas: un bit (de {@value #TAG_BITS}) por etiqueta normalizada.
+     * Con más etiquetas distintas que bits, dos etiquetas pueden compartir bit y la similitud es aproximada.
+     */
+    static long[] signature(Collection<String> tags) {
+        long[] bits = new long[TAG_WORDS];
+        if (tags != null) {
+            for (String tag : tags) {
+                String normalized = TagDictionary.normalize(tag);
+                if (normalized != null) {
+                    int bit = (normalized.hashCode() * 0x9E3779B9) >>> (32 - 8);
+                    bits[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        return bits;
+    }
+
+    private void publish(Segment main, Roaring64Bitmap removed, Map<Long, Entry> delta) {
+        if (delta.size() + removed.getLongCardinality() <= mergeThreshold) {
+            state = new State(main, removed, delta);
+            return;
+        }
+        Builder builder = new Builder();
+        for (int i = 0; i < main.size; i++) {
+            if (!removed.contains(main.projectIds[i])) {
+                builder.add(main, i);
+            }
+        }
+        delta.values().forEach(builder::add);
+        state = new State(builder.segment(), new Roaring64Bitmap(), Map.of());
+    }
+
+    /**
+     * Jaccard entre la firma consultada y la guardada en `stored[offset..offset+4)`.
+     * Dos proyectos sin etiquetas se consideran iguales.
+     */
+    private static double jaccard(long[] query, long[] stored, int offset) {
+        int intersection = 0;
+        int union = 0;
+        for (int w = 0; w < TAG_WORDS; w++) {
+            intersection += Long.bitCount(query[w] & stored[offset + w]);
+            union += Long.bitCount(query[w] | stored[offset + w]);
+        }
+        return union == 0 ? 1.0 : intersection / (double) union;
+    }
+
+    private static float feature(int value) {
+        return (float) Math.log1p(Math.max(0, value));
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+
+    private static int lowerBound(float[] values, int size, float key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Acumula proyectos y construye un segmento ordenado por esfuerzo.
+     */
+    public static final class Builder {
+
+        private int size;
+        private long[] projectIds = new long[1024];
+        private float[] f0 = new float[1024];
+        private float[] f1 = new float[1024];
+        private float[] f2 = new float[1024];
+        private long[] tags = new long[1024 * TAG_WORDS];
+        private int[] values = new int[1024 * Segment.VALUES];
+
+        private Builder() {
+        }
+
+        public Builder add(Sample sample) {
+            return add(Entry.of(sample));
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private Builder add(Entry entry) {
+            ensureCapacity();
+            projectIds[size] = entry.projectId;
+            f0[size] = entry.f0;
+            f1[size] = entry.f1;
+            f2[size] = entry.f2;
+            System.arraycopy(entry.tags, 0, tags, size * TAG_WORDS, TAG_WORDS);
+            System.arraycopy(entry.values, 0, values, size * Segment.VALUES, Segment.VALUES);
+            size++;
+            return this;
+        }
+
+        private void add(Segment segment, int i) {
+            ensureCapacity();
+            projectIds[size] = segment.projectIds[i];
+            f0[size] = segment.f0[i];
+            f1[size] = segment.f1[i];
+            f2[size] = segment.f2[i];
+            System.arraycopy(segment.tags, i * TAG_WORDS, tags, size * TAG_WORDS, TAG_WORDS);
+            System.arraycopy(segment.values, i * Segment.VALUES, values, size * Segment.VALUES, Segment.VALUES);
+            size++;
+        }
+
+        private void ensureCapacity() {
+            if (size == projectIds.length) {
+                int capacity = size * 2;
+                projectIds = Arrays.copyOf(projectIds, capacity);
+                f0 = Arrays.copyOf(f0, capacity);
+                f1 = Arrays.copyOf(f1, capacity);
+                f2 = Arrays.copyOf(f2, capacity);
+                tags = Arrays.copyOf(tags, capacity * TAG_WORDS);
+                values = Arrays.copyOf(values, capacity * Segment.VALUES);
+            }
+        }
+
+        /**
+         * Ordena por esfuerzo con una sola ordenación de primitivos: clave = bits del rasgo
+         * (no negativo, así que su orden como entero es el del float) y posición original.
+         */
+        private Segment segment() {
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = ((long) Float.floatToIntBits(f0[i]) << 32) | i;
+            }
+            Arrays.sort(order);
+
+            Segment segment = new Segment(size);
+            for (int j = 0; j < size; j++) {
+                int i = (int) order[j];
+                segment.projectIds[j] = projectIds[i];
+                segment.f0[j] = f0[i];
+                segment.f1[j] = f1[i];
+                segment.f2[j] = f2[i];
+                System.arraycopy(tags, i * TAG_WORDS, segment.tags, j * TAG_WORDS, TAG_WORDS);
+                System.arraycopy(values, i * Segment.VALUES, segment.values, j * Segment.VALUES, Segment.VALUES);
+                segment.ids.addLong(projectIds[i]);
+            }
+            segment.fillPostings();
+            segment.w0 = inverseDeviation(segment.f0, size);
+            segment.w1 = inverseDeviation(segment.f1, size);
+            segment.w2 = inverseDeviation(segment.f2, size);
+            return segment;
+        }
+
+        /**
+         * Peso que normaliza un rasgo (1 / desviación típica); 1 si no hay datos suficientes.
+         */
+        private static float inverseDeviation(float[] feature, int size) {
+            if (size < 2) {
+                return 1f;
+            }
+            double sum = 0;
+            double sumSquares = 0;
+            for (int i = 0; i < size; i++) {
+                sum += feature[i];
+                sumSquares += (double) feature[i] * feature[i];
+            }
+            double mean = sum / size;
+            double deviation = Math.sqrt(Math.max(0, sumSquares / size - mean * mean));
+            return deviation < 1e-3 ? 1f : (float) (1 / deviation);
+        }
+    }
+
+    /**
+     * Segmento principal: arrays paralelos ordenados por esfuerzo (`f0`).
+     */
+    private static final class Segment {
+
+        /** Enteros por proyecto: estimado, real, participantes, días planificados, días reales */
+        private static final int VALUES = 5;
+
+        private final int size;
+        private final long[] projectIds;
+        private final float[] f0;
+        private final float[] f1;
+        private final float[] f2;
+        private final long[] tags;
+        private final int[] values;
+        private final Roaring64Bitmap ids = new Roaring64Bitmap();
+
+        /** Posiciones (ascendentes, así que por esfuerzo) de los proyectos con cada bit; la última, los que no tienen etiquetas */
+        private final int[][] postings = new int[TAG_BITS + 1][];
+
+        private float w0 = 1f;
+        private float w1 = 1f;
+        private float w2 = 1f;
+
+        private Segment(int size) {
+            this.size = size;
+            this.projectIds = new long[size];
+            this.f0 = new float[size];
+            this.f1 = new float[size];
+            this.f2 = new float[size];
+            this.tags = new long[size * TAG_WORDS];
+            this.values = new int[size * VALUES];
+        }
+
+        private void fillPostings() {
+            int[] counts = new int[TAG_BITS + 1];
+            forEachBit((bit, i) -> counts[bit]++);
+            for (int bit = 0; bit <= TAG_BITS; bit++) {
+                postings[bit] = new int[counts[bit]];
+                counts[bit] = 0;
+            }
+            forEachBit((bit, i) -> postings[bit][counts[bit]++] = i);
+        }
+
+        /**
+         * Recorre los bits de etiqueta de cada proyecto por orden de posición (`TAG_BITS` si no tiene ninguno).
+         */
+        private void forEachBit(BitConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                boolean any = false;
+                for (int w = 0; w < TAG_WORDS; w++) {
+                    for (long bits = tags[i * TAG_WORDS + w]; bits != 0; bits &= bits - 1) {
+                        consumer.accept(w * 64 + Long.numberOfTrailingZeros(bits), i);
+                        any = true;
+                    }
+                }
+                if (!any) {
+                    consumer.accept(TAG_BITS, i);
+                }
+            }
+        }
+
+        private interface BitConsumer {
+            void accept(int bit, int position);
+        }
+
+        private Neighbor neighbor(int i, double distance, double similarity) {
+            int v = i * VALUES;
+            return new Neighbor(projectIds[i], Math.sqrt(distance), similarity,
+                    values[v], values[v + 1], values[v + 2], values[v + 3], values[v + 4]);
+        }
+    }
+
+    /**
+     * Proyecto del segmento de cambios.
+     */
+    private record Entry(long projectId, float f0, float f1, float f2, long[] tags, int[] values) {
+
+        private static Entry of(Sample sample) {
+            return new Entry(sample.projectId(), feature(sample.estimatedEffortHours()),
+                    feature(sample.participants()), feature(sample.plannedDays()), signature(sample.tags()),
+                    new int[]{sample.estimatedEffortHours(), sample.actualEffortHours(), sample.participants(),
+                            sample.plannedDays(), sample.actualDays()});
+        }
+
+        private Neighbor neighbor(double distance, double similarity) {
+            return new Neighbor(projectId, Math.sqrt(distance), similarity,
+                    values[0], values[1], values[2], values[3], values[4]);
+        }
+    }
+
+    private record State(Segment main, Roaring64Bitmap removed, Map<Long, Entry> delta) {
+    }
+
+    /**
+     * @param distance Distancia al cuadrado.
+     * @param index Posición en el segmento principal (si `entry` es null).
+     */
+    private record Candidate(double distance, double similarity, Entry entry, int index) {
+    }
+
+    /**
+     * Los k candidatos más cercanos vistos hasta ahora (montículo de máximos por distancia).
+     */
+    private static final class TopK {
+
+        private final int k;
+        private final PriorityQueue<Candidate> heap;
+
+        private TopK(int k) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Candidate::distance).reversed());
+        }
+
+        /**
+         * Si un candidato a esta distancia (al cuadrado) entraría entre los k mejores.
+         */
+        private boolean accepts(double distance) {
+            return heap.size() < k || distance < heap.peek().distance();
+        }
+
+        private void add(Candidate candidate) {
+            heap.add(candidate);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+
+        private List<Candidate> sorted() {
+            List<Candidate> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingDouble(Candidate::distance));
+            return result;
+        }
+    }
+}
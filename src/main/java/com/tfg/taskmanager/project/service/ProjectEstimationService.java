@@ -0,0 +1,259 @@
+package com.tfg.taskmanager.project.service;
+
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.project.event.ProjectChangedEvent;
+import com.tfg.taskmanager.project.model.dto.ProjectCreateDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectEstimateDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectNeighborDTO;
+import com.tfg.taskmanager.project.model.vo.ProjectStatus;
+import com.tfg.taskmanager.project.repository.ProjectRepository;
+import com.tfg.taskmanager.project.repository.ProjectRepository.ProjectEffortRow;
+import com.tfg.taskmanager.project.repository.ProjectRepository.ProjectTagPair;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Estimación de esfuerzo y fecha de fin de un proyecto nuevo a partir de los proyectos terminados
+ * (`COMPLETED`) más parecidos, buscados en un {@link ProjectEffortIndex} en memoria.
+ *
+ * El histórico se carga al arrancar por bloques de ID, sin bloquear el arranque, y se mantiene
+ * con cada `ProjectChangedEvent` confirmado (o aviso de otro nodo): se vuelven a leer sólo los
+ * proyectos afectados y entran en el índice si están terminados con datos completos, o salen si
+ * han dejado de estarlo. Los cambios recibidos durante una carga se aplican de nuevo al terminarla.
+ * Métrica: `projects.estimation.history` (proyectos en el índice).
+ */
+@Slf4j
+@Service
+public class ProjectEstimationService {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectAccessService accessService;
+    private final ProjectEffortIndex index;
+    private final int defaultNeighbors;
+    private final int maxNeighbors;
+    private final int loadBatchSize;
+
+    /** Índice cargado al menos una vez */
+    private volatile boolean loaded;
+
+    /** Carga en curso */
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    /** Proyectos cambiados durante la carga en curso */
+    private final Set<Long> changedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    public ProjectEstimationService(
+            ProjectRepository projectRepository,
+            ProjectAccessService accessService,
+            MeterRegistry meterRegistry,
+            @Value("${projects.estimation.neighbors:10}") int defaultNeighbors,
+            @Value("${projects.estimation.max-neighbors:50}") int maxNeighbors,
+            @Value("${projects.estimation.tag-weight:1.0}") double tagWeight,
+            @Value("${projects.estimation.merge-threshold:4096}") int mergeThreshold,
+            @Value("${projects.estimation.load-batch-size:10000}") int loadBatchSize) {
+        this.projectRepository = projectRepository;
+        this.accessService = accessService;
+        this.index = new ProjectEffortIndex(tagWeight, mergeThreshold);
+        this.defaultNeighbors = defaultNeighbors;
+        this.maxNeighbors = maxNeighbors;
+        this.loadBatchSize = loadBatchSize;
+        Gauge.builder("projects.estimation.history", index, ProjectEffortIndex::size).register(meterRegistry);
+    }
+
+    /**
+     * Estima el esfuerzo y la fecha de fin de un proyecto que aún no existe.
+     *
+     * @param dto Datos del proyecto nuevo (los mismos que para crearlo).
+     * @param k Número de proyectos parecidos (opcional; como máximo `projects.estimation.max-neighbors`).
+     * @param username Usuario que consulta (para saber de qué proyectos parecidos puede ver el ID).
+     * @throws ResponseStatusException 400 si las fechas no son coherentes; 503 si el histórico aún se está cargando.
+     */
+    public ProjectEstimateDTO estimate(ProjectCreateDTO dto, Integer k, String username) {
+        if (dto.getEstimatedEndDate().isBefore(dto.getStartDate())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La fecha estimada de finalización no puede ser anterior a la de inicio");
+        }
+        if (!loaded) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "El histórico de proyectos se está cargando, inténtalo en unos segundos");
+        }
+        int neighbors = Math.min(Math.max(k != null ? k : defaultNeighbors, 1), maxNeighbors);
+        int plannedDays = (int) ChronoUnit.DAYS.between(dto.getStartDate(), dto.getEstimatedEndDate());
+
+        List<ProjectEffortIndex.Neighbor> found = index.nearest(new ProjectEffortIndex.Query(
+                dto.getEstimatedEffortHours(), dto.getParticipantsCount(), plannedDays, dto.getTags()), neighbors);
+
+        ProjectEstimateDTO estimate = ProjectEstimateDTO.builder()
+                .historySize(index.size())
+                .neighbors(neighbors(found, username))
+                .build();
+        if (found.isEmpty()) {
+            return estimate;
+        }
+
+        // Media geométrica de las desviaciones, ponderada por cercanía
+        double weights = 0;
+        double effortLog = 0;
+        double durationLog = 0;
+        for (ProjectEffortIndex.Neighbor neighbor : found) {
+            double weight = 1 / (neighbor.distance() + 0.05);
+            weights += weight;
+            effortLog += weight * Math.log(neighbor.actualEffortHours() / (double) neighbor.estimatedEffortHours());
+            durationLog += weight * Math.log((neighbor.actualDays() + 1) / (double) (neighbor.plannedDays() + 1));
+        }
+        double effortRatio = Math.exp(effortLog / weights);
+        double durationRatio = Math.exp(durationLog / weights);
+
+        long predictedDays = Math.max(0, Math.round((plannedDays + 1) * durationRatio) - 1);
+        estimate.setEffortRatio(effortRatio);
+        estimate.setDurationRatio(durationRatio);
+        estimate.setPredictedEffortHours((int) Math.max(1, Math.round(dto.getEstimatedEffortHours() * effortRatio)));
+        estimate.setPredictedEndDate(dto.getStartDate().plusDays(predictedDays));
+        return estimate;
+    }
+
+    /**
+     * Carga inicial del histórico, en segundo plano para no retrasar el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reloadAsync();
+    }
+
+    /**
+     * Mantiene el índice al confirmarse cambios en proyectos (p. ej. al pasar a COMPLETED).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        refresh(List.of(event.getProjectId()));
+    }
+
+    /**
+     * Aplica los cambios de proyectos confirmados en otros nodos.
+     */
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (event.isAll()) {
+            reloadAsync();
+        } else if (!event.getProjectIds().isEmpty()) {
+            refresh(event.getProjectIds());
+        }
+    }
+
+    private void reloadAsync() {
+        if (loading.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::reload).whenComplete((result, error) -> {
+                loading.set(false);
+                if (error != null) {
+                    log.error("No se ha podido cargar el histórico de proyectos", error);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reconstruye el índice con todos los proyectos terminados, por bloques de ID.
+     */
+    private void reload() {
+        long start = System.currentTimeMillis();
+        changedWhileLoading.clear();
+        ProjectEffortIndex.Builder builder = ProjectEffortIndex.builder();
+        long afterId = 0;
+        List<ProjectEffortRow> rows;
+        do {
+            rows = projectRepository.findCompletedEffortRowsAfter(afterId, loadBatchSize);
+            if (!rows.isEmpty()) {
+                samples(rows).forEach(builder::add);
+                afterId = rows.get(rows.size() - 1).id();
+            }
+        } while (rows.size() == loadBatchSize);
+
+        index.replaceAll(builder);
+        loaded = true;
+        // Lo que cambió mientras se leía puede haber quedado con los datos de antes
+        Set<Long> changed = new HashSet<>(changedWhileLoading);
+        changedWhileLoading.clear();
+        if (!changed.isEmpty()) {
+            refresh(changed);
+        }
+        log.info("Histórico de estimaciones cargado: {} proyectos terminados en {} ms",
+                builder.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Vuelve a leer los proyectos indicados y los añade al índice o los quita según su estado.
+     */
+    private void refresh(Collection<Long> projectIds) {
+        if (loading.get()) {
+            changedWhileLoading.addAll(projectIds);
+        }
+        List<ProjectEffortIndex.Sample> samples = samples(projectRepository.findEffortRowsByIds(projectIds));
+        Set<Long> gone = new HashSet<>(projectIds);
+        samples.forEach(sample -> gone.remove(sample.projectId()));
+        index.removeAll(gone);
+        index.upsertAll(samples);
+    }
+
+    /**
+     * Convierte en muestras los proyectos terminados con datos completos (descarta el resto).
+     */
+    private List<ProjectEffortIndex.Sample> samples(List<ProjectEffortRow> rows) {
+        List<ProjectEffortRow> usable = rows.stream().filter(ProjectEstimationService::usable).toList();
+        if (usable.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<String>> tags = projectRepository
+                .findTagPairsByIds(usable.stream().map(ProjectEffortRow::id).toList()).stream()
+                .filter(pair -> pair.tag() != null)
+                .collect(Collectors.groupingBy(ProjectTagPair::projectId,
+                        Collectors.mapping(ProjectTagPair::tag, Collectors.toList())));
+
+        return usable.stream()
+                .map(row -> new ProjectEffortIndex.Sample(row.id(), row.estimatedEffortHours(),
+                        row.actualEffortHours(), row.participantsCount() != null ? row.participantsCount() : 1,
+                        (int) ChronoUnit.DAYS.between(row.startDate(), row.estimatedEndDate()),
+                        (int) ChronoUnit.DAYS.between(row.startDate(), row.realEndDate()),
+                        tags.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
+    private static boolean usable(ProjectEffortRow row) {
+        return row.status() == ProjectStatus.COMPLETED
+                && row.startDate() != null && row.estimatedEndDate() != null && row.realEndDate() != null
+                && !row.estimatedEndDate().isBefore(row.startDate()) && !row.realEndDate().isBefore(row.startDate())
+                && row.estimatedEffortHours() != null && row.estimatedEffortHours() > 0
+                && row.actualEffortHours() != null && row.actualEffortHours() > 0;
+    }
+
+    private List<ProjectNeighborDTO> neighbors(List<ProjectEffortIndex.Neighbor> found, String username) {
+        Set<Long> accessible = found.isEmpty() ? Set.of() : accessService.accessibleProjects(username);
+        return found.stream()
+                .map(neighbor -> ProjectNeighborDTO.builder()
+                        .projectId(accessible.contains(neighbor.projectId()) ? neighbor.projectId() : null)
+                        .distance(neighbor.distance())
+                        .tagSimilarity(neighbor.tagSimilarity())
+                        .estimatedEffortHours(neighbor.estimatedEffortHours())
+                        .actualEffortHours(neighbor.actualEffortHours())
+                        .participantsCount(neighbor.participants())
+                        .plannedDays(neighbor.plannedDays())
+                        .actualDays(neighbor.actualDays())
+                        .build())
+                .toList();
+    }
+}
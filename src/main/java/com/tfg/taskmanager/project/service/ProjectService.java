@@ -1,9 +1,13 @@
 package com.tfg.taskmanager.project.service;
 
+import com.tfg.taskmanager.common.concurrency.VersionPrecondition;
+import com.tfg.taskmanager.project.model.dto.ProjectCloneDTO;
 import com.tfg.taskmanager.project.model.dto.ProjectCreateDTO;
 import com.tfg.taskmanager.project.model.dto.ProjectDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectUpdateDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface ProjectService {
 
@@ -22,10 +26,78 @@ public interface ProjectService {
      */
     List<ProjectDTO> getAllByOwner(String ownerUsername);
 
+    /**
+     * Recupera todos los proyectos a los que puede acceder un usuario: los suyos, aquellos de
+     * los que es miembro y los de sus equipos.
+     * @param username usuario autenticado
+     * @return lista de proyectos, por ID
+     */
+    List<ProjectDTO> getAllAccessible(String username);
+
+    /**
+     * Igual que {@link #getAllAccessible(String)} leyendo de la base de datos sólo los campos pedidos.
+     * @param fields campos de `ProjectDTO` separados por comas
+     * @return una fila campo -> valor por proyecto
+     */
+    List<Map<String, Object>> getAllAccessible(String username, String fields);
+
+    /**
+     * Modifica parcialmente un proyecto del usuario (campos a null = sin cambios).
+     * Las ediciones concurrentes sobre campos distintos se fusionan.
+     * @param id proyecto a modificar
+     * @param dto campos a cambiar
+     * @param ownerUsername usuario autenticado (debe ser el propietario)
+     * @param precondition versión sobre la que se hizo la edición (null = sin comprobar)
+     * @return proyecto modificado
+     */
+    ProjectDTO updateProject(Long id, ProjectUpdateDTO dto, String ownerUsername, VersionPrecondition precondition);
+
     /**
      * Recupera un proyecto por ID.
      * @param id identificador del proyecto
+     * @param username usuario autenticado (debe tener acceso al proyecto)
      * @return el DTO del proyecto
      */
-    ProjectDTO getProject(Long id);
+    ProjectDTO getProject(Long id, String username);
+
+    /**
+     * Igual que {@link #getProject(Long, String)} leyendo de la base de datos sólo los campos pedidos.
+     * @param fields campos de `ProjectDTO` separados por comas
+     */
+    Map<String, Object> getProject(Long id, String fields, String username);
+
+    /**
+     * Miembros directos de un proyecto (sin contar propietario ni equipo).
+     * @param id identificador del proyecto
+     * @param username usuario autenticado (debe tener acceso al proyecto)
+     * @return nombres de usuario en orden alfabético
+     */
+    List<String> getMembers(Long id, String username);
+
+    /**
+     * Añade un miembro directo a un proyecto del usuario.
+     * @param id identificador del proyecto
+     * @param member usuario a añadir
+     * @param ownerUsername usuario autenticado (debe ser el propietario)
+     * @return miembros tras el cambio
+     */
+    List<String> addMember(Long id, String member, String ownerUsername);
+
+    /**
+     * Quita un miembro directo: el propietario a cualquiera, o el propio miembro a sí mismo.
+     * @param id identificador del proyecto
+     * @param member usuario a quitar
+     * @param requester usuario autenticado
+     * @return miembros tras el cambio
+     */
+    List<String> removeMember(Long id, String member, String requester);
+
+    /**
+     * Clona un proyecto del usuario con sus tareas y etiquetas, dentro de la base de datos.
+     * @param sourceId proyecto original
+     * @param options nombre, nueva fecha de inicio y si se reinicia el progreso
+     * @param ownerUsername usuario autenticado (propietario del original y de la copia)
+     * @return el proyecto creado
+     */
+    ProjectDTO cloneProject(Long sourceId, ProjectCloneDTO options, String ownerUsername);
 }
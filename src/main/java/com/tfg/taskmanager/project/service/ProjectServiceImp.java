@@ -1,14 +1,42 @@
 package com.tfg.taskmanager.project.service;
 
+import com.tfg.taskmanager.audit.event.AuditEvent;
+import com.tfg.taskmanager.common.concurrency.FieldVersions;
+import com.tfg.taskmanager.common.concurrency.OptimisticRetry;
+import com.tfg.taskmanager.common.concurrency.VersionPrecondition;
+import com.tfg.taskmanager.common.fields.FieldSelection;
+import com.tfg.taskmanager.common.fields.SparseFieldQuery;
+import com.tfg.taskmanager.project.event.ProjectChangedEvent;
 import com.tfg.taskmanager.project.mapper.ProjectMapper;
+import com.tfg.taskmanager.project.model.dto.ProjectCloneDTO;
 import com.tfg.taskmanager.project.model.dto.ProjectCreateDTO;
 import com.tfg.taskmanager.project.model.dto.ProjectDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectUpdateDTO;
 import com.tfg.taskmanager.project.model.vo.Project;
 import com.tfg.taskmanager.project.repository.ProjectRepository;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import com.tfg.taskmanager.task.service.TaskInboxService;
+import com.tfg.taskmanager.team.repository.TeamRepository;
+import com.tfg.taskmanager.team.service.MembershipNotifier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,12 +54,48 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProjectServiceImp implements ProjectService {
 
+    /** Tareas por lote al propagar el alta de las copias a índices y registro de cambios */
+    private static final int PUBLISH_CHUNK = 1000;
+
+    /**
+     * Campos de `ProjectDTO` que se pueden pedir con `fields`.
+     * Los de viabilidad calculada (riskScore, viabilityCategory, isViable) no se guardan y no se ofrecen.
+     */
+    private static final List<String> SELECTABLE_FIELDS = List.of(
+            "id", "name", "description", "createdAt", "startDate", "estimatedEndDate", "realEndDate",
+            "estimatedEffortHours", "actualEffortHours", "participantsCount", "status", "ownerUsername",
+            "viabilitySummary", "teamId", "tags", "version");
+
     /** Repositorio para operaciones CRUD sobre la entidad Project */
     private final ProjectRepository repository;
     
     /** Mapper encargado de convertir entre DTOs y entidades */
     private final ProjectMapper mapper;
 
+    /** Publicador de eventos de dominio (cachés y vistas derivadas) */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Repositorio de tareas, para copiarlas en bloque al clonar */
+    private final TaskRepository taskRepository;
+
+    /** Bandeja de tareas por responsable, que se mantiene al crear copias */
+    private final TaskInboxService inboxService;
+
+    /** Consultas que leen sólo los campos pedidos (`fields`) */
+    private final SparseFieldQuery sparseFieldQuery;
+
+    /** Transacción con reintento ante conflictos de versión */
+    private final OptimisticRetry optimisticRetry;
+
+    /** Proyectos accesibles por usuario (en memoria) */
+    private final ProjectAccessService accessService;
+
+    /** Equipos, para validar y propagar los cambios de `teamId` */
+    private final TeamRepository teamRepository;
+
+    /** Avisos de cambios de permisos a las cachés de acceso */
+    private final MembershipNotifier membershipNotifier;
+
     /**
      * Crea un nuevo proyecto en la base de datos.
      * 
@@ -40,6 +104,7 @@ public class ProjectServiceImp implements ProjectService {
      * @return DTO del proyecto creado.
      */
     @Override
+    @Transactional
     public ProjectDTO createProject(ProjectCreateDTO dto, String ownerUsername) {
 
         // Convierte el DTO recibido en una entidad de base de datos
@@ -50,11 +115,117 @@ public class ProjectServiceImp implements ProjectService {
         
         // Guarda el proyecto en la base de datos
         Project saved = repository.save(project);
+
+        // Notifica el cambio (p. ej. para invalidar el dashboard del propietario tras el commit)
+        eventPublisher.publishEvent(new ProjectChangedEvent(
+                saved.getId(), ownerUsername, ProjectChangedEvent.ChangeType.CREATED));
+        eventPublisher.publishEvent(AuditEvent.created(
+                AuditEvent.EntityType.PROJECT, saved.getId(), ownerUsername, currentFields(saved)));
         
         // Convierte la entidad persistida en DTO para su devolución
         return mapper.toDTO(saved);
     }
 
+    /**
+     * Modifica parcialmente un proyecto con control de concurrencia optimista: los cambios
+     * concurrentes sobre campos distintos se fusionan y se reintenta si otra transacción
+     * guarda el proyecto entre la lectura y la escritura.
+     *
+     * @param id ID del proyecto.
+     * @param dto Campos a modificar (los nulos se ignoran).
+     * @param ownerUsername Usuario que edita; debe ser el propietario.
+     * @param precondition Versión sobre la que se hizo la edición (null = sin comprobar).
+     * @return DTO del proyecto modificado.
+     * @throws ResponseStatusException 404 si no existe o no es del usuario; 412/409 si hay conflicto.
+     */
+    @Override
+    public ProjectDTO updateProject(Long id, ProjectUpdateDTO dto, String ownerUsername,
+                                    VersionPrecondition precondition) {
+        return optimisticRetry.execute(lockRow -> {
+            Project project = (lockRow ? repository.findByIdForUpdate(id) : repository.findById(id))
+                    .filter(found -> ownerUsername.equals(found.getOwnerUsername()))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Proyecto no encontrado"));
+
+            Map<String, Object> requested = requestedFields(dto);
+            Map<String, Object> current = currentFields(project);
+            if (precondition != null) {
+                precondition.check(project.getVersion(), project.getFieldVersions(), requested, current);
+            }
+
+            Set<String> changed = FieldVersions.changed(requested, current);
+            if (changed.isEmpty()) {
+                return mapper.toDTO(project);
+            }
+
+            // Sólo se puede asignar un equipo del que se es miembro
+            Long previousTeam = project.getTeamId();
+            boolean teamChanged = changed.contains("teamId");
+            if (teamChanged && !teamRepository.isMember(dto.getTeamId(), ownerUsername)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No perteneces al equipo " + dto.getTeamId());
+            }
+
+            mapper.updateEntity(dto, project);
+            FieldVersions.record(project.getFieldVersions(), changed, project.getVersion());
+            Project saved = repository.saveAndFlush(project);
+
+            eventPublisher.publishEvent(new ProjectChangedEvent(
+                    saved.getId(), ownerUsername, ProjectChangedEvent.ChangeType.UPDATED));
+            eventPublisher.publishEvent(AuditEvent.updated(
+                    AuditEvent.EntityType.PROJECT, saved.getId(), ownerUsername, changed, current, requested));
+            if (teamChanged) {
+                // Ganan acceso los miembros del equipo nuevo y lo pierden los del anterior
+                membershipNotifier.membershipChanged(teamRepository.findMembers(
+                        previousTeam != null ? List.of(previousTeam, saved.getTeamId()) : List.of(saved.getTeamId())));
+            }
+            return mapper.toDTO(saved);
+        });
+    }
+
+    /**
+     * Campos editables informados en una modificación parcial (campo -> valor pedido).
+     */
+    private static Map<String, Object> requestedFields(ProjectUpdateDTO dto) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        putIfPresent(fields, "name", dto.getName());
+        putIfPresent(fields, "description", dto.getDescription());
+        putIfPresent(fields, "startDate", dto.getStartDate());
+        putIfPresent(fields, "estimatedEndDate", dto.getEstimatedEndDate());
+        putIfPresent(fields, "realEndDate", dto.getRealEndDate());
+        putIfPresent(fields, "estimatedEffortHours", dto.getEstimatedEffortHours());
+        putIfPresent(fields, "actualEffortHours", dto.getActualEffortHours());
+        putIfPresent(fields, "participantsCount", dto.getParticipantsCount());
+        putIfPresent(fields, "status", dto.getStatus());
+        putIfPresent(fields, "teamId", dto.getTeamId());
+        putIfPresent(fields, "tags", dto.getTags() != null ? new ArrayList<>(dto.getTags()) : null);
+        return fields;
+    }
+
+    /**
+     * Valor actual de los campos editables de un proyecto.
+     */
+    private static Map<String, Object> currentFields(Project project) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("name", project.getName());
+        fields.put("description", project.getDescription());
+        fields.put("startDate", project.getStartDate());
+        fields.put("estimatedEndDate", project.getEstimatedEndDate());
+        fields.put("realEndDate", project.getRealEndDate());
+        fields.put("estimatedEffortHours", project.getEstimatedEffortHours());
+        fields.put("actualEffortHours", project.getActualEffortHours());
+        fields.put("participantsCount", project.getParticipantsCount());
+        fields.put("status", project.getStatus());
+        fields.put("teamId", project.getTeamId());
+        // Copia: la colección persistente no compara por contenido
+        fields.put("tags", project.getTags() != null ? new ArrayList<>(project.getTags()) : new ArrayList<>());
+        return fields;
+    }
+
+    private static void putIfPresent(Map<String, Object> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
+    }
+
     /**
      * Obtiene todos los proyectos creados por un usuario específico.
      * 
@@ -62,6 +233,7 @@ public class ProjectServiceImp implements ProjectService {
      * @return Lista de proyectos en formato DTO.
      */
     @Override
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getAllByOwner(String ownerUsername) {
 
         // Consulta los proyectos en la base de datos filtrando por propietario
@@ -71,21 +243,206 @@ public class ProjectServiceImp implements ProjectService {
                 .collect(Collectors.toList()); // Convierte el Stream en una lista final
     }
 
+    /**
+     * Obtiene los proyectos accesibles para un usuario (propios, de los que es miembro y de sus
+     * equipos), a partir de sus IDs en caché.
+     *
+     * @param username Usuario autenticado.
+     * @return Lista de proyectos en formato DTO, por ID.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProjectDTO> getAllAccessible(String username) {
+        Set<Long> ids = accessService.accessibleProjects(username);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return repository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Project::getId))
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Obtiene los proyectos accesibles para un usuario leyendo sólo los campos pedidos: las
+     * columnas no pedidas no aparecen en el SELECT y las etiquetas sólo se consultan si se piden.
+     *
+     * @param username Usuario autenticado.
+     * @param fields Campos de `ProjectDTO` separados por comas.
+     * @return Una fila campo -> valor por proyecto.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllAccessible(String username, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, SELECTABLE_FIELDS);
+        Set<Long> ids = accessService.accessibleProjects(username);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Specification<Project> accessible = (root, query, cb) -> root.get("id").in(ids);
+        return sparseFieldQuery.find(Project.class, selection, accessible, Sort.by("id"), 0);
+    }
+
     /**
      * Obtiene un proyecto específico por su identificador.
      * 
      * @param id ID único del proyecto.
+     * @param username Usuario autenticado.
      * @return DTO del proyecto si existe.
-     * @throws RuntimeException Si no se encuentra el proyecto.
+     * @throws ResponseStatusException 404 si no existe o el usuario no tiene acceso.
      */
     @Override
-    public ProjectDTO getProject(Long id) {
+    @Transactional(readOnly = true)
+    public ProjectDTO getProject(Long id, String username) {
+
+        // Sin acceso, el proyecto se trata como inexistente (comprobación en memoria)
+        accessService.checkProject(username, id);
 
         // Busca el proyecto por su ID, si no existe lanza una excepción controlada
         Project project = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Proyecto no encontrado"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Proyecto no encontrado"));
 
         // Retorna el proyecto en formato DTO
         return mapper.toDTO(project);
     }
+
+    /**
+     * Obtiene un proyecto leyendo sólo los campos pedidos.
+     *
+     * @param id ID único del proyecto.
+     * @param fields Campos de `ProjectDTO` separados por comas.
+     * @param username Usuario autenticado.
+     * @return Campo -> valor.
+     * @throws ResponseStatusException 404 si no existe el proyecto o el usuario no tiene acceso.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProject(Long id, String fields, String username) {
+        accessService.checkProject(username, id);
+        Specification<Project> byId = (root, query, cb) -> cb.equal(root.get("id"), id);
+        return sparseFieldQuery.find(Project.class, FieldSelection.parse(fields, SELECTABLE_FIELDS), byId, Sort.unsorted(), 1)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Proyecto no encontrado"));
+    }
+
+    /**
+     * Obtiene los miembros directos de un proyecto accesible para el usuario.
+     *
+     * @param id ID del proyecto.
+     * @param username Usuario autenticado.
+     * @return Nombres de usuario en orden alfabético.
+     * @throws ResponseStatusException 404 si no existe o el usuario no tiene acceso.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getMembers(Long id, String username) {
+        accessService.checkProject(username, id);
+        return repository.findMembers(id);
+    }
+
+    /**
+     * Añade un miembro directo al proyecto y olvida sus permisos en caché (aquí y en otros nodos).
+     *
+     * @param id ID del proyecto.
+     * @param member Usuario a añadir.
+     * @param ownerUsername Usuario autenticado; debe ser el propietario.
+     * @return Miembros tras el cambio.
+     * @throws ResponseStatusException 404 si no existe o no es del usuario.
+     */
+    @Override
+    @Transactional
+    public List<String> addMember(Long id, String member, String ownerUsername) {
+        findOwned(id, ownerUsername);
+        if (repository.addMember(id, member) > 0) {
+            membershipNotifier.membershipChanged(Set.of(member));
+        }
+        return repository.findMembers(id);
+    }
+
+    /**
+     * Quita un miembro directo del proyecto y olvida sus permisos en caché.
+     *
+     * @param id ID del proyecto.
+     * @param member Usuario a quitar.
+     * @param requester Usuario autenticado: el propietario, o el propio miembro.
+     * @return Miembros tras el cambio.
+     * @throws ResponseStatusException 404 si no existe o no tiene acceso; 403 si no puede quitar a ese miembro.
+     */
+    @Override
+    @Transactional
+    public List<String> removeMember(Long id, String member, String requester) {
+        accessService.checkProject(requester, id);
+        Project project = repository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Proyecto no encontrado"));
+        if (!requester.equals(project.getOwnerUsername()) && !requester.equals(member)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sólo el propietario puede quitar miembros");
+        }
+        if (repository.removeMember(id, member) > 0) {
+            membershipNotifier.membershipChanged(Set.of(member));
+        }
+        return repository.findMembers(id);
+    }
+
+    private Project findOwned(Long id, String ownerUsername) {
+        return repository.findById(id)
+                .filter(project -> ownerUsername.equals(project.getOwnerUsername()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Proyecto no encontrado"));
+    }
+
+    /**
+     * Clona un proyecto, sus tareas y las etiquetas de ambos sin pasar las filas por la aplicación:
+     * dos sentencias `INSERT ... SELECT` (proyecto y tareas) hacen todo el trabajo en la base de datos.
+     *
+     * @param sourceId ID del proyecto original.
+     * @param options Opciones de la copia (puede ser null).
+     * @param ownerUsername Usuario que clona; debe ser el propietario del original.
+     * @return DTO del nuevo proyecto.
+     * @throws ResponseStatusException 404 si el proyecto no existe o no es del usuario.
+     */
+    @Override
+    @Transactional
+    public ProjectDTO cloneProject(Long sourceId, ProjectCloneDTO options, String ownerUsername) {
+        Project source = repository.findById(sourceId)
+                .filter(project -> ownerUsername.equals(project.getOwnerUsername()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Proyecto no encontrado"));
+        ProjectCloneDTO opts = options != null ? options : new ProjectCloneDTO();
+
+        // Las fechas se desplazan lo mismo que la fecha de inicio
+        LocalDate sourceStart = source.getStartDate() != null ? source.getStartDate()
+                : source.getCreatedAt() != null ? source.getCreatedAt().toLocalDate() : null;
+        int dayShift = opts.getStartDate() != null && sourceStart != null
+                ? Math.toIntExact(ChronoUnit.DAYS.between(sourceStart, opts.getStartDate()))
+                : 0;
+        String name = opts.getName() != null && !opts.getName().isBlank()
+                ? opts.getName()
+                : source.getName() + " (copia)";
+
+        Long cloneId = repository.cloneProject(sourceId, name, ownerUsername, dayShift);
+        List<Long> taskIds = taskRepository.cloneProjectTasks(sourceId, cloneId, dayShift, opts.isResetProgress());
+
+        // Bandejas en una sola sentencia; índices y registro de cambios, en lotes acotados
+        inboxService.syncNewProject(cloneId);
+        for (int from = 0; from < taskIds.size(); from += PUBLISH_CHUNK) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + PUBLISH_CHUNK, taskIds.size()));
+            eventPublisher.publishEvent(new TaskChangedEvent(
+                    TaskChangedEvent.ChangeType.CREATED, Set.of(cloneId), chunk));
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(
+                cloneId, ownerUsername, ProjectChangedEvent.ChangeType.CREATED));
+        if (source.getTeamId() != null) {
+            // La copia conserva el equipo: sus miembros ganan acceso a ella
+            membershipNotifier.membershipChanged(teamRepository.findMembers(List.of(source.getTeamId())));
+        }
+
+        // Una sola entrada de auditoría para la copia: las tareas copiadas se identifican por su proyecto
+        Project clone = repository.findById(cloneId).orElseThrow();
+        Map<String, Object> values = currentFields(clone);
+        values.put("clonedFrom", sourceId);
+        values.put("clonedTasks", taskIds.size());
+        eventPublisher.publishEvent(AuditEvent.created(
+                AuditEvent.EntityType.PROJECT, cloneId, ownerUsername, values));
+
+        return mapper.toDTO(clone);
+    }
 }
@@ -0,0 +1,155 @@
+package com.tfg.taskmanager.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Límites de peticiones de la API por usuario y grupo de rutas.
+ *
+ * Los patrones de todos los grupos se compilan al arrancar y se prueban del más específico
+ * al más general; la ruta que no encaja en ninguno usa el límite por defecto. Antes de evaluar
+ * un patrón se compara su prefijo literal, y los patrones literales (`/api/tasks`) o de subárbol
+ * (`/api/tasks/project/**`) se resuelven comparando texto, así que la mayoría de peticiones no
+ * necesitan analizar la ruta. El estado de
+ * los cubos vive en un {@link TokenBucketRateLimiter} (sin cerrojos) y los cubos sin uso se
+ * liberan periódicamente.
+ */
+@Slf4j
+@Component
+public class ApiRateLimiter {
+
+    private final boolean enabled;
+    private final long idleNanos;
+
+    /** Patrones de todos los grupos, del más específico al más general */
+    private final List<Route> routes = new ArrayList<>();
+
+    private final Group defaultGroup;
+
+    private final TokenBucketRateLimiter<BucketKey> limiter = new TokenBucketRateLimiter<>();
+
+    public ApiRateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.idleNanos = properties.getIdleTimeout().toNanos();
+        this.defaultGroup = new Group("default", 0, toLimit(properties.getDefaultLimit()));
+
+        int index = 1;
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            Group group = new Group(entry.getKey(), index++, toLimit(entry.getValue()));
+            for (String pattern : entry.getValue().getPatterns()) {
+                routes.add(Route.of(PathPatternParser.defaultInstance.parse(pattern), group));
+            }
+        }
+        routes.sort((a, b) -> PathPattern.SPECIFICITY_COMPARATOR.compare(a.pattern, b.pattern));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Consume una petición del cubo del usuario para el grupo de la ruta.
+     *
+     * @param principal Usuario (o dirección de origen si la petición no está autenticada).
+     * @param path Ruta de la petición, sin contexto.
+     * @return 0 si se admite; si no, nanosegundos hasta que se admita la siguiente.
+     */
+    public long acquire(String principal, String path) {
+        Group group = resolve(path);
+        return limiter.tryAcquire(new BucketKey(principal, group.index), group.limit, System.nanoTime());
+    }
+
+    /**
+     * Nombre del grupo que limita una ruta.
+     */
+    public String groupOf(String path) {
+        return resolve(path).name;
+    }
+
+    /**
+     * Libera los cubos que llevan `idle-timeout` sin uso (están llenos y equivalen a uno nuevo).
+     */
+    @Scheduled(fixedDelayString = "${security.rate-limit.idle-timeout:PT10M}")
+    public void evictIdle() {
+        int evicted = limiter.evictIdle(System.nanoTime(), idleNanos);
+        if (evicted > 0) {
+            log.debug("Liberados {} cubos de límite de peticiones sin uso ({} activos)", evicted, limiter.size());
+        }
+    }
+
+    private Group resolve(String path) {
+        PathContainer container = null;
+        for (Route route : routes) {
+            boolean matches = switch (route.kind) {
+                case EXACT -> path.equals(route.prefix);
+                // `prefix` termina en '/'; el patrón también admite la raíz sin la barra
+                case SUBTREE -> path.startsWith(route.prefix)
+                        || path.length() == route.prefix.length() - 1 && route.prefix.startsWith(path);
+                case PATTERN -> {
+                    if (!path.startsWith(route.prefix)) {
+                        yield false;
+                    }
+                    if (container == null) {
+                        container = PathContainer.parsePath(path);
+                    }
+                    yield route.pattern.matches(container);
+                }
+            };
+            if (matches) {
+                return route.group;
+            }
+        }
+        return defaultGroup;
+    }
+
+    private static TokenBucketRateLimiter.Limit toLimit(RateLimitProperties.Group config) {
+        return new TokenBucketRateLimiter.Limit(config.getCapacity(), config.getPerSecond());
+    }
+
+    private record Group(String name, int index, TokenBucketRateLimiter.Limit limit) {
+    }
+
+    /**
+     * @param prefix Parte literal del patrón hasta el primer comodín o variable.
+     * @param kind Cómo se compara: texto exacto, subárbol (`/**` final) o patrón completo.
+     */
+    private record Route(PathPattern pattern, Group group, String prefix, Kind kind) {
+
+        enum Kind { EXACT, SUBTREE, PATTERN }
+
+        static Route of(PathPattern pattern, Group group) {
+            String text = pattern.getPatternString();
+            int wildcard = indexOfAny(text, "*?{");
+            if (wildcard < 0) {
+                return new Route(pattern, group, text, Kind.EXACT);
+            }
+            if (wildcard == text.length() - 2 && text.endsWith("/**")) {
+                return new Route(pattern, group, text.substring(0, wildcard), Kind.SUBTREE);
+            }
+            return new Route(pattern, group, text.substring(0, wildcard), Kind.PATTERN);
+        }
+
+        private static int indexOfAny(String text, String chars) {
+            for (int i = 0; i < text.length(); i++) {
+                if (chars.indexOf(text.charAt(i)) >= 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Un cubo por usuario y grupo de rutas.
+     */
+    private record BucketKey(String principal, int group) {
+    }
+}
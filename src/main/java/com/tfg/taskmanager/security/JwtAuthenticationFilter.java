@@ -36,6 +36,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     /** Servicio para validar y extraer información del JWT */
     private final JwtService jwtService;
 
+    /** Lista de tokens revocados (consulta en memoria mediante filtro de Bloom) */
+    private final TokenRevocationService revocationService;
+
     /**
      * 🔹 Método principal del filtro: intercepta cada petición y valida autenticación por JWT.
      * 
@@ -75,7 +78,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 3 Validación del usuario y configuración del contexto de seguridad
         // Se verifica que haya un username y que aún no haya autenticación activa en el contexto
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtService.isTokenValid(jwt)) { // Se valida la integridad y vigencia del JWT
+            // Se valida la integridad y vigencia del JWT, y que no haya sido revocado (logout)
+            if (jwtService.isTokenValid(jwt) && !revocationService.isRevoked(jwtService.extractTokenId(jwt))) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(username, null, null);
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,53 @@
+package com.tfg.taskmanager.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Manejador de logout que revoca en el servidor el JWT de la petición.
+ *
+ * Sin esta revocación, un token robado seguiría siendo válido hasta su expiración
+ * aunque el usuario hubiera cerrado sesión.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtLogoutHandler implements LogoutHandler {
+
+    private final JwtService jwtService;
+    private final TokenRevocationService revocationService;
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String jwt = extractToken(request);
+        if (jwt == null || !jwtService.isTokenValid(jwt)) {
+            return; // Nada que revocar: token ausente, inválido o ya expirado
+        }
+        revocationService.revoke(jwt);
+        log.debug("Token revocado por logout");
+    }
+
+    /**
+     * Obtiene el JWT de la cabecera `Authorization` o, en su defecto, de la cookie `JWT_TOKEN`.
+     */
+    private String extractToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if ("JWT_TOKEN".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
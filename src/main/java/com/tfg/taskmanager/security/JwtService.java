@@ -7,8 +7,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.function.Function;
 
 /**
@@ -42,6 +46,34 @@ public class JwtService {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Obtiene un identificador estable del token para la lista de revocación.
+     * Usa la claim `jti` si el emisor la incluye; si no, el hash SHA-256 del propio token.
+     * @param token JWT del que se obtiene el identificador.
+     * @return Identificador del token (como máximo 64 caracteres).
+     */
+    public String extractTokenId(String token) {
+        String jti = extractClaim(token, Claims::getId);
+        if (jti != null && !jti.isBlank() && jti.length() <= 64) {
+            return jti;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Extrae la fecha de expiración del token.
+     * @param token JWT del que se extrae la expiración.
+     * @return Fecha de expiración.
+     */
+    public Date extractExpiration(String token) {
+        return extractClaim(token, Claims::getExpiration);
+    }
+
     /**
      * Extrae una claim específica del token mediante una función resolutiva.
      * @param token JWT del cual se extraerá la claim.
@@ -0,0 +1,76 @@
+package com.tfg.taskmanager.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que limita el ritmo de peticiones a la API (`/api/**`) por usuario y grupo de rutas.
+ *
+ * Va detrás de `JwtAuthenticationFilter` para conocer al usuario; las peticiones sin autenticar
+ * se limitan por dirección de origen. Al superar el límite responde 429 con `Retry-After`
+ * (segundos) sin llegar a los controladores ni a la base de datos.
+ *
+ * No es un bean: se crea en `SecurityConfig` para que Spring Boot no lo registre además como
+ * filtro del contenedor, fuera de la cadena de seguridad.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final ApiRateLimiter limiter;
+
+    public RateLimitFilter(ApiRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limiter.isEnabled() || !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = path(request);
+        long waitNanos = limiter.acquire(principal(request), path);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Segundos enteros, redondeando hacia arriba (Retry-After no admite fracciones)
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"timestamp\":\"" + Instant.now() + "\",\"status\":429,"
+                + "\"error\":\"Too Many Requests\",\"path\":\"" + path.replace("\"", "%22") + "\"}");
+    }
+
+    private static String principal(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
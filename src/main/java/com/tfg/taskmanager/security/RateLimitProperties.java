@@ -0,0 +1,49 @@
+package com.tfg.taskmanager.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración del limitador de peticiones de la API (`security.rate-limit.*`).
+ *
+ * Cada grupo reúne varias rutas (patrones como `/api/tasks/project/**`) con su propio
+ * límite; cada usuario tiene un cubo por grupo. Las rutas `/api/**` que no encajan en
+ * ningún grupo usan `default-limit`.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.rate-limit")
+public class RateLimitProperties {
+
+    /** Activa el limitador */
+    private boolean enabled = true;
+
+    /** Tiempo sin uso tras el que se libera el cubo de un usuario */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /** Límite de las rutas de la API sin grupo */
+    private Group defaultLimit = new Group();
+
+    /** Grupos de rutas por nombre */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+
+        /** Patrones de ruta del grupo (sintaxis de `PathPattern`) */
+        private List<String> patterns = new ArrayList<>();
+
+        /** Peticiones seguidas permitidas (tamaño del cubo) */
+        private int capacity = 100;
+
+        /** Peticiones por segundo sostenidas (ritmo de recarga) */
+        private double perSecond = 20;
+    }
+}
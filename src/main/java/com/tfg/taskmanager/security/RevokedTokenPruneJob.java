@@ -0,0 +1,54 @@
+package com.tfg.taskmanager.security;
+
+import com.tfg.taskmanager.cluster.service.ClusterJob;
+import com.tfg.taskmanager.cluster.service.ClusterJobRunner;
+import com.tfg.taskmanager.security.repository.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Purga por lotes las revocaciones de tokens ya expirados, en un solo nodo del clúster.
+ * El punto de control es el instante de corte de la ejecución.
+ */
+@Component
+public class RevokedTokenPruneJob implements ClusterJob {
+
+    private final RevokedTokenRepository repository;
+    private final ClusterJobRunner jobRunner;
+    private final int chunkSize;
+
+    public RevokedTokenPruneJob(
+            RevokedTokenRepository repository,
+            ClusterJobRunner jobRunner,
+            @Value("${security.revocation.prune-chunk-size:5000}") int chunkSize) {
+        this.repository = repository;
+        this.jobRunner = jobRunner;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.prune-interval:PT15M}",
+            initialDelayString = "${security.revocation.prune-interval:PT15M}")
+    public void prune() {
+        jobRunner.run(this);
+    }
+
+    @Override
+    public String name() {
+        return "revoked-token-prune";
+    }
+
+    @Override
+    public Chunk processChunk(String checkpoint) {
+        LocalDateTime cutoff = checkpoint != null ? LocalDateTime.parse(checkpoint) : LocalDateTime.now();
+        int pruned = repository.deleteExpired(cutoff, chunkSize);
+        return pruned < chunkSize ? Chunk.finished(pruned) : Chunk.next(pruned, cutoff.toString());
+    }
+
+    @Override
+    public long backlog() {
+        return repository.countExpired(LocalDateTime.now());
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -14,6 +15,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.logout.HttpStatusReturningLogoutSuccessHandler;
+import org.springframework.security.web.authentication.logout.SimpleUrlLogoutSuccessHandler;
 
 /**
  * Configuración de seguridad global para la aplicación.
@@ -24,6 +27,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter; // Filtro de autenticación JWT que validará los tokens antes de permitir el acceso.
+    private final JwtLogoutHandler jwtLogoutHandler; // Revoca el JWT en el servidor al hacer logout.
+    private final ApiRateLimiter apiRateLimiter; // Límites de peticiones por usuario y grupo de rutas.
 
     /**
      * Configura la cadena de filtros de seguridad de Spring Security.
@@ -48,9 +53,27 @@ public class SecurityConfig {
                             "/webjars/**"
                         ).permitAll() // Permite acceso público sin autenticacion a estas rutas.
                         .requestMatchers("/api/auth/**").permitAll() // Permite acceso sin autenticación a los endpoints de autenticación.
+                        .requestMatchers("/error").permitAll() // Deja ver el estado real (400, 404...) en lugar de un 403 genérico.
                         .anyRequest().authenticated() // Todo lo demás requiere autenticación con JWT.
                 )
+                .logout(logout -> logout
+                        .logoutUrl("/logout") // Sin CSRF, el enlace GET del dashboard también dispara el logout.
+                        .addLogoutHandler(jwtLogoutHandler) // Revoca el token para que no pueda reutilizarse.
+                        .deleteCookies("JWT_TOKEN", "USERNAME")
+                        .logoutSuccessHandler((request, response, authentication) -> {
+                            // Clientes API (cabecera Bearer): 204; navegador: vuelta al login.
+                            if (request.getHeader("Authorization") != null) {
+                                new HttpStatusReturningLogoutSuccessHandler(HttpStatus.NO_CONTENT)
+                                        .onLogoutSuccess(request, response, authentication);
+                            } else {
+                                SimpleUrlLogoutSuccessHandler toLogin = new SimpleUrlLogoutSuccessHandler();
+                                toLogin.setDefaultTargetUrl("/login");
+                                toLogin.onLogoutSuccess(request, response, authentication);
+                            }
+                        })
+                )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class) // Inserta el filtro JWT antes del filtro de autenticación por usuario/contraseña.
+                .addFilterAfter(new RateLimitFilter(apiRateLimiter), JwtAuthenticationFilter.class) // Limita el ritmo por usuario ya autenticado (429 + Retry-After).
                 .build(); // Construye la cadena de seguridad configurada.
     }
 
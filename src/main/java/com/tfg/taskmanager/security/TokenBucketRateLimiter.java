@@ -0,0 +1,104 @@
+package com.tfg.taskmanager.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitador de ritmo por clave con cubos de fichas (token bucket), sin cerrojos.
+ *
+ * Cada cubo se guarda como un único `long`: el instante teórico de la siguiente llegada
+ * (algoritmo GCRA, equivalente a un token bucket). Consumir una ficha es leer ese valor,
+ * calcular el siguiente y hacer un CAS, así que las peticiones concurrentes de la misma clave
+ * no se bloquean y las de claves distintas no comparten nada más que el mapa concurrente.
+ *
+ * Un cubo que lleva tiempo sin usarse está lleno y equivale a uno nuevo, así que
+ * {@link #evictIdle} puede quitarlo sin cambiar el comportamiento (salvo, como mucho, una
+ * ficha de una petición que coincida exactamente con la expulsión).
+ *
+ * @param <K> Clave del cubo (p. ej. usuario y grupo de rutas).
+ */
+public class TokenBucketRateLimiter<K> {
+
+    private final ConcurrentHashMap<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Intenta consumir una ficha del cubo de la clave.
+     *
+     * @param key Clave del cubo.
+     * @param limit Capacidad y ritmo de recarga del cubo.
+     * @param nowNanos Instante actual (`System.nanoTime()`).
+     * @return 0 si se concede; si no, nanosegundos hasta que haya una ficha disponible.
+     */
+    public long tryAcquire(K key, Limit limit, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long base = Math.max(arrival, nowNanos);
+            long ahead = base - nowNanos;
+            if (ahead > limit.toleranceNanos) {
+                return ahead - limit.toleranceNanos;
+            }
+            if (bucket.compareAndSet(arrival, base + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Quita los cubos que llevan al menos `idleNanos` llenos.
+     *
+     * @return Número de cubos expulsados.
+     */
+    public int evictIdle(long nowNanos, long idleNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> nowNanos - bucket.get() >= idleNanos);
+        return Math.max(0, before - buckets.size());
+    }
+
+    /**
+     * Número de cubos en memoria.
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Capacidad (ráfaga máxima) y ritmo de recarga de un cubo.
+     */
+    public static final class Limit {
+
+        private final int capacity;
+        private final double perSecond;
+
+        /** Tiempo entre dos fichas */
+        private final long intervalNanos;
+
+        /** Adelanto máximo permitido sobre el ritmo: (capacidad - 1) fichas */
+        private final long toleranceNanos;
+
+        /**
+         * @param capacity Fichas del cubo lleno (peticiones seguidas permitidas).
+         * @param perSecond Fichas que se recuperan por segundo.
+         */
+        public Limit(int capacity, double perSecond) {
+            if (capacity < 1 || !(perSecond > 0)) {
+                throw new IllegalArgumentException("Límite inválido: capacidad " + capacity + ", ritmo " + perSecond);
+            }
+            this.capacity = capacity;
+            this.perSecond = perSecond;
+            this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / perSecond));
+            this.toleranceNanos = intervalNanos * (capacity - 1);
+        }
+
+        public int capacity() {
+            return capacity;
+        }
+
+        public double perSecond() {
+            return perSecond;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.tfg.taskmanager.security;
+
+import com.tfg.taskmanager.security.model.vo.RevokedToken;
+import com.tfg.taskmanager.security.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Servicio de revocación de tokens JWT.
+ *
+ * La lista de revocación se persiste en `revoked_tokens` y se replica en memoria en un
+ * filtro de Bloom. Para la inmensa mayoría de peticiones (tokens no revocados) el filtro
+ * responde "no está" sin ninguna E/S; sólo ante un positivo se confirma en base de datos.
+ *
+ * Como un filtro de Bloom no admite borrados, se reconstruye periódicamente sin las
+ * revocaciones de tokens ya expirados. Entre reconstrucciones se sincronizan de forma
+ * incremental las revocaciones hechas en otros nodos.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    /** Margen de solape de la sincronización incremental, para no perder revocaciones en vuelo */
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    private final JwtService jwtService;
+    private final RevokedTokenRepository repository;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+
+    /** Filtro vigente; se sustituye completo al reconstruirlo */
+    private volatile BloomFilter filter;
+
+    /** Último instante hasta el que se han sincronizado revocaciones */
+    private volatile LocalDateTime syncedUntil = LocalDateTime.now();
+
+    public TokenRevocationService(
+            JwtService jwtService,
+            RevokedTokenRepository repository,
+            @Value("${security.revocation.expected-tokens:100000}") long expectedTokens,
+            @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.jwtService = jwtService;
+        this.repository = repository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    /**
+     * Indica si el token está revocado.
+     * Sin E/S salvo que el filtro de Bloom dé un positivo (revocado o falso positivo).
+     *
+     * @param tokenId Identificador del token (ver {@link JwtService#extractTokenId(String)}).
+     */
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        return repository.existsById(tokenId);
+    }
+
+    /**
+     * Revoca un token hasta su expiración natural.
+     *
+     * @param token JWT a revocar (ya validado).
+     */
+    @Transactional
+    public void revoke(String token) {
+        String tokenId = jwtService.extractTokenId(token);
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                jwtService.extractExpiration(token).toInstant(), ZoneId.systemDefault());
+
+        if (!repository.existsById(tokenId)) {
+            repository.save(RevokedToken.builder()
+                    .tokenId(tokenId)
+                    .expiresAt(expiresAt)
+                    .revokedAt(LocalDateTime.now())
+                    .build());
+        }
+        filter.put(tokenId);
+    }
+
+    /**
+     * Añade al filtro local una revocación realizada en otro nodo.
+     */
+    public void registerRevokedId(String tokenId) {
+        filter.put(tokenId);
+    }
+
+    /**
+     * Carga inicial del filtro. Se hace al terminar el arranque (y no al crear el bean)
+     * para que el refresco del contexto no necesite base de datos.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruye el filtro sólo con las revocaciones vigentes, descartando las de tokens
+     * ya expirados. Las filas de esos tokens las purga {@link RevokedTokenPruneJob} en un
+     * solo nodo; cada nodo reconstruye su propio filtro.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.prune-interval:PT15M}",
+            initialDelayString = "${security.revocation.prune-interval:PT15M}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Incorpora al filtro las revocaciones hechas desde la última sincronización (en cualquier nodo).
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval:PT30S}",
+            initialDelayString = "${security.revocation.sync-interval:PT30S}")
+    public void syncRecentRevocations() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = syncedUntil.minusSeconds(SYNC_OVERLAP_SECONDS);
+        repository.findTokenIdsRevokedSince(since, now).forEach(filter::put);
+        syncedUntil = now;
+    }
+
+    /**
+     * Construye un filtro nuevo con las revocaciones vigentes y lo sustituye de forma atómica.
+     */
+    private void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<String> active = repository.findActiveTokenIds(startedAt);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, active.size() * 2L), falsePositiveRate);
+        active.forEach(rebuilt::put);
+        filter = rebuilt;
+
+        // Recupera las revocaciones confirmadas mientras se cargaba la lista
+        syncedUntil = startedAt;
+        syncRecentRevocations();
+        log.debug("Filtro de revocación reconstruido con {} tokens", active.size());
+    }
+}
@@ -0,0 +1,41 @@
+package com.tfg.taskmanager.security.model.vo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token JWT revocado antes de su expiración (p. ej. tras un logout).
+ * La fila sólo es necesaria hasta que el token expira; después se purga.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    /**
+     * Identificador del token: claim `jti` o, si no existe, hash SHA-256 del token.
+     */
+    @Id
+    @Column(length = 64)
+    private String tokenId;
+
+    /**
+     * Expiración original del token. A partir de ella la revocación deja de ser necesaria.
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Momento de la revocación.
+     */
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,46 @@
+package com.tfg.taskmanager.security.repository;
+
+import com.tfg.taskmanager.security.model.vo.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de la lista de tokens revocados.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * IDs de los tokens revocados que todavía no han expirado (carga inicial del filtro).
+     */
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<String> findActiveTokenIds(@Param("now") LocalDateTime now);
+
+    /**
+     * IDs revocados desde un instante dado (sincronización incremental entre nodos).
+     */
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<String> findTokenIdsRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * Elimina un lote de revocaciones de tokens expirados antes de `now`.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM revoked_tokens WHERE token_id IN (
+                SELECT token_id FROM revoked_tokens WHERE expires_at <= :now ORDER BY expires_at LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Número de revocaciones de tokens expirados antes de `now`.
+     */
+    @Query("SELECT COUNT(r) FROM RevokedToken r WHERE r.expiresAt <= :now")
+    long countExpired(@Param("now") LocalDateTime now);
+}
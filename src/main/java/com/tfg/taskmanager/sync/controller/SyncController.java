@@ -0,0 +1,41 @@
+package com.tfg.taskmanager.sync.controller;
+
+import com.tfg.taskmanager.sync.model.dto.SyncResponseDTO;
+import com.tfg.taskmanager.sync.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST de sincronización incremental para clientes móviles y de escritorio.
+ *
+ * Flujo del cliente:
+ * 1. Primera vez (o `resyncRequired`): guardar el `cursor` devuelto, descargar el estado completo.
+ * 2. Después: `GET /api/sync?since=<cursor>` y aplicar `tasks`, `projects` y `deletedTaskIds`.
+ * 3. Repetir mientras `hasMore` sea true.
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Devuelve los cambios posteriores a `since`.
+     *
+     * @param since Cursor de la sincronización anterior (0 la primera vez).
+     * @param projectId Proyecto a sincronizar (opcional; por defecto, todos los accesibles por el usuario).
+     * @param auth Información del usuario autenticado.
+     * @return Cambios y nuevo cursor.
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponseDTO> sync(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Long projectId,
+            Authentication auth) {
+
+        return ResponseEntity.ok(syncService.getChangesSince(Math.max(since, 0), projectId, auth.getName()));
+    }
+}
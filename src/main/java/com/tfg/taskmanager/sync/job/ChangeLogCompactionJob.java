@@ -0,0 +1,75 @@
+package com.tfg.taskmanager.sync.job;
+
+import com.tfg.taskmanager.cluster.service.ClusterJob;
+import com.tfg.taskmanager.cluster.service.ClusterJobRunner;
+import com.tfg.taskmanager.sync.service.SyncService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job en segundo plano que compacta el registro de cambios.
+ * Se puede desactivar con `sync.compaction.enabled=false`.
+ *
+ * Se ejecuta en un solo nodo del clúster ({@link ClusterJobRunner}) y recorre la parte
+ * antigua del registro en tramos de `sync.compaction.chunk-seqs` secuencias. El punto de
+ * control es `<límite>:<posición>`: el límite se fija al empezar la ejecución y la
+ * posición avanza con cada tramo.
+ */
+@Component
+@ConditionalOnProperty(name = "sync.compaction.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeLogCompactionJob implements ClusterJob {
+
+    private final SyncService syncService;
+    private final ClusterJobRunner jobRunner;
+    private final long chunkSeqs;
+
+    public ChangeLogCompactionJob(
+            SyncService syncService,
+            ClusterJobRunner jobRunner,
+            @Value("${sync.compaction.chunk-seqs:50000}") long chunkSeqs) {
+        this.syncService = syncService;
+        this.jobRunner = jobRunner;
+        this.chunkSeqs = Math.max(1, chunkSeqs);
+    }
+
+    /**
+     * Ejecuta la compactación según la expresión cron configurada (por defecto, cada noche a las 3:30).
+     */
+    @Scheduled(cron = "${sync.compaction.cron:0 30 3 * * *}")
+    public void compact() {
+        jobRunner.run(this);
+    }
+
+    @Override
+    public String name() {
+        return "change-log-compaction";
+    }
+
+    @Override
+    public Chunk processChunk(String checkpoint) {
+        long watermark;
+        long position;
+        if (checkpoint == null) {
+            watermark = syncService.compactionWatermark();
+            position = 0;
+        } else {
+            String[] parts = checkpoint.split(":");
+            watermark = Long.parseLong(parts[0]);
+            position = Long.parseLong(parts[1]);
+        }
+        if (position >= watermark) {
+            return Chunk.finished(0);
+        }
+
+        long upTo = Math.min(watermark, position + chunkSeqs);
+        int removed = syncService.compactRange(position, upTo);
+        return upTo >= watermark ? Chunk.finished(removed) : Chunk.next(removed, watermark + ":" + upTo);
+    }
+
+    @Override
+    public long backlog() {
+        return syncService.countCompactable();
+    }
+}
@@ -0,0 +1,36 @@
+package com.tfg.taskmanager.sync.model.dto;
+
+import com.tfg.taskmanager.project.model.dto.ProjectDTO;
+import com.tfg.taskmanager.task.model.dto.TaskDTO;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Respuesta de la sincronización incremental (`GET /api/sync?since=`).
+ *
+ * - `cursor`: valor a enviar como `since` en la siguiente llamada.
+ * - `resyncRequired`: el `since` es anterior a la parte compactada del registro; el cliente
+ *   debe descargar de nuevo el estado completo y después sincronizar desde `cursor`.
+ * - `hasMore`: quedan cambios pendientes; conviene llamar de nuevo inmediatamente.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResponseDTO {
+
+    private long cursor;
+    private boolean resyncRequired;
+    private boolean hasMore;
+
+    /** Estado actual de las tareas creadas o modificadas */
+    private List<TaskDTO> tasks;
+
+    /** Estado actual de los proyectos creados o modificados */
+    private List<ProjectDTO> projects;
+
+    /** Tareas eliminadas o archivadas (lápidas) */
+    private List<Long> deletedTaskIds;
+}
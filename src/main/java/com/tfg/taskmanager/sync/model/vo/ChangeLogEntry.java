@@ -0,0 +1,64 @@
+package com.tfg.taskmanager.sync.model.vo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del registro de cambios (change log) que alimenta la sincronización incremental.
+ *
+ * Cada modificación confirmada de una tarea o proyecto añade una entrada con un número de
+ * secuencia creciente. Las entradas se insertan en el orden en que se confirman sus
+ * transacciones, así que un cliente que ha leído hasta `seq` nunca verá aparecer después
+ * una entrada con número menor.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_project_seq", columnList = "project_id, seq"),
+        @Index(name = "idx_change_log_entity_seq", columnList = "entity_type, entity_id, seq")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    /**
+     * Proyecto afectado (el propio proyecto en las entradas de tipo PROJECT).
+     */
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation op;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public enum EntityType {
+        TASK,
+        PROJECT
+    }
+
+    public enum Operation {
+        /** La entidad se ha creado o modificado: el cliente debe pedir su estado actual */
+        UPSERT,
+        /** La entidad ha dejado de estar disponible (lápida) */
+        DELETE
+    }
+}
@@ -0,0 +1,166 @@
+package com.tfg.taskmanager.sync.repository;
+
+import com.tfg.taskmanager.sync.model.vo.ChangeLogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio del registro de cambios.
+ *
+ * Las inserciones son set-based (INSERT ... SELECT) para registrar lotes enteros de
+ * tareas en una sola sentencia.
+ */
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /**
+     * Bloqueo consultivo de transacción que serializa las inserciones en el registro.
+     * Se libera solo al confirmar o deshacer la transacción.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Integer lockForAppend(@Param("key") long key);
+
+    /**
+     * Registra una modificación de las tareas indicadas.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO change_log (entity_type, entity_id, project_id, op, changed_at)
+            SELECT 'TASK', id, project_id, 'UPSERT', :now FROM tasks WHERE id IN (:ids) ORDER BY id
+            """, nativeQuery = true)
+    int appendTaskUpserts(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Registra lápidas para tareas que han salido de la tabla activa (movidas al archivo).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO change_log (entity_type, entity_id, project_id, op, changed_at)
+            SELECT 'TASK', id, project_id, 'DELETE', :now FROM archived_tasks WHERE id IN (:ids) ORDER BY id
+            """, nativeQuery = true)
+    int appendArchivedTaskDeletes(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Registra una modificación de un proyecto.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO change_log (entity_type, entity_id, project_id, op, changed_at)
+            VALUES ('PROJECT', :projectId, :projectId, 'UPSERT', :now)
+            """, nativeQuery = true)
+    int appendProjectUpsert(@Param("projectId") Long projectId, @Param("now") LocalDateTime now);
+
+    /**
+     * Cambios de un proyecto posteriores a `since`, en orden de secuencia.
+     */
+    @Query(value = """
+            SELECT * FROM change_log
+            WHERE project_id = :projectId AND seq > :since
+            ORDER BY seq
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChangeLogEntry> findByProjectSince(@Param("projectId") Long projectId,
+                                            @Param("since") long since,
+                                            @Param("limit") int limit);
+
+    /**
+     * Cambios de los proyectos indicados posteriores a `since`, en orden de secuencia.
+     */
+    @Query(value = """
+            SELECT * FROM change_log
+            WHERE project_id IN (:projectIds) AND seq > :since
+            ORDER BY seq
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChangeLogEntry> findByProjectsSince(@Param("projectIds") Collection<Long> projectIds,
+                                             @Param("since") long since,
+                                             @Param("limit") int limit);
+
+    /**
+     * Última secuencia registrada. Si la compactación ha vaciado el final del registro,
+     * la secuencia mínima sincronizable (nunca se devuelve un cursor que obligue a resincronizar).
+     */
+    @Query(value = """
+            SELECT GREATEST(COALESCE((SELECT MAX(seq) FROM change_log), 0),
+                            (SELECT min_since FROM change_log_state WHERE id = 1))
+            """, nativeQuery = true)
+    long findHeadSeq();
+
+    /**
+     * Mayor secuencia presente en el registro (0 si está vacío). A diferencia de
+     * {@link #findHeadSeq()}, no tiene en cuenta la compactación: con el bloqueo de
+     * inserción tomado, delimita exactamente las entradas que añade la transacción.
+     */
+    @Query(value = "SELECT COALESCE(MAX(seq), 0) FROM change_log", nativeQuery = true)
+    long findMaxSeq();
+
+    /**
+     * Entradas del tramo `(after, upTo]` en orden de secuencia.
+     */
+    @Query(value = """
+            SELECT * FROM change_log
+            WHERE seq > :after AND seq <= :upTo
+            ORDER BY seq
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ChangeLogEntry> findRange(@Param("after") long after,
+                                   @Param("upTo") long upTo,
+                                   @Param("limit") int limit);
+
+    /**
+     * Mayor secuencia registrada antes de `cutoff` (0 si no hay ninguna).
+     */
+    @Query(value = "SELECT COALESCE(MAX(seq), 0) FROM change_log WHERE changed_at < :cutoff", nativeQuery = true)
+    long findLastSeqBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Elimina, en el tramo `(after, upTo]`, las entradas que tienen otra posterior de la misma entidad.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM change_log c
+            WHERE c.seq > :after AND c.seq <= :upTo
+              AND EXISTS (SELECT 1 FROM change_log n
+                          WHERE n.entity_type = c.entity_type AND n.entity_id = c.entity_id AND n.seq > c.seq)
+            """, nativeQuery = true)
+    int deleteSuperseded(@Param("after") long after, @Param("upTo") long upTo);
+
+    /**
+     * Elimina las lápidas del tramo `(after, upTo]`.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM change_log WHERE op = 'DELETE' AND seq > :after AND seq <= :upTo", nativeQuery = true)
+    int deleteTombstones(@Param("after") long after, @Param("upTo") long upTo);
+
+    /**
+     * Entradas hasta `watermark` que eliminaría la compactación (superadas o lápidas).
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM change_log c
+            WHERE c.seq <= :watermark
+              AND (c.op = 'DELETE'
+                   OR EXISTS (SELECT 1 FROM change_log n
+                              WHERE n.entity_type = c.entity_type AND n.entity_id = c.entity_id AND n.seq > c.seq))
+            """, nativeQuery = true)
+    long countCompactable(@Param("watermark") long watermark);
+
+    /**
+     * Secuencia mínima desde la que se puede sincronizar de forma incremental.
+     */
+    @Query(value = "SELECT min_since FROM change_log_state WHERE id = 1", nativeQuery = true)
+    long findMinSince();
+
+    /**
+     * Avanza la secuencia mínima sincronizable (nunca la retrocede).
+     */
+    @Modifying
+    @Query(value = "UPDATE change_log_state SET min_since = GREATEST(min_since, :minSince) WHERE id = 1", nativeQuery = true)
+    int advanceMinSince(@Param("minSince") long minSince);
+}
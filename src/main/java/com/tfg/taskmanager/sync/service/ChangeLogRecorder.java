@@ -0,0 +1,71 @@
+package com.tfg.taskmanager.sync.service;
+
+import com.tfg.taskmanager.cluster.model.InvalidationMessage;
+import com.tfg.taskmanager.cluster.service.ClusterInvalidationPublisher;
+import com.tfg.taskmanager.project.event.ProjectChangedEvent;
+import com.tfg.taskmanager.sync.repository.ChangeLogRepository;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Escribe en el registro de cambios cada modificación de tareas y proyectos.
+ *
+ * Se ejecuta justo antes del commit, dentro de la misma transacción que el cambio: si la
+ * transacción se deshace, la entrada también. Las inserciones se serializan con un bloqueo
+ * consultivo que dura hasta el commit, de modo que el orden de las secuencias coincide con
+ * el orden de confirmación y un lector nunca "salta" una entrada que aún no era visible.
+ *
+ * Con la invalidación entre nodos activa, cada tramo escrito se anuncia además al resto de
+ * nodos con un `NOTIFY` de la misma transacción (ver {@link ClusterInvalidationPublisher}).
+ *
+ * Los servicios que publican estos eventos deben hacerlo dentro de una transacción.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeLogRecorder {
+
+    /** Clave del bloqueo consultivo del registro de cambios */
+    static final long APPEND_LOCK_KEY = 0x6368616E67656C6FL;
+
+    private final ChangeLogRepository repository;
+    private final ClusterInvalidationPublisher invalidationPublisher;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getTaskIds().isEmpty()) {
+            return;
+        }
+        repository.lockForAppend(APPEND_LOCK_KEY);
+        long fromSeq = invalidationPublisher.isEnabled() ? repository.findMaxSeq() : 0;
+        InvalidationMessage.Type type;
+        if (event.getType() == TaskChangedEvent.ChangeType.ARCHIVED) {
+            repository.appendArchivedTaskDeletes(event.getTaskIds(), LocalDateTime.now());
+            type = InvalidationMessage.Type.TASK_DELETE;
+        } else {
+            repository.appendTaskUpserts(event.getTaskIds(), LocalDateTime.now());
+            type = InvalidationMessage.Type.TASK_UPSERT;
+        }
+        if (invalidationPublisher.isEnabled()) {
+            invalidationPublisher.publish(fromSeq, repository.findMaxSeq(), type,
+                    event.getProjectIds(), event.getTaskIds(), null);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        repository.lockForAppend(APPEND_LOCK_KEY);
+        long fromSeq = invalidationPublisher.isEnabled() ? repository.findMaxSeq() : 0;
+        repository.appendProjectUpsert(event.getProjectId(), LocalDateTime.now());
+        if (invalidationPublisher.isEnabled()) {
+            invalidationPublisher.publish(fromSeq, repository.findMaxSeq(), InvalidationMessage.Type.PROJECT_UPSERT,
+                    Set.of(event.getProjectId()), List.of(event.getProjectId()), event.getOwnerUsername());
+        }
+    }
+}
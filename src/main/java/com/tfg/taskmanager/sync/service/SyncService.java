@@ -0,0 +1,32 @@
+package com.tfg.taskmanager.sync.service;
+
+import com.tfg.taskmanager.sync.model.dto.SyncResponseDTO;
+
+public interface SyncService {
+
+    /**
+     * Devuelve los cambios posteriores a `since`.
+     * @param since última secuencia conocida por el cliente (0 la primera vez)
+     * @param projectId proyecto a sincronizar (debe ser accesible); si es null, todos los accesibles por el usuario
+     * @param username usuario autenticado
+     * @return cambios agrupados por entidad y nuevo cursor
+     */
+    SyncResponseDTO getChangesSince(long since, Long projectId, String username);
+
+    /**
+     * Última secuencia más antigua que el periodo de retención: límite de la compactación.
+     */
+    long compactionWatermark();
+
+    /**
+     * Compacta el tramo `(after, upTo]` de la parte antigua del registro de cambios.
+     * Debe llamarse dentro de una transacción (una por tramo).
+     * @return número de entradas eliminadas
+     */
+    int compactRange(long after, long upTo);
+
+    /**
+     * Número de entradas que la compactación eliminaría ahora mismo.
+     */
+    long countCompactable();
+}
@@ -0,0 +1,174 @@
+package com.tfg.taskmanager.sync.service;
+
+import com.tfg.taskmanager.project.mapper.ProjectMapper;
+import com.tfg.taskmanager.project.repository.ProjectRepository;
+import com.tfg.taskmanager.project.service.ProjectAccessService;
+import com.tfg.taskmanager.sync.model.dto.SyncResponseDTO;
+import com.tfg.taskmanager.sync.model.vo.ChangeLogEntry;
+import com.tfg.taskmanager.sync.model.vo.ChangeLogEntry.EntityType;
+import com.tfg.taskmanager.sync.model.vo.ChangeLogEntry.Operation;
+import com.tfg.taskmanager.sync.repository.ChangeLogRepository;
+import com.tfg.taskmanager.task.mapper.TaskMapper;
+import com.tfg.taskmanager.task.model.vo.Task;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de sincronización incremental basado en el registro de cambios.
+ *
+ * El cliente guarda el último `cursor` recibido y pide sólo lo posterior. Las entradas de
+ * una misma entidad se agrupan y se devuelve su estado actual una sola vez; las tareas
+ * archivadas llegan como lápidas en `deletedTaskIds`.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncServiceImpl implements SyncService {
+
+    private final ChangeLogRepository changeLog;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final ProjectRepository projectRepository;
+    private final ProjectMapper projectMapper;
+    private final ProjectAccessService accessService;
+
+    /** Máximo de entradas del registro procesadas por llamada */
+    @Value("${sync.max-changes:1000}")
+    private int maxChanges;
+
+    /** Antigüedad a partir de la cual el registro se compacta */
+    @Value("${sync.retention:P7D}")
+    private Duration retention;
+
+    /**
+     * Devuelve los cambios posteriores a `since` para un proyecto o para todos los accesibles por el usuario.
+     *
+     * @param since Última secuencia conocida por el cliente.
+     * @param projectId Proyecto a sincronizar, o null para todos los accesibles.
+     * @param username Usuario autenticado.
+     * @return Estado actual de lo modificado, lápidas y nuevo cursor.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SyncResponseDTO getChangesSince(long since, Long projectId, String username) {
+
+        // Un proyecto concreto debe ser accesible; sin proyecto se sincronizan todos los accesibles
+        if (projectId != null) {
+            accessService.checkProject(username, projectId);
+        }
+
+        // Cursor anterior a la zona compactada: puede faltar alguna lápida
+        if (since < changeLog.findMinSince()) {
+            return SyncResponseDTO.builder()
+                    .cursor(changeLog.findHeadSeq())
+                    .resyncRequired(true)
+                    .tasks(List.of())
+                    .projects(List.of())
+                    .deletedTaskIds(List.of())
+                    .build();
+        }
+
+        List<ChangeLogEntry> entries;
+        if (projectId != null) {
+            entries = changeLog.findByProjectSince(projectId, since, maxChanges + 1);
+        } else {
+            Set<Long> accessible = accessService.accessibleProjects(username);
+            entries = accessible.isEmpty() ? List.of() : changeLog.findByProjectsSince(accessible, since, maxChanges + 1);
+        }
+        boolean hasMore = entries.size() > maxChanges;
+        if (hasMore) {
+            entries = entries.subList(0, maxChanges);
+        }
+
+        // Última operación de cada entidad (las anteriores quedan superadas)
+        Map<Long, Operation> taskOps = new LinkedHashMap<>();
+        Set<Long> projectIds = new LinkedHashSet<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityType() == EntityType.TASK) {
+                taskOps.put(entry.getEntityId(), entry.getOp());
+            } else {
+                projectIds.add(entry.getEntityId());
+            }
+        }
+
+        List<Long> upserted = taskOps.entrySet().stream()
+                .filter(op -> op.getValue() == Operation.UPSERT)
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<Long, Task> current = taskRepository.findAllById(upserted).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+
+        // Las tareas que ya no existen se notifican como borradas aunque la entrada sea UPSERT
+        List<Long> deleted = taskOps.entrySet().stream()
+                .filter(op -> op.getValue() == Operation.DELETE || !current.containsKey(op.getKey()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        long cursor = entries.isEmpty() ? since : entries.get(entries.size() - 1).getSeq();
+        return SyncResponseDTO.builder()
+                .cursor(cursor)
+                .hasMore(hasMore)
+                .tasks(upserted.stream()
+                        .map(current::get)
+                        .filter(Objects::nonNull)
+                        .map(taskMapper::toDTO)
+                        .collect(Collectors.toList()))
+                .projects(projectRepository.findAllById(projectIds).stream()
+                        .map(projectMapper::toDTO)
+                        .collect(Collectors.toList()))
+                .deletedTaskIds(deleted)
+                .build();
+    }
+
+    /**
+     * Última secuencia más antigua que el periodo de retención (0 si no hay ninguna).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long compactionWatermark() {
+        return changeLog.findLastSeqBefore(LocalDateTime.now().minus(retention));
+    }
+
+    /**
+     * Compacta un tramo de la parte antigua del registro: conserva sólo la última entrada de
+     * cada entidad y elimina las lápidas. Como los clientes con un cursor anterior podrían
+     * perder borrados, a partir del final del tramo se les pide una resincronización completa.
+     *
+     * @return Número de entradas eliminadas.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int compactRange(long after, long upTo) {
+        int superseded = changeLog.deleteSuperseded(after, upTo);
+        int tombstones = changeLog.deleteTombstones(after, upTo);
+        if (tombstones > 0) {
+            changeLog.advanceMinSince(upTo);
+        }
+
+        int removed = superseded + tombstones;
+        if (removed > 0) {
+            log.debug("Registro de cambios compactado en ({}, {}]: {} entradas eliminadas", after, upTo, removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Entradas que la compactación eliminaría ahora mismo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countCompactable() {
+        long watermark = compactionWatermark();
+        return watermark == 0 ? 0 : changeLog.countCompactable(watermark);
+    }
+}
@@ -0,0 +1,32 @@
+package com.tfg.taskmanager.tag.model.vo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entrada del diccionario de etiquetas.
+ *
+ * Cada etiqueta distinta (normalizada) recibe un identificador entero compacto,
+ * que es el que usan los índices de bits en memoria en lugar del texto repetido.
+ */
+@Entity
+@Table(name = "tag_dictionary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * Texto normalizado de la etiqueta (sin espacios laterales y en minúsculas).
+     */
+    @Column(nullable = false, unique = true)
+    private String name;
+}
@@ -0,0 +1,34 @@
+package com.tfg.taskmanager.tag.repository;
+
+import com.tfg.taskmanager.tag.model.vo.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio del diccionario de etiquetas.
+ */
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Integer> {
+
+    /**
+     * Recupera las entradas existentes para un conjunto de nombres normalizados.
+     */
+    List<Tag> findByNameIn(Collection<String> names);
+
+    /**
+     * Inserta los nombres que aún no existen. Seguro ante inserciones concurrentes.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tag_dictionary (name)
+            SELECT DISTINCT n FROM unnest(CAST(:names AS varchar[])) AS n
+            ON CONFLICT (name) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissing(@Param("names") String[] names);
+}
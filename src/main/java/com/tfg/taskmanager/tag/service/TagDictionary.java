@@ -0,0 +1,114 @@
+package com.tfg.taskmanager.tag.service;
+
+import com.tfg.taskmanager.project.event.ProjectChangedEvent;
+import com.tfg.taskmanager.project.repository.ProjectRepository;
+import com.tfg.taskmanager.tag.model.vo.Tag;
+import com.tfg.taskmanager.tag.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de etiquetas: traduce cada texto de etiqueta a un ID entero estable.
+ *
+ * Los IDs se persisten en `tag_dictionary` y se cachean en memoria; como nunca cambian
+ * ni se reutilizan, la caché no necesita invalidación. Las etiquetas se comparan
+ * normalizadas (sin espacios laterales y en minúsculas).
+ */
+@Service
+@RequiredArgsConstructor
+public class TagDictionary {
+
+    private final TagRepository repository;
+    private final ProjectRepository projectRepository;
+
+    /** Nombre normalizado -> ID */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Normaliza el texto de una etiqueta para usarlo como clave del diccionario.
+     *
+     * @return la etiqueta normalizada, o `null` si está vacía.
+     */
+    public static String normalize(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String normalized = tag.trim().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Devuelve el ID de una etiqueta ya existente, sin crearla.
+     *
+     * @return el ID, o `null` si la etiqueta no está en el diccionario.
+     */
+    public Integer lookup(String tag) {
+        String name = normalize(tag);
+        if (name == null) {
+            return null;
+        }
+        Integer id = ids.get(name);
+        if (id == null) {
+            List<Tag> found = repository.findByNameIn(List.of(name));
+            if (!found.isEmpty()) {
+                id = found.get(0).getId();
+                ids.put(name, id);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Obtiene (creándolos si hace falta) los IDs de un conjunto de etiquetas con, como mucho,
+     * dos consultas a la base de datos para todas las que no estén ya en memoria.
+     * Se ejecuta en su propia transacción para que los IDs creados sean definitivos.
+     *
+     * @return mapa etiqueta normalizada -> ID (las etiquetas vacías se ignoran).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<String, Integer> internAll(Collection<String> tags) {
+        Map<String, Integer> result = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+
+        for (String tag : tags) {
+            String name = normalize(tag);
+            if (name == null) {
+                continue;
+            }
+            Integer id = ids.get(name);
+            if (id != null) {
+                result.put(name, id);
+            } else {
+                missing.add(name);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            repository.insertMissing(missing.toArray(String[]::new));
+            for (Tag tag : repository.findByNameIn(missing)) {
+                ids.put(tag.getName(), tag.getId());
+                result.put(tag.getName(), tag.getId());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Incorpora al diccionario las etiquetas de los proyectos nuevos o modificados.
+     * Se ejecuta tras el commit, así que abre su propia transacción.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        List<String> tags = projectRepository.findTagsByProjectId(event.getProjectId());
+        if (!tags.isEmpty()) {
+            internAll(tags);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.tfg.taskmanager.task.controller;
+
+import com.tfg.taskmanager.task.model.dto.TaskDTO;
+import com.tfg.taskmanager.task.service.TaskArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST de consulta del archivo de tareas.
+ *
+ * Las tareas archivadas ya no aparecen en los listados normales de `TaskController`;
+ * este controlador es la vía explícita para consultarlas.
+ */
+@RestController
+@RequestMapping("/api/tasks/archive")
+@RequiredArgsConstructor
+public class TaskArchiveController {
+
+    /** Servicio encargado del archivo de tareas */
+    private final TaskArchiveService archiveService;
+
+    /**
+     * Lista las tareas archivadas de un proyecto, paginadas.
+     *
+     * @param projectId Identificador del proyecto.
+     * @param page Página solicitada (empezando en 0).
+     * @param size Tamaño de página (máximo 500).
+     * @param auth Información del usuario autenticado.
+     * @return Lista de tareas archivadas.
+     */
+    @GetMapping("/project/{projectId}")
+    public ResponseEntity<List<TaskDTO>> getArchivedTasksByProject(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication auth) {
+
+        List<TaskDTO> tasks = archiveService.getArchivedTasksByProject(
+                projectId, Math.max(page, 0), Math.min(Math.max(size, 1), 500), auth.getName());
+        return ResponseEntity.ok(tasks);
+    }
+
+    /**
+     * Recupera una tarea archivada por su identificador.
+     *
+     * @param id Identificador de la tarea.
+     * @param auth Información del usuario autenticado.
+     * @return La tarea archivada.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskDTO> getArchivedTask(@PathVariable Long id, Authentication auth) {
+        return ResponseEntity.ok(archiveService.getArchivedTask(id, auth.getName()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.tfg.taskmanager.task.controller;
+
+import com.tfg.taskmanager.task.model.dto.TaskBoardDTO;
+import com.tfg.taskmanager.task.service.TaskBoardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Controlador REST del tablero Kanban de un proyecto.
+ *
+ * Devuelve las tareas ya agrupadas en columnas por estado y ordenadas por posición, servidas
+ * desde el tablero en memoria de `TaskBoardService`. La revisión del tablero se envía como
+ * ETag: si no ha cambiado desde la última consulta (`If-None-Match`) se responde 304 sin cuerpo.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectId}/board")
+@RequiredArgsConstructor
+public class TaskBoardController {
+
+    /** Servicio de tableros en memoria */
+    private final TaskBoardService boardService;
+
+    /**
+     * Obtiene el tablero de un proyecto.
+     *
+     * @param projectId Identificador del proyecto.
+     * @param auth Información del usuario autenticado.
+     * @param webRequest Petición usada para evaluar el ETag enviado por el cliente.
+     * @return Tablero con una columna por estado, o `null` si el cliente ya tiene la revisión vigente (304).
+     */
+    @GetMapping
+    public ResponseEntity<TaskBoardDTO> getBoard(
+            @PathVariable Long projectId,
+            Authentication auth,
+            WebRequest webRequest) {
+
+        TaskBoardDTO board = boardService.getBoard(projectId, auth.getName());
+        String etag = TaskBoardService.etag(board);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(board);
+    }
+}
@@ -0,0 +1,104 @@
+package com.tfg.taskmanager.task.controller;
+
+import com.tfg.taskmanager.task.service.TaskCalendarService;
+import com.tfg.taskmanager.task.service.TaskCalendarService.Feed;
+import com.tfg.taskmanager.task.service.TaskCalendarService.Format;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Controlador REST de los feeds de calendario con las fechas límite de las tareas.
+ *
+ * Cada feed se sirve en iCalendar (`format=ics`, por defecto, para suscribirse desde una
+ * aplicación de calendario) o en JSON (`format=json`, o `Accept: application/json` sin `format`).
+ * La ventana de fechas se indica con `from` y `to` (ISO, ambos incluidos). La versión del feed
+ * se envía como ETag: si no ha cambiado desde la última consulta se responde 304 sin cuerpo.
+ */
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+public class TaskCalendarController {
+
+    /** Servicio de feeds de calendario */
+    private final TaskCalendarService calendarService;
+
+    /**
+     * Feed de las tareas de un proyecto con fecha límite en la ventana indicada.
+     *
+     * @param projectId Identificador del proyecto.
+     * @param from Primer día (opcional).
+     * @param to Último día (opcional).
+     * @param format `ics` o `json` (opcional).
+     * @param auth Información del usuario autenticado.
+     * @param webRequest Petición usada para evaluar el ETag enviado por el cliente.
+     * @param response Respuesta en la que se escribe el feed.
+     */
+    @GetMapping("/projects/{projectId}")
+    public void getProjectFeed(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String format,
+            Authentication auth,
+            WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+
+        Format resolved = format(format, webRequest);
+        serve(calendarService.projectFeed(projectId, auth.getName(), from, to, resolved), webRequest, response);
+    }
+
+    /**
+     * Feed de las tareas asignadas al usuario autenticado con fecha límite en la ventana indicada.
+     *
+     * @see #getProjectFeed
+     */
+    @GetMapping("/me")
+    public void getMyFeed(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String format,
+            Authentication auth,
+            WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+
+        Format resolved = format(format, webRequest);
+        serve(calendarService.assigneeFeed(auth.getName(), from, to, resolved), webRequest, response);
+    }
+
+    /**
+     * Responde 304 si el cliente ya tiene esta versión; si no, escribe las cabeceras y el feed.
+     */
+    private void serve(Feed feed, WebRequest webRequest, HttpServletResponse response) throws IOException {
+        if (webRequest.checkNotModified(feed.etag())) {
+            return;
+        }
+        response.setContentType(feed.key().format().getContentType());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        response.setHeader(HttpHeaders.ETAG, feed.etag());
+        calendarService.write(feed, response.getOutputStream());
+    }
+
+    private static Format format(String format, WebRequest webRequest) {
+        if (format == null) {
+            String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+            boolean json = accept != null && accept.contains("application/json") && !accept.contains("text/calendar");
+            return json ? Format.JSON : Format.ICS;
+        }
+        return switch (format.toLowerCase()) {
+            case "ics" -> Format.ICS;
+            case "json" -> Format.JSON;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato no soportado: " + format);
+        };
+    }
+}
@@ -1,13 +1,24 @@
 package com.tfg.taskmanager.task.controller;
 
+import com.tfg.taskmanager.common.concurrency.VersionPrecondition;
+import com.tfg.taskmanager.task.model.dto.TaskBulkUpdateDTO;
+import com.tfg.taskmanager.task.model.dto.TaskBulkUpdateResultDTO;
 import com.tfg.taskmanager.task.model.dto.TaskCreateDTO;
 import com.tfg.taskmanager.task.model.dto.TaskDTO;
+import com.tfg.taskmanager.task.model.dto.TaskInboxPageDTO;
+import com.tfg.taskmanager.task.model.dto.TaskPageDTO;
+import com.tfg.taskmanager.task.model.dto.TaskSearchCriteria;
+import com.tfg.taskmanager.task.model.dto.TaskTagFilterResultDTO;
+import com.tfg.taskmanager.task.model.dto.TaskUpdateDTO;
+import com.tfg.taskmanager.task.service.TaskInboxService;
 import com.tfg.taskmanager.task.service.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -31,6 +42,9 @@ public class TaskController {
     /** Servicio encargado de la lógica de negocio de tareas */
     private final TaskService taskService;
 
+    /** Servicio de la bandeja "mis tareas" */
+    private final TaskInboxService inboxService;
+
     /**
      * Crea una nueva tarea en el sistema.
      * 
@@ -53,35 +67,168 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(task);
     }
 
+    /**
+     * Busca tareas combinando filtros, con paginación por cursor.
+     *
+     * Ejemplo: `?projectId=3&status=TODO&status=IN_PROGRESS&dueTo=2025-06-30&sort=dueDate&direction=asc&limit=20`.
+     * Para pedir la página siguiente se repite la consulta añadiendo `cursor=<nextCursor>`.
+     *
+     * @param criteria Filtros (proyecto, asignado, estados, prioridades, rango de fechas límite, etiqueta),
+     *                 ordenación (`createdAt`, `dueDate`, `id`), cursor, tamaño de página (máximo 200)
+     *                 y campos a devolver (`fields=id,title,status`; por defecto, todos).
+     * @param auth Información del usuario autenticado.
+     * @return Página de tareas y cursor de la siguiente.
+     */
+    @GetMapping
+    public ResponseEntity<TaskPageDTO<?>> searchTasks(TaskSearchCriteria criteria, Authentication auth) {
+
+        // Delegamos la búsqueda a la capa de servicio
+        return ResponseEntity.ok(taskService.searchTasks(criteria, auth.getName()));
+    }
+
+    /**
+     * Bandeja del usuario autenticado: sus tareas abiertas de todos los proyectos,
+     * ordenadas por prioridad (CRITICAL primero) y fecha límite (sin fecha al final).
+     *
+     * @param cursor Cursor `nextCursor` de la página anterior (opcional).
+     * @param limit Tamaño de página (por defecto 20, máximo 200).
+     * @param auth Información del usuario autenticado.
+     * @return Página de la bandeja y cursor de la siguiente.
+     */
+    @GetMapping("/inbox")
+    public ResponseEntity<TaskInboxPageDTO> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication auth) {
+
+        return ResponseEntity.ok(inboxService.getInbox(auth.getName(), cursor, Math.min(Math.max(limit, 1), 200)));
+    }
+
+    /**
+     * Modifica parcialmente una tarea (responsable, estado, prioridad, fechas, etiquetas...).
+     *
+     * La versión sobre la que se editó se indica con `If-Match` (el ETag de la tarea) o con el
+     * campo `version` del cuerpo. Si la tarea cambió entretanto, los cambios se fusionan cuando no
+     * tocan los mismos campos; si no, responde 412 (con `If-Match`) o 409 (con `version`).
+     *
+     * @param id Identificador único de la tarea.
+     * @param ifMatch Versión esperada (opcional).
+     * @param dto Campos a modificar; los ausentes no cambian.
+     * @param auth Información del usuario autenticado.
+     * @return Tarea modificada, con su nueva versión como ETag.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<TaskDTO> updateTask(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TaskUpdateDTO dto,
+            Authentication auth) {
+
+        TaskDTO task = taskService.updateTask(id, dto, auth.getName(),
+                VersionPrecondition.of(ifMatch, dto.getVersion()));
+        return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
+    }
+
+    /**
+     * Modifica muchas tareas a la vez (p. ej. cerrar un sprint o reasignar trabajo).
+     *
+     * Ejemplo: `{"filter": {"projectId": 3, "status": ["IN_PROGRESS"]}, "status": "DONE"}` o
+     * `{"ids": [10, 11, 12], "assignedTo": "bob", "dueDateShiftDays": 7}`.
+     *
+     * @param dto Selección (`ids` o `filter`) y cambio.
+     * @param auth Información del usuario autenticado.
+     * @return Número de tareas que cambiaron.
+     */
+    @PatchMapping("/bulk")
+    public ResponseEntity<TaskBulkUpdateResultDTO> bulkUpdate(
+            @Valid @RequestBody TaskBulkUpdateDTO dto,
+            Authentication auth) {
+
+        return ResponseEntity.ok(taskService.bulkUpdate(dto, auth.getName()));
+    }
+
     /**
      * Obtiene una tarea específica por su identificador.
      * 
      * @param id Identificador único de la tarea.
-     * @return Respuesta con la tarea encontrada o estado 404 si no existe.
+     * @param fields Campos a devolver separados por comas (opcional; por defecto, todos).
+     * @param auth Información del usuario autenticado.
+     * @return Respuesta con la tarea encontrada o estado 404 si no existe o no es accesible.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDTO> getTask(@PathVariable Long id) {
+    public ResponseEntity<?> getTask(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            Authentication auth) {
+
+        // Con `fields` sólo se leen de la base de datos los campos pedidos
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(taskService.getTask(id, fields, auth.getName()));
+        }
 
         // Consulta la tarea en la base de datos
-        TaskDTO task = taskService.getTask(id);
+        TaskDTO task = taskService.getTask(id, auth.getName());
 
-        // Retorna la tarea con estado 200 (OK)
-        return ResponseEntity.ok(task);
+        // Retorna la tarea con estado 200 (OK) y su versión como ETag (para If-Match)
+        return ResponseEntity.ok().eTag(String.valueOf(task.getVersion())).body(task);
     }
 
     /**
      * Lista todas las tareas asociadas a un proyecto.
      * 
      * @param projectId Identificador único del proyecto.
+     * @param fields Campos a devolver separados por comas (opcional; p. ej. `id,title,status`).
+     * @param auth Información del usuario autenticado.
      * @return Lista de tareas relacionadas con el proyecto solicitado.
      */
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<TaskDTO>> getTasksByProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<?>> getTasksByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String fields,
+            Authentication auth) {
+
+        // Con `fields` sólo se leen de la base de datos los campos pedidos
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(taskService.getTasksByProject(projectId, fields, auth.getName()));
+        }
 
         // Obtiene todas las tareas asociadas al proyecto
-        List<TaskDTO> tasks = taskService.getTasksByProject(projectId);
+        List<TaskDTO> tasks = taskService.getTasksByProject(projectId, auth.getName());
 
         // Retorna la lista de tareas con estado 200 (OK)
         return ResponseEntity.ok(tasks);
     }
+
+    /**
+     * Filtra las tareas de un proyecto por etiquetas.
+     *
+     * Ejemplo: `?all=backend&all=urgente&any=api&any=db&none=bloqueada`
+     * devuelve las tareas con `backend` y `urgente`, con `api` o `db`, y sin `bloqueada`.
+     *
+     * @param projectId Identificador único del proyecto.
+     * @param all Etiquetas que deben estar todas.
+     * @param any Etiquetas de las que debe haber al menos una.
+     * @param none Etiquetas excluidas.
+     * @param page Número de página (empezando en 0).
+     * @param size Tamaño de página (máximo 200).
+     * @param auth Información del usuario autenticado.
+     * @return Total de coincidencias y tareas de la página solicitada.
+     */
+    @GetMapping("/project/{projectId}/tags/filter")
+    public ResponseEntity<TaskTagFilterResultDTO> filterTasksByTags(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "") List<String> all,
+            @RequestParam(defaultValue = "") List<String> any,
+            @RequestParam(defaultValue = "") List<String> none,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication auth) {
+
+        // Acota la paginación para no devolver páginas arbitrariamente grandes
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), 200);
+
+        return ResponseEntity.ok(taskService.filterTasksByTags(projectId, all, any, none, safePage, safeSize,
+                auth.getName()));
+    }
 }
@@ -0,0 +1,73 @@
+package com.tfg.taskmanager.task.controller;
+
+import com.tfg.taskmanager.task.model.dto.TaskImportErrorDTO;
+import com.tfg.taskmanager.task.model.dto.TaskImportResultDTO;
+import com.tfg.taskmanager.task.service.TaskImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controlador REST de importación masiva de tareas desde CSV.
+ *
+ * Pensado para migraciones desde otras herramientas: cientos de miles de filas en una sola
+ * petición, con un informe de errores por fila que se consulta paginado.
+ */
+@RestController
+@RequestMapping("/api/tasks/import")
+@RequiredArgsConstructor
+public class TaskImportController {
+
+    /** Servicio encargado de la importación */
+    private final TaskImportService importService;
+
+    /**
+     * Importa un fichero CSV de tareas.
+     *
+     * @param file Fichero CSV con cabecera (`title, description, projectId, assignedTo, status,
+     *             priority, dueDate, position, tags`).
+     * @param projectId Proyecto para las filas sin columna `projectId` (opcional).
+     * @param auth Información del usuario autenticado.
+     * @return Resumen de la importación con estado 201 (CREATED).
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<TaskImportResultDTO> importCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Long projectId,
+            Authentication auth) throws IOException {
+
+        try (InputStream csv = file.getInputStream()) {
+            TaskImportResultDTO result = importService.importCsv(csv, projectId, auth.getName());
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        }
+    }
+
+    /**
+     * Informe de errores de una importación, paginado por número de línea.
+     *
+     * @param importId Identificador devuelto al importar.
+     * @param afterLine Última línea recibida en la página anterior (0 para la primera).
+     * @param limit Tamaño de página (máximo 1000).
+     * @param auth Información del usuario autenticado.
+     * @return Errores por fila.
+     */
+    @GetMapping("/{importId}/errors")
+    public ResponseEntity<List<TaskImportErrorDTO>> getErrors(
+            @PathVariable UUID importId,
+            @RequestParam(defaultValue = "0") long afterLine,
+            @RequestParam(defaultValue = "100") int limit,
+            Authentication auth) {
+
+        return ResponseEntity.ok(importService.getErrors(
+                importId, auth.getName(), Math.max(afterLine, 0), Math.min(Math.max(limit, 1), 1000)));
+    }
+}
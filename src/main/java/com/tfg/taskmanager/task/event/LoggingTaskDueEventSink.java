@@ -0,0 +1,18 @@
+package com.tfg.taskmanager.task.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Destino por defecto de los avisos de fecha límite: los registra en el log.
+ */
+@Slf4j
+@Component
+public class LoggingTaskDueEventSink implements TaskDueEventSink {
+
+    @Override
+    public void accept(TaskDueEvent event) {
+        log.info("Tarea {} ({}) {}: fecha límite {}, responsable {}",
+                event.getTaskId(), event.getTitle(), event.getKind(), event.getDueDate(), event.getAssignedTo());
+    }
+}
@@ -0,0 +1,42 @@
+package com.tfg.taskmanager.task.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evento de dominio publicado cuando se crean, modifican o archivan tareas.
+ *
+ * Puede referirse a una sola tarea o a un lote (operaciones set-based). Los componentes
+ * que mantienen datos derivados (índices, vistas precalculadas, cachés) lo escuchan para
+ * actualizarse sin que los servicios de tareas tengan que conocerlos.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangedEvent {
+
+    /** Tipo de cambio realizado */
+    private final ChangeType type;
+
+    /** Proyectos a los que pertenecen las tareas afectadas */
+    private final Set<Long> projectIds;
+
+    /** IDs de las tareas afectadas */
+    private final List<Long> taskIds;
+
+    /**
+     * Crea el evento para una única tarea.
+     */
+    public static TaskChangedEvent of(ChangeType type, Long projectId, Long taskId) {
+        return new TaskChangedEvent(type, projectId == null ? Set.of() : Set.of(projectId), List.of(taskId));
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        /** Las tareas salen de la tabla activa (movidas al archivo) */
+        ARCHIVED
+    }
+}
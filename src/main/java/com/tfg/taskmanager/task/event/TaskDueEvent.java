@@ -0,0 +1,28 @@
+package com.tfg.taskmanager.task.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Aviso de fecha límite de una tarea, emitido por `TaskDueDateScheduler`.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskDueEvent {
+
+    private final Kind kind;
+    private final Long taskId;
+    private final Long projectId;
+    private final String title;
+    private final String assignedTo;
+    private final LocalDate dueDate;
+
+    public enum Kind {
+        /** La fecha límite está próxima (según `task.due.due-soon-lead`) */
+        DUE_SOON,
+        /** Ha terminado el día de la fecha límite y la tarea sigue abierta */
+        OVERDUE
+    }
+}
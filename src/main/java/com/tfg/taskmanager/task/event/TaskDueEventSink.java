@@ -0,0 +1,13 @@
+package com.tfg.taskmanager.task.event;
+
+/**
+ * Destino de los avisos de fecha límite.
+ *
+ * Cualquier bean que implemente esta interfaz recibe los avisos (notificaciones, correo,
+ * webhooks...). Se invoca desde el hilo del planificador, fuera de cualquier transacción,
+ * así que las implementaciones deben ser rápidas o delegar el trabajo.
+ */
+public interface TaskDueEventSink {
+
+    void accept(TaskDueEvent event);
+}
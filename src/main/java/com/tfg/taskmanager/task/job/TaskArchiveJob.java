@@ -0,0 +1,67 @@
+package com.tfg.taskmanager.task.job;
+
+import com.tfg.taskmanager.cluster.service.ClusterJob;
+import com.tfg.taskmanager.cluster.service.ClusterJobRunner;
+import com.tfg.taskmanager.task.service.TaskArchiveService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job en segundo plano que archiva periódicamente las tareas terminadas.
+ * Se puede desactivar con `task.archive.enabled=false`.
+ *
+ * Se ejecuta en un solo nodo del clúster ({@link ClusterJobRunner}). El punto de control es
+ * la fecha de corte de la ejecución, de modo que una ejecución reanudada archiva
+ * exactamente el mismo conjunto de tareas que la original.
+ */
+@Component
+@ConditionalOnProperty(name = "task.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiveJob implements ClusterJob {
+
+    private final TaskArchiveService archiveService;
+    private final ClusterJobRunner jobRunner;
+    private final int maxChunksPerRun;
+
+    public TaskArchiveJob(
+            TaskArchiveService archiveService,
+            ClusterJobRunner jobRunner,
+            @Value("${task.archive.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this.archiveService = archiveService;
+        this.jobRunner = jobRunner;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    /**
+     * Ejecuta el archivado según la expresión cron configurada (por defecto, cada noche a las 3:00).
+     */
+    @Scheduled(cron = "${task.archive.cron:0 0 3 * * *}")
+    public void archiveCompletedTasks() {
+        jobRunner.run(this);
+    }
+
+    @Override
+    public String name() {
+        return "task-archive";
+    }
+
+    @Override
+    public Chunk processChunk(String checkpoint) {
+        LocalDateTime cutoff = checkpoint != null ? LocalDateTime.parse(checkpoint) : archiveService.archiveCutoff();
+        int moved = archiveService.archiveChunk(cutoff);
+        return moved == 0 ? Chunk.finished(0) : Chunk.next(moved, cutoff.toString());
+    }
+
+    @Override
+    public long backlog() {
+        return archiveService.countArchivable(archiveService.archiveCutoff());
+    }
+
+    @Override
+    public int maxChunksPerRun() {
+        return maxChunksPerRun;
+    }
+}
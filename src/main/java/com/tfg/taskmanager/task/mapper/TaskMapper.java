@@ -2,6 +2,8 @@ package com.tfg.taskmanager.task.mapper;
 
 import com.tfg.taskmanager.task.model.dto.TaskCreateDTO;
 import com.tfg.taskmanager.task.model.dto.TaskDTO;
+import com.tfg.taskmanager.task.model.dto.TaskUpdateDTO;
+import com.tfg.taskmanager.task.model.vo.ArchivedTask;
 import com.tfg.taskmanager.task.model.vo.Task;
 import org.mapstruct.*;
 
@@ -13,11 +15,34 @@ public interface TaskMapper {
      */
     TaskDTO toDTO(Task task);
 
+    /**
+     * Convierte una tarea archivada al mismo DTO de salida que las tareas activas.
+     * Las tareas archivadas no se modifican, así que no tienen versión.
+     */
+    @Mapping(target = "version", ignore = true)
+    TaskDTO toDTO(ArchivedTask task);
+
     /**
      * Convierte un DTO de creación a entidad Task.
      * Se ignoran campos generados automáticamente por el sistema.
      */
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "completedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "fieldVersions", ignore = true)
     Task toEntity(TaskCreateDTO dto);
+
+    /**
+     * Aplica una modificación parcial sobre una tarea existente.
+     * Los campos nulos del DTO no modifican la entidad.
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "projectId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "completedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "fieldVersions", ignore = true)
+    void updateEntity(TaskUpdateDTO dto, @MappingTarget Task task);
 }
@@ -0,0 +1,21 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO de salida de una columna del tablero: las tareas de un estado, ordenadas por posición.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBoardColumnDTO {
+
+    private TaskStatus status;
+    private int count;
+    private List<TaskCardDTO> tasks;
+}
@@ -0,0 +1,25 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO de salida del tablero Kanban de un proyecto: una columna por estado, en el orden de
+ * `TaskStatus`, incluidas las vacías.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBoardDTO {
+
+    private Long projectId;
+    private List<TaskBoardColumnDTO> columns;
+
+    /** Revisión del tablero en memoria (se devuelve como ETag) */
+    @JsonIgnore
+    private long revision;
+}
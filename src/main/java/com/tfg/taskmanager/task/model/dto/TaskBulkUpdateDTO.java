@@ -0,0 +1,41 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO de modificación masiva de tareas (`PATCH /api/tasks/bulk`).
+ *
+ * Las tareas se eligen por `ids` o por `filter` (mismos filtros que la búsqueda; se ignoran
+ * ordenación, cursor, límite y campos). El cambio lo forman los campos informados de
+ * `status`, `priority`, `assignedTo` y `dueDateShiftDays`; los nulos no cambian.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkUpdateDTO {
+
+    @Size(max = 10000, message = "Como máximo 10000 tareas por petición; usa un filtro para más")
+    private List<Long> ids;
+
+    private TaskSearchCriteria filter;
+
+    private TaskStatus status;
+
+    private TaskPriority priority;
+
+    @Size(min = 1, max = 255, message = "El responsable debe tener entre 1 y 255 caracteres")
+    private String assignedTo;
+
+    @Min(value = -3650, message = "El desplazamiento de la fecha límite es demasiado grande")
+    @Max(value = 3650, message = "El desplazamiento de la fecha límite es demasiado grande")
+    private Integer dueDateShiftDays;
+}
@@ -0,0 +1,17 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import lombok.*;
+
+/**
+ * Resultado de una modificación masiva: número de tareas que cambiaron
+ * (las que ya tenían los valores pedidos no se tocan ni se cuentan).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskBulkUpdateResultDTO {
+
+    private long updated;
+}
@@ -0,0 +1,30 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de salida de una tarjeta del tablero Kanban: los datos de la tarea que se pintan en la
+ * columna (sin descripción). El detalle completo se obtiene con `GET /api/tasks/{id}`.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskCardDTO {
+
+    private Long id;
+    private String title;
+    private String assignedTo;
+    private TaskPriority priority;
+    private LocalDate dueDate;
+    private Integer position;
+    private List<String> tags;
+
+    /** Versión actual de la tarea (para `If-Match` al moverla) */
+    private Long version;
+}
@@ -31,7 +31,11 @@ public class TaskDTO {
 
     private LocalDate dueDate;
     private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
 
     private Integer position;
     private List<String> tags;
+
+    /** Versión actual (se devuelve también como ETag) */
+    private Long version;
 }
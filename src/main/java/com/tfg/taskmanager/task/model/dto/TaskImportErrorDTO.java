@@ -0,0 +1,17 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import lombok.*;
+
+/**
+ * Error de una fila del CSV importado (`line` cuenta la cabecera como línea 1).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportErrorDTO {
+
+    private long line;
+    private String message;
+}
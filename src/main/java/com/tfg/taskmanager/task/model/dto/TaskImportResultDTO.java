@@ -0,0 +1,21 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Resumen de una importación de tareas. Los errores se consultan aparte,
+ * paginados, en `/api/tasks/import/{importId}/errors`.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportResultDTO {
+
+    private UUID importId;
+    private long imported;
+    private long rejected;
+}
@@ -0,0 +1,25 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de salida de una entrada de la bandeja "mis tareas".
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskInboxItemDTO {
+
+    private Long taskId;
+    private Long projectId;
+    private String title;
+    private TaskStatus status;
+    private TaskPriority priority;
+    private LocalDate dueDate;
+}
@@ -0,0 +1,19 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página de la bandeja "mis tareas". `nextCursor` es null en la última página.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskInboxPageDTO {
+
+    private List<TaskInboxItemDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página de tareas con paginación por cursor (keyset).
+ * `nextCursor` es null cuando no hay más resultados.
+ *
+ * @param <T> `TaskDTO`, o un mapa campo -> valor cuando se piden sólo algunos campos (`fields`).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskPageDTO<T> {
+
+    private List<T> tasks;
+    private String nextCursor;
+}
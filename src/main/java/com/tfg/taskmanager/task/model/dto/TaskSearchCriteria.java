@@ -0,0 +1,59 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Parámetros de búsqueda de tareas (`GET /api/tasks`).
+ * Todos los filtros son opcionales y se combinan con AND.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskSearchCriteria {
+
+    /** Proyecto al que pertenecen las tareas */
+    private Long projectId;
+
+    /** Usuario asignado */
+    private String assignedTo;
+
+    /** Estados admitidos (cualquiera de ellos) */
+    private List<TaskStatus> status;
+
+    /** Prioridades admitidas (cualquiera de ellas) */
+    private List<TaskPriority> priority;
+
+    /** Fecha límite mínima (inclusive) */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    /** Fecha límite máxima (inclusive) */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    /** Etiqueta que debe tener la tarea (sin distinguir mayúsculas) */
+    private String tag;
+
+    /** Campo de ordenación: `createdAt` (por defecto), `dueDate` o `id` */
+    private String sort;
+
+    /** Sentido de la ordenación: `asc` o `desc` (por defecto) */
+    private String direction;
+
+    /** Cursor opaco devuelto en la página anterior (`nextCursor`) */
+    private String cursor;
+
+    /** Tamaño de página */
+    private Integer limit;
+
+    /** Campos de `TaskDTO` a devolver, separados por comas (por defecto, todos) */
+    private String fields;
+}
@@ -0,0 +1,21 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO de salida del filtro de tareas por etiquetas: total de coincidencias y la página pedida.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTagFilterResultDTO {
+
+    private long total;
+    private int page;
+    private int size;
+    private List<TaskDTO> tasks;
+}
@@ -0,0 +1,42 @@
+package com.tfg.taskmanager.task.model.dto;
+
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de modificación parcial de una tarea.
+ * Los campos a null se dejan como están; el proyecto de la tarea no se puede cambiar.
+ * `version` (opcional, alternativa a la cabecera If-Match) es la versión sobre la que se hizo la edición.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskUpdateDTO {
+
+    @Size(min = 1, max = 100, message = "El título debe tener entre 1 y 100 caracteres")
+    private String title;
+
+    @Size(max = 2000, message = "La descripción es demasiado larga")
+    private String description;
+
+    private String assignedTo;
+
+    private TaskStatus status;
+
+    private TaskPriority priority;
+
+    private LocalDate dueDate;
+
+    private Integer position;
+
+    private List<@Size(max = 20, message = "Cada etiqueta debe tener como máximo 20 caracteres") String> tags;
+
+    private Long version;
+}
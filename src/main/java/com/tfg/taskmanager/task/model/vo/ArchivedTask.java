@@ -0,0 +1,78 @@
+package com.tfg.taskmanager.task.model.vo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Copia en almacenamiento frío de una tarea terminada.
+ *
+ * Las tareas en estado DONE con cierta antigüedad se mueven desde `tasks` a esta tabla
+ * para que el conjunto de trabajo "caliente" se mantenga pequeño. Conserva el mismo ID
+ * que tenía la tarea original para poder seguir referenciándola.
+ */
+@Entity
+@Table(name = "archived_tasks", indexes = {
+        @Index(name = "idx_archived_tasks_project_id", columnList = "project_id, id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class ArchivedTask {
+
+    /**
+     * Identificador original de la tarea (no se genera de nuevo).
+     */
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    private Long projectId;
+
+    private String assignedTo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskPriority priority;
+
+    private LocalDate dueDate;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    private Integer position;
+
+    /**
+     * Momento en el que la tarea se movió al archivo.
+     */
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Etiquetas copiadas de la tarea original.
+     * Se cargan por lotes para evitar una consulta por tarea al paginar el archivo.
+     */
+    @ElementCollection
+    @CollectionTable(name = "archived_task_tags", joinColumns = @JoinColumn(name = "archived_task_id"))
+    @Column(name = "tags")
+    @BatchSize(size = 100)
+    private List<String> tags;
+}
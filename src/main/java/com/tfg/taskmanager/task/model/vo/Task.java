@@ -5,16 +5,25 @@ import lombok.*;
 
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Entidad que representa una tarea dentro de un proyecto.
  * Diseñada para reflejar su estado, prioridad, responsable y organización visual.
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Localiza rápidamente las tareas terminadas candidatas a archivarse
+        @Index(name = "idx_tasks_status_completed_at", columnList = "status, completed_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -74,6 +83,12 @@ public class Task {
      */
     private LocalDateTime createdAt;
 
+    /**
+     * Fecha en la que la tarea pasó a estado DONE.
+     * Se usa para decidir cuándo archivarla.
+     */
+    private LocalDateTime completedAt;
+
     /**
      * Posición visual dentro de la columna (opcional).
      */
@@ -81,15 +96,50 @@ public class Task {
 
     /**
      * Lista de etiquetas asociadas a la tarea.
+     * Se cargan por lotes para que los listados no hagan una consulta por tarea.
      */
     @ElementCollection
+    @BatchSize(size = 100)
+    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"))
+    @Column(name = "tags")
     private List<String> tags;
 
+    /**
+     * Versión para el control de concurrencia optimista; se incrementa en cada modificación.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Versión en la que cambió por última vez cada campo editable (p. ej. "status" -> 7).
+     * Permite fusionar ediciones concurrentes que no tocan los mismos campos.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    @Builder.Default
+    private Map<String, Long> fieldVersions = new HashMap<>();
+
     /**
      * Asigna fecha de creación automáticamente al persistir.
      */
     @PrePersist
     public void setCreationTimestamp() {
         this.createdAt = LocalDateTime.now();
+        updateCompletionTimestamp();
+    }
+
+    /**
+     * Registra el momento en que la tarea se completa y lo limpia si se reabre.
+     */
+    @PreUpdate
+    public void updateCompletionTimestamp() {
+        if (status == TaskStatus.DONE) {
+            if (completedAt == null) {
+                completedAt = LocalDateTime.now();
+            }
+        } else {
+            completedAt = null;
+        }
     }
 }
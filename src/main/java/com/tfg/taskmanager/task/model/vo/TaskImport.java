@@ -0,0 +1,39 @@
+package com.tfg.taskmanager.task.model.vo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Registro de una importación masiva de tareas desde CSV.
+ * Los errores por fila se guardan aparte en `task_import_errors`.
+ */
+@Entity
+@Table(name = "task_imports")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class TaskImport {
+
+    @Id
+    private UUID id;
+
+    /** Usuario que lanzó la importación (el único que puede consultar su informe) */
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /** Filas importadas */
+    private long imported;
+
+    /** Filas rechazadas */
+    private long rejected;
+}
@@ -0,0 +1,71 @@
+package com.tfg.taskmanager.task.model.vo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entrada de la bandeja "mis tareas" de un usuario.
+ *
+ * Vista materializada de las tareas abiertas (no DONE) con responsable, mantenida de forma
+ * incremental por `TaskServiceImpl`. Guarda copia de los campos que se listan y la clave de
+ * ordenación ya calculada, de modo que la bandeja se sirve con un único recorrido del índice
+ * `(assignee, priority_rank, due_sort, task_id)` sin tocar la tabla de tareas.
+ */
+@Entity
+@Table(name = "task_inbox", indexes = {
+        @Index(name = "idx_task_inbox_order", columnList = "assignee, priority_rank, due_sort, task_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class TaskInboxEntry {
+
+    /** Fecha usada para ordenar las tareas sin fecha límite al final */
+    public static final LocalDate NO_DUE_DATE = LocalDate.of(9999, 12, 31);
+
+    /**
+     * ID de la tarea (una tarea está como mucho en una bandeja).
+     */
+    @Id
+    private Long taskId;
+
+    @Column(nullable = false)
+    private String assignee;
+
+    private Long projectId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskPriority priority;
+
+    /**
+     * Prioridad como número ascendente: 0 = CRITICAL ... 3 = LOW.
+     */
+    @Column(nullable = false)
+    private short priorityRank;
+
+    private LocalDate dueDate;
+
+    /**
+     * Fecha límite para ordenar; {@link #NO_DUE_DATE} si la tarea no tiene.
+     */
+    @Column(nullable = false)
+    private LocalDate dueSort;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,50 @@
+package com.tfg.taskmanager.task.repository;
+
+import com.tfg.taskmanager.task.model.vo.ArchivedTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio del archivo de tareas terminadas.
+ * Además de la consulta del archivo, expone las sentencias set-based que copian
+ * tareas desde la tabla caliente sin cargarlas como entidades.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Tareas archivadas de un proyecto, paginadas por ID.
+     */
+    List<ArchivedTask> findByProjectIdOrderByIdAsc(Long projectId, Pageable pageable);
+
+    /**
+     * Copia las filas indicadas de `tasks` al archivo.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO archived_tasks (id, title, description, project_id, assigned_to, status, priority,
+                                        due_date, created_at, completed_at, position, archived_at)
+            SELECT id, title, description, project_id, assigned_to, status, priority,
+                   due_date, created_at, completed_at, position, :archivedAt
+            FROM tasks
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int copyFromTasks(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Copia las etiquetas de las tareas indicadas al archivo.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO archived_task_tags (archived_task_id, tags)
+            SELECT task_id, tags FROM task_tags WHERE task_id IN (:ids)
+            """, nativeQuery = true)
+    int copyTagsFromTasks(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,53 @@
+package com.tfg.taskmanager.task.repository;
+
+import com.tfg.taskmanager.task.model.vo.TaskImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositorio de importaciones de tareas y de su informe de errores.
+ */
+@Repository
+public interface TaskImportRepository extends JpaRepository<TaskImport, UUID> {
+
+    /**
+     * Error de una fila del CSV.
+     */
+    interface ImportErrorRow {
+        Long getLine();
+        String getMessage();
+    }
+
+    Optional<TaskImport> findByIdAndUsername(UUID id, String username);
+
+    /**
+     * Página del informe de errores de una importación, en orden de fila.
+     */
+    @Query(value = """
+            SELECT line_no AS "line", message AS "message" FROM task_import_errors
+            WHERE import_id = :importId AND line_no > :afterLine
+            ORDER BY line_no
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ImportErrorRow> findErrors(@Param("importId") UUID importId,
+                                    @Param("afterLine") long afterLine,
+                                    @Param("limit") int limit);
+
+    /**
+     * Elimina los informes de errores anteriores a `cutoff`.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_import_errors
+            WHERE import_id IN (SELECT id FROM task_imports WHERE created_at < :cutoff)
+            """, nativeQuery = true)
+    int deleteErrorsBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,118 @@
+package com.tfg.taskmanager.task.repository;
+
+import com.tfg.taskmanager.task.model.vo.TaskInboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de la bandeja de tareas por responsable.
+ */
+@Repository
+public interface TaskInboxRepository extends JpaRepository<TaskInboxEntry, Long> {
+
+    /**
+     * Primera página de la bandeja de un usuario, en orden (prioridad, fecha límite, ID).
+     */
+    @Query(value = """
+            SELECT * FROM task_inbox
+            WHERE assignee = :assignee
+            ORDER BY priority_rank, due_sort, task_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskInboxEntry> findFirstPage(@Param("assignee") String assignee, @Param("limit") int limit);
+
+    /**
+     * Página siguiente a la entrada `(rank, dueSort, taskId)`.
+     * La comparación de filas la resuelve PostgreSQL como un rango del índice.
+     */
+    @Query(value = """
+            SELECT * FROM task_inbox
+            WHERE assignee = :assignee
+              AND (priority_rank, due_sort, task_id) > (:rank, :dueSort, :taskId)
+            ORDER BY priority_rank, due_sort, task_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskInboxEntry> findPageAfter(@Param("assignee") String assignee,
+                                       @Param("rank") short rank,
+                                       @Param("dueSort") LocalDate dueSort,
+                                       @Param("taskId") long taskId,
+                                       @Param("limit") int limit);
+
+    /**
+     * Inserta o actualiza la entrada de una tarea en una sola sentencia.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_inbox (task_id, assignee, project_id, title, status, priority,
+                                    priority_rank, due_date, due_sort, updated_at)
+            VALUES (:#{#e.taskId}, :#{#e.assignee}, :#{#e.projectId}, :#{#e.title}, :#{#e.status.name()},
+                    :#{#e.priority.name()}, :#{#e.priorityRank}, :#{#e.dueDate}, :#{#e.dueSort}, :#{#e.updatedAt})
+            ON CONFLICT (task_id) DO UPDATE SET
+                assignee = EXCLUDED.assignee, project_id = EXCLUDED.project_id, title = EXCLUDED.title,
+                status = EXCLUDED.status, priority = EXCLUDED.priority, priority_rank = EXCLUDED.priority_rank,
+                due_date = EXCLUDED.due_date, due_sort = EXCLUDED.due_sort, updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void upsert(@Param("e") TaskInboxEntry entry);
+
+    /**
+     * Sincroniza la bandeja de un lote de tareas con una sentencia por paso (operaciones masivas).
+     * Inserta o actualiza las abiertas con responsable.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_inbox (task_id, assignee, project_id, title, status, priority,
+                                    priority_rank, due_date, due_sort, updated_at)
+            SELECT id, assigned_to, project_id, title, status, priority,
+                   CASE priority WHEN 'CRITICAL' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END,
+                   due_date, COALESCE(due_date, DATE '9999-12-31'), now()
+            FROM tasks
+            WHERE id IN (:ids) AND assigned_to IS NOT NULL AND assigned_to <> '' AND status <> 'DONE'
+            ON CONFLICT (task_id) DO UPDATE SET
+                assignee = EXCLUDED.assignee, project_id = EXCLUDED.project_id, title = EXCLUDED.title,
+                status = EXCLUDED.status, priority = EXCLUDED.priority, priority_rank = EXCLUDED.priority_rank,
+                due_date = EXCLUDED.due_date, due_sort = EXCLUDED.due_sort, updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int upsertOpenFromTasks(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Da de alta en la bandeja las tareas abiertas con responsable de un proyecto recién creado
+     * (copias), con una sola sentencia sobre el proyecto en vez de por lotes de IDs.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_inbox (task_id, assignee, project_id, title, status, priority,
+                                    priority_rank, due_date, due_sort, updated_at)
+            SELECT id, assigned_to, project_id, title, status, priority,
+                   CASE priority WHEN 'CRITICAL' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END,
+                   due_date, COALESCE(due_date, DATE '9999-12-31'), now()
+            FROM tasks
+            WHERE project_id = :projectId AND assigned_to IS NOT NULL AND assigned_to <> '' AND status <> 'DONE'
+            ON CONFLICT (task_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertOpenFromProject(@Param("projectId") Long projectId);
+
+    /**
+     * Quita de la bandeja las tareas del lote que ya no deben estar (terminadas o sin responsable).
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM task_inbox i USING tasks t
+            WHERE i.task_id = t.id AND t.id IN (:ids)
+              AND (t.assigned_to IS NULL OR t.assigned_to = '' OR t.status = 'DONE')
+            """, nativeQuery = true)
+    int deleteClosedFromTasks(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Quita tareas de la bandeja (completadas, sin responsable o archivadas).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM task_inbox WHERE task_id IN (:ids)", nativeQuery = true)
+    int deleteByTaskIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,18 +1,105 @@
 package com.tfg.taskmanager.task.repository;
 
 import com.tfg.taskmanager.task.model.vo.Task;
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
 import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio de acceso a datos para tareas.
- * Permite operaciones CRUD y consultas por campos específicos.
+ * Permite operaciones CRUD, consultas por campos específicos y búsquedas dinámicas
+ * combinando filtros de `TaskSpecifications`.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+
+    /**
+     * Referencia mínima a una tarea (ID y proyecto) para operaciones por lotes.
+     */
+    interface TaskRef {
+        Long getId();
+        Long getProjectId();
+    }
+
+    /**
+     * Fila (tarea, proyecto, etiqueta) para construir índices de etiquetas.
+     * `tag` es null en las tareas sin etiquetas.
+     */
+    interface TaskTagRow {
+        Long getTaskId();
+        Long getProjectId();
+        String getTag();
+    }
+
+    /**
+     * Datos de una tarea necesarios para comprobar el acceso a ella.
+     */
+    interface TaskAccessRow {
+        Long getId();
+        Long getProjectId();
+        String getAssignedTo();
+    }
+
+    /**
+     * Tarea cambiada por una modificación masiva, con los valores de antes y después
+     * de los campos que puede tocar (para la auditoría).
+     */
+    interface TaskBulkChange {
+        Long getId();
+        Long getProjectId();
+        String getOldStatus();
+        String getNewStatus();
+        String getOldPriority();
+        String getNewPriority();
+        String getOldAssignedTo();
+        String getNewAssignedTo();
+        LocalDate getOldDueDate();
+        LocalDate getNewDueDate();
+    }
+
+    /**
+     * Datos de una tarea necesarios para vigilar su fecha límite.
+     */
+    interface TaskDueRow {
+        Long getId();
+        Long getProjectId();
+        String getTitle();
+        String getAssignedTo();
+        TaskStatus getStatus();
+        LocalDate getDueDate();
+    }
+
+    /**
+     * Datos de una tarea necesarios para su tarjeta en el tablero (sin descripción ni etiquetas).
+     * Es un record (constructor en la consulta) y no una proyección por interfaz: un tablero
+     * grande son cientos de miles de filas y los proxies de proyección multiplican su coste.
+     */
+    record TaskBoardRow(Long id, Long projectId, String title, String assignedTo, TaskStatus status,
+                        TaskPriority priority, LocalDate dueDate, Integer position, Long version) {
+    }
+
+    /**
+     * Pareja (tarea, etiqueta) para el tablero.
+     */
+    record TaskTagPair(Long taskId, String tag) {
+    }
 
     /**
      * Obtiene todas las tareas asociadas a un proyecto.
@@ -20,12 +107,287 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByProjectId(Long projectId);
 
     /**
-     * (Opcional) Filtra tareas por usuario asignado.
+     * Selecciona y bloquea un lote de tareas terminadas antes de `cutoff`.
+     * `SKIP LOCKED` permite que varias ejecuciones concurrentes no se pisen.
+     * Las tareas DONE anteriores a `completedAt` se evalúan por su fecha de creación.
+     */
+    @Query(value = """
+            SELECT id AS "id", project_id AS "projectId" FROM tasks
+            WHERE status = 'DONE'
+              AND (completed_at < :cutoff OR (completed_at IS NULL AND created_at < :cutoff))
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<TaskRef> lockArchivableTasks(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Número de tareas que {@link #lockArchivableTasks} consideraría candidatas.
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM tasks
+            WHERE status = 'DONE'
+              AND (completed_at < :cutoff OR (completed_at IS NULL AND created_at < :cutoff))
+            """, nativeQuery = true)
+    long countArchivable(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Lee una tarea bloqueando su fila hasta el final de la transacción (`SELECT ... FOR UPDATE`).
+     * Se usa al reintentar una modificación que chocó con otra escritura concurrente.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Elimina las etiquetas de las tareas indicadas.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM task_tags WHERE task_id IN (:ids)", nativeQuery = true)
+    int deleteTagsByTaskIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Elimina las tareas indicadas sin cargarlas en memoria.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Copia las tareas de un proyecto, con sus etiquetas, en otro proyecto con una sola
+     * sentencia. Los IDs se reservan antes de insertar para poder enlazar las etiquetas.
+     *
+     * @param dayShift Días que se desplazan las fechas límite.
+     * @param resetProgress true para dejar las copias en TODO y sin fecha de finalización.
+     * @return IDs de las tareas creadas, en el orden de las originales.
+     */
+    @Query(value = """
+            WITH source AS (
+                SELECT t.*, nextval(pg_get_serial_sequence('tasks', 'id')) AS new_id
+                FROM (SELECT * FROM tasks WHERE project_id = :sourceId ORDER BY id) t
+            ), copied AS (
+                INSERT INTO tasks (id, title, description, project_id, assigned_to, status, priority,
+                                   due_date, created_at, completed_at, position)
+                SELECT new_id, title, description, :targetId, assigned_to,
+                       CASE WHEN :resetProgress THEN 'TODO' ELSE status END, priority,
+                       due_date + :dayShift, now(),
+                       CASE WHEN :resetProgress THEN NULL ELSE completed_at END, position
+                FROM source
+                RETURNING id
+            ), copied_tags AS (
+                INSERT INTO task_tags (task_id, tags)
+                SELECT s.new_id, tt.tags FROM task_tags tt JOIN source s ON s.id = tt.task_id
+            )
+            SELECT id FROM copied ORDER BY id
+            """, nativeQuery = true)
+    List<Long> cloneProjectTasks(@Param("sourceId") Long sourceId, @Param("targetId") Long targetId,
+                                 @Param("dayShift") int dayShift, @Param("resetProgress") boolean resetProgress);
+
+    /**
+     * Proyecto y responsable de las tareas indicadas, sin cargarlas.
+     */
+    @Query("SELECT t.id AS id, t.projectId AS projectId, t.assignedTo AS assignedTo FROM Task t WHERE t.id IN :ids")
+    List<TaskAccessRow> findAccessRows(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Aplica un mismo cambio a un lote de tareas con una sola sentencia, sin cargarlas.
+     * Los parámetros a null no cambian ese campo. Sólo se tocan las filas en las que algo
+     * cambia de verdad; en ellas se incrementa la versión, se anota en `field_versions` qué
+     * campos cambiaron y se mantiene `completed_at` igual que al guardar la entidad.
+     *
+     * @param status Nuevo estado (nombre del enum) o null.
+     * @param priority Nueva prioridad (nombre del enum) o null.
+     * @param assignedTo Nuevo responsable o null.
+     * @param dueShift Días que se desplaza la fecha límite (0 = sin cambio; las tareas sin fecha no cambian).
+     * @return ID, proyecto y valores anteriores y nuevos de las tareas modificadas.
+     */
+    @Query(value = """
+            WITH old AS (
+                SELECT id, status, priority, assigned_to, due_date FROM tasks
+                WHERE id IN (:ids)
+                ORDER BY id
+                FOR UPDATE
+            )
+            UPDATE tasks t SET
+                status = COALESCE(CAST(:status AS varchar), t.status),
+                priority = COALESCE(CAST(:priority AS varchar), t.priority),
+                assigned_to = COALESCE(CAST(:assignedTo AS varchar), t.assigned_to),
+                due_date = t.due_date + :dueShift,
+                completed_at = CASE WHEN COALESCE(CAST(:status AS varchar), t.status) = 'DONE'
+                                    THEN COALESCE(t.completed_at, LOCALTIMESTAMP) END,
+                version = t.version + 1,
+                field_versions = t.field_versions || jsonb_strip_nulls(jsonb_build_object(
+                    'status', CASE WHEN t.status <> CAST(:status AS varchar) THEN t.version + 1 END,
+                    'priority', CASE WHEN t.priority <> CAST(:priority AS varchar) THEN t.version + 1 END,
+                    'assignedTo', CASE WHEN t.assigned_to IS DISTINCT FROM CAST(:assignedTo AS varchar)
+                                            AND CAST(:assignedTo AS varchar) IS NOT NULL THEN t.version + 1 END,
+                    'dueDate', CASE WHEN :dueShift <> 0 AND t.due_date IS NOT NULL THEN t.version + 1 END))
+            FROM old
+            WHERE t.id = old.id
+              AND (t.status <> CAST(:status AS varchar)
+                   OR t.priority <> CAST(:priority AS varchar)
+                   OR (CAST(:assignedTo AS varchar) IS NOT NULL
+                       AND t.assigned_to IS DISTINCT FROM CAST(:assignedTo AS varchar))
+                   OR (:dueShift <> 0 AND t.due_date IS NOT NULL))
+            RETURNING t.id AS "id", t.project_id AS "projectId",
+                old.status AS "oldStatus", t.status AS "newStatus",
+                old.priority AS "oldPriority", t.priority AS "newPriority",
+                old.assigned_to AS "oldAssignedTo", t.assigned_to AS "newAssignedTo",
+                old.due_date AS "oldDueDate", t.due_date AS "newDueDate"
+            """, nativeQuery = true)
+    List<TaskBulkChange> bulkUpdate(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                             @Param("priority") String priority, @Param("assignedTo") String assignedTo,
+                             @Param("dueShift") int dueShift);
+
+    /**
+     * Todas las parejas (tarea, etiqueta) de un proyecto, incluidas las tareas sin etiquetas.
+     */
+    @Query(value = """
+            SELECT t.id AS "taskId", t.project_id AS "projectId", tt.tags AS "tag"
+            FROM tasks t LEFT JOIN task_tags tt ON tt.task_id = t.id
+            WHERE t.project_id = :projectId
+            """, nativeQuery = true)
+    List<TaskTagRow> findTagRowsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Parejas (tarea, etiqueta) de las tareas indicadas, incluidas las tareas sin etiquetas.
+     */
+    @Query(value = """
+            SELECT t.id AS "taskId", t.project_id AS "projectId", tt.tags AS "tag"
+            FROM tasks t LEFT JOIN task_tags tt ON tt.task_id = t.id
+            WHERE t.id IN (:ids)
+            """, nativeQuery = true)
+    List<TaskTagRow> findTagRowsByTaskIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Tareas abiertas con fecha límite en `[from, to]`.
+     * Consulta de rango servida por el índice parcial `idx_tasks_open_due_date`.
+     */
+    @Query("""
+            SELECT t.id AS id, t.projectId AS projectId, t.title AS title, t.assignedTo AS assignedTo,
+                   t.status AS status, t.dueDate AS dueDate
+            FROM Task t
+            WHERE t.dueDate BETWEEN :from AND :to AND t.status <> com.tfg.taskmanager.task.model.vo.TaskStatus.DONE
+            """)
+    List<TaskDueRow> findOpenDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Como {@link #findOpenDueBetween}, limitado a un lote de tareas.
+     */
+    @Query("""
+            SELECT t.id AS id, t.projectId AS projectId, t.title AS title, t.assignedTo AS assignedTo,
+                   t.status AS status, t.dueDate AS dueDate
+            FROM Task t
+            WHERE t.id IN :ids AND t.dueDate BETWEEN :from AND :to
+              AND t.status <> com.tfg.taskmanager.task.model.vo.TaskStatus.DONE
+            """)
+    List<TaskDueRow> findOpenDueByIdsBetween(@Param("ids") Collection<Long> ids,
+                                             @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Datos de fecha límite de las tareas indicadas.
+     */
+    @Query("""
+            SELECT t.id AS id, t.projectId AS projectId, t.title AS title, t.assignedTo AS assignedTo,
+                   t.status AS status, t.dueDate AS dueDate
+            FROM Task t
+            WHERE t.id IN :ids
+            """)
+    List<TaskDueRow> findDueRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Tarjetas del tablero de un proyecto.
+     */
+    @Query("""
+            SELECT new com.tfg.taskmanager.task.repository.TaskRepository$TaskBoardRow(
+                   t.id, t.projectId, t.title, t.assignedTo, t.status, t.priority, t.dueDate, t.position, t.version)
+            FROM Task t
+            WHERE t.projectId = :projectId
+            """)
+    List<TaskBoardRow> findBoardRowsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Etiquetas de las tareas de un proyecto, para el tablero (sólo tareas con etiquetas).
+     */
+    @Query("""
+            SELECT new com.tfg.taskmanager.task.repository.TaskRepository$TaskTagPair(t.id, tag)
+            FROM Task t JOIN t.tags tag
+            WHERE t.projectId = :projectId
+            """)
+    List<TaskTagPair> findBoardTagsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Tarjetas del tablero de las tareas indicadas.
+     */
+    @Query("""
+            SELECT new com.tfg.taskmanager.task.repository.TaskRepository$TaskBoardRow(
+                   t.id, t.projectId, t.title, t.assignedTo, t.status, t.priority, t.dueDate, t.position, t.version)
+            FROM Task t
+            WHERE t.id IN :ids
+            """)
+    List<TaskBoardRow> findBoardRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Etiquetas de las tareas indicadas, para el tablero.
+     */
+    @Query("""
+            SELECT new com.tfg.taskmanager.task.repository.TaskRepository$TaskTagPair(t.id, tag)
+            FROM Task t JOIN t.tags tag
+            WHERE t.id IN :ids
+            """)
+    List<TaskTagPair> findBoardTagsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Tareas de un proyecto con fecha límite en `[from, to]`, por fecha, para el feed de calendario.
+     * Rango sobre `idx_tasks_project_due`; se lee por bloques y hay que consumirlo dentro de una
+     * transacción y cerrarlo al terminar.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.tfg.taskmanager.task.repository.TaskRepository$TaskBoardRow(
+                   t.id, t.projectId, t.title, t.assignedTo, t.status, t.priority, t.dueDate, t.position, t.version)
+            FROM Task t
+            WHERE t.projectId = :projectId AND t.dueDate BETWEEN :from AND :to
+            ORDER BY t.dueDate, t.id
+            """)
+    Stream<TaskBoardRow> streamCalendarByProject(@Param("projectId") Long projectId,
+                                                 @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Tareas asignadas a un usuario con fecha límite en `[from, to]`, por fecha, para el feed de calendario.
+     * Rango sobre `idx_tasks_assignee_due`; mismas condiciones de uso que {@link #streamCalendarByProject}.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new com.tfg.taskmanager.task.repository.TaskRepository$TaskBoardRow(
+                   t.id, t.projectId, t.title, t.assignedTo, t.status, t.priority, t.dueDate, t.position, t.version)
+            FROM Task t
+            WHERE t.assignedTo = :assignee AND t.dueDate BETWEEN :from AND :to
+            ORDER BY t.dueDate, t.id
+            """)
+    Stream<TaskBoardRow> streamCalendarByAssignee(@Param("assignee") String assignee,
+                                                  @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Huella de las tareas de {@link #streamCalendarByProject}: cambia si entra, sale o se modifica
+     * (nueva `version`) alguna tarea. Suma de hashes, así que no necesita ordenar las filas.
      */
-    List<Task> findByAssignedTo(String username);
+    @Query(value = """
+            SELECT hashtextextended(COUNT(*) || ':' || COALESCE(SUM(hashtextextended(id || ':' || version, 0)), 0), 0)
+            FROM tasks
+            WHERE project_id = :projectId AND due_date BETWEEN :from AND :to
+            """, nativeQuery = true)
+    long calendarDigestByProject(@Param("projectId") Long projectId,
+                                 @Param("from") LocalDate from, @Param("to") LocalDate to);
 
     /**
-     * (Opcional) Tareas por estado.
+     * Huella de las tareas de {@link #streamCalendarByAssignee} (ver {@link #calendarDigestByProject}).
      */
-    List<Task> findByStatus(TaskStatus status);
+    @Query(value = """
+            SELECT hashtextextended(COUNT(*) || ':' || COALESCE(SUM(hashtextextended(id || ':' || version, 0)), 0), 0)
+            FROM tasks
+            WHERE assigned_to = :assignee AND due_date BETWEEN :from AND :to
+            """, nativeQuery = true)
+    long calendarDigestByAssignee(@Param("assignee") String assignee,
+                                  @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
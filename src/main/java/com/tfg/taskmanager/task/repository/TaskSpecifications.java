@@ -0,0 +1,114 @@
+package com.tfg.taskmanager.task.repository;
+
+import com.tfg.taskmanager.task.model.vo.Task;
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Filtros combinables de tareas para consultas dinámicas.
+ *
+ * Cada método devuelve `null` cuando el filtro no aplica, de modo que se pueden
+ * encadenar con `Specification.where(...).and(...)` y sólo los filtros presentes
+ * llegan a la cláusula WHERE.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> inProject(Long projectId) {
+        return projectId == null ? null : (root, query, cb) -> cb.equal(root.get("projectId"), projectId);
+    }
+
+    /**
+     * Tareas de cualquiera de los proyectos indicados (ninguna si no se indica ninguno).
+     */
+    public static Specification<Task> inProjects(Collection<Long> projectIds) {
+        return (root, query, cb) -> projectIds.isEmpty() ? cb.disjunction() : root.get("projectId").in(projectIds);
+    }
+
+    public static Specification<Task> assignedTo(String username) {
+        return username == null || username.isBlank() ? null
+                : (root, query, cb) -> cb.equal(root.get("assignedTo"), username);
+    }
+
+    public static Specification<Task> statusIn(Collection<TaskStatus> statuses) {
+        return statuses == null || statuses.isEmpty() ? null : (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    public static Specification<Task> priorityIn(Collection<TaskPriority> priorities) {
+        return priorities == null || priorities.isEmpty() ? null
+                : (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> dueFrom(LocalDate from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<Task> dueTo(LocalDate to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), to);
+    }
+
+    /**
+     * Tareas con la etiqueta indicada (sin distinguir mayúsculas).
+     * Se expresa como EXISTS para no duplicar filas; lo resuelve el índice `lower(tags)` de `task_tags`.
+     */
+    public static Specification<Task> hasTag(String tag) {
+        if (tag == null || tag.isBlank()) {
+            return null;
+        }
+        String normalized = tag.trim().toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> {
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Task> task = tagged.from(Task.class);
+            Join<Task, String> tags = task.join("tags");
+            tagged.select(task.get("id"))
+                    .where(cb.equal(task.get("id"), root.get("id")),
+                            cb.equal(cb.lower(tags), normalized));
+            return cb.exists(tagged);
+        };
+    }
+
+    /**
+     * Condición de keyset: filas estrictamente posteriores a `(value, id)` en el orden `(field, id)`.
+     *
+     * Sigue el orden por defecto de PostgreSQL, en el que los NULL se consideran mayores que
+     * cualquier valor (NULLS LAST en ascendente, NULLS FIRST en descendente), para que el
+     * índice compuesto sirva el ORDER BY tal cual.
+     *
+     * @param field Atributo de ordenación (puede ser nulo en algunas filas).
+     * @param value Valor del atributo en la última fila devuelta (puede ser null).
+     * @param id ID de la última fila devuelta (desempate).
+     * @param ascending Sentido de la ordenación.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Task> after(String field, Comparable value, Long id, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<Comparable> key = root.get(field);
+            Path<Long> taskId = root.get("id");
+            if (field.equals("id")) {
+                return ascending ? cb.greaterThan(taskId, id) : cb.lessThan(taskId, id);
+            }
+            if (ascending) {
+                return value == null
+                        ? cb.and(cb.isNull(key), cb.greaterThan(taskId, id))
+                        : cb.or(cb.greaterThan(key, value),
+                                cb.and(cb.equal(key, value), cb.greaterThan(taskId, id)),
+                                cb.isNull(key));
+            }
+            return value == null
+                    ? cb.or(cb.and(cb.isNull(key), cb.lessThan(taskId, id)), cb.isNotNull(key))
+                    : cb.or(cb.lessThan(key, value),
+                            cb.and(cb.equal(key, value), cb.lessThan(taskId, id)));
+        };
+    }
+}
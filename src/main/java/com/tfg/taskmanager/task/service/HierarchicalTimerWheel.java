@@ -0,0 +1,215 @@
+package com.tfg.taskmanager.task.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Rueda de temporizadores jerárquica (hierarchical timing wheel).
+ *
+ * Guarda plazos identificados por clave y los entrega cuando vencen. Cada nivel tiene
+ * `wheelSize` ranuras; una ranura del nivel 0 cubre un tick y una del nivel `l` cubre
+ * `wheelSize^l` ticks. Un plazo se coloca en el nivel más bajo cuyo periodo actual lo
+ * contiene y baja de nivel (cascada) cuando el tiempo alcanza su ranura, así que programar
+ * y cancelar cuestan O(1) y avanzar cuesta O(1) por tick más los plazos que vencen.
+ *
+ * No es thread-safe: quien la use debe sincronizar el acceso.
+ *
+ * @param <K> Clave del plazo (programar de nuevo la misma clave sustituye el plazo anterior).
+ * @param <V> Dato asociado que se entrega al vencer.
+ */
+public class HierarchicalTimerWheel<K, V> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levels;
+
+    /** Ticks cubiertos por una ranura de cada nivel: wheelSize^nivel */
+    private final long[] slotSpan;
+
+    /** buckets[nivel][ranura] -> plazos de esa ranura */
+    private final List<List<Map<K, Entry<K, V>>>> buckets;
+
+    /** Todos los plazos pendientes, para cancelar en O(1) */
+    private final Map<K, Entry<K, V>> entries = new HashMap<>();
+
+    /** Tick absoluto hasta el que se ha avanzado */
+    private long currentTick;
+
+    /**
+     * @param tickMillis Resolución de la rueda en milisegundos.
+     * @param wheelSize Ranuras por nivel.
+     * @param levels Número de niveles; el horizonte es `wheelSize^levels` ticks.
+     * @param startMillis Instante inicial.
+     */
+    public HierarchicalTimerWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Configuración de rueda inválida");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.slotSpan = new long[levels + 1];
+        slotSpan[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            slotSpan[level] = Math.multiplyExact(slotSpan[level - 1], wheelSize);
+        }
+        this.buckets = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<Map<K, Entry<K, V>>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new LinkedHashMap<>());
+            }
+            buckets.add(slots);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Número de niveles necesario para cubrir un horizonte dado.
+     */
+    public static int levelsFor(long horizonMillis, long tickMillis, int wheelSize) {
+        long ticks = Math.max(1, horizonMillis / tickMillis + 1);
+        int levels = 1;
+        long span = wheelSize;
+        while (span <= ticks) {
+            span = Math.multiplyExact(span, wheelSize);
+            levels++;
+        }
+        return levels;
+    }
+
+    /**
+     * Programa (o reprograma) un plazo.
+     *
+     * @param key Clave del plazo.
+     * @param deadlineMillis Instante de vencimiento; si ya ha pasado, vence en el siguiente avance.
+     * @param value Dato a entregar al vencer.
+     * @return false si el plazo está más allá del horizonte de la rueda (no se programa).
+     */
+    public boolean schedule(K key, long deadlineMillis, V value) {
+        cancel(key);
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        if (tick - currentTick >= slotSpan[levels]) {
+            return false;
+        }
+        Entry<K, V> entry = new Entry<>(key, tick, value);
+        entries.put(key, entry);
+        place(entry);
+        return true;
+    }
+
+    /**
+     * Cancela un plazo pendiente.
+     *
+     * @return true si existía.
+     */
+    public boolean cancel(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        buckets.get(entry.level).get(entry.slot).remove(key);
+        return true;
+    }
+
+    /**
+     * Avanza la rueda hasta `nowMillis` entregando los plazos vencidos en orden de tick.
+     *
+     * @param nowMillis Instante actual.
+     * @param expired Receptor de cada plazo vencido (clave y dato).
+     * @return Número de plazos vencidos.
+     */
+    public int advance(long nowMillis, BiConsumer<K, V> expired) {
+        long target = nowMillis / tickMillis;
+        int count = drainCurrentSlot(expired);
+        while (currentTick < target) {
+            currentTick++;
+            // Baja a niveles inferiores los plazos de las ranuras que empiezan en este tick
+            for (int level = levels - 1; level >= 1; level--) {
+                if (currentTick % slotSpan[level] == 0) {
+                    cascade(level);
+                }
+            }
+            count += drainCurrentSlot(expired);
+        }
+        return count;
+    }
+
+    /**
+     * Número de plazos pendientes.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Dato del plazo pendiente con esa clave, o null si no lo hay.
+     */
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Indica si hay un plazo pendiente con esa clave.
+     */
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Coloca un plazo en el nivel más bajo cuyo periodo actual lo contiene.
+     */
+    private void place(Entry<K, V> entry) {
+        int level = 0;
+        while (level < levels - 1 && entry.tick / slotSpan[level + 1] != currentTick / slotSpan[level + 1]) {
+            level++;
+        }
+        entry.level = level;
+        entry.slot = (int) ((entry.tick / slotSpan[level]) % wheelSize);
+        buckets.get(level).get(entry.slot).put(entry.key, entry);
+    }
+
+    private void cascade(int level) {
+        int slot = (int) ((currentTick / slotSpan[level]) % wheelSize);
+        Map<K, Entry<K, V>> bucket = buckets.get(level).get(slot);
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Entry<K, V>> moved = new ArrayList<>(bucket.values());
+        bucket.clear();
+        moved.forEach(this::place);
+    }
+
+    private int drainCurrentSlot(BiConsumer<K, V> expired) {
+        Map<K, Entry<K, V>> bucket = buckets.get(0).get((int) (currentTick % wheelSize));
+        if (bucket.isEmpty()) {
+            return 0;
+        }
+        List<Entry<K, V>> due = new ArrayList<>(bucket.values());
+        bucket.clear();
+        for (Entry<K, V> entry : due) {
+            entries.remove(entry.key);
+            expired.accept(entry.key, entry.value);
+        }
+        return due.size();
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final long tick;
+        final V value;
+        int level;
+        int slot;
+
+        Entry(K key, long tick, V value) {
+            this.key = key;
+            this.tick = tick;
+            this.value = value;
+        }
+    }
+}
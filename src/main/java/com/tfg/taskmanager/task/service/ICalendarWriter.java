@@ -0,0 +1,136 @@
+package com.tfg.taskmanager.task.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escritor de calendarios iCalendar (RFC 5545) con eventos de día completo, uno por tarea.
+ *
+ * Escribe directamente sobre el `Writer` recibido, sin acumular el documento: las líneas
+ * terminan en CRLF, los textos se escapan y las líneas de más de 75 octetos se pliegan sin
+ * partir caracteres UTF-8. El `Writer` debe codificar en UTF-8.
+ */
+public class ICalendarWriter {
+
+    /** Longitud máxima de línea en octetos, sin contar el CRLF */
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final Writer out;
+    private final String stamp;
+
+    /**
+     * Escribe la cabecera del calendario.
+     *
+     * @param out Destino (UTF-8).
+     * @param name Nombre visible del calendario.
+     * @param stamp Momento de generación (DTSTAMP de los eventos).
+     * @param refreshInterval Cada cuánto se sugiere al cliente volver a consultar.
+     */
+    public ICalendarWriter(Writer out, String name, Instant stamp, Duration refreshInterval) throws IOException {
+        this.out = out;
+        this.stamp = TIMESTAMP.format(stamp);
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//taskmanager//Calendario de tareas//ES");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("NAME:" + escape(name));
+        line("X-WR-CALNAME:" + escape(name));
+        line("REFRESH-INTERVAL;VALUE=DURATION:" + refreshInterval);
+        line("X-PUBLISHED-TTL:" + refreshInterval);
+    }
+
+    /**
+     * Añade un evento de día completo.
+     *
+     * @param uid Identificador estable del evento (el cliente lo usa para actualizarlo).
+     * @param day Día del evento.
+     * @param summary Título.
+     * @param description Descripción (opcional).
+     * @param sequence Revisión del evento; debe crecer cada vez que cambia.
+     */
+    public void event(String uid, LocalDate day, String summary, String description, long sequence) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + stamp);
+        line("DTSTART;VALUE=DATE:" + DATE.format(day));
+        line("DTEND;VALUE=DATE:" + DATE.format(day.plusDays(1)));
+        line("SUMMARY:" + escape(summary));
+        if (description != null && !description.isEmpty()) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        line("SEQUENCE:" + sequence);
+        line("TRANSP:TRANSPARENT");
+        line("END:VEVENT");
+    }
+
+    /**
+     * Cierra el calendario y vacía el `Writer` (no lo cierra).
+     */
+    public void finish() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    /**
+     * Escapa un valor de tipo TEXT: barra invertida, punto y coma, coma y saltos de línea.
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // CRLF cuenta como un único salto
+                }
+                default -> escaped.append(c < 0x20 ? ' ' : c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Escribe una línea de contenido plegándola cada 75 octetos (las de continuación empiezan por espacio).
+     */
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int chars = Character.charCount(codePoint);
+            int size = utf8Length(codePoint);
+            if (octets + size > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(content, i, chars);
+            octets += size;
+            i += chars;
+        }
+        out.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
@@ -0,0 +1,39 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.task.model.dto.TaskDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskArchiveService {
+
+    /**
+     * Fecha de corte de una ejecución que empieza ahora: se archivan las tareas DONE
+     * terminadas antes de ella (según la edad configurada).
+     */
+    LocalDateTime archiveCutoff();
+
+    /**
+     * Mueve al archivo un lote acotado de tareas DONE terminadas antes de `cutoff`.
+     * Debe llamarse dentro de una transacción (una por lote).
+     * @return número de tareas archivadas (0 si no quedan candidatas)
+     */
+    int archiveChunk(LocalDateTime cutoff);
+
+    /**
+     * Número de tareas pendientes de archivar con la fecha de corte dada.
+     */
+    long countArchivable(LocalDateTime cutoff);
+
+    /**
+     * Lista las tareas archivadas de un proyecto, paginadas.
+     * @param username usuario autenticado (debe tener acceso al proyecto)
+     */
+    List<TaskDTO> getArchivedTasksByProject(Long projectId, int page, int size, String username);
+
+    /**
+     * Recupera una tarea archivada por su ID.
+     * @param username usuario autenticado (debe tener acceso al proyecto o ser el responsable)
+     */
+    TaskDTO getArchivedTask(Long taskId, String username);
+}
@@ -0,0 +1,141 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.project.service.ProjectAccessService;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.mapper.TaskMapper;
+import com.tfg.taskmanager.task.model.dto.TaskDTO;
+import com.tfg.taskmanager.task.model.vo.ArchivedTask;
+import com.tfg.taskmanager.task.repository.ArchivedTaskRepository;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de archivado de tareas terminadas.
+ *
+ * Mueve las tareas DONE antiguas de la tabla `tasks` a `archived_tasks` mediante
+ * sentencias set-based (INSERT ... SELECT + DELETE), sin cargar entidades.
+ * Cada lote se ejecuta en una transacción corta para no mantener bloqueos largos
+ * sobre la tabla caliente; el reparto en lotes y su reanudación los lleva
+ * {@link com.tfg.taskmanager.task.job.TaskArchiveJob}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskArchiveServiceImpl implements TaskArchiveService {
+
+    /** Repositorio de la tabla caliente de tareas */
+    private final TaskRepository taskRepository;
+
+    /** Repositorio del archivo */
+    private final ArchivedTaskRepository archivedRepository;
+
+    /** Mapper encargado de convertir entre DTOs y entidades */
+    private final TaskMapper mapper;
+
+    /** Publicador de eventos de dominio (índices y vistas derivadas) */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Proyectos accesibles por usuario (en memoria) */
+    private final ProjectAccessService accessService;
+
+    /** Días que debe llevar una tarea terminada antes de archivarse */
+    @Value("${task.archive.min-age-days:30}")
+    private int minAgeDays;
+
+    /** Tamaño máximo de cada lote */
+    @Value("${task.archive.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Fecha de corte para una ejecución que empieza ahora.
+     */
+    @Override
+    public LocalDateTime archiveCutoff() {
+        return LocalDateTime.now().minusDays(minAgeDays);
+    }
+
+    /**
+     * Mueve un único lote. Debe ejecutarse dentro de una transacción.
+     *
+     * @return número de tareas archivadas (0 si no quedan candidatas).
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int archiveChunk(LocalDateTime cutoff) {
+        List<TaskRepository.TaskRef> batch = taskRepository.lockArchivableTasks(cutoff, chunkSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = batch.stream().map(TaskRepository.TaskRef::getId).toList();
+        Set<Long> projectIds = batch.stream()
+                .map(TaskRepository.TaskRef::getProjectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        archivedRepository.copyFromTasks(ids, LocalDateTime.now());
+        archivedRepository.copyTagsFromTasks(ids);
+        taskRepository.deleteTagsByTaskIds(ids);
+        int moved = taskRepository.deleteByIds(ids);
+
+        eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.ChangeType.ARCHIVED, projectIds, ids));
+        return moved;
+    }
+
+    /**
+     * Número de tareas pendientes de archivar con la fecha de corte dada.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countArchivable(LocalDateTime cutoff) {
+        return taskRepository.countArchivable(cutoff);
+    }
+
+    /**
+     * Lista las tareas archivadas de un proyecto.
+     *
+     * @param projectId ID del proyecto.
+     * @param page Número de página (empezando en 0).
+     * @param size Tamaño de página.
+     * @param username Usuario autenticado.
+     * @return Lista de tareas archivadas en formato DTO.
+     * @throws ResponseStatusException 404 si el usuario no tiene acceso al proyecto.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getArchivedTasksByProject(Long projectId, int page, int size, String username) {
+        accessService.checkProject(username, projectId);
+        return archivedRepository.findByProjectIdOrderByIdAsc(projectId, PageRequest.of(page, size))
+                .stream()
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recupera una tarea archivada por su ID.
+     *
+     * @throws ResponseStatusException 404 si la tarea no está en el archivo o el usuario no tiene acceso.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskDTO getArchivedTask(Long taskId, String username) {
+        ArchivedTask task = archivedRepository.findById(taskId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarea archivada no encontrada"));
+        accessService.checkTask(username, task.getProjectId(), task.getAssignedTo());
+        return mapper.toDTO(task);
+    }
+}
@@ -0,0 +1,223 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.task.model.dto.TaskBoardColumnDTO;
+import com.tfg.taskmanager.task.model.dto.TaskBoardDTO;
+import com.tfg.taskmanager.task.model.dto.TaskCardDTO;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tablero Kanban de un proyecto en memoria: una columna por estado con sus tarjetas ordenadas
+ * por posición (las tareas sin posición al final) y, a igualdad, por ID.
+ *
+ * Cada columna es un conjunto ordenado, así que mover, crear o quitar una tarjeta cuesta
+ * O(log n). La vista que se devuelve al cliente se genera una vez por revisión y se reutiliza
+ * mientras el tablero no cambie. Protegido con un cerrojo de lectura/escritura.
+ */
+public class TaskBoard {
+
+    /** Orden dentro de una columna */
+    static final Comparator<TaskCardDTO> CARD_ORDER = Comparator
+            .comparing(TaskCardDTO::getPosition, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TaskCardDTO::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Long projectId;
+
+    /** ID de tarea -> tarjeta y columna en la que está */
+    private final Map<Long, Placed> cards = new HashMap<>();
+
+    /** Columnas en el orden de `TaskStatus` */
+    private final Map<TaskStatus, NavigableSet<TaskCardDTO>> columns = new EnumMap<>(TaskStatus.class);
+
+    /** Revisión actual: cambia con cada modificación efectiva */
+    private long revision;
+
+    /** Vista generada para `revision`, o null si hay que volver a generarla */
+    private TaskBoardDTO view;
+
+    /** Tamaño aproximado de las tarjetas en bytes */
+    private long cardBytes;
+
+    /**
+     * @param projectId Proyecto del tablero.
+     * @param revision Revisión inicial.
+     */
+    public TaskBoard(Long projectId, long revision) {
+        this.projectId = projectId;
+        this.revision = revision;
+        for (TaskStatus status : TaskStatus.values()) {
+            columns.put(status, new TreeSet<>(CARD_ORDER));
+        }
+    }
+
+    /**
+     * Añade o sustituye tarjetas. Una tarjeta con una versión anterior a la que ya hay en el
+     * tablero se ignora (el aviso llegó tarde respecto a otro más reciente).
+     *
+     * @param revision Revisión que toma el tablero si cambia algo.
+     * @return true si el tablero ha cambiado.
+     */
+    public boolean upsertAll(Collection<Card> updates, long revision) {
+        lock.writeLock().lock();
+        try {
+            boolean changed = false;
+            for (Card update : updates) {
+                Placed current = cards.get(update.card().getId());
+                if (current != null) {
+                    if (isNewer(current.card(), update.card())) {
+                        continue;
+                    }
+                    detach(current);
+                }
+                attach(new Placed(update.card(), columnOf(update.status())));
+                changed = true;
+            }
+            return changed && bump(revision);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita las tarjetas de las tareas indicadas (las que no están se ignoran).
+     *
+     * @param revision Revisión que toma el tablero si cambia algo.
+     * @return true si el tablero ha cambiado.
+     */
+    public boolean removeAll(Collection<Long> taskIds, long revision) {
+        lock.writeLock().lock();
+        try {
+            boolean changed = false;
+            for (Long taskId : taskIds) {
+                Placed current = cards.remove(taskId);
+                if (current != null) {
+                    columns.get(current.status()).remove(current.card());
+                    cardBytes -= weight(current.card());
+                    changed = true;
+                }
+            }
+            return changed && bump(revision);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vista del tablero para el cliente. Se comparte entre peticiones mientras no haya
+     * cambios, así que no debe modificarse.
+     */
+    public TaskBoardDTO view() {
+        lock.readLock().lock();
+        try {
+            if (view != null) {
+                return view;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (view == null) {
+                List<TaskBoardColumnDTO> result = new ArrayList<>(columns.size());
+                columns.forEach((status, column) -> result.add(TaskBoardColumnDTO.builder()
+                        .status(status)
+                        .count(column.size())
+                        .tasks(List.copyOf(column))
+                        .build()));
+                view = TaskBoardDTO.builder()
+                        .projectId(projectId)
+                        .columns(result)
+                        .revision(revision)
+                        .build();
+            }
+            return view;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Número de tarjetas del tablero.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cards.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tamaño aproximado en memoria (tarjetas, entradas de los índices y vista generada),
+     * usado como peso en la caché.
+     */
+    public int estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            // Cada tarjeta ocupa una entrada en el mapa por ID, otra en su columna y otra en la vista
+            long bytes = 512L + cardBytes + cards.size() * 120L;
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void attach(Placed placed) {
+        cards.put(placed.card().getId(), placed);
+        columns.get(placed.status()).add(placed.card());
+        cardBytes += weight(placed.card());
+    }
+
+    private void detach(Placed placed) {
+        columns.get(placed.status()).remove(placed.card());
+        cardBytes -= weight(placed.card());
+    }
+
+    private boolean bump(long newRevision) {
+        revision = newRevision;
+        view = null;
+        return true;
+    }
+
+    private static boolean isNewer(TaskCardDTO current, TaskCardDTO update) {
+        return current.getVersion() != null && update.getVersion() != null
+                && current.getVersion() > update.getVersion();
+    }
+
+    /**
+     * Las tareas sin estado se muestran como pendientes.
+     */
+    private static TaskStatus columnOf(TaskStatus status) {
+        return status != null ? status : TaskStatus.TODO;
+    }
+
+    private static long weight(TaskCardDTO card) {
+        long bytes = 96L + text(card.getTitle()) + text(card.getAssignedTo());
+        if (card.getTags() != null) {
+            for (String tag : card.getTags()) {
+                bytes += 16L + text(tag);
+            }
+        }
+        return bytes;
+    }
+
+    private static long text(String value) {
+        return value == null ? 0 : 40L + value.length();
+    }
+
+    /**
+     * Tarjeta junto al estado de la tarea (la columna en la que va).
+     */
+    public record Card(TaskStatus status, TaskCardDTO card) {
+    }
+
+    private record Placed(TaskCardDTO card, TaskStatus status) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.tfg.taskmanager.task.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.project.service.ProjectAccessService;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.model.dto.TaskBoardDTO;
+import com.tfg.taskmanager.task.model.dto.TaskCardDTO;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskBoardRow;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskTagPair;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Tableros Kanban por proyecto (modelo de lectura en memoria).
+ *
+ * Cada tablero se construye la primera vez que se pide (dos consultas: tarjetas y etiquetas),
+ * se actualiza de forma incremental con cada `TaskChangedEvent` confirmado (o aviso de otro
+ * nodo) consultando sólo las tareas afectadas, y se expulsa de memoria (LRU) cuando se supera
+ * `board.cache.max-bytes`. Un tablero cargado se sirve sin tocar la base de datos.
+ *
+ * Las revisiones se toman de un contador global inicializado con la hora de arranque, así que
+ * un tablero reconstruido tras una expulsión o un reinicio nunca repite el ETag de otro anterior.
+ *
+ * Mientras un tablero se construye aún no está en la caché, así que los cambios que llegan
+ * entonces se apuntan en la construcción en curso y se vuelven a aplicar al terminarla.
+ */
+@Slf4j
+@Service
+public class TaskBoardService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectAccessService accessService;
+
+    /** Generador de revisiones únicas */
+    private final AtomicLong revisionSequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    /** Tableros cargados, con peso aproximado en bytes */
+    private final Cache<Long, TaskBoard> boards;
+
+    /** Consultas esperando a que se construya un tablero, con los cambios recibidos mientras tanto */
+    private final Set<Build> building = ConcurrentHashMap.newKeySet();
+
+    public TaskBoardService(
+            TaskRepository taskRepository,
+            ProjectAccessService accessService,
+            @Value("${board.cache.max-bytes:134217728}") long maxBytes) {
+        this.taskRepository = taskRepository;
+        this.accessService = accessService;
+        this.boards = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long projectId, TaskBoard board) -> board.estimatedBytes())
+                .build();
+    }
+
+    /**
+     * Devuelve el tablero de un proyecto, con sus tarjetas agrupadas por estado y ordenadas.
+     *
+     * @param projectId Proyecto.
+     * @param username Usuario que consulta.
+     * @return Vista del tablero (compartida: no debe modificarse).
+     * @throws org.springframework.web.server.ResponseStatusException 404 si el usuario no accede al proyecto.
+     */
+    public TaskBoardDTO getBoard(Long projectId, String username) {
+        accessService.checkProject(username, projectId);
+        TaskBoard board = boards.getIfPresent(projectId);
+        return (board != null ? board : load(projectId)).view();
+    }
+
+    /**
+     * ETag de una vista del tablero. Es débil para que Tomcat siga comprimiendo la respuesta
+     * (con `server.compression` no se comprimen las que llevan un ETag fuerte).
+     */
+    public static String etag(TaskBoardDTO board) {
+        return "W/\"b" + Long.toHexString(board.getRevision()) + "\"";
+    }
+
+    /**
+     * Mantiene los tableros cargados al confirmarse cambios en tareas.
+     * Los proyectos sin tablero en memoria ni en construcción se ignoran: se construirán ya con los datos nuevos.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.ChangeType.ARCHIVED) {
+            remove(event.getProjectIds(), event.getTaskIds());
+        } else {
+            upsert(event.getProjectIds(), event.getTaskIds());
+        }
+    }
+
+    /**
+     * Aplica los cambios de tareas confirmados en otros nodos.
+     */
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (event.isAll()) {
+            building.forEach(Build::markStale);
+            boards.invalidateAll();
+            return;
+        }
+        if (!event.getDeletedTaskIds().isEmpty()) {
+            remove(event.getTaskProjectIds(), event.getDeletedTaskIds());
+        }
+        if (!event.getUpsertedTaskIds().isEmpty()) {
+            upsert(event.getTaskProjectIds(), event.getUpsertedTaskIds());
+        }
+    }
+
+    private void remove(Collection<Long> projectIds, Collection<Long> taskIds) {
+        record(projectIds, taskIds);
+        for (Long projectId : projectIds) {
+            boards.asMap().computeIfPresent(projectId, (id, board) -> {
+                board.removeAll(taskIds, revisionSequence.incrementAndGet());
+                return board;
+            });
+        }
+    }
+
+    /**
+     * Vuelve a leer las tareas indicadas y las coloca en los tableros cargados de sus proyectos.
+     * Las que ya no pertenecen al proyecto (o no existen) se quitan de su tablero.
+     */
+    private void upsert(Collection<Long> projectIds, Collection<Long> taskIds) {
+        record(projectIds, taskIds);
+        List<Long> loaded = projectIds.stream()
+                .filter(projectId -> boards.getIfPresent(projectId) != null)
+                .toList();
+        if (loaded.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<TaskBoard.Card>> byProject = cards(
+                taskRepository.findBoardRowsByIds(taskIds), taskRepository.findBoardTagsByIds(taskIds));
+
+        for (Long projectId : loaded) {
+            List<TaskBoard.Card> projectCards = byProject.getOrDefault(projectId, List.of());
+            Set<Long> gone = new HashSet<>(taskIds);
+            projectCards.forEach(card -> gone.remove(card.card().getId()));
+            boards.asMap().computeIfPresent(projectId, (id, board) -> {
+                long revision = revisionSequence.incrementAndGet();
+                board.removeAll(gone, revision);
+                board.upsertAll(projectCards, revision);
+                return board;
+            });
+        }
+    }
+
+    /**
+     * Apunta las tareas cambiadas en las construcciones en curso de sus proyectos. Se hace antes
+     * de mirar la caché: un cambio que llega cuando la construcción ya ha terminado encuentra el
+     * tablero cargado y se aplica directamente.
+     */
+    private void record(Collection<Long> projectIds, Collection<Long> taskIds) {
+        for (Build build : building) {
+            if (projectIds.contains(build.projectId)) {
+                build.changedTaskIds.addAll(taskIds);
+            }
+        }
+    }
+
+    /**
+     * Obtiene un tablero que no estaba cargado (construyéndolo, o esperando a quien ya lo construye)
+     * y le aplica de nuevo los cambios recibidos mientras tanto, que la construcción pudo leer antes
+     * de confirmarse.
+     */
+    private TaskBoard load(Long projectId) {
+        Build build = new Build(projectId);
+        building.add(build);
+        TaskBoard board;
+        try {
+            board = boards.get(projectId, this::build);
+        } finally {
+            building.remove(build);
+        }
+
+        if (build.stale) {
+            boards.asMap().remove(projectId, board);
+        } else if (!build.changedTaskIds.isEmpty()) {
+            upsert(List.of(projectId), List.copyOf(build.changedTaskIds));
+        }
+        return board;
+    }
+
+    /**
+     * Construye el tablero de un proyecto a partir de la base de datos.
+     */
+    private TaskBoard build(Long projectId) {
+        List<TaskBoardRow> rows = taskRepository.findBoardRowsByProjectId(projectId);
+        List<TaskBoard.Card> cards = cards(rows, taskRepository.findBoardTagsByProjectId(projectId))
+                .getOrDefault(projectId, List.of());
+
+        long revision = revisionSequence.incrementAndGet();
+        TaskBoard board = new TaskBoard(projectId, revision);
+        board.upsertAll(cards, revision);
+        log.debug("Tablero del proyecto {} construido ({} tareas)", projectId, rows.size());
+        return board;
+    }
+
+    /**
+     * Une las filas de tareas con sus etiquetas y las agrupa por proyecto.
+     */
+    private static Map<Long, List<TaskBoard.Card>> cards(List<TaskBoardRow> rows, List<TaskTagPair> tagRows) {
+        Map<Long, List<String>> tags = tagRows.stream()
+                .filter(row -> row.tag() != null)
+                .collect(Collectors.groupingBy(TaskTagPair::taskId,
+                        Collectors.mapping(TaskTagPair::tag, Collectors.toList())));
+
+        return rows.stream()
+                .filter(row -> row.projectId() != null)
+                .collect(Collectors.groupingBy(TaskBoardRow::projectId, Collectors.mapping(row ->
+                        new TaskBoard.Card(row.status(), TaskCardDTO.builder()
+                                .id(row.id())
+                                .title(row.title())
+                                .assignedTo(row.assignedTo())
+                                .priority(row.priority())
+                                .dueDate(row.dueDate())
+                                .position(row.position())
+                                .tags(List.copyOf(tags.getOrDefault(row.id(), List.of())))
+                                .version(row.version())
+                                .build()),
+                        Collectors.toList())));
+    }
+
+    /**
+     * Espera de un tablero en construcción, con los cambios recibidos mientras tanto.
+     */
+    private static final class Build {
+
+        private final Long projectId;
+
+        /** Tareas del proyecto cambiadas durante la construcción */
+        private final Set<Long> changedTaskIds = ConcurrentHashMap.newKeySet();
+
+        /** Se ha descartado todo (aviso de otro nodo): el tablero no debe quedarse en caché */
+        private volatile boolean stale;
+
+        private Build(Long projectId) {
+            this.projectId = projectId;
+        }
+
+        private void markStale() {
+            stale = true;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.tfg.taskmanager.task.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.project.service.ProjectAccessService;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskBoardRow;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskDueRow;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Feeds de calendario (iCalendar o JSON) con las tareas que tienen fecha límite, por proyecto
+ * o por responsable y dentro de una ventana de fechas.
+ *
+ * Un feed se genera con una única consulta de rango sobre `due_date` (índices
+ * `idx_tasks_project_due` e `idx_tasks_assignee_due`) que se lee por bloques y se escribe en la
+ * respuesta según llega, sin cargar todas las tareas en memoria. A la vez se guarda una copia de
+ * lo escrito (si no pasa de `calendar.cache.max-feed-bytes`), de modo que las siguientes consultas
+ * del mismo feed (los clientes de calendario sondean cada pocos minutos) se responden desde
+ * memoria o con un 304 si el cliente ya tiene la versión vigente.
+ *
+ * Un feed guardado se descarta al confirmarse un cambio que puede afectarle: los de proyecto,
+ * cuando cambia una tarea de ese proyecto; los de responsable, cuando cambia una tarea que
+ * contienen (p. ej. al reasignarla a otro) o una tarea que ahora es suya. Los cambios que llegan
+ * mientras un feed se está generando impiden guardarlo, ya que puede no incluirlos.
+ *
+ * La versión (ETag) es una huella de las tareas del feed (IDs y `version`) calculada en la base de
+ * datos, así que sólo cambia cuando cambian los datos y es la misma en todos los nodos. Sin feed
+ * guardado basta esa consulta para responder 304; al generarlo se vuelve a calcular en la misma
+ * instantánea (REPEATABLE READ) que las tareas escritas, y con ella se guarda.
+ */
+@Slf4j
+@Service
+public class TaskCalendarService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectAccessService accessService;
+    private final ObjectMapper objectMapper;
+
+    /** Transacción de sólo lectura para leer la huella y las tareas por bloques en la misma instantánea */
+    private final TransactionTemplate readOnlyTransaction;
+
+    /** Ventana por defecto hacia atrás y hacia delante desde hoy */
+    private final Period defaultPast;
+    private final Period defaultFuture;
+
+    /** Días máximos de una ventana */
+    private final long maxWindowDays;
+
+    /** Intervalo de consulta que se sugiere a los clientes de calendario */
+    private final Duration refreshInterval;
+
+    /** Tamaño máximo de un feed para guardarlo en memoria */
+    private final int maxFeedBytes;
+
+    /** Feeds generados, con peso aproximado en bytes */
+    private final Cache<FeedKey, Feed> feeds;
+
+    /** Generaciones en curso; las invalidaciones y el guardado de feeds se sincronizan sobre este conjunto */
+    private final Set<Build> building = ConcurrentHashMap.newKeySet();
+
+    public TaskCalendarService(
+            TaskRepository taskRepository,
+            ProjectAccessService accessService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${calendar.default-past:P30D}") Period defaultPast,
+            @Value("${calendar.default-future:P365D}") Period defaultFuture,
+            @Value("${calendar.max-window-days:800}") long maxWindowDays,
+            @Value("${calendar.refresh-interval:PT15M}") Duration refreshInterval,
+            @Value("${calendar.cache.max-bytes:134217728}") long maxBytes,
+            @Value("${calendar.cache.max-feed-bytes:16777216}") int maxFeedBytes,
+            @Value("${calendar.cache.expire-after-access:PT2H}") Duration expireAfterAccess) {
+        this.taskRepository = taskRepository;
+        this.accessService = accessService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.defaultPast = defaultPast;
+        this.defaultFuture = defaultFuture;
+        this.maxWindowDays = maxWindowDays;
+        this.refreshInterval = refreshInterval;
+        this.maxFeedBytes = maxFeedBytes;
+        this.feeds = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((FeedKey key, Feed feed) -> feed.body().length + (int) feed.taskIds().getLongSizeInBytes())
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * Formatos de feed.
+     */
+    public enum Format {
+        ICS("text/calendar;charset=UTF-8"),
+        JSON("application/json");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    /**
+     * Identifica un feed: proyecto o responsable (uno de los dos), ventana de fechas y formato.
+     */
+    public record FeedKey(Long projectId, String assignee, LocalDate from, LocalDate to, Format format) {
+    }
+
+    /**
+     * Feed listo para servir. Si `body` es null aún no se ha generado y se generará al escribirlo.
+     * `version` es la huella de sus tareas.
+     */
+    public record Feed(FeedKey key, long version, byte[] body, Roaring64Bitmap taskIds) {
+
+        /**
+         * ETag del feed. Es débil para que Tomcat siga comprimiendo la respuesta (y el DTSTAMP
+         * del iCalendar cambia en cada generación). Incluye el formato, que puede negociarse con `Accept`.
+         */
+        public String etag() {
+            return "W/\"c" + key.format().name().charAt(0) + Long.toHexString(version) + "\"";
+        }
+    }
+
+    /**
+     * Feed de las tareas de un proyecto.
+     *
+     * @param projectId Proyecto.
+     * @param username Usuario que consulta.
+     * @param from Primer día (opcional; por defecto `calendar.default-past` antes de hoy).
+     * @param to Último día (opcional; por defecto `calendar.default-future` después de hoy).
+     * @param format Formato del feed.
+     * @return El feed guardado o, si no lo hay, uno pendiente de generar con la huella actual de sus tareas.
+     * @throws ResponseStatusException 404 si el usuario no accede al proyecto, 400 si la ventana no es válida.
+     */
+    public Feed projectFeed(Long projectId, String username, LocalDate from, LocalDate to, Format format) {
+        accessService.checkProject(username, projectId);
+        return open(window(projectId, null, from, to, format));
+    }
+
+    /**
+     * Feed de las tareas asignadas al usuario que consulta (de cualquier proyecto).
+     *
+     * @see #projectFeed(Long, String, LocalDate, LocalDate, Format)
+     */
+    public Feed assigneeFeed(String username, LocalDate from, LocalDate to, Format format) {
+        return open(window(null, username, from, to, format));
+    }
+
+    /**
+     * Escribe el feed en la salida. Si no estaba generado, lo genera leyendo las tareas por
+     * bloques y lo guarda para las siguientes consultas con la huella de lo que se ha escrito
+     * (que puede ser más nueva que la del ETag enviado si algo cambió entre medias).
+     */
+    public void write(Feed feed, OutputStream out) throws IOException {
+        if (feed.body() != null) {
+            out.write(feed.body());
+            return;
+        }
+
+        FeedKey key = feed.key();
+        Build build = new Build(key);
+        building.add(build);
+        try {
+            CopyingOutputStream copy = new CopyingOutputStream(out, maxFeedBytes);
+            Roaring64Bitmap taskIds = new Roaring64Bitmap();
+            long version = readOnlyTransaction.execute(status -> {
+                long digest = digest(key);
+                try (Stream<TaskBoardRow> rows = key.projectId() != null
+                        ? taskRepository.streamCalendarByProject(key.projectId(), key.from(), key.to())
+                        : taskRepository.streamCalendarByAssignee(key.assignee(), key.from(), key.to())) {
+                    Iterator<TaskBoardRow> iterator = rows.peek(row -> taskIds.addLong(row.id())).iterator();
+                    if (key.format() == Format.ICS) {
+                        writeCalendar(key, iterator, copy);
+                    } else {
+                        writeJson(iterator, copy);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return digest;
+            });
+            store(build, new Feed(key, version, copy.copy(), taskIds));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            building.remove(build);
+        }
+    }
+
+    /**
+     * Descarta los feeds afectados por cambios confirmados en tareas.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(event.getProjectIds(), event.getTaskIds(),
+                event.getType() != TaskChangedEvent.ChangeType.ARCHIVED);
+    }
+
+    /**
+     * Descarta los feeds afectados por cambios confirmados en otros nodos.
+     */
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (event.isAll()) {
+            synchronized (building) {
+                building.forEach(Build::markStale);
+                feeds.invalidateAll();
+            }
+            return;
+        }
+        if (!event.getDeletedTaskIds().isEmpty()) {
+            invalidate(event.getTaskProjectIds(), event.getDeletedTaskIds(), false);
+        }
+        if (!event.getUpsertedTaskIds().isEmpty()) {
+            invalidate(event.getTaskProjectIds(), event.getUpsertedTaskIds(), true);
+        }
+    }
+
+    /**
+     * @param mayHaveNewAssignee Si las tareas siguen existiendo y pueden haber entrado en el feed de otro responsable.
+     */
+    private void invalidate(Collection<Long> projectIds, Collection<Long> taskIds, boolean mayHaveNewAssignee) {
+        if (feeds.estimatedSize() == 0 && building.isEmpty()) {
+            return;
+        }
+        Set<String> assignees = mayHaveNewAssignee && hasAssigneeFeeds()
+                ? taskRepository.findDueRowsByIds(taskIds).stream()
+                        .map(TaskDueRow::getAssignedTo)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())
+                : Set.of();
+
+        synchronized (building) {
+            for (Build build : building) {
+                if (affects(build.key, projectIds, assignees)) {
+                    build.markStale();
+                } else if (build.key.assignee() != null) {
+                    build.changedTaskIds.addAll(taskIds);
+                }
+            }
+            feeds.asMap().entrySet().removeIf(entry -> affects(entry.getKey(), projectIds, assignees)
+                    || (entry.getKey().assignee() != null && containsAny(entry.getValue().taskIds(), taskIds)));
+        }
+    }
+
+    private boolean hasAssigneeFeeds() {
+        return building.stream().anyMatch(build -> build.key.assignee() != null)
+                || feeds.asMap().keySet().stream().anyMatch(key -> key.assignee() != null);
+    }
+
+    private static boolean affects(FeedKey key, Collection<Long> projectIds, Set<String> assignees) {
+        return key.projectId() != null ? projectIds.contains(key.projectId()) : assignees.contains(key.assignee());
+    }
+
+    private static boolean containsAny(Roaring64Bitmap taskIds, Collection<Long> changed) {
+        for (Long taskId : changed) {
+            if (taskIds.contains(taskId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Guarda un feed recién generado salvo que algún cambio llegado mientras se generaba pueda afectarle
+     * o no se haya podido copiar entero.
+     */
+    private void store(Build build, Feed feed) {
+        if (feed.body() == null) {
+            log.debug("Feed de calendario {} demasiado grande para guardarlo", feed.key());
+            return;
+        }
+        synchronized (building) {
+            if (!build.stale && !containsAny(feed.taskIds(), build.changedTaskIds)) {
+                feeds.put(feed.key(), feed);
+            }
+        }
+    }
+
+    private Feed open(FeedKey key) {
+        Feed cached = feeds.getIfPresent(key);
+        return cached != null ? cached : new Feed(key, digest(key), null, null);
+    }
+
+    private long digest(FeedKey key) {
+        return key.projectId() != null
+                ? taskRepository.calendarDigestByProject(key.projectId(), key.from(), key.to())
+                : taskRepository.calendarDigestByAssignee(key.assignee(), key.from(), key.to());
+    }
+
+    /**
+     * Completa y valida la ventana de fechas.
+     */
+    private FeedKey window(Long projectId, String assignee, LocalDate from, LocalDate to, Format format) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = from != null ? from : today.minus(defaultPast);
+        LocalDate end = to != null ? to : today.plus(defaultFuture);
+        if (end.isBefore(start)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "`to` no puede ser anterior a `from`");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > maxWindowDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La ventana no puede superar " + maxWindowDays + " días");
+        }
+        return new FeedKey(projectId, assignee, start, end, format);
+    }
+
+    private void writeCalendar(FeedKey key, Iterator<TaskBoardRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        String name = key.projectId() != null
+                ? "Tareas del proyecto " + key.projectId()
+                : "Tareas de " + key.assignee();
+        ICalendarWriter calendar = new ICalendarWriter(writer, name, Instant.now(), refreshInterval);
+        while (rows.hasNext()) {
+            TaskBoardRow row = rows.next();
+            String summary = row.status() == TaskStatus.DONE ? "✔ " + row.title() : row.title();
+            String description = "Estado: " + row.status()
+                    + "\nPrioridad: " + row.priority()
+                    + "\nResponsable: " + (row.assignedTo() != null ? row.assignedTo() : "sin asignar")
+                    + "\nProyecto: " + row.projectId();
+            calendar.event("task-" + row.id() + "@taskmanager", row.dueDate(), summary, description,
+                    row.version() != null ? row.version() : 0);
+        }
+        calendar.finish();
+    }
+
+    private void writeJson(Iterator<TaskBoardRow> rows, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            while (rows.hasNext()) {
+                TaskBoardRow row = rows.next();
+                json.writeStartObject();
+                json.writeNumberField("id", row.id());
+                json.writeNumberField("projectId", row.projectId());
+                json.writeStringField("title", row.title());
+                json.writeStringField("assignedTo", row.assignedTo());
+                json.writeStringField("status", row.status() != null ? row.status().name() : null);
+                json.writeStringField("priority", row.priority() != null ? row.priority().name() : null);
+                json.writeStringField("dueDate", row.dueDate().toString());
+                if (row.version() != null) {
+                    json.writeNumberField("version", row.version());
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+    }
+
+    /**
+     * Generación en curso de un feed, con los cambios recibidos mientras tanto.
+     */
+    private static final class Build {
+
+        private final FeedKey key;
+
+        /** Tareas cambiadas durante la generación (sólo feeds de responsable) */
+        private final Set<Long> changedTaskIds = ConcurrentHashMap.newKeySet();
+
+        private volatile boolean stale;
+
+        private Build(FeedKey key) {
+            this.key = key;
+        }
+
+        private void markStale() {
+            stale = true;
+        }
+    }
+
+    /**
+     * Reenvía lo escrito a la salida y guarda una copia mientras no supere el límite.
+     */
+    private static final class CopyingOutputStream extends FilterOutputStream {
+
+        private final int limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream(8 * 1024);
+
+        private CopyingOutputStream(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+
+        /**
+         * Bytes escritos, o null si superaron el límite.
+         */
+        private byte[] copy() {
+            return copy != null ? copy.toByteArray() : null;
+        }
+    }
+}
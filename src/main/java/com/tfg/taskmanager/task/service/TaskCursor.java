@@ -0,0 +1,80 @@
+package com.tfg.taskmanager.task.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor de paginación por keyset: campo de ordenación, valor de ese campo y ID
+ * de la última tarea devuelta. Se serializa como texto Base64 URL-safe opaco para el cliente.
+ */
+final class TaskCursor {
+
+    /** Campos por los que se puede ordenar y paginar */
+    enum SortField {
+        CREATED_AT("createdAt"),
+        DUE_DATE("dueDate"),
+        ID("id");
+
+        final String attribute;
+
+        SortField(String attribute) {
+            this.attribute = attribute;
+        }
+
+        static SortField from(String value) {
+            if (value == null || value.isBlank()) {
+                return CREATED_AT;
+            }
+            for (SortField field : values()) {
+                if (field.attribute.equalsIgnoreCase(value)) {
+                    return field;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo de ordenación no soportado: " + value);
+        }
+    }
+
+    final SortField field;
+    final Comparable<?> value;
+    final long id;
+
+    TaskCursor(SortField field, Comparable<?> value, long id) {
+        this.field = field;
+        this.value = value;
+        this.id = id;
+    }
+
+    String encode() {
+        String raw = field.attribute + "|" + (value == null ? "" : value.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor y comprueba que corresponde al orden pedido.
+     *
+     * @throws ResponseStatusException 400 si el cursor es inválido o de otra ordenación.
+     */
+    static TaskCursor decode(String cursor, SortField expected) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(expected.attribute)) {
+                throw new IllegalArgumentException("Cursor de otra ordenación");
+            }
+            Comparable<?> value = parts[1].isEmpty() ? null : switch (expected) {
+                case CREATED_AT -> LocalDateTime.parse(parts[1]);
+                case DUE_DATE -> LocalDate.parse(parts[1]);
+                case ID -> Long.valueOf(parts[1]);
+            };
+            return new TaskCursor(expected, value, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.event.TaskDueEvent;
+import com.tfg.taskmanager.task.event.TaskDueEventSink;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskDueRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Motor de avisos de fecha límite (próxima a vencer y vencida).
+ *
+ * Sólo mantiene en memoria los plazos de la ventana `task.due.look-ahead`: los carga con una
+ * consulta de rango sobre `due_date` (índice parcial de tareas abiertas), los guarda en una
+ * {@link HierarchicalTimerWheel} y amplía la ventana poco a poco según avanza el tiempo. Las
+ * altas y cambios de fecha, estado o responsable se aplican de forma incremental a partir
+ * de `TaskChangedEvent` y de los avisos de otros nodos. Los avisos se entregan a todos los
+ * {@link TaskDueEventSink}.
+ *
+ * Los plazos que ya habían pasado al arrancar no se vuelven a avisar; sí se avisa al
+ * momento de las tareas nuevas o reprogramadas que ya están dentro del margen de aviso.
+ * Al editar otros campos de una tarea no se repiten avisos ya entregados.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "task.due.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskDueDateScheduler {
+
+    /** Ranuras por nivel de la rueda */
+    private static final int WHEEL_SIZE = 64;
+
+    private final TaskRepository taskRepository;
+    private final List<TaskDueEventSink> sinks;
+    private final Duration tick;
+    private final Duration lookAhead;
+    private final Duration dueSoonLead;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /** Plazos pendientes; acceso siempre sincronizado sobre `this` */
+    private HierarchicalTimerWheel<DueKey, TaskDueEvent> wheel;
+
+    /** Última fecha límite cargada en la rueda (inclusive) */
+    private LocalDate loadedUntil;
+
+    public TaskDueDateScheduler(
+            TaskRepository taskRepository,
+            List<TaskDueEventSink> sinks,
+            @Value("${task.due.tick:PT1M}") Duration tick,
+            @Value("${task.due.look-ahead:P7D}") Duration lookAhead,
+            @Value("${task.due.due-soon-lead:P1D}") Duration dueSoonLead) {
+        this.taskRepository = taskRepository;
+        this.sinks = sinks;
+        this.tick = tick;
+        this.lookAhead = lookAhead;
+        this.dueSoonLead = dueSoonLead;
+    }
+
+    /**
+     * Carga inicial de la ventana. Se hace al terminar el arranque para no necesitar
+     * base de datos durante el refresco del contexto.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long now = System.currentTimeMillis();
+        // Horizonte: ventana + margen de aviso + el día de la fecha límite
+        long horizon = lookAhead.plus(dueSoonLead).plusDays(2).toMillis();
+        synchronized (this) {
+            wheel = new HierarchicalTimerWheel<>(tick.toMillis(), WHEEL_SIZE,
+                    HierarchicalTimerWheel.levelsFor(horizon, tick.toMillis(), WHEEL_SIZE), now);
+            loadedUntil = LocalDate.now(zone).minusDays(1);
+        }
+        extendWindow();
+    }
+
+    /**
+     * Avanza la rueda, entrega los avisos vencidos y amplía la ventana si hace falta.
+     */
+    @Scheduled(fixedDelayString = "${task.due.tick:PT1M}", initialDelayString = "${task.due.tick:PT1M}")
+    public void advance() {
+        List<TaskDueEvent> due = new ArrayList<>();
+        boolean extend;
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            wheel.advance(System.currentTimeMillis(), (key, event) -> due.add(event));
+            extend = windowEnd().isAfter(loadedUntil);
+        }
+        due.forEach(this::dispatch);
+
+        if (extend) {
+            extendWindow();
+        }
+    }
+
+    /**
+     * Mantiene los plazos al confirmarse cambios en tareas.
+     * Sólo se consultan las tareas afectadas, nunca la tabla completa.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.ChangeType.ARCHIVED) {
+            cancelAll(event.getTaskIds());
+        } else if (event.getType() == TaskChangedEvent.ChangeType.CREATED) {
+            scheduleCreated(event.getTaskIds());
+        } else {
+            refresh(event.getTaskIds());
+        }
+    }
+
+    /**
+     * Aplica los cambios de tareas confirmados en otros nodos. Si no se sabe qué ha cambiado,
+     * vuelve a cargar la ventana completa.
+     */
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (event.isAll()) {
+            start();
+            return;
+        }
+        if (!event.getDeletedTaskIds().isEmpty()) {
+            cancelAll(event.getDeletedTaskIds());
+        }
+        if (!event.getUpsertedTaskIds().isEmpty()) {
+            refresh(event.getUpsertedTaskIds());
+        }
+    }
+
+    private void cancelAll(List<Long> taskIds) {
+        synchronized (this) {
+            if (wheel != null) {
+                taskIds.forEach(this::cancel);
+            }
+        }
+    }
+
+    private void refresh(List<Long> taskIds) {
+        List<TaskDueRow> rows = taskRepository.findDueRowsByIds(taskIds);
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            for (TaskDueRow row : rows) {
+                // Sólo se avisa al momento si la fecha límite es nueva para el motor,
+                // no al editar otros campos de una tarea ya avisada
+                TaskDueEvent previous = wheel.get(new DueKey(row.getId(), TaskDueEvent.Kind.OVERDUE));
+                boolean newDeadline = previous == null || !previous.getDueDate().equals(row.getDueDate());
+
+                cancel(row.getId());
+                if (row.getStatus() != TaskStatus.DONE && row.getDueDate() != null
+                        && !row.getDueDate().isAfter(loadedUntil)) {
+                    schedule(row, newDeadline);
+                }
+            }
+        }
+    }
+
+    /**
+     * Las tareas recién creadas no tienen avisos que cancelar: basta con leer las abiertas cuya
+     * fecha límite cae en la ventana cargada, que en una copia o importación es una parte pequeña del lote.
+     */
+    private void scheduleCreated(List<Long> taskIds) {
+        LocalDate from = LocalDate.now(zone);
+        LocalDate to;
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            to = loadedUntil;
+        }
+        if (from.isAfter(to)) {
+            return;
+        }
+
+        List<TaskDueRow> rows = taskRepository.findOpenDueByIdsBetween(taskIds, from, to);
+        synchronized (this) {
+            if (wheel == null) {
+                return;
+            }
+            for (TaskDueRow row : rows) {
+                // Si la ampliación de la ventana ya la programó, no se vuelve a avisar
+                if (!wheel.contains(new DueKey(row.getId(), TaskDueEvent.Kind.OVERDUE))) {
+                    schedule(row, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Número de avisos pendientes en memoria.
+     */
+    public synchronized int pendingCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    /**
+     * Carga en la rueda las tareas con fecha límite entre el final de la ventana actual y el nuevo.
+     */
+    private void extendWindow() {
+        LocalDate from;
+        LocalDate to = windowEnd();
+        synchronized (this) {
+            from = loadedUntil.plusDays(1);
+        }
+        if (from.isAfter(to)) {
+            return;
+        }
+
+        List<TaskDueRow> rows = taskRepository.findOpenDueBetween(from, to);
+        synchronized (this) {
+            for (TaskDueRow row : rows) {
+                // Si un cambio incremental ya la programó, sus datos son más recientes
+                if (!wheel.contains(new DueKey(row.getId(), TaskDueEvent.Kind.OVERDUE))) {
+                    schedule(row, false);
+                }
+            }
+            loadedUntil = to;
+        }
+        log.debug("Ventana de fechas límite ampliada hasta {} ({} tareas)", to, rows.size());
+    }
+
+    /**
+     * Programa los avisos de una tarea. Debe llamarse con el cerrojo tomado.
+     * Las tareas ya vencidas no se programan (su aviso de vencida ya se dio o no procede).
+     *
+     * @param notifyPast true para avisar al momento si el aviso de "próxima a vencer" ya debería haber saltado.
+     */
+    private void schedule(TaskDueRow row, boolean notifyPast) {
+        long now = System.currentTimeMillis();
+        long overdueAt = row.getDueDate().plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        long dueSoonAt = row.getDueDate().atStartOfDay(zone).minus(dueSoonLead).toInstant().toEpochMilli();
+        if (overdueAt <= now) {
+            return;
+        }
+
+        wheel.schedule(new DueKey(row.getId(), TaskDueEvent.Kind.OVERDUE), overdueAt,
+                toEvent(row, TaskDueEvent.Kind.OVERDUE));
+        if (dueSoonAt > now || notifyPast) {
+            wheel.schedule(new DueKey(row.getId(), TaskDueEvent.Kind.DUE_SOON), Math.max(dueSoonAt, now),
+                    toEvent(row, TaskDueEvent.Kind.DUE_SOON));
+        }
+    }
+
+    private void cancel(Long taskId) {
+        wheel.cancel(new DueKey(taskId, TaskDueEvent.Kind.DUE_SOON));
+        wheel.cancel(new DueKey(taskId, TaskDueEvent.Kind.OVERDUE));
+    }
+
+    private void dispatch(TaskDueEvent event) {
+        for (TaskDueEventSink sink : sinks) {
+            try {
+                sink.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Error entregando aviso de fecha límite de la tarea {} a {}",
+                        event.getTaskId(), sink.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private LocalDate windowEnd() {
+        return LocalDate.now(zone).plusDays(lookAhead.toDays());
+    }
+
+    private static TaskDueEvent toEvent(TaskDueRow row, TaskDueEvent.Kind kind) {
+        return new TaskDueEvent(kind, row.getId(), row.getProjectId(), row.getTitle(),
+                row.getAssignedTo(), row.getDueDate());
+    }
+
+    /**
+     * Clave de un aviso: una tarea tiene como mucho un aviso de cada tipo pendiente.
+     */
+    private record DueKey(long taskId, TaskDueEvent.Kind kind) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.task.model.dto.TaskImportErrorDTO;
+import com.tfg.taskmanager.task.model.dto.TaskImportResultDTO;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskImportService {
+
+    /**
+     * Importa tareas desde un CSV con cabecera.
+     * @param csv contenido del fichero (se lee en streaming)
+     * @param defaultProjectId proyecto para las filas sin columna `projectId`
+     * @param username usuario que importa
+     * @return resumen con el número de filas importadas y rechazadas
+     */
+    TaskImportResultDTO importCsv(InputStream csv, Long defaultProjectId, String username);
+
+    /**
+     * Errores de una importación propia, a partir de la línea `afterLine`.
+     */
+    List<TaskImportErrorDTO> getErrors(UUID importId, String username, long afterLine, int limit);
+}
@@ -0,0 +1,384 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.project.service.ProjectAccessService;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.model.dto.TaskCreateDTO;
+import com.tfg.taskmanager.task.model.dto.TaskImportErrorDTO;
+import com.tfg.taskmanager.task.model.dto.TaskImportResultDTO;
+import com.tfg.taskmanager.task.model.vo.TaskImport;
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import com.tfg.taskmanager.task.repository.TaskImportRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de tareas desde CSV.
+ *
+ * El fichero se lee registro a registro y cada fila se valida con las restricciones de
+ * `TaskCreateDTO`. Las filas válidas se envían en streaming a una tabla de carga mediante
+ * el protocolo COPY de PostgreSQL y las inválidas a un fichero temporal de errores, de modo
+ * que la memoria no depende del tamaño del fichero. Después, unas pocas sentencias
+ * set-based descartan las filas de proyectos inexistentes y fusionan la carga en `tasks`
+ * y `task_tags`, todo en una transacción.
+ *
+ * Columnas reconocidas (cabecera obligatoria, sin distinguir mayúsculas):
+ * `title, description, projectId, assignedTo, status, priority, dueDate, position, tags`.
+ * `dueDate` en formato ISO (2025-06-30) y `tags` separadas por `|`.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskImportServiceImpl implements TaskImportService {
+
+    /** Tareas por lote al propagar el alta a bandejas, índices y registro de cambios */
+    private static final int PUBLISH_CHUNK = 1000;
+
+    /** Separador de etiquetas dentro de la columna `tags` */
+    private static final String TAG_SEPARATOR = "|";
+
+    /** Antigüedad de los informes de errores que se purgan en cada importación */
+    private static final int ERROR_RETENTION_DAYS = 7;
+
+    private static final String COPY_STAGING = """
+            COPY task_import_staging (import_id, line_no, title, description, project_id, assigned_to,
+                                      status, priority, due_date, position, tags)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    private static final String COPY_ERRORS =
+            "COPY task_import_errors (import_id, line_no, message) FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final TaskImportRepository importRepository;
+    private final TaskInboxService inboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectAccessService accessService;
+
+    /**
+     * Importa el CSV en una única transacción: o entran todas las filas válidas o ninguna.
+     *
+     * @param csv Contenido del fichero.
+     * @param defaultProjectId Proyecto de las filas que no indican `projectId` (opcional).
+     * @param username Usuario que importa.
+     * @return Resumen con filas importadas y rechazadas.
+     */
+    @Override
+    @Transactional
+    public TaskImportResultDTO importCsv(InputStream csv, Long defaultProjectId, String username) {
+        UUID importId = UUID.randomUUID();
+        importRepository.deleteErrorsBefore(LocalDateTime.now().minusDays(ERROR_RETENTION_DAYS));
+
+        Path errorFile = null;
+        try {
+            errorFile = Files.createTempFile("task-import-", ".csv");
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            // 1. Lectura + validación en streaming: válidas -> COPY, inválidas -> fichero temporal
+            long[] counts = load(csv, defaultProjectId, importId, connection, errorFile);
+
+            // El registro debe existir antes que sus errores (clave ajena)
+            TaskImport record = importRepository.saveAndFlush(TaskImport.builder()
+                    .id(importId)
+                    .username(username)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            if (counts[1] > 0) {
+                try (Reader errors = Files.newBufferedReader(errorFile, StandardCharsets.UTF_8)) {
+                    copyManager.copyIn(COPY_ERRORS, errors);
+                }
+            }
+
+            // La existencia del proyecto (y el acceso a él) se comprueba de una vez sobre la tabla
+            // de carga (durante el COPY la conexión no admite otras consultas)
+            long missingProject = rejectUnknownProjects(importId, accessService.accessibleProjects(username));
+            long imported = counts[0] - missingProject;
+            long rejected = counts[1] + missingProject;
+            record.setImported(imported);
+            record.setRejected(rejected);
+
+            // 2. Fusión set-based en las tablas definitivas
+            if (imported > 0) {
+                merge(importId);
+            }
+
+            log.info("Importación {} de {}: {} tareas importadas, {} filas rechazadas",
+                    importId, username, imported, rejected);
+            return TaskImportResultDTO.builder()
+                    .importId(importId)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .build();
+        } catch (IOException | SQLException e) {
+            throw new RuntimeException("Error importando el CSV de tareas", e);
+        } finally {
+            if (errorFile != null) {
+                try {
+                    Files.deleteIfExists(errorFile);
+                } catch (IOException e) {
+                    log.warn("No se pudo borrar el fichero temporal {}", errorFile);
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskImportErrorDTO> getErrors(UUID importId, String username, long afterLine, int limit) {
+        importRepository.findByIdAndUsername(importId, username)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Importación no encontrada"));
+        return importRepository.findErrors(importId, afterLine, limit).stream()
+                .map(row -> new TaskImportErrorDTO(row.getLine(), row.getMessage()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recorre el CSV y reparte cada fila entre la tabla de carga y el fichero de errores.
+     *
+     * @return {filas válidas, filas rechazadas}
+     */
+    private long[] load(InputStream csv, Long defaultProjectId, UUID importId,
+                        Connection connection, Path errorFile) throws IOException, SQLException {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreHeaderCase(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+
+        long valid = 0;
+        long rejected = 0;
+
+        try (CSVParser parser = CSVParser.parse(new InputStreamReader(csv, StandardCharsets.UTF_8), format);
+             Writer staging = new BufferedWriter(new OutputStreamWriter(
+                     new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_STAGING, 1 << 16),
+                     StandardCharsets.UTF_8), 1 << 16);
+             Writer errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+
+            if (!parser.getHeaderMap().containsKey("title")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El CSV debe tener cabecera con la columna 'title'");
+            }
+            String importKey = importId.toString();
+
+            for (CSVRecord record : parser) {
+                long line = record.getRecordNumber() + 1;
+                TaskCreateDTO dto;
+                String error;
+                try {
+                    dto = toDTO(record, defaultProjectId);
+                    error = validate(dto);
+                } catch (IllegalArgumentException e) {
+                    dto = null;
+                    error = e.getMessage();
+                }
+
+                if (error != null) {
+                    writeCsv(errors, importKey, Long.toString(line), truncate(error, 1000));
+                    rejected++;
+                    continue;
+                }
+                writeCsv(staging, importKey, Long.toString(line), dto.getTitle(), dto.getDescription(),
+                        dto.getProjectId().toString(), dto.getAssignedTo(), dto.getStatus().name(),
+                        dto.getPriority().name(), Objects.toString(dto.getDueDate(), null),
+                        Objects.toString(dto.getPosition(), null),
+                        dto.getTags() == null || dto.getTags().isEmpty() ? null : String.join(TAG_SEPARATOR, dto.getTags()));
+                valid++;
+            }
+        }
+        return new long[]{valid, rejected};
+    }
+
+    /**
+     * Pasa al informe de errores las filas cargadas cuyo proyecto no existe o no es accesible
+     * para el usuario (ambos casos con el mismo mensaje).
+     *
+     * @param accessibleProjects Proyectos accesibles para quien importa (todos existen).
+     * @return Número de filas descartadas.
+     */
+    private long rejectUnknownProjects(UUID importId, Set<Long> accessibleProjects) {
+        return jdbcTemplate.update("""
+                WITH missing AS (
+                    DELETE FROM task_import_staging s
+                    WHERE s.import_id = ?
+                      AND NOT (s.project_id = ANY (?))
+                    RETURNING s.import_id, s.line_no, s.project_id)
+                INSERT INTO task_import_errors (import_id, line_no, message)
+                SELECT import_id, line_no, 'projectId: el proyecto ' || project_id || ' no existe'
+                FROM missing""", ps -> {
+            ps.setObject(1, importId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", accessibleProjects.toArray()));
+        });
+    }
+
+    /**
+     * Inserta las filas cargadas en `tasks` y `task_tags` y propaga el alta por lotes.
+     */
+    private void merge(UUID importId) {
+        // IDs asignados de antemano para poder enlazar las etiquetas con su tarea
+        jdbcTemplate.update("""
+                UPDATE task_import_staging SET task_id = nextval(pg_get_serial_sequence('tasks', 'id'))
+                WHERE import_id = ?""", importId);
+
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, title, description, project_id, assigned_to, status, priority,
+                                   due_date, created_at, completed_at, position)
+                SELECT task_id, title, description, project_id, assigned_to, status, priority, due_date,
+                       now(), CASE WHEN status = 'DONE' THEN now() END, position
+                FROM task_import_staging WHERE import_id = ? ORDER BY line_no""", importId);
+
+        jdbcTemplate.update("""
+                INSERT INTO task_tags (task_id, tags)
+                SELECT s.task_id, trim(tag)
+                FROM task_import_staging s, unnest(string_to_array(s.tags, '|')) AS tag
+                WHERE s.import_id = ? AND s.tags IS NOT NULL AND trim(tag) <> ''""", importId);
+
+        // Bandejas, índices y registro de cambios, en lotes acotados
+        long afterLine = 0;
+        while (true) {
+            List<long[]> chunk = jdbcTemplate.query("""
+                            SELECT line_no, task_id, project_id FROM task_import_staging
+                            WHERE import_id = ? AND line_no > ? ORDER BY line_no LIMIT ?""",
+                    (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)},
+                    importId, afterLine, PUBLISH_CHUNK);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<Long> taskIds = chunk.stream().map(row -> row[1]).toList();
+            Set<Long> projectIds = chunk.stream().map(row -> row[2]).collect(Collectors.toSet());
+            inboxService.syncAll(taskIds);
+            eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.ChangeType.CREATED, projectIds, taskIds));
+            afterLine = chunk.get(chunk.size() - 1)[0];
+        }
+
+        jdbcTemplate.update("DELETE FROM task_import_staging WHERE import_id = ?", importId);
+    }
+
+    /**
+     * Convierte un registro CSV al DTO de creación.
+     *
+     * @throws IllegalArgumentException si algún valor no se puede interpretar.
+     */
+    private TaskCreateDTO toDTO(CSVRecord record, Long defaultProjectId) {
+        String projectId = column(record, "projectId");
+        String status = column(record, "status");
+        String priority = column(record, "priority");
+        String dueDate = column(record, "dueDate");
+        String position = column(record, "position");
+        String tags = column(record, "tags");
+
+        return TaskCreateDTO.builder()
+                .title(column(record, "title"))
+                .description(column(record, "description"))
+                .projectId(projectId != null ? parseLong(projectId, "projectId") : defaultProjectId)
+                .assignedTo(column(record, "assignedTo"))
+                .status(status != null ? parseEnum(TaskStatus.class, status, "status") : TaskStatus.TODO)
+                .priority(priority != null ? parseEnum(TaskPriority.class, priority, "priority") : TaskPriority.MEDIUM)
+                .dueDate(dueDate != null ? parseDate(dueDate) : null)
+                .position(position != null ? (int) parseLong(position, "position") : null)
+                .tags(tags == null ? null : Arrays.stream(tags.split("\\|"))
+                        .map(String::trim)
+                        .filter(tag -> !tag.isEmpty())
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Aplica las restricciones de `TaskCreateDTO`.
+     *
+     * @return mensaje de error, o null si la fila es válida.
+     */
+    private String validate(TaskCreateDTO dto) {
+        Set<ConstraintViolation<TaskCreateDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String column(CSVRecord record, String name) {
+        // La cabecera se compara sin distinguir mayúsculas (setIgnoreHeaderCase)
+        String value = record.isMapped(name) && record.isSet(name) ? record.get(name) : null;
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static long parseLong(String value, String field) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + ": valor numérico no válido '" + value + "'");
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("dueDate: fecha no válida '" + value + "' (formato AAAA-MM-DD)");
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + ": valor no válido '" + value + "'");
+        }
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    /**
+     * Escribe una línea CSV compatible con COPY: los valores van entre comillas y los null
+     * como campo vacío sin comillas (que COPY interpreta como NULL).
+     */
+    private static void writeCsv(Writer out, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String value = values[i];
+            if (value != null) {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            }
+        }
+        out.write('\n');
+    }
+}
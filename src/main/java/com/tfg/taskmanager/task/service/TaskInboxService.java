@@ -0,0 +1,36 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.task.model.dto.TaskInboxPageDTO;
+import com.tfg.taskmanager.task.model.vo.Task;
+
+import java.util.Collection;
+
+public interface TaskInboxService {
+
+    /**
+     * Refleja en la bandeja el estado actual de una tarea (alta, cambio o baja).
+     * Debe llamarse dentro de la transacción que modifica la tarea.
+     */
+    void sync(Task task);
+
+    /**
+     * Igual que {@link #sync(Task)} para un lote de tareas ya guardadas, con sentencias set-based.
+     */
+    void syncAll(Collection<Long> taskIds);
+
+    /**
+     * Da de alta en la bandeja todas las tareas de un proyecto recién creado (copias).
+     */
+    void syncNewProject(Long projectId);
+
+    /**
+     * Quita de la bandeja las tareas indicadas.
+     */
+    void remove(Collection<Long> taskIds);
+
+    /**
+     * Devuelve una página de la bandeja de un usuario, ordenada por prioridad y fecha límite.
+     * @param cursor cursor de la página anterior (null para la primera)
+     */
+    TaskInboxPageDTO getInbox(String assignee, String cursor, int limit);
+}
@@ -0,0 +1,167 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.task.model.dto.TaskInboxItemDTO;
+import com.tfg.taskmanager.task.model.dto.TaskInboxPageDTO;
+import com.tfg.taskmanager.task.model.vo.Task;
+import com.tfg.taskmanager.task.model.vo.TaskInboxEntry;
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import com.tfg.taskmanager.task.repository.TaskInboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de la bandeja "mis tareas" (read model por responsable).
+ *
+ * La bandeja contiene las tareas abiertas con responsable. Se actualiza en la misma
+ * transacción que la tarea, así que nunca queda desfasada respecto a ella, y se lee
+ * con paginación por keyset sobre `(priority_rank, due_sort, task_id)`.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskInboxServiceImpl implements TaskInboxService {
+
+    /** Repositorio de la bandeja */
+    private final TaskInboxRepository repository;
+
+    /**
+     * Inserta, actualiza o elimina la entrada de la tarea según su responsable y estado.
+     */
+    @Override
+    @Transactional
+    public void sync(Task task) {
+        if (task.getAssignedTo() == null || task.getAssignedTo().isBlank() || task.getStatus() == TaskStatus.DONE) {
+            repository.deleteByTaskIds(List.of(task.getId()));
+            return;
+        }
+        repository.upsert(TaskInboxEntry.builder()
+                .taskId(task.getId())
+                .assignee(task.getAssignedTo())
+                .projectId(task.getProjectId())
+                .title(task.getTitle())
+                .status(task.getStatus())
+                .priority(task.getPriority())
+                .priorityRank(rank(task.getPriority()))
+                .dueDate(task.getDueDate())
+                .dueSort(task.getDueDate() != null ? task.getDueDate() : TaskInboxEntry.NO_DUE_DATE)
+                .updatedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Sincroniza un lote leyendo directamente de `tasks` (sin cargar entidades).
+     */
+    @Override
+    @Transactional
+    public void syncAll(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            repository.deleteClosedFromTasks(taskIds);
+            repository.upsertOpenFromTasks(taskIds);
+        }
+    }
+
+    /**
+     * Una sola sentencia para todo el proyecto: al ser nuevo no hay entradas que quitar.
+     */
+    @Override
+    @Transactional
+    public void syncNewProject(Long projectId) {
+        repository.insertOpenFromProject(projectId);
+    }
+
+    @Override
+    @Transactional
+    public void remove(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            repository.deleteByTaskIds(taskIds);
+        }
+    }
+
+    /**
+     * Lee una página de la bandeja con un único recorrido de rango del índice.
+     *
+     * @param assignee Usuario cuya bandeja se consulta.
+     * @param cursor Cursor devuelto por la página anterior, o null.
+     * @param limit Tamaño de página.
+     * @return Entradas de la página y cursor de la siguiente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskInboxPageDTO getInbox(String assignee, String cursor, int limit) {
+
+        // Se pide una fila de más para saber si hay página siguiente
+        List<TaskInboxEntry> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = repository.findFirstPage(assignee, limit + 1);
+        } else {
+            Position after = Position.decode(cursor);
+            rows = repository.findPageAfter(assignee, after.rank, after.dueSort, after.taskId, limit + 1);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<TaskInboxEntry> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TaskInboxEntry last = page.get(page.size() - 1);
+            nextCursor = new Position(last.getPriorityRank(), last.getDueSort(), last.getTaskId()).encode();
+        }
+
+        return TaskInboxPageDTO.builder()
+                .items(page.stream().map(TaskInboxServiceImpl::toDTO).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Prioridad como número ascendente (CRITICAL primero).
+     */
+    static short rank(TaskPriority priority) {
+        return (short) (TaskPriority.values().length - 1 - priority.ordinal());
+    }
+
+    private static TaskInboxItemDTO toDTO(TaskInboxEntry entry) {
+        return TaskInboxItemDTO.builder()
+                .taskId(entry.getTaskId())
+                .projectId(entry.getProjectId())
+                .title(entry.getTitle())
+                .status(entry.getStatus())
+                .priority(entry.getPriority())
+                .dueDate(entry.getDueDate())
+                .build();
+    }
+
+    /**
+     * Posición en la bandeja (clave de ordenación de la última entrada devuelta).
+     */
+    private record Position(short rank, LocalDate dueSort, long taskId) {
+
+        String encode() {
+            String raw = rank + "|" + dueSort + "|" + taskId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Position decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Cursor mal formado");
+                }
+                return new Position(Short.parseShort(parts[0]), LocalDate.parse(parts[1]), Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido");
+            }
+        }
+    }
+}
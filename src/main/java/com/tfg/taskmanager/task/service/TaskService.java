@@ -1,9 +1,17 @@
 package com.tfg.taskmanager.task.service;
 
+import com.tfg.taskmanager.common.concurrency.VersionPrecondition;
+import com.tfg.taskmanager.task.model.dto.TaskBulkUpdateDTO;
+import com.tfg.taskmanager.task.model.dto.TaskBulkUpdateResultDTO;
 import com.tfg.taskmanager.task.model.dto.TaskCreateDTO;
 import com.tfg.taskmanager.task.model.dto.TaskDTO;
+import com.tfg.taskmanager.task.model.dto.TaskPageDTO;
+import com.tfg.taskmanager.task.model.dto.TaskSearchCriteria;
+import com.tfg.taskmanager.task.model.dto.TaskUpdateDTO;
+import com.tfg.taskmanager.task.model.dto.TaskTagFilterResultDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface TaskService {
 
@@ -15,13 +23,67 @@ public interface TaskService {
      */
     TaskDTO createTask(TaskCreateDTO dto, String creator);
 
+    /**
+     * Modifica parcialmente una tarea (campos a null = sin cambios).
+     * Las ediciones concurrentes sobre campos distintos se fusionan.
+     * @param taskId tarea a modificar
+     * @param dto campos a cambiar
+     * @param editor usuario autenticado
+     * @param precondition versión sobre la que se hizo la edición (null = sin comprobar)
+     * @return tarea modificada
+     */
+    TaskDTO updateTask(Long taskId, TaskUpdateDTO dto, String editor, VersionPrecondition precondition);
+
+    /**
+     * Aplica un mismo cambio (estado, prioridad, responsable, desplazamiento de la fecha límite)
+     * a un conjunto de tareas elegido por IDs o por filtro, sin cargarlas una a una.
+     * @param dto selección y cambio
+     * @param username usuario autenticado (ámbito por defecto del filtro)
+     * @return número de tareas que cambiaron
+     */
+    TaskBulkUpdateResultDTO bulkUpdate(TaskBulkUpdateDTO dto, String username);
+
     /**
      * Obtiene todas las tareas de un proyecto específico.
+     * @param username usuario autenticado (debe tener acceso al proyecto)
+     */
+    List<TaskDTO> getTasksByProject(Long projectId, String username);
+
+    /**
+     * Igual que {@link #getTasksByProject(Long, String)} leyendo de la base de datos sólo los campos pedidos.
+     * @param fields campos de `TaskDTO` separados por comas
+     * @return una fila campo -> valor por tarea
      */
-    List<TaskDTO> getTasksByProject(Long projectId);
+    List<Map<String, Object>> getTasksByProject(Long projectId, String fields, String username);
 
     /**
      * Recupera una tarea por su ID.
+     * @param username usuario autenticado (debe tener acceso al proyecto o ser el responsable)
+     */
+    TaskDTO getTask(Long taskId, String username);
+
+    /**
+     * Igual que {@link #getTask(Long, String)} leyendo de la base de datos sólo los campos pedidos.
+     * @param fields campos de `TaskDTO` separados por comas
+     */
+    Map<String, Object> getTask(Long taskId, String fields, String username);
+
+    /**
+     * Filtra las tareas de un proyecto por etiquetas.
+     * @param all etiquetas que deben estar todas
+     * @param any etiquetas de las que debe estar al menos una
+     * @param none etiquetas que no deben estar
+     * @param username usuario autenticado (debe tener acceso al proyecto)
+     * @return total de coincidencias y la página solicitada (ordenada por ID)
+     */
+    TaskTagFilterResultDTO filterTasksByTags(Long projectId, List<String> all, List<String> any, List<String> none,
+                                             int page, int size, String username);
+
+    /**
+     * Busca tareas combinando filtros, con ordenación y paginación por cursor.
+     * @param criteria filtros, ordenación, cursor y campos a devolver (`fields`)
+     * @param username usuario autenticado; si no se indica proyecto ni asignado se buscan sus tareas
+     * @return página de tareas (`TaskDTO`, o sólo los campos pedidos) y cursor de la siguiente
      */
-    TaskDTO getTask(Long taskId);
+    TaskPageDTO<?> searchTasks(TaskSearchCriteria criteria, String username);
 }
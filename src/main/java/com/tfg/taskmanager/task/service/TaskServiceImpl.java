@@ -1,14 +1,46 @@
 package com.tfg.taskmanager.task.service;
 
+import com.tfg.taskmanager.audit.event.AuditEvent;
+import com.tfg.taskmanager.common.concurrency.FieldVersions;
+import com.tfg.taskmanager.common.concurrency.OptimisticRetry;
+import com.tfg.taskmanager.common.concurrency.VersionPrecondition;
+import com.tfg.taskmanager.common.fields.FieldSelection;
+import com.tfg.taskmanager.common.fields.SparseFieldQuery;
+import com.tfg.taskmanager.project.service.ProjectAccessService;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.model.dto.TaskBulkUpdateDTO;
+import com.tfg.taskmanager.task.model.dto.TaskBulkUpdateResultDTO;
 import com.tfg.taskmanager.task.model.dto.TaskCreateDTO;
 import com.tfg.taskmanager.task.model.dto.TaskDTO;
+import com.tfg.taskmanager.task.model.dto.TaskPageDTO;
+import com.tfg.taskmanager.task.model.dto.TaskSearchCriteria;
+import com.tfg.taskmanager.task.model.dto.TaskUpdateDTO;
+import com.tfg.taskmanager.task.model.dto.TaskTagFilterResultDTO;
 import com.tfg.taskmanager.task.mapper.TaskMapper;
 import com.tfg.taskmanager.task.model.vo.Task;
 import com.tfg.taskmanager.task.repository.TaskRepository;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskAccessRow;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskBulkChange;
+import com.tfg.taskmanager.task.repository.TaskSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,43 +60,292 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    /** Tamaño de página por defecto y máximo de la búsqueda */
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 200;
+
+    /** Tareas por sentencia (y por transacción) en las modificaciones masivas */
+    private static final int BULK_CHUNK = 1000;
+
+    /** Campos que puede cambiar una modificación masiva */
+    private static final Set<String> BULK_FIELDS = Set.of("status", "priority", "assignedTo", "dueDate");
+
+    /** Campos de `TaskDTO` que se pueden pedir con `fields` */
+    private static final List<String> SELECTABLE_FIELDS = List.of(
+            "id", "title", "description", "projectId", "assignedTo", "status", "priority",
+            "dueDate", "createdAt", "completedAt", "position", "tags", "version");
+
     /** Repositorio para operaciones CRUD sobre la entidad Task */
     private final TaskRepository repository;
     
     /** Mapper encargado de convertir entre DTOs y entidades */
     private final TaskMapper mapper;
 
+    /** Bandeja "mis tareas", mantenida en la misma transacción que las tareas */
+    private final TaskInboxService inboxService;
+
+    /** Índice de etiquetas en memoria para los filtros por etiqueta */
+    private final TaskTagIndex tagIndex;
+
+    /** Publicador de eventos de dominio (índices y vistas derivadas) */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Consultas que leen sólo los campos pedidos (`fields`) */
+    private final SparseFieldQuery sparseFieldQuery;
+
+    /** Transacción con reintento ante conflictos de versión */
+    private final OptimisticRetry optimisticRetry;
+
+    /** Transacciones por lote de las modificaciones masivas */
+    private final TransactionTemplate transactionTemplate;
+
+    /** Proyectos accesibles por usuario (en memoria) */
+    private final ProjectAccessService accessService;
+
     /**
      * Crea una nueva tarea en la base de datos.
      * 
      * @param dto Objeto DTO con la información de la tarea a crear.
      * @param creator Nombre de usuario del creador de la tarea.
      * @return DTO de la tarea creada.
+     * @throws ResponseStatusException 404 si el proyecto no existe o el usuario no tiene acceso.
      */
     @Override
+    @Transactional
     public TaskDTO createTask(TaskCreateDTO dto, String creator) {
 
+        // Sólo se crean tareas en proyectos accesibles (comprobación en memoria)
+        accessService.checkProject(creator, dto.getProjectId());
+
         // Convierte el DTO recibido en una entidad persistente
         Task task = mapper.toEntity(dto);
         
-        // (Opcional) Se puede almacenar el creador para trazabilidad futura
-        // task.setCreator(creator);
-        
         // Guarda la tarea en la base de datos
         Task saved = repository.save(task);
+
+        // Deja constancia de quién la creó y con qué valores (se escribe tras el commit, en segundo plano)
+        Map<String, Object> values = currentFields(saved);
+        values.put("projectId", saved.getProjectId());
+        eventPublisher.publishEvent(AuditEvent.created(AuditEvent.EntityType.TASK, saved.getId(), creator, values));
+
+        // Refleja la tarea en la bandeja de su responsable
+        inboxService.sync(saved);
+
+        // Notifica la nueva tarea a los índices y vistas derivadas
+        eventPublisher.publishEvent(TaskChangedEvent.of(
+                TaskChangedEvent.ChangeType.CREATED, saved.getProjectId(), saved.getId()));
         
         // Convierte la entidad guardada en DTO para respuesta
         return mapper.toDTO(saved);
     }
 
+    /**
+     * Modifica parcialmente una tarea existente con control de concurrencia optimista.
+     *
+     * Si la tarea ha cambiado desde la versión del cliente, la edición se fusiona con la versión
+     * actual salvo que toque campos que otro ya cambió a un valor distinto. Si otra transacción
+     * guarda la tarea entre la lectura y la escritura, se vuelve a intentar sobre los datos nuevos.
+     *
+     * @param taskId ID de la tarea.
+     * @param dto Campos a modificar (los nulos se ignoran).
+     * @param editor Nombre de usuario que realiza el cambio.
+     * @param precondition Versión sobre la que se hizo la edición (null = sin comprobar).
+     * @return DTO de la tarea modificada.
+     * @throws ResponseStatusException 404 si no existe o el usuario no tiene acceso; 412/409 si hay conflicto.
+     */
+    @Override
+    public TaskDTO updateTask(Long taskId, TaskUpdateDTO dto, String editor, VersionPrecondition precondition) {
+        return optimisticRetry.execute(lockRow -> applyUpdate(taskId, dto, editor, precondition, lockRow));
+    }
+
+    /**
+     * Un intento de {@link #updateTask}; se ejecuta dentro de la transacción del reintento.
+     */
+    private TaskDTO applyUpdate(Long taskId, TaskUpdateDTO dto, String editor, VersionPrecondition precondition,
+                                boolean lockRow) {
+
+        Task task = (lockRow ? repository.findByIdForUpdate(taskId) : repository.findById(taskId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarea no encontrada"));
+        accessService.checkTask(editor, task.getProjectId(), task.getAssignedTo());
+
+        Map<String, Object> requested = requestedFields(dto);
+        Map<String, Object> current = currentFields(task);
+        if (precondition != null) {
+            precondition.check(task.getVersion(), task.getFieldVersions(), requested, current);
+        }
+
+        Set<String> changed = FieldVersions.changed(requested, current);
+        if (changed.isEmpty()) {
+            // Nada que cambiar: no se incrementa la versión ni se notifica
+            return mapper.toDTO(task);
+        }
+
+        // Aplica sólo los campos informados y anota en qué versión cambió cada uno
+        mapper.updateEntity(dto, task);
+        FieldVersions.record(task.getFieldVersions(), changed, task.getVersion());
+        // El flush comprueba la versión aquí, dentro del intento
+        Task saved = repository.saveAndFlush(task);
+
+        // Responsable, estado o prioridad pueden haber cambiado: actualiza la bandeja
+        inboxService.sync(saved);
+
+        eventPublisher.publishEvent(TaskChangedEvent.of(
+                TaskChangedEvent.ChangeType.UPDATED, saved.getProjectId(), saved.getId()));
+        eventPublisher.publishEvent(AuditEvent.updated(
+                AuditEvent.EntityType.TASK, saved.getId(), editor, changed, current, requested));
+
+        return mapper.toDTO(saved);
+    }
+
+    /**
+     * Campos editables informados en una modificación parcial (campo -> valor pedido).
+     */
+    private static Map<String, Object> requestedFields(TaskUpdateDTO dto) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        putIfPresent(fields, "title", dto.getTitle());
+        putIfPresent(fields, "description", dto.getDescription());
+        putIfPresent(fields, "assignedTo", dto.getAssignedTo());
+        putIfPresent(fields, "status", dto.getStatus());
+        putIfPresent(fields, "priority", dto.getPriority());
+        putIfPresent(fields, "dueDate", dto.getDueDate());
+        putIfPresent(fields, "position", dto.getPosition());
+        putIfPresent(fields, "tags", dto.getTags() != null ? new ArrayList<>(dto.getTags()) : null);
+        return fields;
+    }
+
+    /**
+     * Valor actual de los campos editables de una tarea.
+     */
+    private static Map<String, Object> currentFields(Task task) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("title", task.getTitle());
+        fields.put("description", task.getDescription());
+        fields.put("assignedTo", task.getAssignedTo());
+        fields.put("status", task.getStatus());
+        fields.put("priority", task.getPriority());
+        fields.put("dueDate", task.getDueDate());
+        fields.put("position", task.getPosition());
+        // Copia: la colección persistente no compara por contenido
+        fields.put("tags", task.getTags() != null ? new ArrayList<>(task.getTags()) : new ArrayList<>());
+        return fields;
+    }
+
+    private static void putIfPresent(Map<String, Object> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value);
+        }
+    }
+
+    /**
+     * Aplica un mismo cambio a muchas tareas sin cargarlas: una sentencia `UPDATE` por lote de
+     * {@value #BULK_CHUNK} tareas, cada lote en su propia transacción. Con `filter`, los IDs se
+     * leen por keyset (sólo la columna id) lote a lote, así que la selección no se materializa
+     * entera. Bandeja, índices, avisos y registro de cambios se mantienen por lote.
+     *
+     * @param dto Selección (`ids` o `filter`) y cambio.
+     * @param username Usuario autenticado (ámbito por defecto del filtro); sólo se modifican
+     *                 las tareas a las que tiene acceso.
+     * @return Número de tareas que cambiaron.
+     * @throws ResponseStatusException 400 si no hay selección única o no hay cambio.
+     */
+    @Override
+    public TaskBulkUpdateResultDTO bulkUpdate(TaskBulkUpdateDTO dto, String username) {
+        boolean byIds = dto.getIds() != null && !dto.getIds().isEmpty();
+        if (byIds == (dto.getFilter() != null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Indica `ids` o `filter` (sólo uno de los dos)");
+        }
+        String status = dto.getStatus() != null ? dto.getStatus().name() : null;
+        String priority = dto.getPriority() != null ? dto.getPriority().name() : null;
+        int dueShift = dto.getDueDateShiftDays() != null ? dto.getDueDateShiftDays() : 0;
+        if (status == null && priority == null && dto.getAssignedTo() == null && dueShift == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No se ha indicado ningún cambio");
+        }
+
+        long updated = 0;
+        if (byIds) {
+            List<Long> ids = dto.getIds().stream().filter(Objects::nonNull).distinct().sorted().toList();
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK) {
+                // Las tareas a las que el usuario no tiene acceso se ignoran, como las inexistentes
+                List<Long> chunk = repository.findAccessRows(ids.subList(from, Math.min(from + BULK_CHUNK, ids.size())))
+                        .stream()
+                        .filter(row -> accessService.canAccessTask(username, row.getProjectId(), row.getAssignedTo()))
+                        .map(TaskAccessRow::getId)
+                        .toList();
+                if (!chunk.isEmpty()) {
+                    updated += bulkUpdateChunk(chunk, status, priority, dto.getAssignedTo(), dueShift, username);
+                }
+            }
+        } else {
+            Specification<Task> spec = filterSpec(dto.getFilter(), username);
+            FieldSelection idOnly = FieldSelection.parse("id", SELECTABLE_FIELDS);
+            Long last = null;
+            List<Long> chunk;
+            do {
+                Specification<Task> page = last == null ? spec : spec.and(TaskSpecifications.after("id", null, last, true));
+                chunk = sparseFieldQuery.find(Task.class, idOnly, page, Sort.by("id"), BULK_CHUNK).stream()
+                        .map(row -> (Long) row.get("id"))
+                        .toList();
+                if (!chunk.isEmpty()) {
+                    updated += bulkUpdateChunk(chunk, status, priority, dto.getAssignedTo(), dueShift, username);
+                    last = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == BULK_CHUNK);
+        }
+        return new TaskBulkUpdateResultDTO(updated);
+    }
+
+    /**
+     * Un lote de {@link #bulkUpdate}: la sentencia de cambio y la propagación de las filas que cambiaron.
+     */
+    private int bulkUpdateChunk(List<Long> ids, String status, String priority, String assignedTo, int dueShift,
+                                String editor) {
+        Integer updated = transactionTemplate.execute(tx -> {
+            List<TaskBulkChange> changed = repository.bulkUpdate(ids, status, priority, assignedTo, dueShift);
+            if (changed.isEmpty()) {
+                return 0;
+            }
+            List<Long> taskIds = changed.stream().map(TaskBulkChange::getId).toList();
+            Set<Long> projectIds = changed.stream()
+                    .map(TaskBulkChange::getProjectId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+
+            // Responsable, estado o prioridad pueden haber cambiado: actualiza las bandejas
+            inboxService.syncAll(taskIds);
+            eventPublisher.publishEvent(new TaskChangedEvent(TaskChangedEvent.ChangeType.UPDATED, projectIds, taskIds));
+            for (TaskBulkChange change : changed) {
+                eventPublisher.publishEvent(AuditEvent.updated(AuditEvent.EntityType.TASK, change.getId(), editor,
+                        BULK_FIELDS, bulkFields(change, true), bulkFields(change, false)));
+            }
+            return changed.size();
+        });
+        return updated != null ? updated : 0;
+    }
+
+    /**
+     * Valores anteriores o nuevos de los campos que puede cambiar {@link #bulkUpdate}.
+     */
+    private static Map<String, Object> bulkFields(TaskBulkChange change, boolean before) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("status", before ? change.getOldStatus() : change.getNewStatus());
+        fields.put("priority", before ? change.getOldPriority() : change.getNewPriority());
+        fields.put("assignedTo", before ? change.getOldAssignedTo() : change.getNewAssignedTo());
+        fields.put("dueDate", before ? change.getOldDueDate() : change.getNewDueDate());
+        return fields;
+    }
+
     /**
      * Obtiene todas las tareas asociadas a un proyecto específico.
      * 
      * @param projectId ID único del proyecto al que pertenecen las tareas.
+     * @param username Usuario autenticado.
      * @return Lista de tareas en formato DTO.
+     * @throws ResponseStatusException 404 si el usuario no tiene acceso al proyecto.
      */
     @Override
-    public List<TaskDTO> getTasksByProject(Long projectId) {
+    public List<TaskDTO> getTasksByProject(Long projectId, String username) {
+
+        accessService.checkProject(username, projectId);
 
         // Consulta las tareas en la base de datos filtrando por proyecto
         return repository.findByProjectId(projectId)
@@ -73,21 +354,233 @@ public class TaskServiceImpl implements TaskService {
                 .collect(Collectors.toList()); // Convierte el Stream en una lista final
     }
 
+    /**
+     * Obtiene las tareas de un proyecto leyendo sólo los campos pedidos: las columnas no
+     * pedidas no aparecen en el SELECT y las etiquetas sólo se consultan si se piden.
+     *
+     * @param projectId ID del proyecto.
+     * @param fields Campos de `TaskDTO` separados por comas.
+     * @param username Usuario autenticado.
+     * @return Una fila campo -> valor por tarea.
+     * @throws ResponseStatusException 404 si el usuario no tiene acceso al proyecto.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTasksByProject(Long projectId, String fields, String username) {
+        accessService.checkProject(username, projectId);
+        return sparseFieldQuery.find(Task.class, FieldSelection.parse(fields, SELECTABLE_FIELDS),
+                TaskSpecifications.inProject(projectId), Sort.by("id"), 0);
+    }
+
     /**
      * Obtiene una tarea específica por su identificador.
      * 
      * @param taskId ID único de la tarea.
+     * @param username Usuario autenticado.
      * @return DTO de la tarea si existe.
-     * @throws RuntimeException Si no se encuentra la tarea.
+     * @throws ResponseStatusException 404 si no existe o el usuario no tiene acceso.
      */
     @Override
-    public TaskDTO getTask(Long taskId) {
+    public TaskDTO getTask(Long taskId, String username) {
 
         // Busca la tarea por su ID, si no existe lanza una excepción controlada
         Task task = repository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Tarea no encontrada"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarea no encontrada"));
+
+        // Sin acceso, la tarea se trata como inexistente (comprobación en memoria)
+        accessService.checkTask(username, task.getProjectId(), task.getAssignedTo());
 
         // Retorna la tarea en formato DTO
         return mapper.toDTO(task);
     }
+
+    /**
+     * Obtiene una tarea leyendo sólo los campos pedidos.
+     *
+     * @param taskId ID único de la tarea.
+     * @param fields Campos de `TaskDTO` separados por comas.
+     * @param username Usuario autenticado.
+     * @return Campo -> valor.
+     * @throws ResponseStatusException 404 si no existe la tarea o el usuario no tiene acceso.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTask(Long taskId, String fields, String username) {
+        Specification<Task> byId = (root, query, cb) -> cb.equal(root.get("id"), taskId);
+        FieldSelection selection = FieldSelection.parse(fields, SELECTABLE_FIELDS);
+        // Proyecto y responsable se leen siempre para comprobar el acceso y se quitan si no se pidieron
+        Map<String, Object> task = sparseFieldQuery.find(Task.class, selection.with("projectId", "assignedTo"), byId,
+                        Sort.unsorted(), 1)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarea no encontrada"));
+        accessService.checkTask(username, (Long) task.get("projectId"), (String) task.get("assignedTo"));
+        task.keySet().retainAll(selection.fields());
+        return task;
+    }
+
+    /**
+     * Filtra las tareas de un proyecto por etiquetas usando el índice de bitmaps.
+     *
+     * El filtro se resuelve en memoria y sólo se cargan de la base de datos
+     * las tareas de la página solicitada.
+     *
+     * @param projectId ID del proyecto.
+     * @param all Etiquetas que deben estar todas (AND).
+     * @param any Etiquetas de las que debe haber al menos una (OR).
+     * @param none Etiquetas excluidas (NOT).
+     * @param page Número de página (empezando en 0).
+     * @param size Tamaño de página.
+     * @param username Usuario autenticado.
+     * @return Total de coincidencias y tareas de la página, ordenadas por ID.
+     * @throws ResponseStatusException 404 si el usuario no tiene acceso al proyecto.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskTagFilterResultDTO filterTasksByTags(Long projectId, List<String> all, List<String> any,
+                                                    List<String> none, int page, int size, String username) {
+
+        accessService.checkProject(username, projectId);
+
+        // Resuelve el filtro sobre los bitmaps del proyecto
+        Roaring64Bitmap matches = tagIndex.filter(projectId, all, any, none);
+        List<Long> ids = TaskTagIndex.page(matches, page, size);
+
+        // Carga sólo las tareas de la página, respetando el orden del índice
+        Map<Long, Task> byId = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskDTO> tasks = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(mapper::toDTO)
+                .collect(Collectors.toList());
+
+        return TaskTagFilterResultDTO.builder()
+                .total(matches.getLongCardinality())
+                .page(page)
+                .size(size)
+                .tasks(tasks)
+                .build();
+    }
+
+    /**
+     * Busca tareas combinando los filtros indicados en una única consulta SQL.
+     *
+     * La paginación es por keyset: en lugar de OFFSET se filtra por `(campo, id)` de la
+     * última fila devuelta, así que el coste de cada página no crece con la profundidad.
+     * Sin proyecto ni asignado explícitos, la búsqueda se limita a las tareas del usuario
+     * autenticado para no recorrer todos los proyectos. Con `fields` sólo se leen las
+     * columnas pedidas (más el ID y el campo de ordenación, necesarios para el cursor).
+     *
+     * @param criteria Filtros, ordenación, cursor, tamaño de página y campos.
+     * @param username Usuario autenticado.
+     * @return Página de tareas y cursor de la siguiente (null si es la última).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("rawtypes")
+    public TaskPageDTO<?> searchTasks(TaskSearchCriteria criteria, String username) {
+
+        TaskCursor.SortField field = TaskCursor.SortField.from(criteria.getSort());
+        boolean ascending = "asc".equalsIgnoreCase(criteria.getDirection());
+        int limit = criteria.getLimit() == null ? DEFAULT_LIMIT : Math.min(Math.max(criteria.getLimit(), 1), MAX_LIMIT);
+        FieldSelection selection = FieldSelection.parse(criteria.getFields(), SELECTABLE_FIELDS);
+
+        Specification<Task> spec = filterSpec(criteria, username);
+
+        // Continúa tras la última fila de la página anterior
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            TaskCursor cursor = TaskCursor.decode(criteria.getCursor(), field);
+            spec = spec.and(TaskSpecifications.after(field.attribute, (Comparable) cursor.value, cursor.id, ascending));
+        }
+
+        // (campo, id) en el mismo sentido: coincide con los índices compuestos de V5
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = field == TaskCursor.SortField.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, field.attribute, "id");
+
+        if (selection != null) {
+            return searchTaskFields(selection, spec, sort, field, limit);
+        }
+
+        // Se pide una fila de más para saber si hay página siguiente sin COUNT
+        List<Task> rows = repository.findBy(spec, query -> query.sortBy(sort).limit(limit + 1).all());
+        boolean hasMore = rows.size() > limit;
+        List<Task> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Task last = page.get(page.size() - 1);
+            Comparable<?> value = switch (field) {
+                case CREATED_AT -> last.getCreatedAt();
+                case DUE_DATE -> last.getDueDate();
+                case ID -> last.getId();
+            };
+            nextCursor = new TaskCursor(field, value, last.getId()).encode();
+        }
+
+        return TaskPageDTO.<TaskDTO>builder()
+                .tasks(page.stream().map(mapper::toDTO).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Página de la búsqueda con sólo los campos pedidos. El ID y el campo de ordenación se
+     * leen siempre para construir el cursor y se quitan después si el cliente no los pidió.
+     */
+    private TaskPageDTO<Map<String, Object>> searchTaskFields(FieldSelection selection, Specification<Task> spec,
+                                                             Sort sort, TaskCursor.SortField field, int limit) {
+        List<Map<String, Object>> rows = sparseFieldQuery.find(
+                Task.class, selection.with("id", field.attribute), spec, sort, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Map<String, Object>> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Map<String, Object> last = page.get(page.size() - 1);
+            nextCursor = new TaskCursor(field, (Comparable<?>) last.get(field.attribute), (Long) last.get("id")).encode();
+        }
+        for (Map<String, Object> row : page) {
+            row.keySet().retainAll(selection.fields());
+        }
+
+        return TaskPageDTO.<Map<String, Object>>builder()
+                .tasks(page)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Filtros de búsqueda como `Specification`. Ámbito mínimo: proyecto, asignado o,
+     * en su defecto, el propio usuario. Sólo se devuelven tareas accesibles: con proyecto,
+     * se comprueba el acceso a él; sin proyecto, se limita a los proyectos accesibles y a
+     * las tareas asignadas al usuario.
+     */
+    private Specification<Task> filterSpec(TaskSearchCriteria criteria, String username) {
+        String assignee = criteria.getAssignedTo();
+        if (criteria.getProjectId() == null && (assignee == null || assignee.isBlank())) {
+            assignee = username;
+        }
+
+        Specification<Task> scope;
+        if (criteria.getProjectId() != null) {
+            accessService.checkProject(username, criteria.getProjectId());
+            scope = TaskSpecifications.inProject(criteria.getProjectId());
+        } else if (username.equals(assignee)) {
+            // Las tareas propias siempre son accesibles
+            scope = null;
+        } else {
+            scope = TaskSpecifications.inProjects(accessService.accessibleProjects(username));
+        }
+
+        return Specification.where(scope)
+                .and(TaskSpecifications.assignedTo(assignee))
+                .and(TaskSpecifications.statusIn(criteria.getStatus()))
+                .and(TaskSpecifications.priorityIn(criteria.getPriority()))
+                .and(TaskSpecifications.dueFrom(criteria.getDueFrom()))
+                .and(TaskSpecifications.dueTo(criteria.getDueTo()))
+                .and(TaskSpecifications.hasTag(criteria.getTag()));
+    }
 }
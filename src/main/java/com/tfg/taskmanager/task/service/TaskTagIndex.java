@@ -0,0 +1,365 @@
+package com.tfg.taskmanager.task.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.tag.service.TagDictionary;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskTagRow;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Índice de bits por proyecto: etiqueta (ID del diccionario) -> conjunto de IDs de tareas.
+ *
+ * Permite resolver filtros AND/OR/NOT sobre etiquetas con operaciones de bitmaps comprimidos
+ * (Roaring) en lugar de cargar todas las tareas y filtrar en memoria. Cada índice se construye
+ * la primera vez que se consulta el proyecto, se actualiza de forma incremental con cada
+ * `TaskChangedEvent` confirmado (o aviso de otro nodo) y se expulsa de memoria (LRU) cuando se supera el presupuesto.
+ * Los cambios que llegan mientras se construye un índice se apuntan y se vuelven a aplicar al terminar.
+ */
+@Slf4j
+@Service
+public class TaskTagIndex {
+
+    private final TaskRepository taskRepository;
+    private final TagDictionary dictionary;
+
+    /** Índices cargados, con peso aproximado en bytes */
+    private final Cache<Long, ProjectTagIndex> indexes;
+
+    /** Consultas esperando a que se construya un índice, con los cambios recibidos mientras tanto */
+    private final Set<Build> building = ConcurrentHashMap.newKeySet();
+
+    public TaskTagIndex(
+            TaskRepository taskRepository,
+            TagDictionary dictionary,
+            @Value("${tags.index.max-bytes:268435456}") long maxBytes) {
+        this.taskRepository = taskRepository;
+        this.dictionary = dictionary;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long projectId, ProjectTagIndex index) -> index.estimatedBytes())
+                .build();
+    }
+
+    /**
+     * Resuelve un filtro de etiquetas sobre las tareas de un proyecto.
+     *
+     * @param projectId Proyecto sobre el que se filtra.
+     * @param all Etiquetas que deben estar todas (AND). Vacío = sin restricción.
+     * @param any Etiquetas de las que debe haber al menos una (OR). Vacío = sin restricción.
+     * @param none Etiquetas que no deben estar (NOT).
+     * @return IDs de las tareas que cumplen el filtro, en orden ascendente.
+     */
+    public Roaring64Bitmap filter(Long projectId, Collection<String> all, Collection<String> any, Collection<String> none) {
+        // Primero el índice: al construirlo se incorporan al diccionario todas las etiquetas del
+        // proyecto, también las creadas por escrituras que no pasaron por un índice cargado
+        ProjectTagIndex index = indexes.getIfPresent(projectId);
+        if (index == null) {
+            index = load(projectId);
+        }
+        Set<Integer> required = ids(all);
+        if (required.size() < distinct(all)) {
+            // Alguna etiqueta obligatoria no existe en el diccionario: ninguna tarea puede tenerla
+            return new Roaring64Bitmap();
+        }
+        Set<Integer> optional = ids(any);
+        if (optional.isEmpty() && distinct(any) > 0) {
+            // Ninguna de las alternativas existe: el OR no lo cumple ninguna tarea
+            return new Roaring64Bitmap();
+        }
+        return index.filter(required, optional, ids(none));
+    }
+
+    /**
+     * Devuelve una página de IDs de un resultado, en orden ascendente.
+     */
+    public static List<Long> page(Roaring64Bitmap result, int page, int size) {
+        List<Long> ids = new ArrayList<>(size);
+        LongIterator iterator = result.getLongIterator();
+        long skip = (long) page * size;
+        while (iterator.hasNext() && ids.size() < size) {
+            long id = iterator.next();
+            if (skip > 0) {
+                skip--;
+            } else {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Descarta el índice de un proyecto (se reconstruirá en la siguiente consulta).
+     */
+    public void evict(Long projectId) {
+        indexes.invalidate(projectId);
+    }
+
+    /**
+     * Mantiene los índices cargados al confirmarse cambios en tareas.
+     * Los proyectos sin índice en memoria ni en construcción se ignoran: se construirán ya con los datos nuevos.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.ChangeType.ARCHIVED) {
+            remove(event.getProjectIds(), event.getTaskIds());
+        } else {
+            upsert(event.getProjectIds(), event.getTaskIds());
+        }
+    }
+
+    /**
+     * Aplica los cambios de tareas confirmados en otros nodos.
+     */
+    @EventListener
+    public void onClusterInvalidation(ClusterInvalidationEvent event) {
+        if (event.isAll()) {
+            building.forEach(Build::markStale);
+            indexes.invalidateAll();
+            return;
+        }
+        if (!event.getDeletedTaskIds().isEmpty()) {
+            remove(event.getTaskProjectIds(), event.getDeletedTaskIds());
+        }
+        if (!event.getUpsertedTaskIds().isEmpty()) {
+            upsert(event.getTaskProjectIds(), event.getUpsertedTaskIds());
+        }
+    }
+
+    private void remove(Collection<Long> projectIds, Collection<Long> taskIds) {
+        record(projectIds, taskIds);
+        for (Long projectId : projectIds) {
+            indexes.asMap().computeIfPresent(projectId, (id, index) -> index.removeAll(taskIds));
+        }
+    }
+
+    /**
+     * Vuelve a indexar las tareas indicadas en los índices cargados de sus proyectos.
+     */
+    private void upsert(Collection<Long> projectIds, Collection<Long> taskIds) {
+        record(projectIds, taskIds);
+        List<Long> loaded = projectIds.stream()
+                .filter(projectId -> indexes.getIfPresent(projectId) != null)
+                .toList();
+        if (loaded.isEmpty()) {
+            return;
+        }
+
+        List<TaskTagRow> rows = taskRepository.findTagRowsByTaskIds(taskIds);
+        Map<String, Integer> tagIds = dictionary.internAll(
+                rows.stream().map(TaskTagRow::getTag).filter(Objects::nonNull).toList());
+        Map<Long, List<TaskTagRow>> byProject = rows.stream()
+                .filter(row -> row.getProjectId() != null)
+                .collect(Collectors.groupingBy(TaskTagRow::getProjectId));
+
+        for (Long projectId : loaded) {
+            List<TaskTagRow> projectRows = byProject.getOrDefault(projectId, List.of());
+            indexes.asMap().computeIfPresent(projectId, (id, index) -> {
+                index.removeAll(taskIds);
+                index.addAll(projectRows, tagIds);
+                return index;
+            });
+        }
+    }
+
+    /**
+     * Apunta las tareas cambiadas en las construcciones en curso de sus proyectos. Se hace antes
+     * de mirar la caché, para que ningún cambio se quede sin aplicar.
+     */
+    private void record(Collection<Long> projectIds, Collection<Long> taskIds) {
+        for (Build build : building) {
+            if (projectIds.contains(build.projectId)) {
+                build.changedTaskIds.addAll(taskIds);
+            }
+        }
+    }
+
+    /**
+     * Obtiene un índice que no estaba cargado (construyéndolo, o esperando a quien ya lo construye)
+     * y vuelve a indexar las tareas cambiadas mientras tanto.
+     */
+    private ProjectTagIndex load(Long projectId) {
+        Build build = new Build(projectId);
+        building.add(build);
+        ProjectTagIndex index;
+        try {
+            index = indexes.get(projectId, this::build);
+        } finally {
+            building.remove(build);
+        }
+
+        if (build.stale) {
+            indexes.asMap().remove(projectId, index);
+        } else if (!build.changedTaskIds.isEmpty()) {
+            upsert(List.of(projectId), List.copyOf(build.changedTaskIds));
+        }
+        return index;
+    }
+
+    /**
+     * Construye el índice de un proyecto a partir de la base de datos.
+     */
+    private ProjectTagIndex build(Long projectId) {
+        List<TaskTagRow> rows = taskRepository.findTagRowsByProjectId(projectId);
+        Map<String, Integer> tagIds = dictionary.internAll(
+                rows.stream().map(TaskTagRow::getTag).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        ProjectTagIndex index = new ProjectTagIndex();
+        index.addAll(rows, tagIds);
+        log.debug("Índice de etiquetas del proyecto {} construido ({} filas)", projectId, rows.size());
+        return index;
+    }
+
+    /**
+     * Traduce etiquetas a IDs del diccionario, descartando las desconocidas.
+     */
+    private Set<Integer> ids(Collection<String> tags) {
+        Set<Integer> ids = new HashSet<>();
+        for (String tag : tags) {
+            Integer id = dictionary.lookup(tag);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static int distinct(Collection<String> tags) {
+        return (int) tags.stream().map(TagDictionary::normalize).filter(Objects::nonNull).distinct().count();
+    }
+
+    /**
+     * Espera de un índice en construcción, con los cambios recibidos mientras tanto.
+     */
+    private static final class Build {
+
+        private final Long projectId;
+
+        /** Tareas del proyecto cambiadas durante la construcción */
+        private final Set<Long> changedTaskIds = ConcurrentHashMap.newKeySet();
+
+        /** Se ha descartado todo (aviso de otro nodo): el índice no debe quedarse en caché */
+        private volatile boolean stale;
+
+        private Build(Long projectId) {
+            this.projectId = projectId;
+        }
+
+        private void markStale() {
+            stale = true;
+        }
+    }
+
+    /**
+     * Bitmaps de un proyecto. Protegido con un cerrojo de lectura/escritura: las consultas
+     * no se bloquean entre sí y cada una devuelve su propio bitmap de resultado.
+     */
+    static final class ProjectTagIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /** Todas las tareas del proyecto (base para NOT y para filtros sin AND/OR) */
+        private final Roaring64Bitmap allTasks = new Roaring64Bitmap();
+
+        /** ID de etiqueta -> tareas que la tienen */
+        private final Map<Integer, Roaring64Bitmap> byTag = new HashMap<>();
+
+        void addAll(List<TaskTagRow> rows, Map<String, Integer> tagIds) {
+            lock.writeLock().lock();
+            try {
+                for (TaskTagRow row : rows) {
+                    allTasks.addLong(row.getTaskId());
+                    Integer tagId = tagIds.get(TagDictionary.normalize(row.getTag()));
+                    if (tagId != null) {
+                        byTag.computeIfAbsent(tagId, id -> new Roaring64Bitmap()).addLong(row.getTaskId());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        ProjectTagIndex removeAll(Collection<Long> taskIds) {
+            lock.writeLock().lock();
+            try {
+                for (Long taskId : taskIds) {
+                    allTasks.removeLong(taskId);
+                    for (Roaring64Bitmap tasks : byTag.values()) {
+                        tasks.removeLong(taskId);
+                    }
+                }
+                byTag.values().removeIf(Roaring64Bitmap::isEmpty);
+                return this;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * (AND de `all`) ∩ (OR de `any`) − (OR de `none`). Devuelve un bitmap nuevo.
+         */
+        Roaring64Bitmap filter(Set<Integer> all, Set<Integer> any, Set<Integer> none) {
+            Roaring64Bitmap result = new Roaring64Bitmap();
+            lock.readLock().lock();
+            try {
+                if (all.isEmpty()) {
+                    result.or(allTasks);
+                } else {
+                    Iterator<Integer> required = all.iterator();
+                    result.or(bitmap(required.next()));
+                    while (required.hasNext() && !result.isEmpty()) {
+                        result.and(bitmap(required.next()));
+                    }
+                }
+
+                if (!any.isEmpty()) {
+                    Roaring64Bitmap union = new Roaring64Bitmap();
+                    any.forEach(tagId -> union.or(bitmap(tagId)));
+                    result.and(union);
+                }
+
+                for (Integer tagId : none) {
+                    result.andNot(bitmap(tagId));
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Tamaño aproximado en memoria, usado como peso en la caché.
+         */
+        int estimatedBytes() {
+            lock.readLock().lock();
+            try {
+                long bytes = allTasks.getLongSizeInBytes() + 64L;
+                for (Roaring64Bitmap tasks : byTag.values()) {
+                    bytes += tasks.getLongSizeInBytes() + 64L;
+                }
+                return (int) Math.min(Integer.MAX_VALUE, bytes);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Roaring64Bitmap bitmap(Integer tagId) {
+            Roaring64Bitmap tasks = byTag.get(tagId);
+            return tasks != null ? tasks : new Roaring64Bitmap();
+        }
+    }
+}
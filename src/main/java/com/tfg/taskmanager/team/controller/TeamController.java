@@ -0,0 +1,101 @@
+package com.tfg.taskmanager.team.controller;
+
+import com.tfg.taskmanager.team.model.dto.MemberDTO;
+import com.tfg.taskmanager.team.model.dto.TeamCreateDTO;
+import com.tfg.taskmanager.team.model.dto.TeamDTO;
+import com.tfg.taskmanager.team.service.TeamService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST para gestionar equipos y sus miembros.
+ * Los miembros de un equipo acceden a los proyectos asignados a él (`teamId` del proyecto).
+ * Requiere autenticación mediante JWT.
+ */
+@RestController
+@RequestMapping("/api/teams")
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamService service;
+
+    /**
+     * Crea un equipo del que el usuario autenticado es propietario y primer miembro.
+     * @param dto nombre del equipo
+     * @param auth contexto de autenticación
+     * @return el equipo creado
+     */
+    @PostMapping
+    public ResponseEntity<TeamDTO> createTeam(@Valid @RequestBody TeamCreateDTO dto, Authentication auth) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.createTeam(dto, auth.getName()));
+    }
+
+    /**
+     * Lista los equipos de los que el usuario autenticado es miembro.
+     * @param auth contexto de autenticación
+     * @return equipos con sus miembros
+     */
+    @GetMapping
+    public ResponseEntity<List<TeamDTO>> getTeams(Authentication auth) {
+        return ResponseEntity.ok(service.getTeams(auth.getName()));
+    }
+
+    /**
+     * Recupera un equipo del que el usuario es miembro.
+     * @param id identificador del equipo
+     * @param auth contexto de autenticación
+     * @return el equipo con sus miembros
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TeamDTO> getTeam(@PathVariable Long id, Authentication auth) {
+        return ResponseEntity.ok(service.getTeam(id, auth.getName()));
+    }
+
+    /**
+     * Añade un miembro al equipo (sólo el propietario).
+     * @param id identificador del equipo
+     * @param member usuario a añadir
+     * @param auth contexto de autenticación
+     * @return el equipo actualizado
+     */
+    @PostMapping("/{id}/members")
+    public ResponseEntity<TeamDTO> addMember(
+            @PathVariable Long id,
+            @Valid @RequestBody MemberDTO member,
+            Authentication auth) {
+        return ResponseEntity.ok(service.addMember(id, member.getUsername(), auth.getName()));
+    }
+
+    /**
+     * Quita un miembro del equipo (el propietario, o el propio miembro para abandonarlo).
+     * @param id identificador del equipo
+     * @param username usuario a quitar
+     * @param auth contexto de autenticación
+     * @return el equipo actualizado
+     */
+    @DeleteMapping("/{id}/members/{username}")
+    public ResponseEntity<TeamDTO> removeMember(
+            @PathVariable Long id,
+            @PathVariable String username,
+            Authentication auth) {
+        return ResponseEntity.ok(service.removeMember(id, username, auth.getName()));
+    }
+
+    /**
+     * Borra un equipo (sólo el propietario). Sus proyectos se quedan sin equipo.
+     * @param id identificador del equipo
+     * @param auth contexto de autenticación
+     * @return 204 sin contenido
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTeam(@PathVariable Long id, Authentication auth) {
+        service.deleteTeam(id, auth.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
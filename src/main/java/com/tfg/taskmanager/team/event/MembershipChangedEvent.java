@@ -0,0 +1,36 @@
+package com.tfg.taskmanager.team.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Evento publicado cuando cambia el conjunto de proyectos al que pueden acceder unos usuarios:
+ * altas y bajas en equipos o proyectos, o un proyecto que cambia de equipo.
+ *
+ * Se publica dentro de la transacción del cambio (se aplica tras el commit) y también al
+ * recibir el aviso equivalente de otro nodo.
+ */
+@Getter
+@AllArgsConstructor
+public class MembershipChangedEvent {
+
+    /** Usuarios afectados; null si pueden ser todos */
+    private final Set<String> usernames;
+
+    public static MembershipChangedEvent of(Set<String> usernames) {
+        return new MembershipChangedEvent(Set.copyOf(usernames));
+    }
+
+    public static MembershipChangedEvent everyone() {
+        return new MembershipChangedEvent(null);
+    }
+
+    /**
+     * true si hay que olvidar los permisos de todos los usuarios.
+     */
+    public boolean isEveryone() {
+        return usernames == null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.tfg.taskmanager.team.mapper;
+
+import com.tfg.taskmanager.team.model.dto.TeamDTO;
+import com.tfg.taskmanager.team.model.vo.Team;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface TeamMapper {
+
+    /**
+     * Convierte un equipo y sus miembros (guardados aparte) en DTO.
+     */
+    @Mapping(target = "members", source = "members")
+    TeamDTO toDTO(Team team, List<String> members);
+}
@@ -0,0 +1,22 @@
+package com.tfg.taskmanager.team.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Usuario que se añade como miembro de un equipo o de un proyecto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MemberDTO {
+
+    @NotBlank(message = "El nombre de usuario es obligatorio.")
+    @Size(max = 255, message = "El nombre de usuario no puede superar los 255 caracteres.")
+    private String username;
+}
@@ -0,0 +1,22 @@
+package com.tfg.taskmanager.team.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Datos para crear un equipo. El creador pasa a ser su propietario y primer miembro.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TeamCreateDTO {
+
+    @NotBlank(message = "El nombre del equipo es obligatorio.")
+    @Size(max = 100, message = "El nombre no puede superar los 100 caracteres.")
+    private String name;
+}
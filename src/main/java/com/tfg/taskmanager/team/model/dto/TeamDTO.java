@@ -0,0 +1,30 @@
+package com.tfg.taskmanager.team.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Equipo con sus miembros.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TeamDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String ownerUsername;
+
+    private LocalDateTime createdAt;
+
+    /** Nombres de usuario de los miembros, en orden alfabético */
+    private List<String> members;
+}
@@ -0,0 +1,43 @@
+package com.tfg.taskmanager.team.model.vo;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Equipo de usuarios. Los miembros de un equipo tienen acceso a los proyectos asignados
+ * a él (`Project.teamId`). Los miembros se guardan en `team_members`.
+ */
+@Entity
+@Table(name = "teams")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Team {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    /**
+     * Usuario que creó el equipo; es quien gestiona sus miembros.
+     */
+    @Column(nullable = false)
+    private String ownerUsername;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,66 @@
+package com.tfg.taskmanager.team.repository;
+
+import com.tfg.taskmanager.team.model.vo.Team;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio de equipos y de sus miembros (`team_members`).
+ */
+@Repository
+public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    /**
+     * Equipos de los que el usuario es miembro, por nombre.
+     */
+    @Query(value = """
+            SELECT t.* FROM teams t JOIN team_members m ON m.team_id = t.id
+            WHERE m.username = :username
+            ORDER BY t.name, t.id""", nativeQuery = true)
+    List<Team> findByMember(@Param("username") String username);
+
+    /**
+     * Miembros de un equipo, en orden alfabético.
+     */
+    @Query(value = "SELECT username FROM team_members WHERE team_id = :teamId ORDER BY username", nativeQuery = true)
+    List<String> findMembers(@Param("teamId") Long teamId);
+
+    /**
+     * Miembros distintos de varios equipos.
+     */
+    @Query(value = "SELECT DISTINCT username FROM team_members WHERE team_id IN (:teamIds)", nativeQuery = true)
+    List<String> findMembers(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Indica si el usuario es miembro del equipo.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM team_members WHERE team_id = :teamId AND username = :username)",
+            nativeQuery = true)
+    boolean isMember(@Param("teamId") Long teamId, @Param("username") String username);
+
+    /**
+     * Añade un miembro.
+     *
+     * @return 1 si se añadió, 0 si ya lo era.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO team_members (team_id, username) VALUES (:teamId, :username)
+            ON CONFLICT DO NOTHING""", nativeQuery = true)
+    int addMember(@Param("teamId") Long teamId, @Param("username") String username);
+
+    /**
+     * Quita un miembro.
+     *
+     * @return 1 si se quitó, 0 si no lo era.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM team_members WHERE team_id = :teamId AND username = :username", nativeQuery = true)
+    int removeMember(@Param("teamId") Long teamId, @Param("username") String username);
+}
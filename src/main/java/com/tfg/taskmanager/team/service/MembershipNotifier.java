@@ -0,0 +1,40 @@
+package com.tfg.taskmanager.team.service;
+
+import com.tfg.taskmanager.cluster.service.ClusterInvalidationPublisher;
+import com.tfg.taskmanager.team.event.MembershipChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Comunica los cambios de permisos a las cachés de acceso de este nodo y del resto.
+ * Debe llamarse dentro de la transacción del cambio: ambos avisos se entregan tras el commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class MembershipNotifier {
+
+    /** Por encima de estos usuarios se envía un único aviso para todos */
+    private static final int MAX_NOTIFIED_USERS = 50;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterInvalidationPublisher clusterPublisher;
+
+    /**
+     * Avisa de que pueden haber cambiado los proyectos accesibles de estos usuarios.
+     */
+    public void membershipChanged(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return;
+        }
+        eventPublisher.publishEvent(MembershipChangedEvent.of(Set.copyOf(usernames)));
+        if (usernames.size() > MAX_NOTIFIED_USERS) {
+            clusterPublisher.publishMembership(null);
+        } else {
+            usernames.forEach(clusterPublisher::publishMembership);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.tfg.taskmanager.team.service;
+
+import com.tfg.taskmanager.team.model.dto.TeamCreateDTO;
+import com.tfg.taskmanager.team.model.dto.TeamDTO;
+
+import java.util.List;
+
+public interface TeamService {
+
+    /**
+     * Crea un equipo; el creador es su propietario y primer miembro.
+     */
+    TeamDTO createTeam(TeamCreateDTO dto, String ownerUsername);
+
+    /**
+     * Equipos de los que el usuario es miembro.
+     */
+    List<TeamDTO> getTeams(String username);
+
+    /**
+     * Recupera un equipo del que el usuario es miembro.
+     */
+    TeamDTO getTeam(Long teamId, String username);
+
+    /**
+     * Añade un miembro. Sólo el propietario del equipo.
+     */
+    TeamDTO addMember(Long teamId, String member, String requester);
+
+    /**
+     * Quita un miembro. El propietario puede quitar a cualquiera salvo a sí mismo; el resto,
+     * sólo a sí mismos (abandonar el equipo).
+     */
+    TeamDTO removeMember(Long teamId, String member, String requester);
+
+    /**
+     * Borra un equipo. Sus proyectos se quedan sin equipo. Sólo el propietario.
+     */
+    void deleteTeam(Long teamId, String requester);
+}
@@ -0,0 +1,134 @@
+package com.tfg.taskmanager.team.service;
+
+import com.tfg.taskmanager.common.concurrency.FieldVersions;
+import com.tfg.taskmanager.project.event.ProjectChangedEvent;
+import com.tfg.taskmanager.project.model.vo.Project;
+import com.tfg.taskmanager.project.repository.ProjectRepository;
+import com.tfg.taskmanager.team.mapper.TeamMapper;
+import com.tfg.taskmanager.team.model.dto.TeamCreateDTO;
+import com.tfg.taskmanager.team.model.dto.TeamDTO;
+import com.tfg.taskmanager.team.model.vo.Team;
+import com.tfg.taskmanager.team.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Gestión de equipos y de sus miembros.
+ *
+ * Cada alta o baja cambia los proyectos accesibles del usuario afectado, así que se comunica
+ * a las cachés de acceso con {@link MembershipNotifier}.
+ */
+@Service
+@RequiredArgsConstructor
+public class TeamServiceImpl implements TeamService {
+
+    private final TeamRepository repository;
+    private final TeamMapper mapper;
+    private final MembershipNotifier membershipNotifier;
+    private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public TeamDTO createTeam(TeamCreateDTO dto, String ownerUsername) {
+        Team saved = repository.save(Team.builder()
+                .name(dto.getName())
+                .ownerUsername(ownerUsername)
+                .build());
+        // Un equipo nuevo no tiene proyectos: no cambia el acceso de nadie
+        repository.addMember(saved.getId(), ownerUsername);
+        return mapper.toDTO(saved, List.of(ownerUsername));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TeamDTO> getTeams(String username) {
+        return repository.findByMember(username).stream()
+                .map(team -> mapper.toDTO(team, repository.findMembers(team.getId())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TeamDTO getTeam(Long teamId, String username) {
+        Team team = findVisible(teamId, username);
+        return mapper.toDTO(team, repository.findMembers(teamId));
+    }
+
+    /**
+     * @throws ResponseStatusException 404 si el equipo no existe o el usuario no es miembro;
+     *                                 403 si no es el propietario.
+     */
+    @Override
+    @Transactional
+    public TeamDTO addMember(Long teamId, String member, String requester) {
+        Team team = findOwned(teamId, requester);
+        if (repository.addMember(teamId, member) > 0) {
+            membershipNotifier.membershipChanged(Set.of(member));
+        }
+        return mapper.toDTO(team, repository.findMembers(teamId));
+    }
+
+    /**
+     * @throws ResponseStatusException 404 si el equipo no existe o el usuario no es miembro;
+     *                                 403 si no puede quitar a ese miembro; 400 si es el propietario.
+     */
+    @Override
+    @Transactional
+    public TeamDTO removeMember(Long teamId, String member, String requester) {
+        Team team = findVisible(teamId, requester);
+        if (!requester.equals(team.getOwnerUsername()) && !requester.equals(member)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sólo el propietario del equipo puede quitar miembros");
+        }
+        if (member.equals(team.getOwnerUsername())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El propietario no puede abandonar el equipo");
+        }
+        if (repository.removeMember(teamId, member) > 0) {
+            membershipNotifier.membershipChanged(Set.of(member));
+        }
+        return mapper.toDTO(team, repository.findMembers(teamId));
+    }
+
+    @Override
+    @Transactional
+    public void deleteTeam(Long teamId, String requester) {
+        Team team = findOwned(teamId, requester);
+        List<String> members = repository.findMembers(teamId);
+
+        // Los proyectos del equipo se quedan sin él como en cualquier otra modificación (versión,
+        // evento y registro de cambios); el ON DELETE SET NULL ya no encuentra ninguno
+        List<Project> projects = projectRepository.findByTeamId(teamId);
+        for (Project project : projects) {
+            FieldVersions.record(project.getFieldVersions(), Set.of("teamId"), project.getVersion());
+            project.setTeamId(null);
+        }
+        projectRepository.saveAllAndFlush(projects);
+        projects.forEach(project -> eventPublisher.publishEvent(new ProjectChangedEvent(
+                project.getId(), project.getOwnerUsername(), ProjectChangedEvent.ChangeType.UPDATED)));
+
+        // Los miembros se borran en cascada (ON DELETE)
+        repository.delete(team);
+        membershipNotifier.membershipChanged(members);
+    }
+
+    private Team findVisible(Long teamId, String username) {
+        return repository.findById(teamId)
+                .filter(team -> repository.isMember(teamId, username))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Equipo no encontrado"));
+    }
+
+    private Team findOwned(Long teamId, String username) {
+        Team team = findVisible(teamId, username);
+        if (!username.equals(team.getOwnerUsername())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Sólo el propietario del equipo puede gestionarlo");
+        }
+        return team;
+    }
+}
@@ -0,0 +1,12 @@
+-- Control de concurrencia optimista en tareas y proyectos.
+
+-- version: se incrementa en cada modificación (@Version de JPA y actualizaciones masivas).
+-- field_versions: versión en la que cambió por última vez cada campo ({"status": 7, ...});
+-- permite fusionar ediciones concurrentes que tocan campos distintos.
+ALTER TABLE tasks
+    ADD COLUMN IF NOT EXISTS version        BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS field_versions JSONB  NOT NULL DEFAULT '{}';
+
+ALTER TABLE projects
+    ADD COLUMN IF NOT EXISTS version        BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS field_versions JSONB  NOT NULL DEFAULT '{}';
@@ -0,0 +1,16 @@
+-- Estado de los jobs de mantenimiento compartido entre nodos: quién tiene la concesión
+-- (lease) para ejecutarlo, hasta cuándo, y el punto de control del trabajo en curso.
+
+CREATE TABLE IF NOT EXISTS job_state (
+    name              VARCHAR(64)  PRIMARY KEY,
+    owner_node        VARCHAR(64),
+    lease_until       TIMESTAMP(6),
+    checkpoint        TEXT,
+    run_started_at    TIMESTAMP(6),
+    run_items         BIGINT       NOT NULL DEFAULT 0,
+    last_finished_at  TIMESTAMP(6),
+    last_duration_ms  BIGINT,
+    last_items        BIGINT,
+    last_error        TEXT,
+    backlog           BIGINT
+);
@@ -0,0 +1,29 @@
+-- Registro de auditoría de altas y modificaciones de tareas y proyectos (sólo inserciones).
+-- event_id identifica cada evento: el escritor puede reenviar un lote (entrega "al menos una vez")
+-- y los duplicados se descartan con ON CONFLICT.
+
+CREATE TABLE IF NOT EXISTS audit_log (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id    UUID         NOT NULL UNIQUE,
+    occurred_at TIMESTAMP(6) NOT NULL,
+    actor       VARCHAR(255),
+    entity_type VARCHAR(16)  NOT NULL CHECK (entity_type IN ('TASK', 'PROJECT')),
+    entity_id   BIGINT       NOT NULL,
+    action      VARCHAR(16)  NOT NULL CHECK (action IN ('CREATE', 'UPDATE')),
+    changes     JSONB        NOT NULL,
+    recorded_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_log_entity ON audit_log (entity_type, entity_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_audit_log_actor ON audit_log (actor, occurred_at);
+
+-- Sólo se permite añadir filas
+CREATE OR REPLACE FUNCTION audit_log_append_only() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'audit_log es de sólo inserción';
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS audit_log_append_only ON audit_log;
+CREATE TRIGGER audit_log_append_only BEFORE UPDATE OR DELETE ON audit_log
+    FOR EACH STATEMENT EXECUTE FUNCTION audit_log_append_only();
@@ -0,0 +1,36 @@
+-- Equipos y miembros de proyectos. Un usuario accede a un proyecto si es su propietario,
+-- miembro directo (project_members) o miembro del equipo del proyecto (projects.team_id).
+
+CREATE TABLE IF NOT EXISTS teams (
+    id              BIGINT       GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            VARCHAR(100) NOT NULL,
+    owner_username  VARCHAR(255) NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS team_members (
+    team_id   BIGINT       NOT NULL REFERENCES teams (id) ON DELETE CASCADE,
+    username  VARCHAR(255) NOT NULL,
+    added_at  TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP,
+    PRIMARY KEY (team_id, username)
+);
+
+CREATE TABLE IF NOT EXISTS project_members (
+    project_id  BIGINT       NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    username    VARCHAR(255) NOT NULL,
+    added_at    TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP,
+    PRIMARY KEY (project_id, username)
+);
+
+-- Búsquedas por usuario al calcular sus proyectos accesibles
+CREATE INDEX IF NOT EXISTS idx_team_members_username ON team_members (username);
+CREATE INDEX IF NOT EXISTS idx_project_members_username ON project_members (username);
+CREATE INDEX IF NOT EXISTS idx_projects_team_id ON projects (team_id) WHERE team_id IS NOT NULL;
+
+-- team_id existía sin tabla de equipos: los valores antiguos no se refieren a ningún equipo, pero
+-- coincidirían con los IDs de los equipos nuevos y darían acceso a sus miembros. Se vacían antes de
+-- añadir la restricción
+UPDATE projects SET team_id = NULL WHERE team_id IS NOT NULL;
+
+ALTER TABLE projects
+    ADD CONSTRAINT fk_projects_team FOREIGN KEY (team_id) REFERENCES teams (id) ON DELETE SET NULL;
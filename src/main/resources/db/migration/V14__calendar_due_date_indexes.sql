@@ -0,0 +1,6 @@
+-- Feeds de calendario: tareas con fecha límite de un responsable dentro de una ventana de fechas.
+-- idx_tasks_assignee_status_due lleva el estado delante de due_date y obliga a recorrer todos los estados;
+-- este índice resuelve la ventana con un único rango. El de proyecto ya existe (idx_tasks_project_due).
+-- Parcial: las tareas sin fecha límite nunca salen en un calendario.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_due ON tasks (assigned_to, due_date, id) WHERE due_date IS NOT NULL;
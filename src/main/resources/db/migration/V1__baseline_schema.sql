@@ -0,0 +1,73 @@
+-- Esquema base de TaskManager.
+-- Refleja el esquema que Hibernate generaba con ddl-auto=update; las bases de datos
+-- existentes lo marcan como baseline (spring.flyway.baseline-on-migrate=true).
+
+CREATE TABLE projects (
+    id                     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                   VARCHAR(255) NOT NULL,
+    description            VARCHAR(2000),
+    created_at             TIMESTAMP(6),
+    start_date             DATE,
+    estimated_end_date     DATE,
+    real_end_date          DATE,
+    estimated_effort_hours INTEGER,
+    actual_effort_hours    INTEGER,
+    participants_count     INTEGER,
+    status                 VARCHAR(255) NOT NULL
+        CHECK (status IN ('PLANNED', 'ACTIVE', 'COMPLETED', 'CANCELLED', 'ON_HOLD')),
+    owner_username         VARCHAR(255),
+    viability_summary      VARCHAR(4000),
+    team_id                BIGINT
+);
+
+CREATE TABLE project_tags (
+    project_id BIGINT NOT NULL REFERENCES projects (id),
+    tags       VARCHAR(255)
+);
+
+CREATE TABLE tasks (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255) NOT NULL,
+    description  VARCHAR(2000),
+    project_id   BIGINT,
+    assigned_to  VARCHAR(255),
+    status       VARCHAR(255) NOT NULL
+        CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE', 'BLOCKED')),
+    priority     VARCHAR(255) NOT NULL
+        CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    due_date     DATE,
+    created_at   TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    position     INTEGER
+);
+
+CREATE TABLE task_tags (
+    task_id BIGINT NOT NULL REFERENCES tasks (id),
+    tags    VARCHAR(255)
+);
+
+CREATE INDEX idx_tasks_status_completed_at ON tasks (status, completed_at);
+
+CREATE TABLE archived_tasks (
+    id           BIGINT PRIMARY KEY,
+    title        VARCHAR(255) NOT NULL,
+    description  VARCHAR(2000),
+    project_id   BIGINT,
+    assigned_to  VARCHAR(255),
+    status       VARCHAR(255) NOT NULL
+        CHECK (status IN ('TODO', 'IN_PROGRESS', 'DONE', 'BLOCKED')),
+    priority     VARCHAR(255) NOT NULL
+        CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    due_date     DATE,
+    created_at   TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    position     INTEGER,
+    archived_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE archived_task_tags (
+    archived_task_id BIGINT NOT NULL REFERENCES archived_tasks (id),
+    tags             VARCHAR(255)
+);
+
+CREATE INDEX idx_archived_tasks_project_id ON archived_tasks (project_id, id);
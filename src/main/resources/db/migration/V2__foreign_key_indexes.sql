@@ -0,0 +1,8 @@
+-- Índices que Hibernate no creaba: listados por proyecto/propietario y
+-- acceso a las colecciones de etiquetas por su clave ajena.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_project_id ON tasks (project_id);
+CREATE INDEX IF NOT EXISTS idx_projects_owner_username ON projects (owner_username);
+CREATE INDEX IF NOT EXISTS idx_task_tags_task_id ON task_tags (task_id);
+CREATE INDEX IF NOT EXISTS idx_project_tags_project_id ON project_tags (project_id);
+CREATE INDEX IF NOT EXISTS idx_archived_task_tags_task_id ON archived_task_tags (archived_task_id);
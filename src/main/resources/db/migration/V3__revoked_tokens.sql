@@ -0,0 +1,10 @@
+-- Lista de tokens JWT revocados (logout). Sólo guarda tokens aún no expirados.
+
+CREATE TABLE revoked_tokens (
+    token_id   VARCHAR(64)  PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
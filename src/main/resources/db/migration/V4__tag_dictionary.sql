@@ -0,0 +1,16 @@
+-- Diccionario de etiquetas: cada texto distinto (normalizado) recibe un ID entero.
+-- Los índices de bits por proyecto trabajan con estos IDs.
+
+CREATE TABLE tag_dictionary (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+INSERT INTO tag_dictionary (name)
+SELECT DISTINCT lower(trim(tags)) FROM (
+    SELECT tags FROM task_tags
+    UNION
+    SELECT tags FROM project_tags
+) AS existing
+WHERE tags IS NOT NULL AND trim(tags) <> ''
+ON CONFLICT (name) DO NOTHING;
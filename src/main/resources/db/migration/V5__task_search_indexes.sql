@@ -0,0 +1,22 @@
+-- Índices compuestos para GET /api/tasks (búsqueda combinable con paginación por keyset).
+-- Cada uno empieza por la columna de ámbito (proyecto o asignado) y termina en el par
+-- (clave de ordenación, id), de modo que sirve el filtro y el ORDER BY sin ordenar en memoria.
+
+-- Listado de un proyecto por fecha de creación (orden por defecto)
+CREATE INDEX IF NOT EXISTS idx_tasks_project_created ON tasks (project_id, created_at, id);
+
+-- Listado de un proyecto por fecha límite y filtros de rango sobre ella
+CREATE INDEX IF NOT EXISTS idx_tasks_project_due ON tasks (project_id, due_date, id);
+
+-- Filtro por estado dentro de un proyecto (tablero, pendientes)
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status_due ON tasks (project_id, status, due_date, id);
+
+-- "Mis tareas": por asignado, ordenadas por creación o por fecha límite con filtro de estado
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_created ON tasks (assigned_to, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_status_due ON tasks (assigned_to, status, due_date, id);
+
+-- Filtro por etiqueta sin distinguir mayúsculas (EXISTS sobre task_tags)
+CREATE INDEX IF NOT EXISTS idx_task_tags_lower_tag ON task_tags (lower(tags), task_id);
+
+-- El índice simple por proyecto queda cubierto por los compuestos anteriores
+DROP INDEX IF EXISTS idx_tasks_project_id;
@@ -0,0 +1,26 @@
+-- Bandeja "mis tareas": tareas abiertas con responsable, con la clave de ordenación precalculada.
+-- priority_rank: 0 = CRITICAL ... 3 = LOW. due_sort: fecha límite o 9999-12-31 si no tiene.
+
+CREATE TABLE IF NOT EXISTS task_inbox (
+    task_id       BIGINT       PRIMARY KEY REFERENCES tasks (id) ON DELETE CASCADE,
+    assignee      VARCHAR(255) NOT NULL,
+    project_id    BIGINT,
+    title         VARCHAR(255) NOT NULL,
+    status        VARCHAR(255) NOT NULL,
+    priority      VARCHAR(255) NOT NULL,
+    priority_rank SMALLINT     NOT NULL,
+    due_date      DATE,
+    due_sort      DATE         NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_inbox_order ON task_inbox (assignee, priority_rank, due_sort, task_id);
+
+INSERT INTO task_inbox (task_id, assignee, project_id, title, status, priority,
+                        priority_rank, due_date, due_sort, updated_at)
+SELECT id, assigned_to, project_id, title, status, priority,
+       CASE priority WHEN 'CRITICAL' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END,
+       due_date, COALESCE(due_date, DATE '9999-12-31'), now()
+FROM tasks
+WHERE assigned_to IS NOT NULL AND assigned_to <> '' AND status <> 'DONE'
+ON CONFLICT (task_id) DO NOTHING;
@@ -0,0 +1,21 @@
+-- Registro de cambios para la sincronización incremental (GET /api/sync?since=).
+
+CREATE TABLE IF NOT EXISTS change_log (
+    seq         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(16)  NOT NULL CHECK (entity_type IN ('TASK', 'PROJECT')),
+    entity_id   BIGINT       NOT NULL,
+    project_id  BIGINT,
+    op          VARCHAR(16)  NOT NULL CHECK (op IN ('UPSERT', 'DELETE')),
+    changed_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_project_seq ON change_log (project_id, seq);
+CREATE INDEX IF NOT EXISTS idx_change_log_entity_seq ON change_log (entity_type, entity_id, seq);
+
+-- Secuencia mínima desde la que se puede sincronizar sin perder lápidas (avanza al compactar)
+CREATE TABLE IF NOT EXISTS change_log_state (
+    id        INTEGER PRIMARY KEY CHECK (id = 1),
+    min_since BIGINT  NOT NULL
+);
+
+INSERT INTO change_log_state (id, min_since) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
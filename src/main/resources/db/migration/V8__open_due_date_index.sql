@@ -0,0 +1,4 @@
+-- Vigilancia de fechas límite: consulta de rango sobre due_date de las tareas abiertas.
+-- Índice parcial: las tareas terminadas (la mayoría con el tiempo) no ocupan espacio en él.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_open_due_date ON tasks (due_date) WHERE status <> 'DONE';
@@ -0,0 +1,37 @@
+-- Importación masiva de tareas desde CSV.
+
+-- Área de carga: se rellena con COPY y se vacía al fusionar en tasks. UNLOGGED porque su
+-- contenido es transitorio y así la carga no escribe WAL.
+CREATE UNLOGGED TABLE IF NOT EXISTS task_import_staging (
+    import_id   UUID    NOT NULL,
+    line_no     BIGINT  NOT NULL,
+    task_id     BIGINT,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(2000),
+    project_id  BIGINT  NOT NULL,
+    assigned_to VARCHAR(255),
+    status      VARCHAR(32) NOT NULL,
+    priority    VARCHAR(32) NOT NULL,
+    due_date    DATE,
+    position    INTEGER,
+    -- Etiquetas separadas por '|'
+    tags        TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_import_staging_line ON task_import_staging (import_id, line_no);
+
+CREATE TABLE IF NOT EXISTS task_imports (
+    id         UUID PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    imported   BIGINT NOT NULL,
+    rejected   BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS task_import_errors (
+    import_id UUID          NOT NULL REFERENCES task_imports (id) ON DELETE CASCADE,
+    line_no   BIGINT        NOT NULL,
+    message   VARCHAR(1000) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_import_errors_line ON task_import_errors (import_id, line_no);
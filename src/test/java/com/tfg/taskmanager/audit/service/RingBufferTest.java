@@ -0,0 +1,68 @@
+package com.tfg.taskmanager.audit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+	@Test
+	void roundsCapacityAndRejectsWhenFull() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(3);
+		assertEquals(4, buffer.capacity());
+
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertFalse(buffer.offer(4));
+		assertEquals(4, buffer.size());
+	}
+
+	@Test
+	void drainsInOrderAcrossWraparound() throws InterruptedException {
+		RingBuffer<Integer> buffer = new RingBuffer<>(4);
+		List<Integer> out = new ArrayList<>();
+		int next = 0;
+		for (int round = 0; round < 5; round++) {
+			buffer.offer(next++);
+			buffer.offer(next++);
+			buffer.offer(next++);
+			assertEquals(2, buffer.drainTo(out, 2, 0, TimeUnit.MILLISECONDS));
+			assertEquals(1, buffer.drainTo(out, 10, 0, TimeUnit.MILLISECONDS));
+		}
+
+		List<Integer> expected = new ArrayList<>();
+		for (int i = 0; i < next; i++) {
+			expected.add(i);
+		}
+		assertEquals(expected, out);
+		assertEquals(0, buffer.size());
+	}
+
+	@Test
+	void drainWaitsForItemsUntilTimeout() throws InterruptedException {
+		RingBuffer<String> buffer = new RingBuffer<>(8);
+		List<String> out = new ArrayList<>();
+
+		long start = System.nanoTime();
+		assertEquals(0, buffer.drainTo(out, 10, 50, TimeUnit.MILLISECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+
+		Thread producer = new Thread(() -> {
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			buffer.offer("a");
+		});
+		producer.start();
+		assertEquals(1, buffer.drainTo(out, 10, 5, TimeUnit.SECONDS));
+		assertEquals(List.of("a"), out);
+		producer.join();
+	}
+}
@@ -0,0 +1,62 @@
+package com.tfg.taskmanager.cluster.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationMessageTest {
+
+	@Test
+	void roundTripsCompactPayload() {
+		InvalidationMessage message = new InvalidationMessage("a1b2c3d4", 41, 44,
+				InvalidationMessage.Type.PROJECT_UPSERT, Set.of(7L), List.of(7L), "ana");
+
+		String payload = message.encode();
+		assertEquals("v1;a1b2c3d4;41;44;PROJECT_UPSERT;7;7;ana", payload);
+		assertEquals(message, InvalidationMessage.decode(payload));
+		assertFalse(InvalidationMessage.decode(payload).truncated());
+
+		InvalidationMessage noOwner = InvalidationMessage.decode("v1;n;0;3;TASK_DELETE;1,2;10,11,12;");
+		assertEquals(List.of(10L, 11L, 12L), noOwner.ids());
+		assertNull(noOwner.owner());
+	}
+
+	@Test
+	void dropsIdsWhenPayloadExceedsNotifyLimit() {
+		List<Long> ids = LongStream.rangeClosed(1_000_000, 1_002_000).boxed().toList();
+		InvalidationMessage message = new InvalidationMessage("n", 10, 2011,
+				InvalidationMessage.Type.TASK_UPSERT, Set.of(3L), ids, null);
+
+		String payload = message.encode();
+		assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= InvalidationMessage.MAX_PAYLOAD_BYTES);
+		InvalidationMessage decoded = InvalidationMessage.decode(payload);
+		assertTrue(decoded.truncated());
+		assertEquals(10, decoded.fromSeq());
+		assertEquals(2011, decoded.toSeq());
+	}
+
+	@Test
+	void carriesMembershipChangeForOneUserOrAll() {
+		InvalidationMessage one = InvalidationMessage.decode(new InvalidationMessage("n", 0, 0,
+				InvalidationMessage.Type.MEMBERSHIP, Set.of(), List.of(), "bob").encode());
+		assertEquals(InvalidationMessage.Type.MEMBERSHIP, one.type());
+		assertEquals("bob", one.owner());
+		assertFalse(one.truncated());
+
+		InvalidationMessage all = InvalidationMessage.decode(new InvalidationMessage("n", 0, 0,
+				InvalidationMessage.Type.MEMBERSHIP, Set.of(), List.of(), null).encode());
+		assertNull(all.owner());
+	}
+
+	@Test
+	void rejectsUnknownFormats() {
+		assertNull(InvalidationMessage.decode("v2;n;0;1;TASK_UPSERT;1;1;"));
+		assertNull(InvalidationMessage.decode("v1;n;x;1;TASK_UPSERT;1;1;"));
+		assertNull(InvalidationMessage.decode("hola"));
+	}
+}
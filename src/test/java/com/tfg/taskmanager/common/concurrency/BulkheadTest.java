@@ -0,0 +1,88 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+	@Test
+	void rejectsImmediatelyWhenFullAndQueueDisabled() {
+		Bulkhead bulkhead = new Bulkhead("api", 2, 0, Duration.ofSeconds(5));
+		assertTrue(bulkhead.tryAcquire());
+		assertTrue(bulkhead.tryAcquire());
+
+		long start = System.nanoTime();
+		assertFalse(bulkhead.tryAcquire());
+		assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(2, bulkhead.active());
+		assertEquals(1, bulkhead.rejectedCount());
+
+		bulkhead.release();
+		assertTrue(bulkhead.tryAcquire());
+	}
+
+	@Test
+	void queuedCallersGetTheReleasedPermitOrTimeOut() throws Exception {
+		Bulkhead bulkhead = new Bulkhead("pages", 1, 1, Duration.ofSeconds(5));
+		assertTrue(bulkhead.tryAcquire());
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Boolean> waiting = executor.submit(bulkhead::tryAcquire);
+			while (bulkhead.queued() == 0) {
+				Thread.sleep(1);
+			}
+			// La cola tiene una plaza y ya está ocupada: el siguiente se rechaza sin esperar
+			assertFalse(bulkhead.tryAcquire());
+			assertEquals(1, bulkhead.rejectedCount());
+
+			bulkhead.release();
+			assertTrue(waiting.get(5, TimeUnit.SECONDS));
+			assertEquals(0, bulkhead.queued());
+			assertEquals(1, bulkhead.active());
+
+			Bulkhead slow = new Bulkhead("slow", 1, 4, Duration.ofMillis(50));
+			assertTrue(slow.tryAcquire());
+			assertFalse(executor.submit(slow::tryAcquire).get(5, TimeUnit.SECONDS));
+			assertEquals(1, slow.rejectedCount());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void callReleasesThePermitAndRejectsWithServiceUnavailable() throws Exception {
+		Bulkhead bulkhead = new Bulkhead("auth-service", 1, 0, Duration.ZERO);
+		assertEquals("ok", bulkhead.call(() -> "ok"));
+		assertThrows(IllegalStateException.class, () -> bulkhead.call(() -> {
+			throw new IllegalStateException();
+		}));
+		assertEquals(0, bulkhead.active());
+
+		CountDownLatch inside = new CountDownLatch(1);
+		CountDownLatch leave = new CountDownLatch(1);
+		Thread holder = new Thread(() -> bulkhead.call(() -> {
+			inside.countDown();
+			try {
+				return leave.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				return false;
+			}
+		}));
+		holder.start();
+		assertTrue(inside.await(5, TimeUnit.SECONDS));
+		BulkheadFullException error = assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "x"));
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, error.getStatusCode());
+		leave.countDown();
+		holder.join();
+		assertEquals(0, bulkhead.active());
+	}
+}
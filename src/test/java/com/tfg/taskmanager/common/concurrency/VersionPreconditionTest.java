@@ -0,0 +1,51 @@
+package com.tfg.taskmanager.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionPreconditionTest {
+
+	private static final Map<String, Long> FIELD_VERSIONS = Map.of("status", 5L, "position", 3L);
+	private static final Map<String, Object> CURRENT = Map.of("status", "DONE", "position", 2, "title", "a");
+
+	@Test
+	void parsesStrongAndWeakEntityTags() {
+		assertEquals(new VersionPrecondition(7, true), VersionPrecondition.of("\"7\"", 1L));
+		assertEquals(new VersionPrecondition(7, true), VersionPrecondition.of("W/\"7\"", null));
+		assertEquals(new VersionPrecondition(4, false), VersionPrecondition.of("*", 4L));
+		assertNull(VersionPrecondition.of(null, null));
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+				() -> VersionPrecondition.of("\"abc\"", null));
+		assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+	}
+
+	@Test
+	void mergesEditsOfFieldsNotChangedSinceExpectedVersion() {
+		VersionPrecondition precondition = new VersionPrecondition(4, true);
+		// position cambió en la 3 (antes de la 4) y title nunca: se pueden aplicar sobre la 5
+		assertDoesNotThrow(() -> precondition.check(5, FIELD_VERSIONS, Map.of("position", 9, "title", "b"), CURRENT));
+		// status cambió en la 5, pero al mismo valor que se pide
+		assertDoesNotThrow(() -> precondition.check(5, FIELD_VERSIONS, Map.of("status", "DONE"), CURRENT));
+	}
+
+	@Test
+	void rejectsOverlappingEditsWith412ForHeaderAnd409ForBody() {
+		Map<String, Object> requested = Map.of("status", "BLOCKED");
+		ResponseStatusException header = assertThrows(ResponseStatusException.class,
+				() -> new VersionPrecondition(4, true).check(5, FIELD_VERSIONS, requested, CURRENT));
+		assertEquals(HttpStatus.PRECONDITION_FAILED, header.getStatusCode());
+
+		ResponseStatusException body = assertThrows(ResponseStatusException.class,
+				() -> new VersionPrecondition(4, false).check(5, FIELD_VERSIONS, requested, CURRENT));
+		assertEquals(HttpStatus.CONFLICT, body.getStatusCode());
+
+		// Una versión posterior a la actual no puede venir de una lectura real
+		assertThrows(ResponseStatusException.class,
+				() -> new VersionPrecondition(6, true).check(5, FIELD_VERSIONS, Map.of("title", "b"), CURRENT));
+	}
+}
@@ -0,0 +1,545 @@
+package com.tfg.taskmanager.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.IntSupplier;
+
+/**
+ * Generador de datos sintéticos para pruebas de escala.
+ *
+ * Crea usuarios, equipos, proyectos y tareas con distribuciones sesgadas parecidas a las de
+ * producción y los escribe directamente en PostgreSQL con el protocolo COPY, en una sola
+ * transacción:
+ * - Tamaño de proyecto Zipf: unos pocos proyectos gigantes y muchos pequeños.
+ * - Responsables y propietarios Zipf: unos pocos usuarios acumulan la mayoría de tareas.
+ * - Etiquetas: vocabulario global con frecuencias Zipf; cada proyecto usa un subconjunto.
+ *
+ * Con la misma semilla, parámetros y `base-date` los datos son idénticos (incluidos los IDs
+ * si se usa `reset`). Cada tipo de dato sale de su propio generador aleatorio, así que
+ * cambiar el número de tareas no altera usuarios ni proyectos.
+ *
+ * Debe ejecutarse con la aplicación parada (o reiniciarla después): no publica avisos de
+ * invalidación ni escribe en el registro de cambios. Las bandejas se rellenan al final;
+ * el diccionario de etiquetas y los índices en memoria se construyen al arrancar.
+ *
+ * Uso: mvn -Pdatagen test-compile exec:exec -Ddatagen.args="seed=42 tasks=5000000 reset"
+ *
+ * Opciones (`nombre=valor`; `reset` sin valor equivale a `reset=true`): seed, users, teams, projects, tasks, project-skew, assignee-skew,
+ * tag-skew, tags (tamaño del vocabulario), base-date (ISO), reset, url, username, password.
+ * Sin url/username/password se usan los de `application.properties`.
+ */
+public final class DataGenerator {
+
+    /** Tablas que vacía `reset` (el registro de cambios y la auditoría no se tocan) */
+    private static final String RESET = """
+            TRUNCATE task_inbox, task_tags, tasks, archived_task_tags, archived_tasks,
+                     project_members, project_tags, projects, team_members, teams RESTART IDENTITY""";
+
+    private static final String[] FIRST_NAMES = {
+            "lucia", "hugo", "martina", "mateo", "sofia", "leo", "julia", "daniel", "paula", "pablo",
+            "valeria", "alejandro", "emma", "manuel", "daniela", "alvaro", "carla", "mario", "sara", "diego",
+            "noa", "adrian", "alba", "enzo", "carmen", "marcos", "irene", "javier", "elena", "bruno"};
+
+    private static final String[] LAST_NAMES = {
+            "garcia", "rodriguez", "gonzalez", "fernandez", "lopez", "martinez", "sanchez", "perez", "gomez",
+            "martin", "jimenez", "ruiz", "hernandez", "diaz", "moreno", "munoz", "alvarez", "romero", "alonso",
+            "gutierrez", "navarro", "torres", "dominguez", "vazquez", "ramos", "gil", "ramirez", "serrano"};
+
+    private static final String[] BASE_TAGS = {
+            "bug", "backend", "frontend", "api", "ux", "db", "infra", "docs", "qa", "seguridad",
+            "rendimiento", "movil", "deuda", "cliente", "urgente", "refactor", "soporte", "diseno",
+            "datos", "devops", "legal", "marketing", "ventas", "i18n", "accesibilidad", "pagos",
+            "onboarding", "informes", "auth", "busqueda"};
+
+    private static final String[] VERBS = {
+            "Revisar", "Implementar", "Corregir", "Diseñar", "Documentar", "Probar", "Migrar",
+            "Optimizar", "Actualizar", "Preparar", "Validar", "Configurar", "Analizar", "Desplegar"};
+
+    private static final String[] NOUNS = {
+            "el formulario de alta", "la API de pagos", "el informe mensual", "la pantalla de login",
+            "el proceso de facturación", "los permisos de equipo", "la exportación CSV", "el panel principal",
+            "las notificaciones", "la búsqueda avanzada", "el tablero", "la integración con el CRM",
+            "la copia de seguridad", "el modo offline", "las métricas", "el flujo de onboarding"};
+
+    private static final String[] PROJECT_KINDS = {
+            "Portal", "App", "Migración", "Plataforma", "Campaña", "Rediseño", "Auditoría", "Integración"};
+
+    private final Options options;
+    private final String[] usernames;
+    private final String[] tagVocabulary;
+
+    private DataGenerator(Options options) {
+        this.options = options;
+        this.usernames = usernames(options.users);
+        this.tagVocabulary = tagVocabulary(options.tags);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        new DataGenerator(options).run();
+    }
+
+    private void run() throws SQLException, IOException {
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(options.url, options.username, options.password)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                if (options.reset) {
+                    statement.execute(RESET);
+                }
+                // Nadie más puede insertar mientras se reservan y usan los rangos de IDs
+                statement.execute("LOCK TABLE teams, projects, tasks IN EXCLUSIVE MODE");
+            }
+
+            long firstTeam = reserveIds(connection, "teams", options.teams);
+            long firstProject = reserveIds(connection, "projects", options.projects);
+            long firstTask = reserveIds(connection, "tasks", options.tasks);
+
+            int[][] teamMembers = writeTeams(connection, firstTeam);
+            int[][] projectTags = writeProjects(connection, firstProject, firstTeam, teamMembers);
+            long[] counts = writeTasks(connection, firstProject, firstTask, projectTags);
+            long inbox = fillInbox(connection, firstTask, firstTask + options.tasks - 1);
+
+            connection.commit();
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE teams, team_members, projects, project_tags, project_members, "
+                        + "tasks, task_tags, task_inbox");
+            }
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long rows = options.teams + options.projects + counts[0] + counts[1] + inbox;
+            System.out.printf(Locale.ROOT,
+                    "Generados %d usuarios, %d equipos, %d proyectos (IDs %d-%d), %d tareas (IDs %d-%d), "
+                            + "%d etiquetas de tarea y %d entradas de bandeja en %.1f s (%.0f filas/min)%n",
+                    options.users, options.teams, options.projects, firstProject, firstProject + options.projects - 1,
+                    counts[0], firstTask, firstTask + options.tasks - 1, counts[1], inbox, seconds,
+                    rows / seconds * 60);
+            System.out.printf("Usuarios con más proyectos y tareas: %s%n",
+                    String.join(", ", Arrays.copyOf(usernames, Math.min(5, usernames.length))));
+        }
+    }
+
+    /**
+     * Equipos con entre 3 y 12 miembros (el propietario incluido).
+     *
+     * @return Miembros (índices de usuario) de cada equipo.
+     */
+    private int[][] writeTeams(Connection connection, long firstTeam) throws SQLException, IOException {
+        SplittableRandom random = new SplittableRandom(options.seed * 31 + 1);
+        ZipfDistribution users = new ZipfDistribution(options.users, options.assigneeSkew);
+        int[][] members = new int[options.teams][];
+        LocalDateTime base = options.baseDate.atStartOfDay();
+
+        try (CopyWriter teams = new CopyWriter(connection,
+                "COPY teams (id, name, owner_username, created_at) FROM STDIN")) {
+            for (int team = 0; team < options.teams; team++) {
+                int size = Math.min(options.users, 3 + random.nextInt(10));
+                members[team] = distinct(size, () -> users.sample(random));
+                teams.field(firstTeam + team)
+                        .field("Equipo " + LAST_NAMES[team % LAST_NAMES.length] + " " + (team + 1))
+                        .field(usernames[members[team][0]])
+                        .field(base.minusDays(400 + random.nextInt(700)))
+                        .end();
+            }
+        }
+        try (CopyWriter rows = new CopyWriter(connection, "COPY team_members (team_id, username) FROM STDIN")) {
+            for (int team = 0; team < options.teams; team++) {
+                for (int user : members[team]) {
+                    rows.field(firstTeam + team).field(usernames[user]).end();
+                }
+            }
+        }
+        return members;
+    }
+
+    /**
+     * Proyectos con propietario Zipf, parte de ellos con equipo y algunos miembros directos.
+     *
+     * @return Vocabulario de etiquetas (índices) que usan las tareas de cada proyecto.
+     */
+    private int[][] writeProjects(Connection connection, long firstProject, long firstTeam, int[][] teamMembers)
+            throws SQLException, IOException {
+        SplittableRandom random = new SplittableRandom(options.seed * 31 + 2);
+        ZipfDistribution owners = new ZipfDistribution(options.users, options.assigneeSkew);
+        ZipfDistribution tags = new ZipfDistribution(tagVocabulary.length, options.tagSkew);
+        int[][] vocabularies = new int[options.projects][];
+        int[][] members = new int[options.projects][];
+
+        try (CopyWriter projects = new CopyWriter(connection, """
+                COPY projects (id, name, description, owner_username, status, start_date, estimated_end_date,
+                               real_end_date, estimated_effort_hours, actual_effort_hours, participants_count,
+                               created_at, team_id)
+                FROM STDIN""")) {
+            for (int project = 0; project < options.projects; project++) {
+                LocalDate created = options.baseDate.minusDays(30 + random.nextInt(1065));
+                LocalDate estimatedEnd = created.plusDays(60 + random.nextInt(365));
+                String status = pick(random, new String[]{"ACTIVE", "PLANNED", "COMPLETED", "ON_HOLD", "CANCELLED"},
+                        new int[]{50, 15, 25, 6, 4});
+                int estimatedHours = 40 + random.nextInt(2000);
+                boolean hasTeam = options.teams > 0 && random.nextInt(10) < 3;
+                int team = hasTeam ? random.nextInt(options.teams) : -1;
+                int owner = hasTeam
+                        ? teamMembers[team][random.nextInt(teamMembers[team].length)]
+                        : owners.sample(random);
+                members[project] = distinct(Math.min(options.users, random.nextInt(6)), () -> owners.sample(random));
+                vocabularies[project] = distinct(Math.min(tagVocabulary.length, 3 + random.nextInt(23)),
+                        () -> tags.sample(random));
+
+                projects.field(firstProject + project)
+                        .field(PROJECT_KINDS[random.nextInt(PROJECT_KINDS.length)] + " "
+                                + tagVocabulary[vocabularies[project][0]] + " " + (project + 1))
+                        .field(random.nextInt(3) == 0 ? null : "Proyecto sintético generado con semilla " + options.seed)
+                        .field(usernames[owner])
+                        .field(status)
+                        .field(created)
+                        .field(estimatedEnd)
+                        .field("COMPLETED".equals(status) ? estimatedEnd.plusDays(random.nextInt(60) - 20) : null)
+                        .field(estimatedHours)
+                        .field("PLANNED".equals(status) ? null : (long) (estimatedHours * (0.2 + random.nextDouble())))
+                        .field(1 + members[project].length)
+                        .field(created.atTime(9, 0).plusMinutes(random.nextInt(600)))
+                        .field(hasTeam ? firstTeam + team : null)
+                        .end();
+            }
+        }
+
+        try (CopyWriter rows = new CopyWriter(connection, "COPY project_members (project_id, username) FROM STDIN")) {
+            for (int project = 0; project < options.projects; project++) {
+                for (int user : members[project]) {
+                    rows.field(firstProject + project).field(usernames[user]).end();
+                }
+            }
+        }
+        try (CopyWriter rows = new CopyWriter(connection, "COPY project_tags (project_id, tags) FROM STDIN")) {
+            for (int project = 0; project < options.projects; project++) {
+                int[] vocabulary = vocabularies[project];
+                for (int i = 0; i < Math.min(3, vocabulary.length); i++) {
+                    rows.field(firstProject + project).field(tagVocabulary[vocabulary[i]]).end();
+                }
+            }
+        }
+        return vocabularies;
+    }
+
+    /**
+     * Tareas repartidas entre proyectos con una Zipf (proyectos gigantes y muchos pequeños)
+     * y responsables Zipf. Las etiquetas se escriben a la vez en una segunda conexión COPY.
+     *
+     * @return {tareas, etiquetas de tarea}.
+     */
+    private long[] writeTasks(Connection connection, long firstProject, long firstTask, int[][] projectTags)
+            throws SQLException, IOException {
+        SplittableRandom random = new SplittableRandom(options.seed * 31 + 3);
+        ZipfDistribution projects = new ZipfDistribution(options.projects, options.projectSkew);
+        ZipfDistribution assignees = new ZipfDistribution(options.users, options.assigneeSkew);
+        // El rango Zipf no coincide con el orden de IDs: los proyectos gigantes quedan repartidos
+        int[] projectByRank = permutation(options.projects, new SplittableRandom(options.seed * 31 + 4));
+        int[] positions = new int[options.projects];
+        int[] taskTags = new int[3];
+        long tagRows = 0;
+
+        // Una tabla por COPY y conexión: las etiquetas se guardan en un fichero temporal y se
+        // cargan al terminar las tareas, sin mantenerlas en memoria
+        File tagFile = File.createTempFile("datagen-task-tags-", ".tsv");
+        tagFile.deleteOnExit();
+        try (CopyWriter tasks = new CopyWriter(connection, """
+                COPY tasks (id, title, description, project_id, assigned_to, status, priority, due_date,
+                            position, created_at, completed_at)
+                FROM STDIN""");
+             CopyWriter tags = new CopyWriter(new FileOutputStream(tagFile))) {
+            for (long i = 0; i < options.tasks; i++) {
+                long taskId = firstTask + i;
+                int project = projectByRank[projects.sample(random)];
+                String status = pick(random, new String[]{"DONE", "TODO", "IN_PROGRESS", "BLOCKED"},
+                        new int[]{40, 32, 20, 8});
+                LocalDateTime created = options.baseDate.atStartOfDay()
+                        .minusMinutes(random.nextLong(60L * 24 * 730));
+                LocalDate due = random.nextInt(10) < 3 ? null
+                        : created.toLocalDate().plusDays(1 + random.nextInt(90));
+
+                tasks.field(taskId)
+                        .field(VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)])
+                        .field(random.nextInt(5) < 3 ? null : "Tarea sintética " + taskId + " del proyecto "
+                                + (firstProject + project))
+                        .field(firstProject + project)
+                        .field(random.nextInt(100) < 15 ? null : usernames[assignees.sample(random)])
+                        .field(status)
+                        .field(pick(random, new String[]{"MEDIUM", "LOW", "HIGH", "CRITICAL"}, new int[]{40, 30, 20, 10}))
+                        .field(due)
+                        .field(positions[project]++)
+                        .field(created)
+                        .field("DONE".equals(status) ? created.plusMinutes(random.nextLong(60L * 24 * 60)) : null)
+                        .end();
+
+                int[] vocabulary = projectTags[project];
+                int count = pick(random, new int[]{0, 1, 2, 3}, new int[]{30, 40, 20, 10});
+                int chosen = 0;
+                for (int t = 0; t < count; t++) {
+                    int tag = vocabulary[random.nextInt(vocabulary.length)];
+                    if (!contains(taskTags, chosen, tag)) {
+                        taskTags[chosen++] = tag;
+                        tags.field(taskId).field(tagVocabulary[tag]).end();
+                    }
+                }
+                tagRows += chosen;
+            }
+        }
+
+        try (Reader reader = new InputStreamReader(new FileInputStream(tagFile), StandardCharsets.UTF_8)) {
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY task_tags (task_id, tags) FROM STDIN", reader, 1 << 16);
+        } finally {
+            tagFile.delete();
+        }
+        return new long[]{options.tasks, tagRows};
+    }
+
+    /**
+     * Rellena la bandeja "mis tareas" de las tareas generadas (mismos criterios que V6).
+     */
+    private static long fillInbox(Connection connection, long fromId, long toId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO task_inbox (task_id, assignee, project_id, title, status, priority,
+                                        priority_rank, due_date, due_sort, updated_at)
+                SELECT id, assigned_to, project_id, title, status, priority,
+                       CASE priority WHEN 'CRITICAL' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END,
+                       due_date, COALESCE(due_date, DATE '9999-12-31'), now()
+                FROM tasks
+                WHERE id BETWEEN ? AND ? AND assigned_to IS NOT NULL AND status <> 'DONE'""")) {
+            statement.setLong(1, fromId);
+            statement.setLong(2, toId);
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Reserva un rango de IDs consecutivos de la secuencia de la tabla.
+     *
+     * @return Primer ID del rango.
+     */
+    private static long reserveIds(Connection connection, String table, long count) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT setval(pg_get_serial_sequence(?, 'id'),
+                              nextval(pg_get_serial_sequence(?, 'id')) + ? - 1, true) - ? + 1""")) {
+            statement.setString(1, table);
+            statement.setString(2, table);
+            statement.setLong(3, Math.max(count, 1));
+            statement.setLong(4, Math.max(count, 1));
+            try (ResultSet result = statement.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Usuarios ordenados de más a menos activo (el rango Zipf es la posición en el array).
+     */
+    private String[] usernames(int count) {
+        int combinations = FIRST_NAMES.length * LAST_NAMES.length;
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            String name = FIRST_NAMES[i % FIRST_NAMES.length] + "." + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            names[i] = i < combinations ? name : name + (i / combinations);
+        }
+        // Los nombres más activos no son siempre los primeros de las listas
+        int[] order = permutation(count, new SplittableRandom(options.seed * 31 + 5));
+        String[] shuffled = new String[count];
+        for (int i = 0; i < count; i++) {
+            shuffled[i] = names[order[i]];
+        }
+        return shuffled;
+    }
+
+    /**
+     * Vocabulario de etiquetas: las habituales primero (las más frecuentes) y después variantes numeradas.
+     */
+    private static String[] tagVocabulary(int count) {
+        String[] tags = new String[Math.max(count, 1)];
+        for (int i = 0; i < tags.length; i++) {
+            String base = BASE_TAGS[i % BASE_TAGS.length];
+            tags[i] = i < BASE_TAGS.length ? base : base + "-" + (i / BASE_TAGS.length);
+        }
+        return tags;
+    }
+
+    private static int[] permutation(int size, SplittableRandom random) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+
+    /**
+     * `size` valores distintos del generador (se detiene tras demasiados repetidos).
+     */
+    private static int[] distinct(int size, IntSupplier next) {
+        LinkedHashSet<Integer> values = new LinkedHashSet<>();
+        for (int attempts = 0; values.size() < size && attempts < size * 20; attempts++) {
+            values.add(next.getAsInt());
+        }
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values, int[] weights) {
+        return values[pickIndex(random, weights)];
+    }
+
+    private static int pick(SplittableRandom random, int[] values, int[] weights) {
+        return values[pickIndex(random, weights)];
+    }
+
+    private static int pickIndex(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Escritor de filas en el formato de texto de COPY (tabuladores, `\N` para null), hacia
+     * la base de datos o hacia un fichero.
+     */
+    private static final class CopyWriter implements Closeable {
+
+        private final Writer out;
+        private boolean firstField = true;
+
+        CopyWriter(Connection connection, String copySql) throws SQLException {
+            this(new PGCopyOutputStream(connection.unwrap(PGConnection.class), copySql, 1 << 16));
+        }
+
+        CopyWriter(OutputStream stream) {
+            this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        CopyWriter field(Object value) throws IOException {
+            if (!firstField) {
+                out.write('\t');
+            }
+            firstField = false;
+            if (value == null) {
+                out.write("\\N");
+                return this;
+            }
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> out.write("\\\\");
+                    case '\t' -> out.write("\\t");
+                    case '\n' -> out.write("\\n");
+                    case '\r' -> out.write("\\r");
+                    default -> out.write(c);
+                }
+            }
+            return this;
+        }
+
+        void end() throws IOException {
+            out.write('\n');
+            firstField = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Parámetros de la generación.
+     */
+    private static final class Options {
+        long seed = 42;
+        int users = 5_000;
+        int teams = -1;
+        int projects = 20_000;
+        long tasks = 1_000_000;
+        double projectSkew = 1.1;
+        double assigneeSkew = 1.0;
+        double tagSkew = 1.2;
+        int tags = 300;
+        LocalDate baseDate = LocalDate.now();
+        boolean reset;
+        String url;
+        String username;
+        String password;
+
+        static Options parse(String[] args) throws IOException {
+            Properties defaults = new Properties();
+            try (InputStream in = DataGenerator.class.getResourceAsStream("/application.properties")) {
+                if (in != null) {
+                    defaults.load(in);
+                }
+            }
+            Options options = new Options();
+            options.url = defaults.getProperty("spring.datasource.url");
+            options.username = defaults.getProperty("spring.datasource.username");
+            options.password = defaults.getProperty("spring.datasource.password");
+
+            for (String arg : args) {
+                String option = arg.startsWith("--") ? arg.substring(2) : arg;
+                int eq = option.indexOf('=');
+                String name = eq < 0 ? option : option.substring(0, eq);
+                String value = eq < 0 ? "true" : option.substring(eq + 1);
+                switch (name) {
+                    case "seed" -> options.seed = Long.parseLong(value);
+                    case "users" -> options.users = Integer.parseInt(value);
+                    case "teams" -> options.teams = Integer.parseInt(value);
+                    case "projects" -> options.projects = Integer.parseInt(value);
+                    case "tasks" -> options.tasks = Long.parseLong(value);
+                    case "project-skew" -> options.projectSkew = Double.parseDouble(value);
+                    case "assignee-skew" -> options.assigneeSkew = Double.parseDouble(value);
+                    case "tag-skew" -> options.tagSkew = Double.parseDouble(value);
+                    case "tags" -> options.tags = Integer.parseInt(value);
+                    case "base-date" -> options.baseDate = LocalDate.parse(value);
+                    case "reset" -> options.reset = Boolean.parseBoolean(value);
+                    case "url" -> options.url = value;
+                    case "username" -> options.username = value;
+                    case "password" -> options.password = value;
+                    default -> throw new IllegalArgumentException("Opción desconocida: " + name);
+                }
+            }
+            if (options.users < 1 || options.projects < 1 || options.tasks < 0) {
+                throw new IllegalArgumentException("users y projects deben ser al menos 1 y tasks no negativo");
+            }
+            if (options.teams < 0) {
+                options.teams = options.users / 25;
+            }
+            return options;
+        }
+    }
+}
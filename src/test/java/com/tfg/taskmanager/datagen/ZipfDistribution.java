@@ -0,0 +1,56 @@
+package com.tfg.taskmanager.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribución de Zipf sobre los rangos `0..n-1`: el rango `k` sale con probabilidad
+ * proporcional a `1 / (k + 1)^exponente`. Con exponente 0 es uniforme; a partir de 1 unos
+ * pocos rangos concentran la mayor parte de las muestras.
+ *
+ * Precalcula la función de distribución acumulada, así que cada muestra es una búsqueda
+ * binaria. El resultado depende sólo del generador aleatorio recibido (reproducible con semilla).
+ */
+final class ZipfDistribution {
+
+    private final double[] cdf;
+
+    /**
+     * @param n Número de rangos (al menos 1).
+     * @param exponent Sesgo de la distribución (0 = uniforme).
+     */
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException("Distribución de Zipf inválida: n=" + n + ", s=" + exponent);
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+        cdf[n - 1] = 1.0;
+    }
+
+    /**
+     * Devuelve un rango aleatorio (0 es el más frecuente).
+     */
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Probabilidad de un rango.
+     */
+    double probability(int rank) {
+        return rank == 0 ? cdf[0] : cdf[rank] - cdf[rank - 1];
+    }
+
+    int size() {
+        return cdf.length;
+    }
+}
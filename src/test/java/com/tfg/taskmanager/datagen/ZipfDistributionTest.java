@@ -0,0 +1,55 @@
+package com.tfg.taskmanager.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfDistributionTest {
+
+	@Test
+	void sampleFrequenciesFollowTheExponent() {
+		ZipfDistribution zipf = new ZipfDistribution(1000, 1.0);
+		SplittableRandom random = new SplittableRandom(7);
+		int[] counts = new int[zipf.size()];
+		int samples = 500_000;
+		for (int i = 0; i < samples; i++) {
+			counts[zipf.sample(random)]++;
+		}
+
+		// Con s = 1 el rango 0 sale el doble que el 1 y diez veces más que el 9
+		assertEquals(zipf.probability(0), counts[0] / (double) samples, 0.005);
+		assertEquals(2.0, counts[0] / (double) counts[1], 0.1);
+		assertEquals(10.0, counts[0] / (double) counts[9], 0.6);
+		assertEquals(1.0, IntStream.range(0, zipf.size()).mapToDouble(zipf::probability).sum(), 1e-9);
+	}
+
+	@Test
+	void zeroExponentIsUniformAndSamplesStayInRange() {
+		ZipfDistribution uniform = new ZipfDistribution(4, 0);
+		for (int rank = 0; rank < 4; rank++) {
+			assertEquals(0.25, uniform.probability(rank), 1e-12);
+		}
+
+		ZipfDistribution single = new ZipfDistribution(1, 2.0);
+		SplittableRandom random = new SplittableRandom(1);
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(0, single.sample(random));
+			int rank = uniform.sample(random);
+			assertTrue(rank >= 0 && rank < 4);
+		}
+		assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+	}
+
+	@Test
+	void sameSeedGivesSameSequence() {
+		ZipfDistribution zipf = new ZipfDistribution(50_000, 1.2);
+		SplittableRandom first = new SplittableRandom(42);
+		SplittableRandom second = new SplittableRandom(42);
+		for (int i = 0; i < 10_000; i++) {
+			assertEquals(zipf.sample(first), zipf.sample(second));
+		}
+	}
+}
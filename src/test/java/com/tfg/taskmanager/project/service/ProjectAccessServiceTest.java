@@ -0,0 +1,174 @@
+package com.tfg.taskmanager.project.service;
+
+import com.tfg.taskmanager.project.model.dto.ProjectCreateDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectDTO;
+import com.tfg.taskmanager.project.model.dto.ProjectUpdateDTO;
+import com.tfg.taskmanager.project.repository.ProjectRepository;
+import com.tfg.taskmanager.team.model.dto.TeamCreateDTO;
+import com.tfg.taskmanager.team.repository.TeamRepository;
+import com.tfg.taskmanager.team.service.TeamService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Acceso a proyectos contra la base de datos: propietario, miembros directos y de equipo,
+ * y caché de permisos al cambiar las altas y bajas. Cada prueba usa usuarios nuevos.
+ */
+@SpringBootTest
+class ProjectAccessServiceTest {
+
+	@Autowired
+	private ProjectAccessService accessService;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private TeamService teamService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TeamRepository teamRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final List<Long> teams = new ArrayList<>();
+
+	private String owner;
+	private String member;
+	private Long projectId;
+
+	@BeforeEach
+	void createProject() {
+		String suffix = UUID.randomUUID().toString().substring(0, 8);
+		owner = "acceso-propietario-" + suffix;
+		member = "acceso-miembro-" + suffix;
+		projectId = projectService.createProject(ProjectCreateDTO.builder()
+				.name("Acceso " + suffix)
+				.startDate(LocalDate.now())
+				.estimatedEndDate(LocalDate.now().plusDays(30))
+				.estimatedEffortHours(40)
+				.participantsCount(2)
+				.build(), owner).getId();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		projectRepository.deleteById(projectId);
+		teams.forEach(teamId -> teamRepository.findById(teamId).ifPresent(teamRepository::delete));
+	}
+
+	@Test
+	void ownerAccessesAndOthersGetNotFound() {
+		assertTrue(accessService.canAccessProject(owner, projectId));
+		assertEquals(projectId, projectService.getProject(projectId, owner).getId());
+
+		ResponseStatusException error = assertThrows(ResponseStatusException.class,
+				() -> projectService.getProject(projectId, member));
+		assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+		assertEquals(List.of(), projectService.getAllAccessible(member));
+	}
+
+	@Test
+	void directMembersGainAndLoseAccessWithoutWaitingForTheCache() {
+		// El conjunto vacío queda en caché: el alta debe olvidarlo
+		assertFalse(accessService.canAccessProject(member, projectId));
+
+		projectService.addMember(projectId, member, owner);
+		assertEquals(projectId, projectService.getProject(projectId, member).getId());
+		assertEquals(List.of(projectId), ids(projectService.getAllAccessible(member)));
+
+		projectService.removeMember(projectId, member, owner);
+		assertThrows(ResponseStatusException.class, () -> projectService.getProject(projectId, member));
+		assertEquals(List.of(), projectService.getAllAccessible(member));
+	}
+
+	@Test
+	void teamMembersAccessTheTeamProjects() {
+		Long teamId = createTeam();
+		teamService.addMember(teamId, member, owner);
+		assertFalse(accessService.canAccessProject(member, projectId));
+
+		projectService.updateProject(projectId, ProjectUpdateDTO.builder().teamId(teamId).build(), owner, null);
+		assertTrue(accessService.canAccessProject(member, projectId));
+		List<Map<String, Object>> listed = projectService.getAllAccessible(member, "id,name");
+		assertEquals(List.of(projectId), listed.stream().map(row -> row.get("id")).toList());
+
+		teamService.removeMember(teamId, member, owner);
+		assertFalse(accessService.canAccessProject(member, projectId));
+	}
+
+	@Test
+	void deletingATeamUnassignsItsProjectsAndRevokesAccess() {
+		Long teamId = createTeam();
+		teamService.addMember(teamId, member, owner);
+		projectService.updateProject(projectId, ProjectUpdateDTO.builder().teamId(teamId).build(), owner, null);
+		assertTrue(accessService.canAccessProject(member, projectId));
+
+		teamService.deleteTeam(teamId, owner);
+
+		assertFalse(accessService.canAccessProject(member, projectId));
+		ProjectDTO project = projectService.getProject(projectId, owner);
+		assertNull(project.getTeamId());
+		assertEquals(2L, project.getVersion());
+	}
+
+	@Test
+	void migrationClearsLegacyTeamIdsBeforeAddingTheForeignKey() {
+		// Esquema aparte migrado hasta V12, con un team_id de antes de existir la tabla de equipos
+		String schema = "v13_check_" + UUID.randomUUID().toString().substring(0, 8);
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		try {
+			flyway(schema, "12").migrate();
+			jdbc.update("INSERT INTO " + schema + ".projects (name, status, owner_username, team_id) VALUES ('Legado', 'PLANNED', 'nadie', 1)");
+
+			flyway(schema, "13").migrate();
+			jdbc.update("INSERT INTO " + schema + ".teams (name, owner_username) VALUES ('Nuevo', 'alguien')");
+
+			assertNull(jdbc.queryForObject("SELECT team_id FROM " + schema + ".projects", Long.class));
+			assertEquals(Boolean.TRUE, jdbc.queryForObject(
+					"SELECT convalidated FROM pg_constraint WHERE conname = 'fk_projects_team' AND connamespace = ?::regnamespace",
+					Boolean.class, schema));
+		} finally {
+			jdbc.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+		}
+	}
+
+	private Long createTeam() {
+		Long teamId = teamService.createTeam(TeamCreateDTO.builder().name("Equipo").build(), owner).getId();
+		teams.add(teamId);
+		return teamId;
+	}
+
+	private Flyway flyway(String schema, String target) {
+		return Flyway.configure()
+				.dataSource(dataSource)
+				.schemas(schema)
+				.locations("classpath:db/migration")
+				.target(target)
+				.load();
+	}
+
+	private static List<Long> ids(List<ProjectDTO> projects) {
+		return projects.stream().map(ProjectDTO::getId).toList();
+	}
+}
@@ -0,0 +1,134 @@
+package com.tfg.taskmanager.project.service;
+
+import com.tfg.taskmanager.project.service.ProjectEffortIndex.Neighbor;
+import com.tfg.taskmanager.project.service.ProjectEffortIndex.Query;
+import com.tfg.taskmanager.project.service.ProjectEffortIndex.Sample;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectEffortIndexTest {
+
+	private static final String[] TAGS = {"web", "móvil", "backend", "datos", "ia", "seguridad", "devops", "ux"};
+
+	@Test
+	void nearestMatchesExhaustiveSearch() {
+		SplittableRandom random = new SplittableRandom(3);
+		List<Sample> samples = new ArrayList<>();
+		for (long id = 1; id <= 5000; id++) {
+			samples.add(sample(id, random));
+		}
+		ProjectEffortIndex index = new ProjectEffortIndex(1.0, 1000);
+		ProjectEffortIndex.Builder builder = ProjectEffortIndex.builder();
+		samples.forEach(builder::add);
+		index.replaceAll(builder);
+
+		double[] weights = weights(samples);
+		for (int q = 0; q < 50; q++) {
+			Sample probe = sample(0, random);
+			Query query = new Query(probe.estimatedEffortHours(), probe.participants(), probe.plannedDays(), probe.tags());
+
+			List<Neighbor> found = index.nearest(query, 10);
+			double[] expected = samples.stream()
+					.mapToDouble(sample -> distance(query, sample, weights))
+					.sorted()
+					.limit(10)
+					.toArray();
+			assertEquals(10, found.size());
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], found.get(i).distance(), 1e-4);
+			}
+		}
+	}
+
+	@Test
+	void changesAreVisibleBeforeAndAfterMerging() {
+		ProjectEffortIndex index = new ProjectEffortIndex(1.0, 3);
+		ProjectEffortIndex.Builder builder = ProjectEffortIndex.builder();
+		for (long id = 1; id <= 100; id++) {
+			builder.add(new Sample(id, (int) id * 10, (int) id * 12, 3, 30, 40, List.of("web")));
+		}
+		index.replaceAll(builder);
+		Query query = new Query(500, 3, 30, List.of("web"));
+		assertEquals(50L, index.nearest(query, 1).get(0).projectId());
+
+		// Sustituir (el 50 ya no se parece) y dar de alta otro idéntico a la consulta
+		index.upsertAll(List.of(new Sample(50, 5000, 6000, 3, 30, 40, List.of("web")),
+				new Sample(500, 500, 900, 3, 30, 60, List.of("web"))));
+		assertEquals(101, index.size());
+		Neighbor best = index.nearest(query, 1).get(0);
+		assertEquals(500L, best.projectId());
+		assertEquals(900, best.actualEffortHours());
+		assertEquals(0.0, best.distance(), 1e-9);
+
+		// Bajas del segmento principal y del de cambios; con el umbral superado se reconstruye
+		index.removeAll(List.of(500L, 49L, 51L, 999L));
+		assertEquals(98, index.size());
+		List<Long> ids = index.nearest(query, 2).stream().map(Neighbor::projectId).toList();
+		assertEquals(Set.of(48L, 52L), new HashSet<>(ids));
+		assertEquals(List.of(), index.nearest(query, 0));
+	}
+
+	@Test
+	void sharedTagsBreakNumericTies() {
+		ProjectEffortIndex index = new ProjectEffortIndex(2.0, 100);
+		index.upsertAll(List.of(
+				new Sample(1, 100, 150, 2, 20, 25, List.of("web", "datos")),
+				new Sample(2, 100, 110, 2, 20, 22, List.of(" Móvil ", "IA")),
+				new Sample(3, 100, 120, 2, 20, 20, List.of())));
+
+		List<Neighbor> found = index.nearest(new Query(100, 2, 20, List.of("ia", "móvil")), 3);
+		// Mismos rasgos numéricos: gana el de las mismas etiquetas (tras normalizar) y empatan los otros dos
+		assertEquals(2L, found.get(0).projectId());
+		assertEquals(1.0, found.get(0).tagSimilarity(), 1e-9);
+		assertEquals(0.0, found.get(0).distance(), 1e-9);
+		assertEquals(Set.of(1L, 3L), Set.of(found.get(1).projectId(), found.get(2).projectId()));
+		assertEquals(2.0, found.get(1).distance(), 1e-9);
+		assertEquals(1.0, index.nearest(new Query(100, 2, 20, null), 1).get(0).tagSimilarity(), 1e-9);
+	}
+
+	private static Sample sample(long id, SplittableRandom random) {
+		int estimated = (int) Math.exp(3 + random.nextDouble() * 5);
+		List<String> tags = new ArrayList<>();
+		for (int t = random.nextInt(4); t > 0; t--) {
+			tags.add(TAGS[random.nextInt(TAGS.length)]);
+		}
+		return new Sample(id, estimated, (int) (estimated * (0.5 + random.nextDouble())), 1 + random.nextInt(12),
+				10 + random.nextInt(400), 10 + random.nextInt(500), tags);
+	}
+
+	private static double[] weights(List<Sample> samples) {
+		double[] weights = new double[3];
+		for (int f = 0; f < 3; f++) {
+			int feature = f;
+			double[] values = samples.stream().mapToDouble(sample -> features(sample)[feature]).toArray();
+			double mean = Arrays.stream(values).average().orElse(0);
+			double variance = Arrays.stream(values).map(v -> (v - mean) * (v - mean)).average().orElse(0);
+			weights[f] = 1 / Math.sqrt(variance);
+		}
+		return weights;
+	}
+
+	private static double[] features(Sample sample) {
+		return new double[]{(float) Math.log1p(sample.estimatedEffortHours()), (float) Math.log1p(sample.participants()),
+				(float) Math.log1p(sample.plannedDays())};
+	}
+
+	private static double distance(Query query, Sample sample, double[] weights) {
+		double[] q = features(new Sample(0, query.estimatedEffortHours(), 0, query.participants(), query.plannedDays(), 0, null));
+		double[] s = features(sample);
+		double squared = 0;
+		for (int f = 0; f < 3; f++) {
+			squared += Math.pow((q[f] - s[f]) * weights[f], 2);
+		}
+		Set<String> a = new HashSet<>(query.tags());
+		Set<String> b = new HashSet<>(sample.tags());
+		Set<String> union = new HashSet<>(a);
+		union.addAll(b);
+		a.retainAll(b);
+		double jaccard = union.isEmpty() ? 1 : a.size() / (double) union.size();
+		return Math.sqrt(squared + Math.pow(1 - jaccard, 2));
+	}
+}
@@ -0,0 +1,38 @@
+package com.tfg.taskmanager.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	@Test
+	void insertedValuesAreAlwaysReported() {
+		BloomFilter filter = new BloomFilter(10_000, 0.001);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("token-" + i);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("token-" + i));
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearConfiguredValue() {
+		BloomFilter filter = new BloomFilter(10_000, 0.001);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put(UUID.randomUUID().toString());
+		}
+
+		int falsePositives = 0;
+		int probes = 100_000;
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < probes * 0.005, "Demasiados falsos positivos: " + falsePositives);
+	}
+}
@@ -0,0 +1,50 @@
+package com.tfg.taskmanager.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void allowsBurstThenRefillsAtConfiguredRate() {
+		TokenBucketRateLimiter<String> limiter = new TokenBucketRateLimiter<>();
+		TokenBucketRateLimiter.Limit limit = new TokenBucketRateLimiter.Limit(5, 2);
+		long now = 1_000 * SECOND;
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire("ana", limit, now), "petición " + i + " de la ráfaga");
+		}
+		// Cubo vacío: la siguiente ficha llega en medio segundo (2 por segundo)
+		assertEquals(SECOND / 2, limiter.tryAcquire("ana", limit, now));
+		// Otro usuario tiene su propio cubo
+		assertEquals(0, limiter.tryAcquire("luis", limit, now));
+
+		assertEquals(0, limiter.tryAcquire("ana", limit, now + SECOND / 2));
+		assertTrue(limiter.tryAcquire("ana", limit, now + SECOND / 2) > 0);
+		// Tras 10 s el cubo vuelve a estar lleno, pero no pasa de su capacidad
+		long later = now + 10 * SECOND;
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire("ana", limit, later));
+		}
+		assertTrue(limiter.tryAcquire("ana", limit, later) > 0);
+	}
+
+	@Test
+	void evictsOnlyBucketsIdleForTheTimeout() {
+		TokenBucketRateLimiter<String> limiter = new TokenBucketRateLimiter<>();
+		TokenBucketRateLimiter.Limit limit = new TokenBucketRateLimiter.Limit(1, 1);
+		long now = 1_000 * SECOND;
+		limiter.tryAcquire("inactivo", limit, now);
+		limiter.tryAcquire("activo", limit, now + 50 * SECOND);
+
+		assertEquals(1, limiter.evictIdle(now + 60 * SECOND, 30 * SECOND));
+		assertEquals(1, limiter.size());
+		// El cubo que sigue en memoria conserva su estado
+		assertTrue(limiter.tryAcquire("activo", limit, now + 50 * SECOND) > 0);
+	}
+}
@@ -0,0 +1,72 @@
+package com.tfg.taskmanager.security.benchmark;
+
+import com.tfg.taskmanager.security.ApiRateLimiter;
+import com.tfg.taskmanager.security.RateLimitProperties;
+import com.tfg.taskmanager.security.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por petición del limitador de la API: sólo el cubo (CAS) y el camino completo del
+ * filtro (resolver el grupo de la ruta + cubo), con 10.000 usuarios activos.
+ *
+ * Los límites son holgados para medir el camino normal (petición admitida).
+ * Ejecución: mvn -Pbenchmark test-compile exec:exec -Djmh.args="RateLimiter -t 8"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+	private static final int USERS = 10_000;
+
+	private static final String[] PATHS = {
+			"/api/tasks/project/42", "/api/tasks", "/api/tasks/1234", "/api/projects/7", "/api/tasks/inbox"};
+
+	private final TokenBucketRateLimiter<String> buckets = new TokenBucketRateLimiter<>();
+	private final TokenBucketRateLimiter.Limit limit = new TokenBucketRateLimiter.Limit(1_000_000, 1e9);
+
+	private ApiRateLimiter apiLimiter;
+	private String[] users;
+
+	@Setup
+	public void setUp() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setDefaultLimit(group(List.of()));
+		properties.getGroups().put("project-tasks", group(List.of("/api/tasks/project/**")));
+		properties.getGroups().put("search", group(List.of("/api/tasks", "/api/tasks/inbox")));
+		properties.getGroups().put("bulk", group(List.of("/api/tasks/bulk", "/api/tasks/import", "/api/projects/*/clone")));
+		apiLimiter = new ApiRateLimiter(properties);
+
+		users = new String[USERS];
+		for (int i = 0; i < USERS; i++) {
+			users[i] = "user:usuario" + i;
+		}
+	}
+
+	@Benchmark
+	public long bucketOnly() {
+		String user = users[ThreadLocalRandom.current().nextInt(USERS)];
+		return buckets.tryAcquire(user, limit, System.nanoTime());
+	}
+
+	@Benchmark
+	public long routeAndBucket() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return apiLimiter.acquire(users[random.nextInt(USERS)], PATHS[random.nextInt(PATHS.length)]);
+	}
+
+	private static RateLimitProperties.Group group(List<String> patterns) {
+		RateLimitProperties.Group group = new RateLimitProperties.Group();
+		group.setPatterns(patterns);
+		group.setCapacity(1_000_000);
+		group.setPerSecond(1e9);
+		return group;
+	}
+}
@@ -0,0 +1,123 @@
+package com.tfg.taskmanager.task.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tfg.taskmanager.config.SerializationConfig;
+import com.tfg.taskmanager.task.model.dto.TaskDTO;
+import com.tfg.taskmanager.task.model.vo.TaskPriority;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coste de codificar y decodificar un tablero de 10.000 tareas en cada formato de la API,
+ * con y sin compresión gzip (la que aplica el servidor con `server.compression`).
+ *
+ * Los bytes en la red de cada variante se imprimen al preparar el benchmark.
+ * Ejecución: mvn -Pbenchmark test-compile exec:exec -Djmh.args="TaskPayload"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskPayloadBenchmark {
+
+	private static final int TASKS = 10_000;
+
+	private static final TypeReference<List<TaskDTO>> TASK_LIST = new TypeReference<>() {
+	};
+
+	@Param({"json", "json-gzip", "smile", "smile-gzip", "cbor", "cbor-gzip"})
+	public String format;
+
+	private ObjectMapper mapper;
+	private boolean gzip;
+	private List<TaskDTO> board;
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() throws IOException {
+		// Misma configuración de fechas que aplica Spring Boot al builder
+		Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		String base = format.replace("-gzip", "");
+		mapper = switch (base) {
+			case "smile" -> SerializationConfig.smileMapper(builder);
+			case "cbor" -> SerializationConfig.cborMapper(builder);
+			default -> builder.build();
+		};
+		gzip = format.endsWith("-gzip");
+		board = board();
+		encoded = encode();
+		System.out.printf("%n%s: %,d bytes para %,d tareas%n", format, encoded.length, TASKS);
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+		if (gzip) {
+			try (GZIPOutputStream zip = new GZIPOutputStream(out, 1 << 16)) {
+				mapper.writeValue(zip, board);
+			}
+		} else {
+			mapper.writeValue(out, board);
+		}
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public List<TaskDTO> decode() throws IOException {
+		InputStream in = new ByteArrayInputStream(encoded);
+		if (gzip) {
+			in = new GZIPInputStream(in, 1 << 16);
+		}
+		return mapper.readValue(in, TASK_LIST);
+	}
+
+	/**
+	 * Tablero sintético con la forma de los datos reales: pocos responsables, estados y
+	 * etiquetas que se repiten, títulos y descripciones distintos.
+	 */
+	private static List<TaskDTO> board() {
+		Random random = new Random(42);
+		String[] users = {"alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi"};
+		String[] tags = {"backend", "frontend", "bug", "mejora", "urgente", "docs", "infra", "ux"};
+		LocalDateTime created = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+		List<TaskDTO> tasks = new ArrayList<>(TASKS);
+		for (int i = 0; i < TASKS; i++) {
+			TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+			tasks.add(TaskDTO.builder()
+					.id(100_000L + i)
+					.title("Tarea " + i + " del tablero")
+					.description(random.nextInt(3) == 0 ? null : "Descripción de la tarea " + i + " con algo de detalle")
+					.projectId(42L)
+					.assignedTo(users[random.nextInt(users.length)])
+					.status(status)
+					.priority(TaskPriority.values()[random.nextInt(TaskPriority.values().length)])
+					.dueDate(LocalDate.of(2025, 6, 1).plusDays(random.nextInt(120)))
+					.createdAt(created.plusMinutes(i * 7L))
+					.completedAt(status == TaskStatus.DONE ? created.plusDays(3).plusMinutes(i) : null)
+					.position(i % 50)
+					.tags(List.of(tags[random.nextInt(tags.length)], tags[random.nextInt(tags.length)]))
+					.build());
+		}
+		return tasks;
+	}
+}
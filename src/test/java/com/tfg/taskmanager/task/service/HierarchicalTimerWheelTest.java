@@ -0,0 +1,63 @@
+package com.tfg.taskmanager.task.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimerWheelTest {
+
+	@Test
+	void deadlinesExpireAtTheirTickAcrossLevels() {
+		// 4 ranuras x 3 niveles = horizonte de 64 ticks, para forzar muchas cascadas
+		HierarchicalTimerWheel<Integer, Long> wheel = new HierarchicalTimerWheel<>(10, 4, 3, 0);
+		Random random = new Random(42);
+		Map<Integer, Long> expected = new HashMap<>();
+		for (int key = 0; key < 500; key++) {
+			long deadline = random.nextInt(630);
+			assertTrue(wheel.schedule(key, deadline, deadline));
+			expected.put(key, deadline / 10);
+		}
+
+		Map<Integer, Long> fired = new HashMap<>();
+		for (long now = 0; now <= 640; now += 10) {
+			long tick = now / 10;
+			wheel.advance(now, (key, deadline) -> fired.put(key, tick));
+		}
+
+		assertEquals(expected, fired);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelledAndRescheduledDeadlinesFireOnce() {
+		HierarchicalTimerWheel<String, String> wheel = new HierarchicalTimerWheel<>(1, 8, 2, 0);
+		wheel.schedule("a", 5, "a");
+		wheel.schedule("b", 20, "b");
+		wheel.schedule("b", 3, "b2");
+		wheel.cancel("a");
+
+		List<String> fired = new ArrayList<>();
+		wheel.advance(100, (key, value) -> fired.add(value));
+
+		assertEquals(List.of("b2"), fired);
+	}
+
+	@Test
+	void pastDeadlinesFireOnNextAdvanceAndFarOnesAreRejected() {
+		HierarchicalTimerWheel<String, String> wheel = new HierarchicalTimerWheel<>(1, 4, 2, 100);
+		assertTrue(wheel.schedule("late", 50, "late"));
+		assertFalse(wheel.schedule("far", 100 + 16, "far"));
+
+		List<String> fired = new ArrayList<>();
+		wheel.advance(100, (key, value) -> fired.add(value));
+
+		assertEquals(List.of("late"), fired);
+		assertFalse(wheel.contains("far"));
+	}
+}
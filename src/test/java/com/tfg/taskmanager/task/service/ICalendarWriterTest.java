@@ -0,0 +1,67 @@
+package com.tfg.taskmanager.task.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ICalendarWriterTest {
+
+	private static final Instant STAMP = Instant.parse("2026-10-19T08:30:00Z");
+
+	@Test
+	void writesAllDayEventsWithCrlfLines() throws IOException {
+		StringWriter out = new StringWriter();
+		ICalendarWriter calendar = new ICalendarWriter(out, "Proyecto 7", STAMP, Duration.ofMinutes(15));
+		calendar.event("task-42@taskmanager", LocalDate.of(2026, 12, 31), "Cerrar el año", null, 3);
+		calendar.finish();
+
+		String ics = out.toString();
+		assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+		assertTrue(ics.endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n"));
+		assertFalse(ics.replace("\r\n", "").contains("\n"));
+		List<String> lines = Arrays.asList(ics.split("\r\n"));
+		assertTrue(lines.contains("REFRESH-INTERVAL;VALUE=DURATION:PT15M"));
+		assertTrue(lines.contains("UID:task-42@taskmanager"));
+		assertTrue(lines.contains("DTSTAMP:20261019T083000Z"));
+		assertTrue(lines.contains("DTSTART;VALUE=DATE:20261231"));
+		assertTrue(lines.contains("DTEND;VALUE=DATE:20270101"));
+		assertTrue(lines.contains("SUMMARY:Cerrar el año"));
+		assertTrue(lines.contains("SEQUENCE:3"));
+		assertFalse(ics.contains("DESCRIPTION"));
+	}
+
+	@Test
+	void escapesTextValues() {
+		assertEquals("a\\, b\\; c\\\\d\\nsegunda", ICalendarWriter.escape("a, b; c\\d\r\nsegunda"));
+		assertEquals("tab ", ICalendarWriter.escape("tab\t"));
+		assertEquals("", ICalendarWriter.escape(null));
+	}
+
+	@Test
+	void foldsLongLinesWithoutSplittingCharacters() throws IOException {
+		String summary = "Revisión de «métricas» 🚀 ".repeat(12);
+		StringWriter out = new StringWriter();
+		ICalendarWriter calendar = new ICalendarWriter(out, "Mis tareas", STAMP, Duration.ofHours(1));
+		calendar.event("task-1@taskmanager", LocalDate.of(2026, 1, 1), summary, "Estado: TODO", 0);
+		calendar.finish();
+
+		String ics = out.toString();
+		for (String line : ics.split("\r\n")) {
+			assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+			// Un carácter partido dejaría un sustituto suelto, que no sobrevive a la codificación
+			assertEquals(line, new String(line.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+		}
+		// Al desplegar (quitar CRLF + espacio) se recupera el valor original
+		String unfolded = ics.replace("\r\n ", "");
+		assertTrue(unfolded.contains("\r\nSUMMARY:" + summary + "\r\n"));
+	}
+}
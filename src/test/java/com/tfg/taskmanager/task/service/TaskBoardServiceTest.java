@@ -0,0 +1,83 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.project.service.ProjectAccessService;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.model.dto.TaskBoardDTO;
+import com.tfg.taskmanager.task.model.dto.TaskCardDTO;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskBoardRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskBoardServiceTest {
+
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final TaskBoardService service =
+			new TaskBoardService(taskRepository, mock(ProjectAccessService.class), 1 << 20);
+
+	@Test
+	void changesArrivingWhileTheBoardIsBuiltAreApplied() {
+		// La construcción lee la tarea 1 antes de que se confirme su cambio y el evento llega antes de terminar
+		when(taskRepository.findBoardRowsByProjectId(7L)).thenAnswer(invocation -> {
+			service.onTaskChanged(TaskChangedEvent.of(TaskChangedEvent.ChangeType.UPDATED, 7L, 1L));
+			service.onTaskChanged(TaskChangedEvent.of(TaskChangedEvent.ChangeType.ARCHIVED, 7L, 2L));
+			return List.of(row(1, TaskStatus.TODO, 1), row(2, TaskStatus.TODO, 1));
+		});
+		when(taskRepository.findBoardRowsByIds(anyCollection())).thenReturn(List.of(row(1, TaskStatus.DONE, 2)));
+
+		TaskBoardDTO board = service.getBoard(7L, "ana");
+
+		assertEquals(List.of(), cards(board, TaskStatus.TODO));
+		assertEquals(List.of(1L), cards(board, TaskStatus.DONE));
+		assertEquals(2, card(board, 1L).getVersion());
+		// Ya en caché: no se vuelve a construir
+		service.getBoard(7L, "ana");
+		verify(taskRepository, times(1)).findBoardRowsByProjectId(7L);
+	}
+
+	@Test
+	void boardBuiltDuringAFullInvalidationIsNotCached() {
+		when(taskRepository.findBoardRowsByProjectId(7L)).thenAnswer(invocation -> {
+			service.onClusterInvalidation(ClusterInvalidationEvent.everything());
+			return List.of(row(1, TaskStatus.TODO, 1));
+		});
+
+		assertEquals(List.of(1L), cards(service.getBoard(7L, "ana"), TaskStatus.TODO));
+		service.getBoard(7L, "ana");
+		verify(taskRepository, times(2)).findBoardRowsByProjectId(7L);
+	}
+
+	@Test
+	void changesToBoardsNotLoadedNorBuildingAreIgnored() {
+		service.onTaskChanged(TaskChangedEvent.of(TaskChangedEvent.ChangeType.UPDATED, 7L, 1L));
+
+		verifyNoInteractions(taskRepository);
+	}
+
+	private static TaskBoardRow row(long id, TaskStatus status, long version) {
+		return new TaskBoardRow(id, 7L, "Tarea " + id, null, status, null, null, (int) id, version);
+	}
+
+	private static List<Long> cards(TaskBoardDTO board, TaskStatus status) {
+		return board.getColumns().stream()
+				.filter(column -> column.getStatus() == status)
+				.flatMap(column -> column.getTasks().stream())
+				.map(TaskCardDTO::getId)
+				.toList();
+	}
+
+	private static TaskCardDTO card(TaskBoardDTO board, Long id) {
+		return board.getColumns().stream()
+				.flatMap(column -> column.getTasks().stream())
+				.filter(card -> card.getId().equals(id))
+				.findFirst()
+				.orElseThrow();
+	}
+}
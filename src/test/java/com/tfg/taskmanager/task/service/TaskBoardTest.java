@@ -0,0 +1,87 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.task.model.dto.TaskBoardColumnDTO;
+import com.tfg.taskmanager.task.model.dto.TaskBoardDTO;
+import com.tfg.taskmanager.task.model.dto.TaskCardDTO;
+import com.tfg.taskmanager.task.model.vo.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskBoardTest {
+
+	@Test
+	void cardsAreGroupedByStatusAndOrderedByPosition() {
+		TaskBoard board = new TaskBoard(1L, 1);
+		board.upsertAll(List.of(
+				card(1, TaskStatus.TODO, 3, 1),
+				card(2, TaskStatus.TODO, null, 1),
+				card(3, TaskStatus.TODO, 1, 1),
+				card(4, TaskStatus.DONE, 0, 1),
+				card(5, TaskStatus.TODO, 1, 1),
+				card(6, null, 2, 1)), 2);
+
+		TaskBoardDTO view = board.view();
+		assertEquals(TaskStatus.values().length, view.getColumns().size());
+		assertEquals(List.of(3L, 5L, 6L, 1L, 2L), ids(view, TaskStatus.TODO));
+		assertEquals(List.of(), ids(view, TaskStatus.IN_PROGRESS));
+		assertEquals(List.of(4L), ids(view, TaskStatus.DONE));
+		assertEquals(5, column(view, TaskStatus.TODO).getCount());
+		assertEquals(2, view.getRevision());
+	}
+
+	@Test
+	void movedCardsChangeColumnAndStaleUpdatesAreIgnored() {
+		TaskBoard board = new TaskBoard(1L, 1);
+		board.upsertAll(List.of(card(1, TaskStatus.TODO, 0, 1), card(2, TaskStatus.TODO, 1, 1)), 2);
+
+		assertTrue(board.upsertAll(List.of(card(1, TaskStatus.IN_PROGRESS, 0, 3)), 3));
+		assertFalse(board.upsertAll(List.of(card(1, TaskStatus.TODO, 0, 2)), 4));
+
+		TaskBoardDTO view = board.view();
+		assertEquals(List.of(2L), ids(view, TaskStatus.TODO));
+		assertEquals(List.of(1L), ids(view, TaskStatus.IN_PROGRESS));
+		assertEquals(3, view.getRevision());
+		assertEquals(2, board.size());
+	}
+
+	@Test
+	void viewIsReusedUntilTheBoardChanges() {
+		TaskBoard board = new TaskBoard(1L, 1);
+		board.upsertAll(List.of(card(1, TaskStatus.TODO, 0, 1), card(2, TaskStatus.BLOCKED, 0, 1)), 2);
+		int weight = board.estimatedBytes();
+
+		TaskBoardDTO first = board.view();
+		assertSame(first, board.view());
+		assertFalse(board.removeAll(List.of(9L), 3));
+		assertSame(first, board.view());
+
+		assertTrue(board.removeAll(List.of(2L), 4));
+		TaskBoardDTO second = board.view();
+		assertNotSame(first, second);
+		assertEquals(4, second.getRevision());
+		assertEquals(List.of(), ids(second, TaskStatus.BLOCKED));
+		assertEquals(List.of(2L), ids(first, TaskStatus.BLOCKED));
+		assertTrue(board.estimatedBytes() < weight);
+	}
+
+	private static TaskBoard.Card card(long id, TaskStatus status, Integer position, long version) {
+		return new TaskBoard.Card(status, TaskCardDTO.builder()
+				.id(id)
+				.title("Tarea " + id)
+				.position(position)
+				.tags(List.of())
+				.version(version)
+				.build());
+	}
+
+	private static TaskBoardColumnDTO column(TaskBoardDTO view, TaskStatus status) {
+		return view.getColumns().stream().filter(column -> column.getStatus() == status).findFirst().orElseThrow();
+	}
+
+	private static List<Long> ids(TaskBoardDTO view, TaskStatus status) {
+		return column(view, status).getTasks().stream().map(TaskCardDTO::getId).toList();
+	}
+}
@@ -0,0 +1,92 @@
+package com.tfg.taskmanager.task.service;
+
+import com.tfg.taskmanager.cluster.event.ClusterInvalidationEvent;
+import com.tfg.taskmanager.tag.service.TagDictionary;
+import com.tfg.taskmanager.task.event.TaskChangedEvent;
+import com.tfg.taskmanager.task.repository.TaskRepository;
+import com.tfg.taskmanager.task.repository.TaskRepository.TaskTagRow;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskTagIndexTest {
+
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final TagDictionary dictionary = mock(TagDictionary.class);
+	private final TaskTagIndex index = new TaskTagIndex(taskRepository, dictionary, 1 << 20);
+
+	TaskTagIndexTest() {
+		Map<String, Integer> ids = Map.of("api", 1, "ui", 2);
+		when(dictionary.lookup(anyString())).thenAnswer(invocation -> ids.get(invocation.<String>getArgument(0)));
+		when(dictionary.internAll(anyCollection())).thenAnswer(invocation -> {
+			Map<String, Integer> found = new HashMap<>();
+			invocation.<Collection<String>>getArgument(0).forEach(tag -> found.put(tag, ids.get(tag)));
+			return found;
+		});
+	}
+
+	@Test
+	void changesArrivingWhileTheIndexIsBuiltAreApplied() {
+		// La construcción lee las tareas antes de que se confirmen sus cambios y los eventos llegan antes de terminar
+		when(taskRepository.findTagRowsByProjectId(7L)).thenAnswer(invocation -> {
+			index.onTaskChanged(TaskChangedEvent.of(TaskChangedEvent.ChangeType.UPDATED, 7L, 1L));
+			index.onTaskChanged(TaskChangedEvent.of(TaskChangedEvent.ChangeType.ARCHIVED, 7L, 2L));
+			return List.of(row(1, "api"), row(2, "api"));
+		});
+		when(taskRepository.findTagRowsByTaskIds(anyCollection())).thenReturn(List.of(row(1, "ui")));
+
+		assertEquals(List.of(), ids(index.filter(7L, List.of("api"), List.of(), List.of())));
+		assertEquals(List.of(1L), ids(index.filter(7L, List.of("ui"), List.of(), List.of())));
+		verify(taskRepository, times(1)).findTagRowsByProjectId(7L);
+	}
+
+	@Test
+	void indexBuiltDuringAFullInvalidationIsNotCached() {
+		when(taskRepository.findTagRowsByProjectId(7L)).thenAnswer(invocation -> {
+			index.onClusterInvalidation(ClusterInvalidationEvent.everything());
+			return List.of(row(1, "api"));
+		});
+
+		assertEquals(List.of(1L), ids(index.filter(7L, List.of("api"), List.of(), List.of())));
+		index.filter(7L, List.of("api"), List.of(), List.of());
+		verify(taskRepository, times(2)).findTagRowsByProjectId(7L);
+	}
+
+	@Test
+	void unknownTagsInAnyMatchNothingInsteadOfEverything() {
+		when(taskRepository.findTagRowsByProjectId(7L)).thenReturn(List.of(row(1, "api"), row(2, "ui")));
+
+		assertEquals(List.of(), ids(index.filter(7L, List.of(), List.of("inexistente"), List.of())));
+		assertEquals(List.of(2L), ids(index.filter(7L, List.of(), List.of("inexistente", "ui"), List.of())));
+		assertEquals(List.of(1L, 2L), ids(index.filter(7L, List.of(), List.of(" "), List.of())));
+		assertEquals(List.of(1L), ids(index.filter(7L, List.of(), List.of(), List.of("ui", "inexistente"))));
+	}
+
+	private static TaskTagRow row(long taskId, String tag) {
+		return new TaskTagRow() {
+			public Long getTaskId() {
+				return taskId;
+			}
+
+			public Long getProjectId() {
+				return 7L;
+			}
+
+			public String getTag() {
+				return tag;
+			}
+		};
+	}
+
+	private static List<Long> ids(Roaring64Bitmap result) {
+		return TaskTagIndex.page(result, 0, 100);
+	}
+}